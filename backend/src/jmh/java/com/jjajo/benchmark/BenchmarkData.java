@@ -0,0 +1,118 @@
+package com.jjajo.benchmark;
+
+import com.jjajo.application.service.PlannerPlacementService;
+import com.jjajo.domain.model.Goal;
+import com.jjajo.domain.model.ScheduleRequest;
+import com.jjajo.presentation.dto.PlannerScheduleRequest;
+import com.jjajo.presentation.dto.ScheduleItemResponse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크 입력 생성기. 시드 고정이라 실행마다 같은 데이터로 비교할 수 있다.
+ * 일정은 기준일부터 하루 평균 6건씩 펼쳐 만들어, 건수가 늘면 기간도 길어진다 (실제 사용 패턴과 비슷한 밀도).
+ */
+final class BenchmarkData {
+
+    static final LocalDate BASE_DATE = LocalDate.of(2025, 3, 10);
+    private static final String[] TITLES = {"알고리즘 공부", "팀 회의", "헬스", "영어 단어", "점심 약속", "보고서 작성", "독서", "코드 리뷰"};
+    private static final String[] PRIORITIES = {"high", "medium", "low"};
+    private static final int SCHEDULES_PER_DAY = 6;
+
+    private BenchmarkData() {
+    }
+
+    static List<ScheduleRequest> schedules(int count, long seed) {
+        Random random = new Random(seed);
+        List<ScheduleRequest> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int start = 7 * 60 + random.nextInt(14 * 60);
+            int end = Math.min(start + 30 + random.nextInt(150), 23 * 60 + 59);
+            list.add(ScheduleRequest.builder()
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .description("benchmark")
+                    .date(BASE_DATE.plusDays(i / SCHEDULES_PER_DAY).toString())
+                    .startTime(hhmm(start))
+                    .endTime(hhmm(end))
+                    .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                    .build());
+        }
+        return list;
+    }
+
+    static List<ScheduleItemResponse> scheduleItems(int count, long seed) {
+        List<ScheduleItemResponse> list = new ArrayList<>(count);
+        int i = 0;
+        for (ScheduleRequest s : schedules(count, seed)) {
+            list.add(ScheduleItemResponse.builder()
+                    .id(String.format("00000000-0000-0000-0000-%012d", i++))
+                    .title(s.getTitle())
+                    .description(s.getDescription())
+                    .date(s.getDate())
+                    .startTime(s.getStartTime())
+                    .endTime(s.getEndTime())
+                    .status("pending")
+                    .priority(s.getPriority())
+                    .createdBy("user")
+                    .createdAt("2025-03-01T09:00:00")
+                    .updatedAt("2025-03-01T09:00:00")
+                    .build());
+        }
+        return list;
+    }
+
+    static List<Goal> goals(int count, long seed) {
+        Random random = new Random(seed);
+        List<Goal> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(Goal.builder()
+                    .id("goal-" + i)
+                    .userId("bench-user")
+                    .title("목표 " + i)
+                    .deadline(BASE_DATE.plusDays(7 + random.nextInt(60)).toString())
+                    .priority(Goal.GoalPriority.MEDIUM)
+                    .status(Goal.GoalStatus.ON_TRACK)
+                    .category(Goal.GoalCategory.STUDY)
+                    .estimatedHours(20 + random.nextInt(80))
+                    .completedHours(random.nextInt(20))
+                    .build());
+        }
+        return list;
+    }
+
+    /** 하루 가용 슬롯: 06:00~24:00을 고정 일정 사이 빈 시간처럼 최대 count개로 나눔 */
+    static List<PlannerScheduleRequest.TimeSlotDto> freeSlots(int count, long seed) {
+        Random random = new Random(seed);
+        int n = Math.max(1, Math.min(count, 60));
+        int span = (24 - 6) * 60 / n;
+        List<PlannerScheduleRequest.TimeSlotDto> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int start = 6 * 60 + i * span;
+            int busy = span < 20 ? 0 : random.nextInt(span / 2);
+            list.add(new PlannerScheduleRequest.TimeSlotDto(hhmm(start + busy), hhmm(start + span)));
+        }
+        return list;
+    }
+
+    static List<PlannerPlacementService.PlanWithDuration> plans(int count, long seed) {
+        Random random = new Random(seed);
+        String[] categories = {"study", "workout", "work", "rest", null};
+        List<PlannerPlacementService.PlanWithDuration> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(new PlannerPlacementService.PlanWithDuration(
+                    TITLES[random.nextInt(TITLES.length)] + " " + i,
+                    10 + random.nextInt(170),
+                    random.nextBoolean() ? null : random.nextInt(15),
+                    null,
+                    categories[random.nextInt(categories.length)]));
+        }
+        return list;
+    }
+
+    private static String hhmm(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
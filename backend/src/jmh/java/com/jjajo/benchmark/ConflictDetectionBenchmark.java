@@ -0,0 +1,49 @@
+package com.jjajo.benchmark;
+
+import com.jjajo.application.service.ConflictDetectionService;
+import com.jjajo.domain.model.ScheduleConflict;
+import com.jjajo.domain.model.ScheduleRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일정 충돌 감지. detectConflicts = 새 일정 1건 대 기존 size건, detectAllConflicts = size건 전체 쌍.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ConflictDetectionBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private final ConflictDetectionService service = new ConflictDetectionService();
+    private List<ScheduleRequest> existing;
+    private ScheduleRequest newSchedule;
+
+    @Setup
+    public void setUp() {
+        existing = BenchmarkData.schedules(size, 42L);
+        newSchedule = ScheduleRequest.builder()
+                .title("새 일정")
+                .date(BenchmarkData.BASE_DATE.toString())
+                .startTime("14:00")
+                .endTime("15:30")
+                .priority("medium")
+                .build();
+    }
+
+    @Benchmark
+    public List<ScheduleConflict> detectConflicts() {
+        return service.detectConflicts(newSchedule, existing);
+    }
+
+    @Benchmark
+    public List<ScheduleConflict> detectAllConflicts() {
+        return service.detectAllConflicts(existing);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jjajo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jjajo.infrastructure.gemini.GeminiRequests;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 요청 바디 만들기. *Map = 요청마다 Map 트리를 만들고 Jackson으로 직렬화(이전 방식),
+ * *Template = 미리 직렬화한 템플릿에 오늘 날짜·입력만 끼워 넣기. -prof gc로 요청당 할당량 비교.
+ * *Map은 프롬프트 치환·일정 목록 직렬화를 빼고 재므로 실제 차이는 이보다 크다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class GeminiRequestBenchmark {
+
+    private static final String TODAY = BenchmarkData.BASE_DATE.toString();
+    private static final String PARSE_COMMAND = "내일 오후 3시부터 2시간 동안 팀 프로젝트 회의 추가해줘";
+    private static final String EDIT_COMMAND = "공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘";
+
+    /** 대화형 수정 프롬프트에 들어가는 일정 수 */
+    @Param({"10", "100"})
+    int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private String scheduleList;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            sb.append(String.format("  #%d id=schedule-%d title=일정 %d date=%s startTime=09:00 endTime=10:00%n",
+                    i + 1, i, i, TODAY));
+        }
+        scheduleList = sb.toString();
+    }
+
+    @Benchmark
+    public byte[] parseMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GeminiRequests.parseBody());
+    }
+
+    @Benchmark
+    public byte[] parseTemplate() {
+        return GeminiRequests.parse(TODAY, PARSE_COMMAND);
+    }
+
+    @Benchmark
+    public byte[] editMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(GeminiRequests.editBody());
+    }
+
+    @Benchmark
+    public byte[] editTemplate() {
+        return GeminiRequests.edit(TODAY, scheduleList, EDIT_COMMAND);
+    }
+}
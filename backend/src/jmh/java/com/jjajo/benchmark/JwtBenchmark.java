@@ -0,0 +1,31 @@
+package com.jjajo.benchmark;
+
+import com.jjajo.presentation.config.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행되는 JWT 검증 (JwtAuthenticationFilter 경로).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark-secret-benchmark-secret-benchmark-secret", 3_600_000L);
+        token = jwtService.generateToken("bench-user", "bench@example.com", "벤치마크", "https://example.com/p.png");
+    }
+
+    @Benchmark
+    public JwtService.JwtClaims validateAndGetClaims() {
+        return jwtService.validateAndGetClaims(token);
+    }
+}
@@ -0,0 +1,38 @@
+package com.jjajo.benchmark;
+
+import com.jjajo.application.service.PlannerPlacementService;
+import com.jjajo.presentation.dto.PlannerScheduleRequest;
+import com.jjajo.presentation.dto.PlannerScheduleResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 짜조 플래너 배치(placePlans). size = 플랜 수, 가용 슬롯은 하루 최대 60개.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class PlannerPlacementBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private final PlannerPlacementService service = new PlannerPlacementService();
+    private List<PlannerPlacementService.PlanWithDuration> plans;
+    private List<PlannerScheduleRequest.TimeSlotDto> slots;
+
+    @Setup
+    public void setUp() {
+        plans = BenchmarkData.plans(size, 42L);
+        slots = BenchmarkData.freeSlots(size, 7L);
+    }
+
+    @Benchmark
+    public List<PlannerScheduleResponse.PlanItem> placePlans() {
+        return service.placePlans("study", plans, slots, 0, false, null, null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.jjajo.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jjajo.presentation.dto.ScheduleItemResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 일정 목록 응답(ScheduleItemResponse 리스트)의 Jackson 직렬화.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ScheduleJsonBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<ScheduleItemResponse> items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkData.scheduleItems(size, 42L);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+}
@@ -0,0 +1,40 @@
+package com.jjajo.benchmark;
+
+import com.jjajo.application.service.ConflictDetectionService;
+import com.jjajo.application.service.SuggestionService;
+import com.jjajo.domain.model.Goal;
+import com.jjajo.domain.model.ScheduleRequest;
+import com.jjajo.domain.model.Suggestion;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 제안 생성 (충돌·목표 진행·시간 관리·웰빙). size = 일정 수, 목표는 5개 고정.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class SuggestionBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int size;
+
+    private final SuggestionService service = new SuggestionService(new ConflictDetectionService());
+    private List<ScheduleRequest> schedules;
+    private List<Goal> goals;
+
+    @Setup
+    public void setUp() {
+        schedules = BenchmarkData.schedules(size, 42L);
+        goals = BenchmarkData.goals(5, 11L);
+    }
+
+    @Benchmark
+    public List<Suggestion> generateSuggestions() {
+        return service.generateSuggestions("bench-user", schedules, goals);
+    }
+}
@@ -3,6 +3,8 @@ package com.jjajo.application.port.in;
 import com.jjajo.presentation.dto.EditScheduleResponse;
 import com.jjajo.presentation.dto.ScheduleItemForEdit;
 
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 
 /**
@@ -14,9 +16,12 @@ public interface EditScheduleUseCase {
      * 자연어 명령과 현재 일정 컨텍스트를 받아 적용할 연산 목록을 반환합니다.
      *
      * @param command 사용자 자연어 명령 (예: "공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘")
-     * @param todos   컨텍스트로 사용할 일정 목록 (id, title, date, startTime, endTime)
+     * @param date    기준일 (YYYY-MM-DD, null이면 오늘)
+     * @param todos   클라이언트가 보낸 일정 목록 (userId가 없을 때만 사용, null 가능)
+     * @param userId  로그인 사용자 ID. 있으면 저장된 일정에서 명령과 관련 있는 것만 골라 컨텍스트로 사용
      * @param apiKey Gemini API 키
-     * @return 적용할 연산 목록과 선택적 메시지
+     * @return 적용할 연산 목록과 선택적 메시지 (Gemini 응답 시 완료, 요청 스레드를 점유하지 않음)
      */
-    EditScheduleResponse editSchedule(String command, List<ScheduleItemForEdit> todos, String apiKey);
+    Mono<EditScheduleResponse> editSchedule(String command, String date, List<ScheduleItemForEdit> todos,
+                                            String userId, String apiKey);
 }
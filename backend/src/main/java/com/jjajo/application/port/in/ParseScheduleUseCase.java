@@ -1,6 +1,10 @@
 package com.jjajo.application.port.in;
 
 import com.jjajo.presentation.dto.AiChatResponse;
+import com.jjajo.presentation.dto.ParseScheduleBatchResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 /**
  * 매직 바(한 줄 자연어)로 일정 파싱 유스케이스
@@ -12,7 +16,16 @@ public interface ParseScheduleUseCase {
      *
      * @param command 사용자 한 줄 입력
      * @param apiKey  Gemini API 키
-     * @return 추출된 일정 정보 (title, date, startTime, endTime 등)
+     * @return 추출된 일정 정보 (title, date, startTime, endTime 등). 인식 실패 시 IllegalArgumentException으로 종료
+     */
+    Mono<AiChatResponse.ScheduleData> parseSchedule(String command, String apiKey);
+
+    /**
+     * 여러 줄 명령을 한 번에 파싱합니다. 규칙 파서로 처리되지 않은 줄만 모아 Gemini를 한 번 호출합니다.
+     *
+     * @param commands 한 줄에 명령 하나
+     * @param apiKey   Gemini API 키
+     * @return 줄 순서대로 결과 (줄마다 일정 또는 실패 사유). 줄 수가 최대치를 넘으면 IllegalArgumentException으로 종료
      */
-    AiChatResponse.ScheduleData parseSchedule(String command, String apiKey);
+    Mono<ParseScheduleBatchResponse> parseSchedules(List<String> commands, String apiKey);
 }
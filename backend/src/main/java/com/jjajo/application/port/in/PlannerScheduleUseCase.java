@@ -2,11 +2,22 @@ package com.jjajo.application.port.in;
 
 import com.jjajo.presentation.dto.PlannerScheduleRequest;
 import com.jjajo.presentation.dto.PlannerScheduleResponse;
+import com.jjajo.presentation.dto.PlannerStreamEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * 짜조 플래너: 사용자 목표 + 가용 시간대 → 일정 분할 제안 (고스트 일정)
  */
 public interface PlannerScheduleUseCase {
 
-    PlannerScheduleResponse planSchedule(PlannerScheduleRequest request, String apiKey);
+    /**
+     * @param userId 로그인 사용자 id. 있으면 저장된 일정으로 가용 시간대를 계산/검증한다 (null 허용)
+     */
+    Mono<PlannerScheduleResponse> planSchedule(PlannerScheduleRequest request, String userId, String apiKey);
+
+    /**
+     * planSchedule의 스트리밍 버전. category·summary·plan을 해석되는 즉시 내보내고, 마지막에 배치 결과(result)를 내보낸다.
+     */
+    Flux<PlannerStreamEvent> streamPlanSchedule(PlannerScheduleRequest request, String userId, String apiKey);
 }
@@ -0,0 +1,16 @@
+package com.jjajo.application.port.in;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * 웹 검색 포함 AI 채팅 유스케이스 (스트리밍)
+ */
+public interface WebSearchChatUseCase {
+
+    /**
+     * @param message 사용자 메시지
+     * @param apiKey  Gemini API 키
+     * @return 모델이 생성하는 순서대로의 텍스트 조각
+     */
+    Flux<String> streamWebSearchChat(String message, String apiKey);
+}
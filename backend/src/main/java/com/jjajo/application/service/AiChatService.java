@@ -3,20 +3,32 @@ package com.jjajo.application.service;
 import com.jjajo.application.port.in.EditScheduleUseCase;
 import com.jjajo.application.port.in.ParseScheduleUseCase;
 import com.jjajo.application.port.in.PlannerScheduleUseCase;
-import com.jjajo.domain.model.ScheduleRequest;
+import com.jjajo.application.port.in.WebSearchChatUseCase;
+import com.jjajo.domain.model.DayOccupancy;
+import com.jjajo.domain.model.RoutineTemplates;
 import com.jjajo.infrastructure.gemini.GeminiChatAdapter;
+import com.jjajo.infrastructure.gemini.GeminiRejectedException;
 import com.jjajo.presentation.dto.AiChatResponse;
 import com.jjajo.presentation.dto.EditScheduleResponse;
+import com.jjajo.presentation.dto.ParseScheduleBatchResponse;
 import com.jjajo.presentation.dto.PlannerScheduleRequest;
 import com.jjajo.presentation.dto.PlannerScheduleResponse;
+import com.jjajo.presentation.dto.PlannerStreamEvent;
 import com.jjajo.presentation.dto.ScheduleItemForEdit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * AI 일정 서비스 - 매직 바 파싱, 짜조 플래너, 대화형 수정
@@ -24,28 +36,170 @@ import java.util.List;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class AiChatService implements ParseScheduleUseCase, EditScheduleUseCase, PlannerScheduleUseCase {
+public class AiChatService implements ParseScheduleUseCase, EditScheduleUseCase, PlannerScheduleUseCase, WebSearchChatUseCase {
 
     private final GeminiChatAdapter geminiChatAdapter;
     private final PlannerPlacementService plannerPlacementService;
+    private final FreeBusyService freeBusyService;
+    private final MagicBarRuleParser magicBarRuleParser;
+    private final PlannerInputParser plannerInputParser;
+    private final RoutineTemplateService routineTemplateService;
+    private final EditContextService editContextService;
+
+    /** 플래너 가용 슬롯 최소 길이(분) - 프론트엔드 excludeMealBlocksFromSlots와 동일 */
+    private static final int MIN_SLOT_MINUTES = 10;
+    /** 여러 날 모드 최대 기간(일) */
+    private static final int MAX_PLANNER_DAYS = 14;
+    /** 여러 날 모드 하루 최대 배치 분 기본값 */
+    private static final int DEFAULT_DAILY_MAX_MINUTES = 480;
+    /** 배치 최적화 시간 예산(ms) 기본값·상한 */
+    private static final int DEFAULT_OPTIMIZE_BUDGET_MS = 20;
+    private static final int MAX_OPTIMIZE_BUDGET_MS = 200;
+
+    /** 매직 바 일괄 파싱 최대 줄 수 (Gemini 한 번 호출에 담는 명령 수) */
+    @Value("${app.magic-bar.batch.max-size:20}")
+    private int maxBatchSize;
 
     @Override
-    public AiChatResponse.ScheduleData parseSchedule(String command, String apiKey) {
+    public Mono<AiChatResponse.ScheduleData> parseSchedule(String command, String apiKey) {
         log.info("매직 바 일정 파싱 요청: {}", command);
-        ScheduleRequest schedule = geminiChatAdapter.parseScheduleWithFunctionCalling(command, apiKey);
-        return AiChatResponse.ScheduleData.from(schedule);
+        // 형식이 분명한 입력은 규칙 파서로 바로 처리, 나머지만 Gemini 호출
+        var local = magicBarRuleParser.tryParse(command, LocalDate.now());
+        if (local.isPresent()) {
+            log.debug("매직 바 로컬 파싱 성공: {}", command);
+            return Mono.just(AiChatResponse.ScheduleData.from(local.get()));
+        }
+        return geminiChatAdapter.parseScheduleWithFunctionCalling(command, apiKey)
+                .map(AiChatResponse.ScheduleData::from);
     }
 
     @Override
-    public PlannerScheduleResponse planSchedule(PlannerScheduleRequest request, String apiKey) {
+    public Mono<ParseScheduleBatchResponse> parseSchedules(List<String> commands, String apiKey) {
+        log.info("매직 바 일괄 파싱 요청: {}줄", commands.size());
+        if (commands.size() > maxBatchSize) {
+            return Mono.error(new IllegalArgumentException("한 번에 최대 " + maxBatchSize + "줄까지 추가할 수 있어요."));
+        }
+        LocalDate today = LocalDate.now();
+        ParseScheduleBatchResponse.Result[] results = new ParseScheduleBatchResponse.Result[commands.size()];
+        List<Integer> remoteIndexes = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            var local = magicBarRuleParser.tryParse(commands.get(i), today);
+            if (local.isPresent()) {
+                results[i] = batchResult(i, commands.get(i), AiChatResponse.ScheduleData.from(local.get()), null);
+            } else {
+                remoteIndexes.add(i);
+            }
+        }
+        log.debug("매직 바 일괄 파싱: 로컬 {}줄, Gemini {}줄", commands.size() - remoteIndexes.size(), remoteIndexes.size());
+        if (remoteIndexes.isEmpty()) {
+            return Mono.just(new ParseScheduleBatchResponse(List.of(results)));
+        }
+
+        List<String> remoteCommands = remoteIndexes.stream().map(commands::get).toList();
+        // 한도·서킷 거절은 요청 전체를 503/429로 돌려보내고, 그 밖의 실패는 Gemini로 보낸 줄에만 사유를 채움
+        return geminiChatAdapter.parseSchedulesWithFunctionCalling(remoteCommands, apiKey)
+                .onErrorResume(e -> !(e instanceof GeminiRejectedException), e -> Mono.just(
+                        remoteCommands.stream().map(c -> new GeminiChatAdapter.ParsedCommand(null, e.getMessage())).toList()))
+                .map(parsed -> {
+                    for (int j = 0; j < remoteIndexes.size(); j++) {
+                        int i = remoteIndexes.get(j);
+                        GeminiChatAdapter.ParsedCommand p = parsed.get(j);
+                        results[i] = batchResult(i, commands.get(i),
+                                p.schedule() != null ? AiChatResponse.ScheduleData.from(p.schedule()) : null, p.error());
+                    }
+                    return new ParseScheduleBatchResponse(List.of(results));
+                });
+    }
+
+    private static ParseScheduleBatchResponse.Result batchResult(int index, String command,
+                                                                 AiChatResponse.ScheduleData schedule, String message) {
+        return ParseScheduleBatchResponse.Result.builder()
+                .index(index)
+                .command(command)
+                .schedule(schedule)
+                .message(message)
+                .build();
+    }
+
+    @Override
+    public Mono<PlannerScheduleResponse> planSchedule(PlannerScheduleRequest request, String userId, String apiKey) {
         log.info("짜조 플래너 요청: {}", request.getUserText());
+        // 입력 검증 실패(endDate·days[].date 형식)도 Mono 오류로 내보내야 컨트롤러에서 400으로 바뀐다
+        return Mono.defer(() -> {
+            PlannerInput input = preparePlannerInput(request, userId);
+            // "공부 90, 장보기 20"처럼 구조화된 입력은 Gemini 없이 바로 배치
+            var local = plannerInputParser.parse(request.getUserText());
+            if (local.isPresent()) {
+                log.debug("짜조 플래너 로컬 해석: plans={}건", local.get().plans().size());
+                return Mono.just(place(input, request, local.get().category(), local.get().plans(), null));
+            }
+            // 배치 최적화는 최대 수백 ms 동안 CPU를 쓰므로 Gemini 응답을 받은 Netty 이벤트 루프가 아닌 parallel 스케줄러에서
+            return geminiChatAdapter.detectCategoryAndPlans(request.getUserText(), apiKey)
+                    .publishOn(Schedulers.parallel())
+                    .map(categoryAndPlans -> place(
+                            input, request, categoryAndPlans.category(), categoryAndPlans.plans(), categoryAndPlans.summary()));
+        });
+    }
+
+    @Override
+    public Flux<PlannerStreamEvent> streamPlanSchedule(PlannerScheduleRequest request, String userId, String apiKey) {
+        log.info("짜조 플래너 스트리밍 요청: {}", request.getUserText());
+        // 입력 준비(검증·JPA 조회) 실패도 스트림 오류로 내보내야 컨트롤러의 SSE 오류 이벤트로 전달된다
+        return Flux.defer(() -> {
+            PlannerInput input = preparePlannerInput(request, userId);
+            List<GeminiChatAdapter.CategoryAndPlans.PlanWithDuration> plans = new ArrayList<>();
+            String[] category = {"default"};
+            String[] summary = {null};
+            var local = plannerInputParser.parse(request.getUserText());
+            Flux<GeminiChatAdapter.PlannerStreamItem> items = local
+                    .map(GeminiChatAdapter.PlannerStreamItem::of)
+                    .orElseGet(() -> geminiChatAdapter.streamCategoryAndPlans(request.getUserText(), apiKey));
+            Flux<PlannerStreamEvent> partial = items
+                    .map(item -> {
+                        if (item.plan() != null) {
+                            var p = item.plan();
+                            plans.add(p);
+                            return PlannerStreamEvent.builder()
+                                    .type(PlannerStreamEvent.TYPE_PLAN)
+                                    .plan(new PlannerStreamEvent.PlanDraft(p.title(), p.durationMinutes(), p.note()))
+                                    .build();
+                        }
+                        if (item.category() != null) {
+                            category[0] = item.category();
+                            return PlannerStreamEvent.builder()
+                                    .type(PlannerStreamEvent.TYPE_CATEGORY)
+                                    .category(item.category())
+                                    .build();
+                        }
+                        summary[0] = item.summary();
+                        return PlannerStreamEvent.builder()
+                                .type(PlannerStreamEvent.TYPE_SUMMARY)
+                                .summary(item.summary())
+                                .build();
+                    });
+            // 스트림을 끝낸 스레드(Netty 이벤트 루프)에서 배치하지 않도록 parallel 스케줄러로 옮긴다
+            Mono<PlannerStreamEvent> result = Mono.fromSupplier(() -> PlannerStreamEvent.builder()
+                    .type(PlannerStreamEvent.TYPE_RESULT)
+                    .result(place(input, request, category[0], plans, summary[0]))
+                    .build())
+                    .subscribeOn(Schedulers.parallel());
+            return partial.concatWith(result);
+        });
+    }
+
+    /**
+     * 플래너 입력 준비: 시작 분(오늘이면 현재 시각)과 가용 슬롯.
+     * 저장된 일정 조회(JPA)는 요청 스레드에서 끝내고, Gemini 호출 이후 단계만 비동기로 이어간다.
+     * endDate가 date보다 뒤면 여러 날 모드로 날짜별 슬롯을 준비한다 (최대 MAX_PLANNER_DAYS일, 넘으면 잘라서 응답에 표시).
+     */
+    private PlannerInput preparePlannerInput(PlannerScheduleRequest request, String userId) {
         var slots = request.getAvailableSlots() != null ? request.getAvailableSlots() : List.<PlannerScheduleRequest.TimeSlotDto>of();
-        var categoryAndPlans = geminiChatAdapter.detectCategoryAndPlans(request.getUserText(), apiKey);
         int currentTimeMinutes = 0;
+        LocalDate targetDate = null;
         try {
             String dateStr = request.getDate();
             if (dateStr != null && !dateStr.isBlank()) {
-                LocalDate targetDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
+                targetDate = LocalDate.parse(dateStr, DateTimeFormatter.ISO_LOCAL_DATE);
                 if (targetDate.isEqual(LocalDate.now())) {
                     currentTimeMinutes = parseTimeToMinutes(request.getCurrentTime());
                 }
@@ -54,26 +208,150 @@ public class AiChatService implements ParseScheduleUseCase, EditScheduleUseCase,
             // 날짜 파싱 실패 시에는 보수적으로 0분부터 전체 슬롯을 사용한다.
             currentTimeMinutes = 0;
         }
-        Integer blockMaxMinutes = request.getBlockMaxMinutes();
-        Integer breakMinutesDefault = request.getBreakMinutesDefault();
-        var plansWithDuration = categoryAndPlans.plans().stream()
+        var routines = routineTemplateService.routinesFor(userId);
+        LocalDate endDate = parseEndDate(request, targetDate);
+        if (endDate != null) {
+            LocalDate last = targetDate.plusDays(MAX_PLANNER_DAYS - 1);
+            LocalDate clampedEndDate = endDate.isAfter(last) ? last : null;
+            if (clampedEndDate != null) {
+                log.debug("짜조 플래너 기간 제한: endDate {} → {}", endDate, clampedEndDate);
+                endDate = clampedEndDate;
+            }
+            return new PlannerInput(slots, currentTimeMinutes,
+                    prepareDays(request, userId, targetDate, endDate, slots, currentTimeMinutes), routines, clampedEndDate);
+        }
+        if (userId != null) {
+            // 저장된 일정 기준으로 가용 슬롯 계산(클라이언트 미전송 시) 또는 이미 찬 시간 제거
+            LocalDate slotDate = targetDate != null ? targetDate : LocalDate.now();
+            slots = slots.isEmpty()
+                    ? freeBusyService.freeSlots(userId, slotDate, MIN_SLOT_MINUTES, currentTimeMinutes, true)
+                    : freeBusyService.intersectWithFree(userId, slotDate, slots, MIN_SLOT_MINUTES);
+        }
+        return new PlannerInput(slots, currentTimeMinutes, null, routines, null);
+    }
+
+    /**
+     * 요청한 여러 날 모드 종료일 (기간 제한 전). date·endDate가 없거나 endDate가 date보다 뒤가 아니면 null(하루 모드).
+     * endDate 형식 오류는 IllegalArgumentException (컨트롤러에서 400)
+     */
+    private static LocalDate parseEndDate(PlannerScheduleRequest request, LocalDate date) {
+        if (date == null || request.getEndDate() == null || request.getEndDate().isBlank()) return null;
+        LocalDate end;
+        try {
+            end = LocalDate.parse(request.getEndDate(), DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("endDate 형식이 올바르지 않습니다. (yyyy-MM-dd)");
+        }
+        return end.isAfter(date) ? end : null;
+    }
+
+    /**
+     * 날짜별 슬롯: days에 있으면 그 슬롯, 없으면 공통 availableSlots, 둘 다 없으면 저장된 일정 기준 빈 시간.
+     * 로그인 사용자는 기간 점유 상태를 한 번에 조회해 날짜마다 잘라낸다.
+     */
+    private List<PlannerPlacementService.DaySlots> prepareDays(
+            PlannerScheduleRequest request, String userId, LocalDate from, LocalDate to,
+            List<PlannerScheduleRequest.TimeSlotDto> commonSlots, int currentTimeMinutes) {
+        Map<LocalDate, List<PlannerScheduleRequest.TimeSlotDto>> clientSlots = new HashMap<>();
+        if (request.getDays() != null) {
+            for (var day : request.getDays()) {
+                try {
+                    clientSlots.put(LocalDate.parse(day.getDate(), DateTimeFormatter.ISO_LOCAL_DATE),
+                            day.getAvailableSlots() != null ? day.getAvailableSlots() : List.of());
+                } catch (Exception e) {
+                    throw new IllegalArgumentException("days[].date 형식이 올바르지 않습니다. (yyyy-MM-dd)");
+                }
+            }
+        }
+        Map<LocalDate, DayOccupancy> occupancy = userId != null ? freeBusyService.occupancy(userId, from, to) : Map.of();
+        List<PlannerPlacementService.DaySlots> days = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            int fromMinute = d.equals(from) ? currentTimeMinutes : 0;
+            var slots = clientSlots.getOrDefault(d, commonSlots);
+            DayOccupancy day = occupancy.get(d);
+            if (day != null) {
+                if (slots.isEmpty()) {
+                    FreeBusyService.markMeals(day);
+                    slots = FreeBusyService.toSlots(day.freeRanges(fromMinute, DayOccupancy.MINUTES_PER_DAY, MIN_SLOT_MINUTES));
+                } else {
+                    slots = FreeBusyService.intersectWithFree(day, slots, MIN_SLOT_MINUTES);
+                }
+            }
+            days.add(new PlannerPlacementService.DaySlots(d, slots, fromMinute));
+        }
+        return days;
+    }
+
+    private PlannerScheduleResponse place(PlannerInput input, PlannerScheduleRequest request, String category,
+                                          List<GeminiChatAdapter.CategoryAndPlans.PlanWithDuration> plans, String summary) {
+        var plansWithDuration = plans.stream()
                 .map(p -> new PlannerPlacementService.PlanWithDuration(
                         p.title(), p.durationMinutes(), p.breakMinutesAfter(), p.note(), p.category()))
                 .toList();
-        var placed = plannerPlacementService.placePlans(
-                categoryAndPlans.category(),
-                plansWithDuration,
-                slots,
-                currentTimeMinutes,
-                true,
-                blockMaxMinutes,
-                breakMinutesDefault);
+        var placement = input.days() != null
+                ? plannerPlacementService.placeAcrossDays(
+                        category,
+                        plansWithDuration,
+                        input.days(),
+                        request.getBlockMaxMinutes(),
+                        request.getBreakMinutesDefault(),
+                        request.getDailyMaxMinutes() != null && request.getDailyMaxMinutes() > 0
+                                ? request.getDailyMaxMinutes()
+                                : DEFAULT_DAILY_MAX_MINUTES,
+                        input.routines())
+                : Boolean.TRUE.equals(request.getOptimize())
+                ? plannerPlacementService.optimize(
+                        category,
+                        plansWithDuration,
+                        input.slots(),
+                        input.currentTimeMinutes(),
+                        request.getBlockMaxMinutes(),
+                        request.getBreakMinutesDefault(),
+                        input.routines(),
+                        optimizeBudgetNanos(request.getOptimizeBudgetMs()))
+                : plannerPlacementService.place(
+                        category,
+                        plansWithDuration,
+                        input.slots(),
+                        input.currentTimeMinutes(),
+                        request.getBlockMaxMinutes(),
+                        request.getBreakMinutesDefault(),
+                        input.routines());
         return PlannerScheduleResponse.builder()
-                .plans(placed)
-                .summary(categoryAndPlans.summary())
+                .plans(placement.plans())
+                .summary(summary)
+                .unplaced(placement.unplaced())
+                .solverStats(placement.solverStats())
+                .clampedEndDate(input.clampedEndDate() != null ? input.clampedEndDate().toString() : null)
                 .build();
     }
 
+    /** 최적화 예산: 기본 20ms, 1~200ms로 제한 */
+    private static long optimizeBudgetNanos(Integer budgetMs) {
+        int ms = budgetMs != null ? Math.max(1, Math.min(budgetMs, MAX_OPTIMIZE_BUDGET_MS)) : DEFAULT_OPTIMIZE_BUDGET_MS;
+        return ms * 1_000_000L;
+    }
+
+    /** 날짜 파싱 실패·생략 시 fallback (플래너와 같이 보수적으로 처리) */
+    private static LocalDate parseDateOrDefault(String date, LocalDate fallback) {
+        if (date == null || date.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(date, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * days가 있으면 여러 날 모드. routines는 사용자별 컴파일된 루틴.
+     * clampedEndDate는 요청 기간이 MAX_PLANNER_DAYS일을 넘어 잘렸을 때 실제 마지막 날 (아니면 null)
+     */
+    private record PlannerInput(List<PlannerScheduleRequest.TimeSlotDto> slots, int currentTimeMinutes,
+                                List<PlannerPlacementService.DaySlots> days, RoutineTemplates.RoutineSet routines,
+                                LocalDate clampedEndDate) {}
+
     private static int parseTimeToMinutes(String time) {
         if (time == null || time.isBlank()) return 0;
         try {
@@ -87,15 +365,32 @@ public class AiChatService implements ParseScheduleUseCase, EditScheduleUseCase,
     }
 
     @Override
-    public EditScheduleResponse editSchedule(String command, List<ScheduleItemForEdit> todos, String apiKey) {
+    public Flux<String> streamWebSearchChat(String message, String apiKey) {
+        log.info("웹 검색 채팅 스트리밍 요청: {}", message);
+        return geminiChatAdapter.streamChatWithWebSearch(message, apiKey);
+    }
+
+    @Override
+    public Mono<EditScheduleResponse> editSchedule(String command, String date, List<ScheduleItemForEdit> todos,
+                                                   String userId, String apiKey) {
         log.info("대화형 일정 수정 요청: {}", command);
-        var operations = geminiChatAdapter.editScheduleWithFunctionCalling(command, todos, apiKey);
-        String message = operations.isEmpty()
-                ? "일정 내용을 이해하지 못했어요. 날짜·시간·제목을 명확히 적어주세요. (예: 내일 오후 3시 2시간 회의)"
-                : null;
-        return EditScheduleResponse.builder()
-                .operations(operations)
-                .message(message)
-                .build();
+        // 로그인 사용자는 저장된 일정에서, 아니면 클라이언트 목록에서 명령과 관련 있는 것만 골라 프롬프트에 넣음
+        return Mono.fromCallable(() -> {
+                    LocalDate today = LocalDate.now();
+                    LocalDate around = parseDateOrDefault(date, today);
+                    return userId != null
+                            ? editContextService.select(userId, command, around, today)
+                            : editContextService.select(todos != null ? todos : List.of(), command, around, today);
+                })
+                .flatMap(context -> geminiChatAdapter.editScheduleWithFunctionCalling(command, context, apiKey))
+                .map(operations -> {
+                    String message = operations.isEmpty()
+                            ? "일정 내용을 이해하지 못했어요. 날짜·시간·제목을 명확히 적어주세요. (예: 내일 오후 3시 2시간 회의)"
+                            : null;
+                    return EditScheduleResponse.builder()
+                            .operations(operations)
+                            .message(message)
+                            .build();
+                });
     }
 }
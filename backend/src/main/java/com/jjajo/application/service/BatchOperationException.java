@@ -0,0 +1,22 @@
+package com.jjajo.application.service;
+
+import lombok.Getter;
+
+/**
+ * 일정 일괄 변경(ScheduleService.applyBatch)에서 특정 연산이 거절된 경우.
+ * 메시지는 "n번째 연산: 사유" 형식이고, 컨트롤러는 400 응답에 failedIndex(0부터)와 reason을 따로 담는다.
+ */
+@Getter
+public class BatchOperationException extends IllegalArgumentException {
+
+    /** 거절된 연산 위치 (요청 operations 기준, 0부터) */
+    private final int index;
+    /** 위치를 뺀 사유 */
+    private final String reason;
+
+    public BatchOperationException(int index, String reason) {
+        super((index + 1) + "번째 연산: " + reason);
+        this.index = index;
+        this.reason = reason;
+    }
+}
@@ -5,12 +5,15 @@ import com.jjajo.domain.model.ScheduleRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.UUID;
 
 /**
@@ -20,6 +23,12 @@ import java.util.UUID;
 @Service
 public class ConflictDetectionService {
     
+    /** 이동 시간 부족 기준(분) */
+    private static final int TRANSITION_BUFFER_MINUTES = 30;
+    /** 준비 시간 부족 기준(분) */
+    private static final int PREPARATION_BUFFER_MINUTES = 15;
+    private static final long CANDIDATE_WINDOW_SECONDS = TRANSITION_BUFFER_MINUTES * 60L;
+
     /**
      * 새 일정과 기존 일정들 간의 충돌 감지
      */
@@ -28,43 +37,14 @@ public class ConflictDetectionService {
             List<ScheduleRequest> existingSchedules) {
         
         List<ScheduleConflict> conflicts = new ArrayList<>();
-        
-        LocalDateTime newStart = combineDateTime(newSchedule.getDateAsLocalDate(), newSchedule.getStartTimeAsLocalTime());
-        LocalDateTime newEnd = combineDateTime(newSchedule.getDateAsLocalDate(), newSchedule.getEndTimeAsLocalTime());
+        LocalDateTime now = LocalDateTime.now();
+        Span target = Span.of(0, newSchedule, now);
         
         for (ScheduleRequest existing : existingSchedules) {
-            LocalDateTime existingStart = combineDateTime(existing.getDateAsLocalDate(), existing.getStartTimeAsLocalTime());
-            LocalDateTime existingEnd = combineDateTime(existing.getDateAsLocalDate(), existing.getEndTimeAsLocalTime());
-            
-            // 시간 겹침 확인
-            if (isTimeOverlapping(newStart, newEnd, existingStart, existingEnd)) {
-                ScheduleConflict conflict = createConflict(
-                    newSchedule, 
-                    existing, 
-                    ScheduleConflict.ConflictSeverity.CRITICAL,
-                    "일정이 완전히 겹칩니다."
-                );
-                conflicts.add(conflict);
-            }
-            // 이동 시간 부족 확인 (30분 버퍼)
-            else if (isInsufficientTransitionTime(newStart, newEnd, existingStart, existingEnd, 30)) {
-                ScheduleConflict conflict = createConflict(
-                    newSchedule, 
-                    existing, 
-                    ScheduleConflict.ConflictSeverity.HIGH,
-                    "일정 간 이동 시간이 부족합니다. (최소 30분 권장)"
-                );
-                conflicts.add(conflict);
-            }
-            // 준비 시간 부족 확인 (15분 버퍼)
-            else if (isInsufficientTransitionTime(newStart, newEnd, existingStart, existingEnd, 15)) {
-                ScheduleConflict conflict = createConflict(
-                    newSchedule, 
-                    existing, 
-                    ScheduleConflict.ConflictSeverity.MEDIUM,
-                    "일정 간 준비 시간이 부족할 수 있습니다."
-                );
-                conflicts.add(conflict);
+            Span other = Span.of(0, existing, now);
+            ScheduleConflict.ConflictSeverity severity = classify(target, other);
+            if (severity != null) {
+                conflicts.add(createConflict(newSchedule, existing, severity, describe(severity)));
             }
         }
         
@@ -72,33 +52,96 @@ public class ConflictDetectionService {
     }
     
     /**
-     * 시간 겹침 확인
+     * 일정 목록 전체에서 충돌하는 쌍을 한 번씩만 감지 (sweep-line, O(n log n + k)).
+     * 각 일정은 한 번만 파싱하고, 시작 시각 순으로 훑으면서 종료 후 30분 이내에 시작하는 일정만 후보로 비교한다.
+     * 결과는 목록 순서 기준 (앞 일정, 뒤 일정) 쌍이며 심각도 기준은 detectConflicts를 양방향으로 적용한 것과 동일.
+     * 후보 제외(hi + 30분 ≤ lo)는 어느 방향으로도 겹침·30분 미만 간격이 될 수 없는 경우만 뺀다.
      */
-    private boolean isTimeOverlapping(
-            LocalDateTime start1, LocalDateTime end1,
-            LocalDateTime start2, LocalDateTime end2) {
-        return start1.isBefore(end2) && end1.isAfter(start2);
+    public List<ScheduleConflict> detectAllConflicts(List<ScheduleRequest> schedules) {
+        int n = schedules.size();
+        if (n < 2) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Span[] spans = new Span[n];
+        for (int i = 0; i < n; i++) {
+            spans[i] = Span.of(i, schedules.get(i), now);
+        }
+        Span[] byStart = spans.clone();
+        Arrays.sort(byStart, Comparator.comparingLong(Span::lo).thenComparingInt(Span::index));
+        
+        // 활성 구간: 아직 뒤 일정과 30분 이내일 수 있는 일정 (hi 기준 최소 힙)
+        PriorityQueue<Span> active = new PriorityQueue<>(Comparator.comparingLong(Span::hi));
+        List<long[]> found = new ArrayList<>();
+        for (Span current : byStart) {
+            while (!active.isEmpty() && active.peek().hi() + CANDIDATE_WINDOW_SECONDS <= current.lo()) {
+                active.poll();
+            }
+            for (Span other : active) {
+                // 뒤집힌 구간·종료 없음(00:00)이면 classify가 방향에 따라 다르다. 쌍별 비교처럼 양방향 중 먼저 잡힌 것
+                ScheduleConflict.ConflictSeverity severity = classify(current, other);
+                if (severity == null) {
+                    severity = classify(other, current);
+                }
+                if (severity != null) {
+                    int first = Math.min(current.index(), other.index());
+                    int second = Math.max(current.index(), other.index());
+                    found.add(new long[]{first, second, severity.ordinal()});
+                }
+            }
+            active.add(current);
+        }
+        
+        found.sort(Comparator.<long[]>comparingLong(f -> f[0]).thenComparingLong(f -> f[1]));
+        ScheduleConflict.ConflictSeverity[] severities = ScheduleConflict.ConflictSeverity.values();
+        List<ScheduleConflict> conflicts = new ArrayList<>(found.size());
+        for (long[] f : found) {
+            ScheduleConflict.ConflictSeverity severity = severities[(int) f[2]];
+            conflicts.add(createConflict(
+                schedules.get((int) f[0]),
+                schedules.get((int) f[1]),
+                severity,
+                describe(severity)
+            ));
+        }
+        return conflicts;
     }
     
     /**
-     * 전환 시간 부족 확인
+     * 두 일정의 충돌 심각도. 충돌이 아니면 null.
+     * 시작·종료가 뒤집힌 구간이 있으면 a·b 순서에 따라 결과가 다를 수 있다 (detectConflicts의 기존 동작).
+     * - 시간 겹침 → CRITICAL
+     * - 사이 간격 30분 미만 → HIGH (이동 시간 부족), 그다음 15분 미만 → MEDIUM (준비 시간 부족) 순으로 검사
+     * - 딱 붙어 있는 경우(간격 0)는 충돌로 보지 않음
      */
-    private boolean isInsufficientTransitionTime(
-            LocalDateTime start1, LocalDateTime end1,
-            LocalDateTime start2, LocalDateTime end2,
-            int requiredMinutes) {
-        
+    private static ScheduleConflict.ConflictSeverity classify(Span a, Span b) {
+        if (a.start() < b.end() && a.end() > b.start()) {
+            return ScheduleConflict.ConflictSeverity.CRITICAL;
+        }
         long minutesBetween;
-        
-        if (end1.isBefore(start2)) {
-            minutesBetween = Duration.between(end1, start2).toMinutes();
-        } else if (end2.isBefore(start1)) {
-            minutesBetween = Duration.between(end2, start1).toMinutes();
+        if (a.end() < b.start()) {
+            minutesBetween = (b.start() - a.end()) / 60;
+        } else if (b.end() < a.start()) {
+            minutesBetween = (a.start() - b.end()) / 60;
         } else {
-            return false; // 겹치는 경우는 별도 처리
+            return null;
         }
-        
-        return minutesBetween < requiredMinutes;
+        if (minutesBetween < TRANSITION_BUFFER_MINUTES) {
+            return ScheduleConflict.ConflictSeverity.HIGH;
+        }
+        if (minutesBetween < PREPARATION_BUFFER_MINUTES) {
+            return ScheduleConflict.ConflictSeverity.MEDIUM;
+        }
+        return null;
+    }
+    
+    private static String describe(ScheduleConflict.ConflictSeverity severity) {
+        return switch (severity) {
+            case CRITICAL -> "일정이 완전히 겹칩니다.";
+            case HIGH -> "일정 간 이동 시간이 부족합니다. (최소 30분 권장)";
+            case MEDIUM -> "일정 간 준비 시간이 부족할 수 있습니다.";
+            case LOW -> "선호 시간대를 벗어났습니다.";
+        };
     }
     
     /**
@@ -161,13 +204,34 @@ public class ConflictDetectionService {
     /**
      * 날짜와 시간 결합
      */
-    private LocalDateTime combineDateTime(LocalDate date, LocalTime time) {
+    private static LocalDateTime combineDateTime(LocalDate date, LocalTime time, LocalDateTime now) {
         if (date == null) {
-            return LocalDateTime.now();
+            return now;
         }
         if (time == null) {
             return date.atStartOfDay();
         }
         return LocalDateTime.of(date, time);
     }
+    
+    /**
+     * 한 번만 파싱한 일정 구간 (epoch 초). lo/hi는 시작·종료가 뒤집힌 경우까지 감싼 범위.
+     */
+    private record Span(int index, long start, long end) {
+        
+        static Span of(int index, ScheduleRequest schedule, LocalDateTime now) {
+            LocalDate date = schedule.getDateAsLocalDate();
+            long start = combineDateTime(date, schedule.getStartTimeAsLocalTime(), now).toEpochSecond(ZoneOffset.UTC);
+            long end = combineDateTime(date, schedule.getEndTimeAsLocalTime(), now).toEpochSecond(ZoneOffset.UTC);
+            return new Span(index, start, end);
+        }
+        
+        long lo() {
+            return Math.min(start, end);
+        }
+        
+        long hi() {
+            return Math.max(start, end);
+        }
+    }
 }
@@ -0,0 +1,254 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.ScheduleEntity;
+import com.jjajo.domain.repository.ScheduleRepository;
+import com.jjajo.presentation.dto.ScheduleItemForEdit;
+import com.jjajo.presentation.dto.ScheduleItemResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 대화형 수정 프롬프트에 넣을 일정만 고르는 서비스.
+ * 사용자 일정 전체 대신 명령과 관련 있는 것만 토큰 예산 안에서 보내 프롬프트 크기를 일정 개수와 무관하게 유지한다.
+ *
+ * - 후보: 기준일 ± window-days, 명령에 나온 날짜(MagicBarRuleParser), 제목 키워드가 들어간 일정.
+ *   주간 반복 일정(시간표)은 기준일 ± window-days와 언급된 날짜의 회차(ruleId@date)를 펼쳐 함께 넣는다
+ * - 점수: 언급된 날짜 > 제목 키워드 > 기준일과의 거리. 점수 순으로 max-tokens까지 채움
+ * - #번호: 고른 일정을 (date, startTime, id) 순으로 1부터. 클라이언트가 목록을 보낸 경우 클라이언트 번호를 유지
+ */
+@Slf4j
+@Service
+public class EditContextService {
+
+    private static final int MENTIONED_DATE_SCORE = 1000;
+    private static final int KEYWORD_SCORE = 500;
+    private static final int MAX_KEYWORDS = 5;
+
+    /** 한글·영문·숫자 덩어리. 숫자가 들어간 조각(날짜·시각·소요 시간)은 키워드로 쓰지 않는다 */
+    private static final Pattern WORD = Pattern.compile("[가-힣A-Za-z0-9]+");
+    private static final Pattern PARTICLE = Pattern.compile("(?:에서|으로|이랑|하고|까지|부터|을|를|이|가|은|는|도|만|의|에|로|랑)$");
+    private static final Set<String> STOPWORDS = Set.of(
+            "일정", "시간", "오늘", "내일", "모레", "어제", "글피", "이번주", "다음주", "이번", "다음", "지난", "주",
+            "오전", "오후", "아침", "저녁", "새벽", "전부", "모두", "뒤에", "앞에", "번째", "있는",
+            "추가", "수정", "삭제", "취소", "변경", "해줘", "주세요",
+            "늘려", "늘려줘", "줄여", "줄여줘", "바꿔", "바꿔줘", "옮겨", "옮겨줘", "미뤄", "미뤄줘", "지워", "지워줘",
+            "취소해줘", "삭제해줘", "늘리고", "줄이고", "그리고");
+
+    private static final Comparator<ScheduleItemForEdit> CHRONOLOGICAL = Comparator
+            .comparing((ScheduleItemForEdit t) -> nullToEmpty(t.getDate()))
+            .thenComparing(t -> nullToEmpty(t.getStartTime()))
+            .thenComparing(t -> nullToEmpty(t.getId()));
+
+    private final ScheduleRepository scheduleRepository;
+    private final RecurringScheduleService recurringScheduleService;
+    private final MagicBarRuleParser magicBarRuleParser;
+    private final int windowDays;
+    private final int maxTokens;
+    private final int keywordMatchLimit;
+
+    public EditContextService(
+            ScheduleRepository scheduleRepository,
+            RecurringScheduleService recurringScheduleService,
+            MagicBarRuleParser magicBarRuleParser,
+            @Value("${app.edit-context.window-days:7}") int windowDays,
+            @Value("${app.edit-context.max-tokens:2000}") int maxTokens,
+            @Value("${app.edit-context.keyword-match-limit:20}") int keywordMatchLimit) {
+        this.scheduleRepository = scheduleRepository;
+        this.recurringScheduleService = recurringScheduleService;
+        this.magicBarRuleParser = magicBarRuleParser;
+        this.windowDays = Math.max(windowDays, 0);
+        this.maxTokens = Math.max(maxTokens, 1);
+        this.keywordMatchLimit = Math.max(keywordMatchLimit, 1);
+    }
+
+    /**
+     * 저장된 일정에서 명령과 관련 있는 것만 골라 #번호를 붙여 반환.
+     *
+     * @param around 기준일 (사용자가 보고 있는 날짜, 없으면 오늘)
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduleItemForEdit> select(String userId, String command, LocalDate around, LocalDate today) {
+        List<LocalDate> mentioned = magicBarRuleParser.mentionedDates(command, today);
+        List<String> keywords = keywords(command);
+
+        Map<String, ScheduleItemForEdit> candidates = new LinkedHashMap<>();
+        String from = around.minusDays(windowDays).toString();
+        String to = around.plusDays(windowDays).toString();
+        addAll(candidates, scheduleRepository.findSpanningInto(userId, from));
+        addAll(candidates, scheduleRepository.findWindow(userId, from, to, Pageable.unpaged()));
+        addOccurrences(candidates, recurringScheduleService.expandWindow(
+                userId, around.minusDays(windowDays), around.plusDays(windowDays)));
+        for (LocalDate date : mentioned) {
+            String key = date.toString();
+            if (key.compareTo(from) < 0 || key.compareTo(to) > 0) {
+                addAll(candidates, scheduleRepository.findWindow(userId, key, key, Pageable.unpaged()));
+                addOccurrences(candidates, recurringScheduleService.expandWindow(userId, date, date));
+            }
+        }
+        for (String keyword : keywords) {
+            addAll(candidates, scheduleRepository.findTitleMatches(userId, keyword, PageRequest.of(0, keywordMatchLimit)));
+        }
+
+        List<ScheduleItemForEdit> selected = rank(new ArrayList<>(candidates.values()), mentioned, keywords, around);
+        selected.sort(CHRONOLOGICAL);
+        for (int i = 0; i < selected.size(); i++) {
+            selected.get(i).setOrder(i + 1);
+        }
+        log.debug("대화형 수정 컨텍스트: 후보 {}건 중 {}건 (날짜 {}, 키워드 {})",
+                candidates.size(), selected.size(), mentioned, keywords);
+        return selected;
+    }
+
+    /**
+     * 클라이언트가 보낸 목록에 같은 선택 규칙 적용 (로그인하지 않은 요청). #번호는 클라이언트 값을 유지.
+     */
+    public List<ScheduleItemForEdit> select(List<ScheduleItemForEdit> todos, String command, LocalDate around, LocalDate today) {
+        List<ScheduleItemForEdit> withOrder = new ArrayList<>();
+        for (int i = 0; i < todos.size(); i++) {
+            ScheduleItemForEdit t = todos.get(i);
+            if (t.getOrder() == null) {
+                t.setOrder(i + 1);
+            }
+            withOrder.add(t);
+        }
+        List<ScheduleItemForEdit> selected = rank(withOrder,
+                magicBarRuleParser.mentionedDates(command, today), keywords(command), around);
+        selected.sort(Comparator.comparing(ScheduleItemForEdit::getOrder));
+        return selected;
+    }
+
+    /** 점수 순으로 토큰 예산까지 채움 */
+    private List<ScheduleItemForEdit> rank(List<ScheduleItemForEdit> items, List<LocalDate> mentioned,
+                                           List<String> keywords, LocalDate around) {
+        Set<String> mentionedKeys = new HashSet<>();
+        for (LocalDate d : mentioned) {
+            mentionedKeys.add(d.toString());
+        }
+        Map<ScheduleItemForEdit, Integer> scores = new IdentityHashMap<>();
+        for (ScheduleItemForEdit t : items) {
+            scores.put(t, score(t, mentionedKeys, keywords, around));
+        }
+        items.sort(Comparator.comparing((ScheduleItemForEdit t) -> scores.get(t)).reversed().thenComparing(CHRONOLOGICAL));
+
+        List<ScheduleItemForEdit> selected = new ArrayList<>();
+        int tokens = 0;
+        for (ScheduleItemForEdit t : items) {
+            int cost = estimateTokens(t);
+            if (tokens + cost > maxTokens) {
+                break;
+            }
+            tokens += cost;
+            selected.add(t);
+        }
+        return selected;
+    }
+
+    private static int score(ScheduleItemForEdit t, Set<String> mentioned, List<String> keywords, LocalDate around) {
+        int score = 0;
+        if (t.getDate() != null && mentioned.contains(t.getDate())) {
+            score += MENTIONED_DATE_SCORE;
+        }
+        String title = t.getTitle() != null ? t.getTitle().toLowerCase() : "";
+        for (String keyword : keywords) {
+            if (title.contains(keyword.toLowerCase())) {
+                score += KEYWORD_SCORE;
+                break;
+            }
+        }
+        if (t.getDate() == null) {
+            return score;
+        }
+        try {
+            long distance = Math.abs(ChronoUnit.DAYS.between(around, LocalDate.parse(t.getDate())));
+            score += (int) Math.max(0, 100 - distance);
+        } catch (DateTimeParseException e) {
+            // 날짜 형식이 잘못된 항목은 거리 점수 없음
+        }
+        return score;
+    }
+
+    /**
+     * 프롬프트 한 줄의 토큰 수 근사 (한글 기준 대략 3자/토큰, GeminiChatAdapter의 목록 한 줄 형식)
+     */
+    static int estimateTokens(ScheduleItemForEdit t) {
+        int chars = 40 // "  #N id= title= date= startTime= endTime=" 고정 부분
+                + length(t.getId()) + length(t.getTitle()) + length(t.getDate())
+                + length(t.getStartTime()) + length(t.getEndTime());
+        return Math.max(1, (chars + 2) / 3);
+    }
+
+    /** 명령에서 제목 검색에 쓸 단어 (조사 제거, 불용어·숫자 포함 조각 제외) */
+    static List<String> keywords(String command) {
+        Set<String> out = new LinkedHashSet<>();
+        if (command == null) {
+            return List.of();
+        }
+        Matcher m = WORD.matcher(command);
+        while (m.find() && out.size() < MAX_KEYWORDS) {
+            String word = m.group();
+            if (word.chars().anyMatch(Character::isDigit) || STOPWORDS.contains(word)) {
+                continue;
+            }
+            String stem = PARTICLE.matcher(word).replaceFirst("");
+            if (stem.length() < 2) {
+                stem = word; // "회의"처럼 조사처럼 끝나는 두 글자 단어는 그대로
+            }
+            if (stem.length() >= 2 && !STOPWORDS.contains(stem)) {
+                out.add(stem);
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    private static void addAll(Map<String, ScheduleItemForEdit> candidates, List<ScheduleEntity> entities) {
+        for (ScheduleEntity e : entities) {
+            candidates.putIfAbsent(e.getId(), ScheduleItemForEdit.builder()
+                    .id(e.getId())
+                    .title(e.getTitle())
+                    .date(e.getDate())
+                    .startTime(e.getStartTime())
+                    .endTime(e.getEndTime())
+                    .build());
+        }
+    }
+
+    /** 반복 일정 회차 (id = ruleId@date, 수정·삭제 시 ScheduleService가 회차 단위로 처리) */
+    private static void addOccurrences(Map<String, ScheduleItemForEdit> candidates, List<ScheduleItemResponse> occurrences) {
+        for (ScheduleItemResponse o : occurrences) {
+            candidates.putIfAbsent(o.getId(), ScheduleItemForEdit.builder()
+                    .id(o.getId())
+                    .title(o.getTitle())
+                    .date(o.getDate())
+                    .startTime(o.getStartTime())
+                    .endTime(o.getEndTime())
+                    .build());
+        }
+    }
+
+    private static int length(String s) {
+        return s != null ? s.length() : 0;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s != null ? s : "";
+    }
+}
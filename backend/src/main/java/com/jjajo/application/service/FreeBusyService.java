@@ -0,0 +1,187 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.ScheduleEntity;
+import com.jjajo.domain.model.DayOccupancy;
+import com.jjajo.domain.repository.ScheduleRepository;
+import com.jjajo.presentation.dto.PlannerScheduleRequest;
+import com.jjajo.presentation.dto.ScheduleItemResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장된 일정으로 하루 점유 상태(DayOccupancy)를 만들고 빈 시간대를 계산하는 서비스.
+ * 짜조 플래너가 클라이언트가 보낸 가용 슬롯 대신(또는 검증용으로) 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FreeBusyService {
+
+    /** 아침·점심·저녁 각 1시간 (프론트엔드 excludeMealBlocksFromSlots와 동일) */
+    private static final int[][] MEAL_BLOCKS = {
+        {8 * 60, 9 * 60},
+        {12 * 60, 13 * 60},
+        {18 * 60, 19 * 60}
+    };
+
+    private final ScheduleRepository scheduleRepository;
+    private final RecurringScheduleService recurringScheduleService;
+
+    /**
+     * 해당 날짜의 점유 상태. 여러 날 일정과 반복 회차 포함, 시작/종료 시간이 없는 종일 일정은 제외.
+     */
+    @Transactional(readOnly = true)
+    public DayOccupancy occupancy(String userId, LocalDate date) {
+        DayOccupancy day = new DayOccupancy();
+        String key = date.toString();
+        for (ScheduleEntity e : scheduleRepository.findSpanningInto(userId, key)) {
+            markBusy(day, e.getStartTime(), e.getEndTime());
+        }
+        for (ScheduleEntity e : scheduleRepository.findWindow(userId, key, key, Pageable.unpaged())) {
+            markBusy(day, e.getStartTime(), e.getEndTime());
+        }
+        for (ScheduleItemResponse o : recurringScheduleService.expandWindow(userId, date, date)) {
+            markBusy(day, o.getStartTime(), o.getEndTime());
+        }
+        return day;
+    }
+
+    /**
+     * 기간(from~to) 날짜별 점유 상태. occupancy(userId, date)를 날짜마다 부르는 것과 같은 결과를 쿼리 세 번으로 만든다.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, DayOccupancy> occupancy(String userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, DayOccupancy> days = new LinkedHashMap<>();
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            days.put(d, new DayOccupancy());
+        }
+        List<ScheduleEntity> stored = new ArrayList<>(scheduleRepository.findSpanningInto(userId, from.toString()));
+        stored.addAll(scheduleRepository.findWindow(userId, from.toString(), to.toString(), Pageable.unpaged()));
+        for (ScheduleEntity e : stored) {
+            LocalDate start = LocalDate.parse(e.getDate());
+            LocalDate end = e.getEndDate() != null && !e.getEndDate().isBlank() ? LocalDate.parse(e.getEndDate()) : start;
+            // 여러 날 일정은 걸친 날마다 같은 시간대를 점유 (하루 조회와 동일)
+            for (LocalDate d = start.isBefore(from) ? from : start; !d.isAfter(end) && !d.isAfter(to); d = d.plusDays(1)) {
+                markBusy(days.get(d), e.getStartTime(), e.getEndTime());
+            }
+        }
+        for (ScheduleItemResponse o : recurringScheduleService.expandWindow(userId, from, to)) {
+            DayOccupancy day = days.get(LocalDate.parse(o.getDate()));
+            if (day != null) {
+                markBusy(day, o.getStartTime(), o.getEndTime());
+            }
+        }
+        return days;
+    }
+
+    /**
+     * 기간 날짜별 빈 시간대 (freeSlots와 같은 규칙). fromMinute는 첫날에만 적용.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, List<PlannerScheduleRequest.TimeSlotDto>> freeSlots(
+            String userId, LocalDate from, LocalDate to, int minMinutes, int fromMinute, boolean excludeMeals) {
+        Map<LocalDate, List<PlannerScheduleRequest.TimeSlotDto>> out = new LinkedHashMap<>();
+        occupancy(userId, from, to).forEach((date, day) -> {
+            if (excludeMeals) {
+                markMeals(day);
+            }
+            int start = date.equals(from) ? fromMinute : 0;
+            out.put(date, toSlots(day.freeRanges(start, DayOccupancy.MINUTES_PER_DAY, Math.max(minMinutes, 1))));
+        });
+        return out;
+    }
+
+    /**
+     * 해당 날짜의 빈 시간대 중 minMinutes 이상인 것.
+     *
+     * @param fromMinute   이 시각(분) 이전은 제외 (오늘이면 현재 시각)
+     * @param excludeMeals true면 식사 시간(각 1시간)도 바쁜 것으로 취급
+     */
+    @Transactional(readOnly = true)
+    public List<PlannerScheduleRequest.TimeSlotDto> freeSlots(String userId, LocalDate date, int minMinutes, int fromMinute, boolean excludeMeals) {
+        DayOccupancy day = occupancy(userId, date);
+        if (excludeMeals) {
+            markMeals(day);
+        }
+        return toSlots(day.freeRanges(fromMinute, DayOccupancy.MINUTES_PER_DAY, Math.max(minMinutes, 1)));
+    }
+
+    /**
+     * 클라이언트가 보낸 가용 슬롯을 저장된 일정 기준으로 다시 잘라냄 (이미 찬 시간 제거).
+     */
+    @Transactional(readOnly = true)
+    public List<PlannerScheduleRequest.TimeSlotDto> intersectWithFree(
+            String userId, LocalDate date, List<PlannerScheduleRequest.TimeSlotDto> slots, int minMinutes) {
+        return intersectWithFree(occupancy(userId, date), slots, minMinutes);
+    }
+
+    /**
+     * 이미 구한 점유 상태(day, 변경됨) 기준으로 클라이언트 슬롯을 잘라냄.
+     */
+    public static List<PlannerScheduleRequest.TimeSlotDto> intersectWithFree(
+            DayOccupancy day, List<PlannerScheduleRequest.TimeSlotDto> slots, int minMinutes) {
+        DayOccupancy allowed = DayOccupancy.allBusy();
+        for (PlannerScheduleRequest.TimeSlotDto slot : slots) {
+            int s = toMinutes(slot.getStart());
+            int e = toMinutes(slot.getEnd());
+            if (s >= 0 && e > s) allowed.markFree(s, e);
+        }
+        // 클라이언트 슬롯 밖의 시간을 저장된 점유 상태에 덧씌움
+        int prev = 0;
+        int[] ranges = allowed.freeRanges(0, DayOccupancy.MINUTES_PER_DAY, 1);
+        for (int i = 0; i < ranges.length; i += 2) {
+            day.markBusy(prev, ranges[i]);
+            prev = ranges[i + 1];
+        }
+        day.markBusy(prev, DayOccupancy.MINUTES_PER_DAY);
+        return toSlots(day.freeRanges(0, DayOccupancy.MINUTES_PER_DAY, Math.max(minMinutes, 1)));
+    }
+
+    static void markMeals(DayOccupancy day) {
+        for (int[] meal : MEAL_BLOCKS) {
+            day.markBusy(meal[0], meal[1]);
+        }
+    }
+
+    private static void markBusy(DayOccupancy day, String startTime, String endTime) {
+        int start = toMinutes(startTime);
+        int end = toMinutes(endTime);
+        if (start < 0 || end < 0) return;
+        // 자정을 넘기는 일정은 그날 끝까지 점유
+        if (end <= start) end = DayOccupancy.MINUTES_PER_DAY;
+        day.markBusy(start, end);
+    }
+
+    static List<PlannerScheduleRequest.TimeSlotDto> toSlots(int[] ranges) {
+        List<PlannerScheduleRequest.TimeSlotDto> out = new ArrayList<>(ranges.length / 2);
+        for (int i = 0; i < ranges.length; i += 2) {
+            out.add(new PlannerScheduleRequest.TimeSlotDto(toTime(ranges[i]), toTime(ranges[i + 1])));
+        }
+        return out;
+    }
+
+    /** "HH:mm" → 분. 형식이 잘못되면 -1 */
+    static int toMinutes(String time) {
+        if (time == null || time.isBlank()) return -1;
+        String[] p = time.trim().split(":");
+        try {
+            int h = Integer.parseInt(p[0].trim());
+            int m = p.length > 1 ? Integer.parseInt(p[1].trim()) : 0;
+            if (h < 0 || m < 0 || m > 59 || h * 60 + m > DayOccupancy.MINUTES_PER_DAY) return -1;
+            return h * 60 + m;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String toTime(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
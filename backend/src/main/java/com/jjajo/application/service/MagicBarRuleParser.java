@@ -0,0 +1,392 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.model.ScheduleRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 매직 바 한 줄 명령의 규칙 기반 로컬 파서.
+ * "내일 오후 3시부터 2시간 회의", "3/12 14:00 스터디 90분"처럼 형식이 분명한 입력은
+ * Gemini 호출 없이 바로 일정으로 바꾸고, 애매한 입력은 신뢰도를 낮춰 Gemini 파싱으로 넘긴다.
+ *
+ * 인식 범위:
+ * - 날짜: 오늘/내일/모레/글피, N일 후, (이번주|다음주|다다음주) X요일, M월 D일, M/D, YYYY-MM-DD (없으면 오늘)
+ * - 시각: 오전/오후/아침/저녁/밤/새벽 + H시 (M분|반), HH:mm, 정오/자정. 두 번째 시각은 종료 시각
+ * - 소요 시간: N시간 (M분|반), N분, 한/두/세 시간 (없으면 60분)
+ * - 제목: 위 표현과 조사·요청 어미(추가해줘 등)를 뺀 나머지
+ */
+@Component
+public class MagicBarRuleParser {
+
+    /** Gemini와 같은 기본 소요 시간(분) */
+    static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private static final String PERIOD = "(오전|오후|아침|낮|저녁|밤|새벽)";
+
+    private static final Pattern ISO_DATE = Pattern.compile("(\\d{4})-(\\d{1,2})-(\\d{1,2})");
+    private static final Pattern MONTH_DAY = Pattern.compile("(\\d{1,2})\\s*월\\s*(\\d{1,2})\\s*일");
+    private static final Pattern SLASH_DATE = Pattern.compile("(?<![\\d/:])(\\d{1,2})/(\\d{1,2})(?![\\d/])");
+    private static final Pattern RELATIVE_DAY = Pattern.compile("오늘|내일|모레|글피");
+    private static final Pattern DAYS_LATER = Pattern.compile("(\\d{1,3})\\s*일\\s*(?:후|뒤)");
+    private static final Pattern WEEKDAY = Pattern.compile("(?:(이번\\s*주|다음\\s*주|담주|다다음\\s*주)\\s*)?([월화수목금토일])요일");
+
+    private static final Pattern TIME = Pattern.compile(
+            "(?:" + PERIOD + "\\s*)?(?:(\\d{1,2}):(\\d{2})|(\\d{1,2})\\s*시(?!간)(?:\\s*(\\d{1,2})\\s*분|\\s*(반))?|(정오|자정))");
+    private static final Pattern DURATION = Pattern.compile(
+            "(\\d{1,2}|한|두|세|네|다섯)\\s*시간\\s*(?:(\\d{1,2})\\s*분|(반))?|(\\d{1,3})\\s*분");
+
+    /** 두 시각 사이가 범위 표현일 때만 두 번째 시각을 종료 시각으로 본다 ("3시부터 5시까지", "14:00-15:30") */
+    private static final Pattern RANGE_GAP = Pattern.compile("\\s*(?:부터|에서)?\\s*[~-]?\\s*");
+
+    /** 요청 어미: "회의 일정 추가해줘" → "회의" */
+    private static final Pattern REQUEST_SUFFIX = Pattern.compile(
+            "\\s*(?:일정\\s*)?(?:추가|등록|잡아|넣어|만들어)\\S*\\s*(?:줘|주세요|줄래)?[.!]*$");
+    /** 범위·조사만 남은 조각 */
+    private static final Set<String> FILLERS = Set.of(
+            "부터", "까지", "동안", "간", "에", "에서", "의", "~", "-", ",", "일정");
+    /** 시각 바로 뒤에 붙는 어림 표현 ("3시쯤" → 남은 조각 "쯤") */
+    private static final Pattern APPROXIMATE = Pattern.compile("^(?:쯤|정도|즈음|경)");
+    /** 이런 표현이 남으면 규칙으로 확정하지 않는다 (반복·취소 등 다른 의도) */
+    private static final Pattern OTHER_INTENT = Pattern.compile(
+            "언제|아무때|마다|매일|매주|격주|말고|아니|취소|삭제|옮겨|바꿔|미뤄|\\?");
+
+    private static final Map<String, Integer> KOREAN_HOURS = Map.of("한", 1, "두", 2, "세", 3, "네", 4, "다섯", 5);
+    private static final Map<Character, DayOfWeek> WEEKDAYS = Map.of(
+            '월', DayOfWeek.MONDAY, '화', DayOfWeek.TUESDAY, '수', DayOfWeek.WEDNESDAY,
+            '목', DayOfWeek.THURSDAY, '금', DayOfWeek.FRIDAY, '토', DayOfWeek.SATURDAY, '일', DayOfWeek.SUNDAY);
+
+    private final double minConfidence;
+
+    public MagicBarRuleParser(@Value("${app.magic-bar.local-parser.min-confidence:0.8}") double minConfidence) {
+        this.minConfidence = minConfidence;
+    }
+
+    /**
+     * 신뢰도가 기준 이상일 때만 결과를 반환. 비어 있으면 Gemini 파싱으로 넘긴다.
+     */
+    public Optional<ScheduleRequest> tryParse(String command, LocalDate today) {
+        Result result = parse(command, today);
+        return result.request() != null && result.confidence() >= minConfidence
+                ? Optional.of(result.request())
+                : Optional.empty();
+    }
+
+    /**
+     * 명령에 나온 날짜 전부 (대화형 수정 컨텍스트 선택용). 없는 날짜(2월 30일 등)를 만나면 그 앞까지만 반환.
+     */
+    public List<LocalDate> mentionedDates(String command, LocalDate today) {
+        if (command == null || command.isBlank()) {
+            return List.of();
+        }
+        String text = command.strip().replaceAll("\\s+", " ");
+        List<LocalDate> dates = new ArrayList<>();
+        try {
+            collectDates(text, new boolean[text.length()], today, dates);
+        } catch (DateTimeException e) {
+            // 해석한 날짜까지만 사용
+        }
+        return dates;
+    }
+
+    /**
+     * 명령 하나를 해석. 해석할 수 없으면 request가 null이고 신뢰도 0.
+     */
+    public Result parse(String command, LocalDate today) {
+        if (command == null || command.isBlank()) {
+            return Result.NONE;
+        }
+        String text = command.strip().replaceAll("\\s+", " ");
+        boolean[] used = new boolean[text.length()];
+        double confidence = 1.0;
+
+        // 1) 날짜
+        List<LocalDate> dates = new ArrayList<>();
+        try {
+            collectDates(text, used, today, dates);
+        } catch (DateTimeException e) {
+            return Result.NONE;
+        }
+        if (dates.size() > 1) {
+            return Result.NONE;
+        }
+        LocalDate date = dates.isEmpty() ? today : dates.get(0);
+        if (dates.isEmpty()) {
+            confidence *= 0.9;
+        }
+
+        // 2) 시각 (첫 번째 = 시작, 두 번째 = 종료)
+        List<ClockTime> times = new ArrayList<>();
+        int[] timeSpans = new int[4];
+        Matcher tm = TIME.matcher(text);
+        while (tm.find()) {
+            if (!claim(used, tm.start(), tm.end())) {
+                continue;
+            }
+            ClockTime t = ClockTime.of(tm);
+            if (t == null || times.size() == 2) {
+                return Result.NONE;
+            }
+            timeSpans[times.size() * 2] = tm.start();
+            timeSpans[times.size() * 2 + 1] = tm.end();
+            times.add(t);
+        }
+        if (times.isEmpty()) {
+            return Result.NONE;
+        }
+        if (times.size() == 2) {
+            String gap = text.substring(timeSpans[1], timeSpans[2]);
+            boolean until = text.startsWith("까지", timeSpans[3]);
+            if (!RANGE_GAP.matcher(gap).matches() || (gap.isBlank() && !until)) {
+                // "3시 회의 5시 저녁"처럼 일정이 둘이면 Gemini에 맡긴다
+                return Result.NONE;
+            }
+        }
+        ClockTime start = times.get(0);
+        confidence *= start.confidence();
+
+        // 3) 소요 시간
+        Integer duration = null;
+        Matcher dm = DURATION.matcher(text);
+        while (dm.find()) {
+            if (!claim(used, dm.start(), dm.end())) {
+                continue;
+            }
+            if (duration != null) {
+                return Result.NONE;
+            }
+            duration = durationMinutes(dm);
+        }
+
+        int startMinutes = start.minutes();
+        int endMinutes;
+        if (times.size() == 2) {
+            endMinutes = times.get(1).asEndAfter(start);
+            if (duration != null && duration != endMinutes - startMinutes) {
+                return Result.NONE;
+            }
+        } else {
+            if (duration == null) {
+                duration = DEFAULT_DURATION_MINUTES;
+                confidence *= 0.9;
+            }
+            endMinutes = startMinutes + duration;
+        }
+        if (endMinutes <= startMinutes || endMinutes >= 24 * 60) {
+            // 자정을 넘기거나 0분 이하인 일정은 Gemini에 맡긴다
+            return Result.NONE;
+        }
+
+        // 4) 제목
+        List<String> words = titleWords(text, used);
+        if (words.isEmpty()) {
+            return Result.NONE;
+        }
+        String title = String.join(" ", words);
+        if (words.stream().anyMatch(w -> APPROXIMATE.matcher(w).find()) || OTHER_INTENT.matcher(title).find()) {
+            confidence *= 0.5;
+        }
+        if (title.length() > 30 || words.size() > 6) {
+            confidence *= 0.8;
+        }
+
+        ScheduleRequest request = ScheduleRequest.builder()
+                .title(title)
+                .description("한 줄 명령으로 추가한 일정")
+                .date(date.toString())
+                .startTime(format(startMinutes))
+                .endTime(format(endMinutes))
+                .priority("medium")
+                .build();
+        return new Result(request, confidence);
+    }
+
+    private static void collectDates(String text, boolean[] used, LocalDate today, List<LocalDate> out) {
+        Matcher m = ISO_DATE.matcher(text);
+        while (m.find()) {
+            if (claim(used, m.start(), m.end())) {
+                out.add(LocalDate.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3))));
+            }
+        }
+        m = MONTH_DAY.matcher(text);
+        while (m.find()) {
+            if (claim(used, m.start(), m.end())) {
+                out.add(LocalDate.of(today.getYear(), Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+            }
+        }
+        m = SLASH_DATE.matcher(text);
+        while (m.find()) {
+            if (claim(used, m.start(), m.end())) {
+                out.add(LocalDate.of(today.getYear(), Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))));
+            }
+        }
+        m = DAYS_LATER.matcher(text);
+        while (m.find()) {
+            if (claim(used, m.start(), m.end())) {
+                out.add(today.plusDays(Integer.parseInt(m.group(1))));
+            }
+        }
+        m = RELATIVE_DAY.matcher(text);
+        while (m.find()) {
+            if (claim(used, m.start(), m.end())) {
+                int offset = switch (m.group()) {
+                    case "내일" -> 1;
+                    case "모레" -> 2;
+                    case "글피" -> 3;
+                    default -> 0;
+                };
+                out.add(today.plusDays(offset));
+            }
+        }
+        m = WEEKDAY.matcher(text);
+        while (m.find()) {
+            if (claim(used, m.start(), m.end())) {
+                out.add(weekday(today, m.group(1), WEEKDAYS.get(m.group(2).charAt(0))));
+            }
+        }
+    }
+
+    /**
+     * 주 단위 표현은 월요일 시작 주 기준. 접두어가 없으면 오늘 이후(오늘 포함) 가장 가까운 요일.
+     */
+    static LocalDate weekday(LocalDate today, String week, DayOfWeek dayOfWeek) {
+        if (week == null) {
+            return today.with(TemporalAdjusters.nextOrSame(dayOfWeek));
+        }
+        String w = week.replace(" ", "");
+        int weeks = switch (w) {
+            case "다음주", "담주" -> 1;
+            case "다다음주" -> 2;
+            default -> 0;
+        };
+        return today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).plusWeeks(weeks)
+                .with(TemporalAdjusters.nextOrSame(dayOfWeek));
+    }
+
+    private static int durationMinutes(Matcher m) {
+        if (m.group(4) != null) {
+            return Integer.parseInt(m.group(4));
+        }
+        String h = m.group(1);
+        int hours = KOREAN_HOURS.containsKey(h) ? KOREAN_HOURS.get(h) : Integer.parseInt(h);
+        int minutes = m.group(2) != null ? Integer.parseInt(m.group(2)) : m.group(3) != null ? 30 : 0;
+        return hours * 60 + minutes;
+    }
+
+    private static List<String> titleWords(String text, boolean[] used) {
+        StringBuilder rest = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            rest.append(used[i] ? ' ' : text.charAt(i));
+        }
+        String s = REQUEST_SUFFIX.matcher(rest.toString().strip()).replaceFirst("");
+        List<String> words = new ArrayList<>();
+        for (String token : s.split(" ")) {
+            if (!token.isEmpty() && !FILLERS.contains(token)) {
+                words.add(token);
+            }
+        }
+        return words;
+    }
+
+    /** 겹치지 않는 구간만 차지 (앞선 규칙이 우선) */
+    private static boolean claim(boolean[] used, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (used[i]) {
+                return false;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            used[i] = true;
+        }
+        return true;
+    }
+
+    private static String format(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+
+    /**
+     * 시각 표현 하나. period는 오전/오후 등(없으면 null).
+     */
+    private record ClockTime(String period, int hour, int minute, boolean twentyFourHour) {
+
+        static ClockTime of(Matcher m) {
+            String period = m.group(1);
+            if ("정오".equals(m.group(7))) {
+                return new ClockTime(null, 12, 0, true);
+            }
+            if ("자정".equals(m.group(7))) {
+                return new ClockTime(null, 0, 0, true);
+            }
+            int hour;
+            int minute;
+            boolean twentyFour;
+            if (m.group(2) != null) {
+                hour = Integer.parseInt(m.group(2));
+                minute = Integer.parseInt(m.group(3));
+                twentyFour = m.group(2).length() == 2 && m.group(2).startsWith("0") || hour >= 13 || hour == 0;
+            } else {
+                hour = Integer.parseInt(m.group(4));
+                minute = m.group(5) != null ? Integer.parseInt(m.group(5)) : m.group(6) != null ? 30 : 0;
+                twentyFour = hour >= 13 || hour == 0;
+            }
+            if (hour > 24 || minute > 59 || (twentyFour && period != null && hour >= 13)) {
+                return null;
+            }
+            return new ClockTime(period, hour, minute, twentyFour);
+        }
+
+        /** 0~1440 분. 오전/오후가 없으면 1~6시는 오후, 7~11시는 오전으로 본다 */
+        int minutes() {
+            return resolveHour(period) * 60 + minute;
+        }
+
+        double confidence() {
+            return period == null && !twentyFourHour && hour != 12 ? 0.9 : 1.0;
+        }
+
+        private int resolveHour(String p) {
+            if (twentyFourHour) {
+                return hour;
+            }
+            if (p == null) {
+                return hour <= 6 ? hour + 12 : hour;
+            }
+            return switch (p) {
+                case "오후", "저녁", "밤" -> hour == 12 ? (p.equals("오후") ? 12 : 24) : hour + 12;
+                case "낮" -> hour <= 6 ? hour + 12 : hour;
+                default -> hour == 12 ? 0 : hour;
+            };
+        }
+
+        /** 종료 시각: 오전/오후가 없으면 시작 시각의 오전/오후를 따르고, 그래도 앞서면 12시간 뒤로 */
+        int asEndAfter(ClockTime start) {
+            if (twentyFourHour || period != null) {
+                return minutes();
+            }
+            int end = resolveHour(start.period()) * 60 + minute;
+            if (end <= start.minutes() && end + 12 * 60 < 24 * 60) {
+                end += 12 * 60;
+            }
+            return end;
+        }
+    }
+
+    /**
+     * 해석 결과와 신뢰도(0~1)
+     */
+    public record Result(ScheduleRequest request, double confidence) {
+        static final Result NONE = new Result(null, 0.0);
+    }
+}
@@ -0,0 +1,185 @@
+package com.jjajo.application.service;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 하루 배치 최적화 (anytime 지역 탐색).
+ * 목적: 배치된 분 최대화 → 같으면 선호 시간대와 겹치는 분 최대화 (objective = 배치 분 × W + 겹침 분).
+ *
+ * 탐색:
+ * - 시작해: 기존 그리디 결과 (최적화 결과가 그리디보다 나빠지지 않음)
+ * - 블록 배치 순서를 바꿔 가며 순서대로 배치: 블록마다 슬롯 시작·끝 정렬, 선호 구간 경계에 맞춘 후보 시작 중 겹침이 큰 곳
+ * - 최고 순서에서 두 블록을 맞바꾸는 이웃 탐색, 일정 횟수마다 무작위 재시작
+ * - 마감 시각(nanoTime)에 닿으면 지금까지의 최고 해를 반환. 상한(모든 블록이 선호 구간 안)에 닿으면 조기 종료
+ * 배치 규칙(블록은 슬롯 하나 안, 블록 뒤 휴식, 10분 미만 조각 버림)은 그리디와 같다.
+ */
+final class PlacementOptimizer {
+
+    /** 배치 분이 겹침 분보다 항상 우선하도록 (겹침 합 ≤ 하루 1440분) */
+    private static final long PLACED_WEIGHT = 2000;
+    private static final int RESTART_EVERY = 16;
+
+    private final SlotList initial;
+    private final int[] lengths;
+    private final int[] breaks;
+    private final int[][] preferred;
+
+    /**
+     * @param initial   가용 슬롯 (변경하지 않음)
+     * @param lengths   블록 길이(분)
+     * @param breaks    블록 뒤 휴식(분)
+     * @param preferred 블록별 선호 구간 [start0, end0, ...]
+     */
+    PlacementOptimizer(SlotList initial, int[] lengths, int[] breaks, int[][] preferred) {
+        this.initial = initial;
+        this.lengths = lengths;
+        this.breaks = breaks;
+        this.preferred = preferred;
+    }
+
+    /**
+     * @param greedyStarts 그리디 해 (블록별 시작 분, 미배치 -1)
+     * @param budgetNanos  탐색 시간 상한
+     * @param seed         무작위 시드 (같은 입력·같은 반복 횟수면 같은 해)
+     */
+    Result solve(int[] greedyStarts, long budgetNanos, long seed) {
+        long started = System.nanoTime();
+        long deadline = started + budgetNanos;
+        int n = lengths.length;
+        Random random = new Random(seed);
+
+        long greedyObjective = objective(greedyStarts);
+        int[] bestStarts = greedyStarts.clone();
+        long bestObjective = greedyObjective;
+        long upperBound = 0;
+        for (int length : lengths) upperBound += length * (PLACED_WEIGHT + 1);
+
+        int[] bestOrder = new int[n];
+        for (int i = 0; i < n; i++) bestOrder[i] = i;
+        int[] order = bestOrder.clone();
+        int[] starts = new int[n];
+        int iterations = 0;
+        int improvements = 0;
+        boolean deadlineHit = false;
+
+        while (bestObjective < upperBound) {
+            if (System.nanoTime() >= deadline) {
+                deadlineHit = true;
+                break;
+            }
+            if (iterations == 0) {
+                // 플랜 순서 그대로, 후보 시작만 개선
+                System.arraycopy(bestOrder, 0, order, 0, n);
+            } else if (iterations == 1) {
+                // 긴 블록 먼저
+                Integer[] boxed = new Integer[n];
+                for (int i = 0; i < n; i++) boxed[i] = i;
+                Arrays.sort(boxed, (a, b) -> lengths[b] != lengths[a] ? lengths[b] - lengths[a] : a - b);
+                for (int i = 0; i < n; i++) order[i] = boxed[i];
+            } else if (iterations % RESTART_EVERY == 0) {
+                shuffle(order, random);
+            } else {
+                System.arraycopy(bestOrder, 0, order, 0, n);
+                if (n > 1) {
+                    int a = random.nextInt(n);
+                    int b = random.nextInt(n - 1);
+                    if (b >= a) b++;
+                    int t = order[a];
+                    order[a] = order[b];
+                    order[b] = t;
+                }
+            }
+            long value = construct(order, starts, iterations > 1 ? random : null);
+            iterations++;
+            if (value > bestObjective) {
+                bestObjective = value;
+                System.arraycopy(starts, 0, bestStarts, 0, n);
+                System.arraycopy(order, 0, bestOrder, 0, n);
+                improvements++;
+            }
+        }
+
+        int placedMinutes = 0;
+        int preferredMinutes = 0;
+        for (int i = 0; i < n; i++) {
+            if (bestStarts[i] >= 0) {
+                placedMinutes += lengths[i];
+                preferredMinutes += overlap(bestStarts[i], bestStarts[i] + lengths[i], preferred[i]);
+            }
+        }
+        long elapsedMicros = (System.nanoTime() - started) / 1_000;
+        return new Result(bestStarts, new Stats(iterations, improvements, elapsedMicros, deadlineHit,
+                greedyObjective, bestObjective, placedMinutes, preferredMinutes));
+    }
+
+    /** order 순서로 블록을 배치해 starts를 채우고 목적값 반환. random이 있으면 가끔 차선 후보를 고른다 */
+    private long construct(int[] order, int[] starts, Random random) {
+        SlotList free = initial.copy();
+        Arrays.fill(starts, -1);
+        long value = 0;
+        for (int c : order) {
+            int length = lengths[c];
+            int[] pr = preferred[c];
+            int best = -1;
+            int bestOverlap = -1;
+            int second = -1;
+            for (int i = 0; i < free.size(); i++) {
+                int s = free.startAt(i);
+                int e = free.endAt(i);
+                if (e - s < length) continue;
+                // 후보: 슬롯 앞, 슬롯 끝, 선호 구간 시작·끝 정렬
+                for (int k = -2; k < pr.length; k++) {
+                    int start = k == -2 ? s : k == -1 ? e - length : (k % 2 == 0 ? pr[k] : pr[k] - length);
+                    if (start < s || start + length > e) continue;
+                    int ov = overlap(start, start + length, pr);
+                    if (ov > bestOverlap || (ov == bestOverlap && start < best)) {
+                        second = best;
+                        best = start;
+                        bestOverlap = ov;
+                    }
+                }
+            }
+            if (best < 0) continue;
+            int start = random != null && second >= 0 && random.nextInt(8) == 0 ? second : best;
+            starts[c] = start;
+            free.consume(start, start + length, breaks[c]);
+            value += length * PLACED_WEIGHT + overlap(start, start + length, pr);
+        }
+        return value;
+    }
+
+    private long objective(int[] starts) {
+        long value = 0;
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] >= 0) {
+                value += lengths[i] * PLACED_WEIGHT + overlap(starts[i], starts[i] + lengths[i], preferred[i]);
+            }
+        }
+        return value;
+    }
+
+    private static int overlap(int start, int end, int[] preferredRanges) {
+        int total = 0;
+        for (int r = 0; r < preferredRanges.length; r += 2) {
+            int ov = Math.min(end, preferredRanges[r + 1]) - Math.max(start, preferredRanges[r]);
+            if (ov > 0) total += ov;
+        }
+        return total;
+    }
+
+    private static void shuffle(int[] a, Random random) {
+        for (int i = a.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    /** 블록별 시작 분(미배치 -1)과 통계 */
+    record Result(int[] starts, Stats stats) {}
+
+    record Stats(int iterations, int improvements, long elapsedMicros, boolean deadlineHit,
+                 long greedyObjective, long bestObjective, int placedMinutes, int preferredMinutes) {}
+}
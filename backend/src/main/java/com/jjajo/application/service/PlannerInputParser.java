@@ -0,0 +1,107 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.model.RoutineTemplates;
+import com.jjajo.infrastructure.gemini.GeminiChatAdapter.CategoryAndPlans;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 짜조 플래너 입력의 로컬 해석기.
+ * "공부 90, 장보기 20", "알고리즘 1시간 반 / 헬스 45분"처럼 "제목 + 시간"을 구분자로 나열한 입력은
+ * Gemini 없이 바로 plans로 바꾸고, 카테고리는 RoutineTemplates 키워드 사전으로 추론한다.
+ * 한 항목이라도 형식에 맞지 않으면(자유 문장) 비어 있는 결과를 돌려 Gemini에 맡긴다.
+ */
+@Component
+public class PlannerInputParser {
+
+    /** 항목 구분자: 쉼표, 줄바꿈, 슬래시, 세미콜론 */
+    private static final Pattern SEPARATOR = Pattern.compile("\\s*[,，、/;\\n]\\s*");
+    /** 제목 + (숫자 | N분 | N시간 [M분|반] | N.5시간) */
+    private static final Pattern ITEM = Pattern.compile(
+            "(.+?)\\s*(?:(\\d{1,3})\\s*(분)?|(\\d{1,2}(?:\\.\\d)?)\\s*시간(?:\\s*(\\d{1,2})\\s*분|\\s*(반))?)");
+    /** 제목 안에 시간 표현이 또 있으면 여러 일을 한 문장으로 쓴 것 */
+    private static final Pattern NESTED_DURATION = Pattern.compile("\\d+\\s*(시간|분)");
+    /** 시각(15:30)은 소요 시간이 아니다. "회의 15:30"이 "회의 15:" 30분으로 읽히지 않도록 항목째 거절 */
+    private static final Pattern CLOCK = Pattern.compile("\\d{1,2}\\s*:\\s*\\d{2}");
+
+    /** 단위 없는 숫자는 이 값 이상일 때만 분으로 본다 ("공부 2"는 2시간인지 모호) */
+    private static final int MIN_BARE_MINUTES = 10;
+    private static final int MAX_TITLE_LENGTH = 30;
+    /** Gemini 응답 보정(toPlan)과 같은 범위 */
+    private static final int MIN_DURATION = 10;
+    private static final int MAX_DURATION = 240;
+
+    /**
+     * 구조화된 입력이면 카테고리·plans, 아니면 empty. summary는 만들지 않는다.
+     */
+    public Optional<CategoryAndPlans> parse(String userText) {
+        if (userText == null || userText.isBlank()) {
+            return Optional.empty();
+        }
+        List<CategoryAndPlans.PlanWithDuration> plans = new ArrayList<>();
+        for (String part : SEPARATOR.split(userText.strip())) {
+            if (part.isBlank()) {
+                continue;
+            }
+            CategoryAndPlans.PlanWithDuration plan = parseItem(part.strip().replaceAll("\\s+", " "));
+            if (plan == null) {
+                return Optional.empty();
+            }
+            plans.add(plan);
+        }
+        if (plans.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new CategoryAndPlans(overallCategory(plans), plans));
+    }
+
+    private static CategoryAndPlans.PlanWithDuration parseItem(String item) {
+        if (CLOCK.matcher(item).find()) {
+            return null;
+        }
+        Matcher m = ITEM.matcher(item);
+        if (!m.matches()) {
+            return null;
+        }
+        String title = m.group(1).strip();
+        if (title.isEmpty() || title.length() > MAX_TITLE_LENGTH || NESTED_DURATION.matcher(title).find()) {
+            return null;
+        }
+        int minutes;
+        if (m.group(2) != null) {
+            minutes = Integer.parseInt(m.group(2));
+            if (m.group(3) == null && minutes < MIN_BARE_MINUTES) {
+                return null;
+            }
+        } else {
+            double hours = Double.parseDouble(m.group(4));
+            int extra = m.group(5) != null ? Integer.parseInt(m.group(5)) : m.group(6) != null ? 30 : 0;
+            minutes = (int) Math.round(hours * 60) + extra;
+        }
+        minutes = Math.max(MIN_DURATION, Math.min(minutes, MAX_DURATION));
+        String category = RoutineTemplates.categoryOf(title);
+        return new CategoryAndPlans.PlanWithDuration(title, minutes, null, null,
+                "default".equals(category) ? null : category);
+    }
+
+    /** 전체 카테고리: 분류된 플랜 중 총 시간이 가장 긴 카테고리, 없으면 default */
+    private static String overallCategory(List<CategoryAndPlans.PlanWithDuration> plans) {
+        Map<String, Integer> minutesByCategory = new LinkedHashMap<>();
+        for (CategoryAndPlans.PlanWithDuration p : plans) {
+            if (p.category() != null) {
+                minutesByCategory.merge(p.category(), p.durationMinutes(), Integer::sum);
+            }
+        }
+        return minutesByCategory.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("default");
+    }
+}
@@ -6,18 +6,35 @@ import com.jjajo.presentation.dto.PlannerScheduleResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * preferredSlots 우선 배치 알고리즘.
  * 카테고리별 선호 시간대에 먼저 일정을 배치하고, 고정 일정으로 막혀 있으면 다음 가까운 가용 시간을 사용.
+ * 배치 중에는 분 단위 정수 배열(SlotList)만 다루고, "HH:mm" 문자열은 응답 항목을 만들 때만 쓴다.
+ * 루틴(선호 시간대·세션 최대 길이·기본 휴식)은 사용자별로 미리 컴파일된 RoutineSet을 받는다.
  */
 @Slf4j
 @Service
 public class PlannerPlacementService {
 
+    /** 0:00~24:00 "HH:mm" 문자열 (응답 항목 생성 시 재사용) */
+    private static final String[] HH_MM = new String[24 * 60 + 1];
+
+    static {
+        for (int t = 0; t < HH_MM.length; t++) {
+            HH_MM[t] = String.format("%02d:%02d", t / 60, t % 60);
+        }
+    }
+
+    /** 플랜 하나의 하루 배치 상한(분) */
+    private static final int MAX_PLAN_MINUTES = 480;
+
     /**
      * Gemini가 반환한 plans(제목+소요분+휴식+메모)를 availableSlots에 배치.
      * preferredSlots 우선 배치. insertRestCards가 true일 때만 breakMinutesAfter에 따라 휴식 일정 자동 삽입.
@@ -31,61 +48,326 @@ public class PlannerPlacementService {
             boolean insertRestCards,
             Integer blockMaxMinutes,
             Integer breakMinutesDefault) {
-        if (plans == null || plans.isEmpty() || availableSlots == null || availableSlots.isEmpty()) {
-            return List.of();
-        }
+        return place(category, plans, availableSlots, currentTimeMinutes, blockMaxMinutes, breakMinutesDefault).plans();
+    }
+
+    /**
+     * 하루 배치 + 배치하지 못한 분(unplaced) 보고. 기본 루틴 사용.
+     */
+    public Placement place(
+            String category,
+            List<PlanWithDuration> plans,
+            List<PlannerScheduleRequest.TimeSlotDto> availableSlots,
+            int currentTimeMinutes,
+            Integer blockMaxMinutes,
+            Integer breakMinutesDefault) {
+        return place(category, plans, availableSlots, currentTimeMinutes, blockMaxMinutes, breakMinutesDefault,
+                RoutineTemplates.DEFAULTS);
+    }
 
-        var slots = toSlotList(availableSlots, currentTimeMinutes);
-        if (slots.isEmpty()) return List.of();
+    /**
+     * 하루 배치 + 배치하지 못한 분(unplaced) 보고. routines는 사용자별 루틴.
+     */
+    public Placement place(
+            String category,
+            List<PlanWithDuration> plans,
+            List<PlannerScheduleRequest.TimeSlotDto> availableSlots,
+            int currentTimeMinutes,
+            Integer blockMaxMinutes,
+            Integer breakMinutesDefault,
+            RoutineTemplates.RoutineSet routines) {
+        if (plans == null || plans.isEmpty()) {
+            return new Placement(List.of(), List.of());
+        }
+        var slots = availableSlots != null ? toSlotList(availableSlots, currentTimeMinutes) : new SlotList(0);
 
         List<PlannerScheduleResponse.PlanItem> result = new ArrayList<>();
+        List<PlannerScheduleResponse.UnplacedPlan> unplaced = new ArrayList<>();
         for (PlanWithDuration plan : plans) {
-            String effectiveCategory = (plan.category() != null && !plan.category().isBlank()) ? plan.category() : category;
-            var routine = RoutineTemplates.get(effectiveCategory);
-            var preferredRanges = parsePreferredRanges(routine.preferredSlots());
-            // 전체 계획 소요 시간(분) – 최소 10분, 상한은 과도하게 길어지지 않도록 방어적으로 제한.
-            int totalDuration = Math.max(plan.durationMinutes(), 10);
-            totalDuration = Math.min(totalDuration, 480);
+            PlanSpec spec = PlanSpec.of(plan, category, routines, blockMaxMinutes, breakMinutesDefault, MAX_PLAN_MINUTES);
+            int segmentCount = spec.segmentCount();
+            int placedMinutes = 0;
 
-            // 한 블록 최대 길이(분): 요청 파라미터가 있으면 우선 사용, 없으면 루틴의 sessionMaxMinutes.
-            int maxBlock = routine.sessionMaxMinutes();
-            if (blockMaxMinutes != null && blockMaxMinutes > 0) {
-                maxBlock = Math.min(maxBlock, blockMaxMinutes);
+            for (int segment = 0; segment < segmentCount && !slots.isEmpty(); segment++) {
+                int chunk = spec.chunk(segment);
+                int start = slots.bestStart(chunk, spec.preferredRanges());
+                if (start < 0) {
+                    break;
+                }
+                result.add(new PlannerScheduleResponse.PlanItem(
+                        spec.segmentTitle(segment), minutesToTime(start), minutesToTime(start + chunk), plan.note()));
+                // 휴식 블록은 별도 일정 카드로 생성하지 않고, 다음 일정까지의 최소 휴식 시간만 슬롯에서 비워둔다.
+                slots.consume(start, start + chunk, spec.breakMinutes());
+                placedMinutes += chunk;
             }
-            // 최소 블록 길이 보장
-            maxBlock = Math.max(maxBlock, 10);
-
-            Integer breakAfter = plan.breakMinutesAfter();
-            int defaultBreak = breakMinutesDefault != null && breakMinutesDefault >= 0
-                    ? breakMinutesDefault
-                    : routine.breakMinutesDefault();
-            int breakMin = Math.max(0, breakAfter == null ? defaultBreak : breakAfter);
+            if (placedMinutes < spec.totalMinutes()) {
+                unplaced.add(new PlannerScheduleResponse.UnplacedPlan(plan.title(), spec.totalMinutes() - placedMinutes));
+            }
+        }
+        return new Placement(result, unplaced);
+    }
 
-            int remaining = totalDuration;
-            int segmentIndex = 1;
-            int segmentCount = (int) Math.ceil((double) totalDuration / maxBlock);
+    /**
+     * 하루 배치 최적화 모드. 그리디 배치(place와 같은 결과)에서 시작해 budgetNanos 동안
+     * 블록 순서·시작 시각을 바꿔 가며 배치 분 → 선호 시간대 겹침 분이 큰 해를 찾는다 (PlacementOptimizer).
+     * 시간이 다 되면 지금까지의 최고 해를 반환하므로 결과는 그리디보다 나빠지지 않는다.
+     * 나뉜 플랜의 (i/n)은 시간 순으로 매기고, 응답 항목은 시작 시각 순.
+     */
+    public Placement optimize(
+            String category,
+            List<PlanWithDuration> plans,
+            List<PlannerScheduleRequest.TimeSlotDto> availableSlots,
+            int currentTimeMinutes,
+            Integer blockMaxMinutes,
+            Integer breakMinutesDefault,
+            RoutineTemplates.RoutineSet routines,
+            long budgetNanos) {
+        if (plans == null || plans.isEmpty()) {
+            return new Placement(List.of(), List.of());
+        }
+        SlotList initial = availableSlots != null ? toSlotList(availableSlots, currentTimeMinutes) : new SlotList(0);
+        List<PlanSpec> specs = new ArrayList<>(plans.size());
+        int chunkCount = 0;
+        for (PlanWithDuration plan : plans) {
+            PlanSpec spec = PlanSpec.of(plan, category, routines, blockMaxMinutes, breakMinutesDefault, MAX_PLAN_MINUTES);
+            specs.add(spec);
+            chunkCount += spec.segmentCount();
+        }
 
-            while (remaining > 0 && !slots.isEmpty()) {
-                int chunk = Math.min(remaining, maxBlock);
-                var placed = placeOne(slots, preferredRanges, plan.title(), chunk);
-                if (placed == null) {
-                    break;
+        // 블록 단위 배열 + 그리디 해 (place와 같은 규칙: 한 블록이 안 들어가면 그 플랜의 나머지 블록은 건너뜀)
+        int[] planOf = new int[chunkCount];
+        int[] lengths = new int[chunkCount];
+        int[] breaks = new int[chunkCount];
+        int[][] preferred = new int[chunkCount][];
+        int[] greedyStarts = new int[chunkCount];
+        Arrays.fill(greedyStarts, -1);
+        SlotList greedy = initial.copy();
+        int c = 0;
+        for (int p = 0; p < specs.size(); p++) {
+            PlanSpec spec = specs.get(p);
+            boolean blocked = false;
+            for (int segment = 0; segment < spec.segmentCount(); segment++, c++) {
+                planOf[c] = p;
+                lengths[c] = spec.chunk(segment);
+                breaks[c] = spec.breakMinutes();
+                preferred[c] = spec.preferredRanges();
+                if (blocked || greedy.isEmpty()) continue;
+                int start = greedy.bestStart(lengths[c], preferred[c]);
+                if (start < 0) {
+                    blocked = true;
+                    continue;
                 }
+                greedy.consume(start, start + lengths[c], breaks[c]);
+                greedyStarts[c] = start;
+            }
+        }
+
+        var result = new PlacementOptimizer(initial, lengths, breaks, preferred)
+                .solve(greedyStarts, budgetNanos, Arrays.hashCode(lengths));
+        int[] starts = result.starts();
+
+        Integer[] order = new Integer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(i -> starts[i]));
+        int[] segmentNumber = new int[specs.size()];
+        int[] placedMinutes = new int[specs.size()];
+        List<PlannerScheduleResponse.PlanItem> items = new ArrayList<>(chunkCount);
+        for (int i : order) {
+            if (starts[i] < 0) continue;
+            PlanSpec spec = specs.get(planOf[i]);
+            items.add(new PlannerScheduleResponse.PlanItem(
+                    spec.segmentTitle(segmentNumber[planOf[i]]++),
+                    minutesToTime(starts[i]),
+                    minutesToTime(starts[i] + lengths[i]),
+                    spec.note()));
+            placedMinutes[planOf[i]] += lengths[i];
+        }
+        List<PlannerScheduleResponse.UnplacedPlan> unplaced = new ArrayList<>();
+        int totalMinutes = 0;
+        for (int p = 0; p < specs.size(); p++) {
+            PlanSpec spec = specs.get(p);
+            totalMinutes += spec.totalMinutes();
+            if (placedMinutes[p] < spec.totalMinutes()) {
+                unplaced.add(new PlannerScheduleResponse.UnplacedPlan(spec.title(), spec.totalMinutes() - placedMinutes[p]));
+            }
+        }
+        var stats = result.stats();
+        log.debug("플래너 최적화: {}회 반복, 개선 {}회, {}µs, 목적값 {} → {}",
+                stats.iterations(), stats.improvements(), stats.elapsedMicros(),
+                stats.greedyObjective(), stats.bestObjective());
+        return new Placement(items, unplaced, new PlannerScheduleResponse.SolverStats(
+                stats.iterations(), stats.improvements(), stats.elapsedMicros(), stats.deadlineHit(),
+                stats.greedyObjective(), stats.bestObjective(),
+                stats.placedMinutes(), stats.preferredMinutes(), totalMinutes));
+    }
+
+    /**
+     * 여러 날 배치. 플랜을 블록 단위로 나눠 날짜별로 분배한 뒤, 날짜마다 독립적으로(병렬) 시간을 정한다.
+     * 1) 분배: 하루 배치량이 가장 적은 날 → 루틴 선호 시간대의 빈 시간이 많은 날 → 이른 날 순.
+     *    하루 최대 배치 분(dailyMaxMinutes)과 그날 빈 시간·가장 긴 슬롯을 넘기지 않는다.
+     * 2) 날짜별 배치: 하루 배치와 같은 규칙(선호 시간대 점수, 블록 뒤 휴식)으로 병렬 실행.
+     *    호출 스레드가 공용 풀 작업을 기다리므로 Netty 이벤트 루프에서 부르지 않는다 (AiChatService는 parallel 스케줄러에서 호출).
+     * 3) 넘침: 분배 단계에서 자리가 없었거나 그날 실제로 들어가지 않은 블록은 남은 시간이 있는 날에 다시 시도하고,
+     *    그래도 남으면 unplaced로 보고한다.
+     * 결과는 날짜·시작 시각 순이고, 나뉜 플랜의 (i/n)은 시간 순으로 매긴다.
+     */
+    public Placement placeAcrossDays(
+            String category,
+            List<PlanWithDuration> plans,
+            List<DaySlots> days,
+            Integer blockMaxMinutes,
+            Integer breakMinutesDefault,
+            int dailyMaxMinutes) {
+        return placeAcrossDays(category, plans, days, blockMaxMinutes, breakMinutesDefault, dailyMaxMinutes,
+                RoutineTemplates.DEFAULTS);
+    }
+
+    /**
+     * 여러 날 배치 (사용자별 루틴).
+     */
+    public Placement placeAcrossDays(
+            String category,
+            List<PlanWithDuration> plans,
+            List<DaySlots> days,
+            Integer blockMaxMinutes,
+            Integer breakMinutesDefault,
+            int dailyMaxMinutes,
+            RoutineTemplates.RoutineSet routines) {
+        if (plans == null || plans.isEmpty() || days == null || days.isEmpty()) {
+            return new Placement(List.of(), plans == null ? List.of() : plans.stream()
+                    .map(p -> new PlannerScheduleResponse.UnplacedPlan(p.title(), Math.max(p.durationMinutes(), 10)))
+                    .toList());
+        }
+        int dayCount = days.size();
+        SlotList[] daySlots = new SlotList[dayCount];
+        int[] capacity = new int[dayCount];
+        for (int d = 0; d < dayCount; d++) {
+            DaySlots day = days.get(d);
+            daySlots[d] = day.slots() != null ? toSlotList(day.slots(), day.currentTimeMinutes()) : new SlotList(0);
+            capacity[d] = daySlots[d].totalMinutes();
+        }
+        List<PlanSpec> specs = new ArrayList<>(plans.size());
+        for (PlanWithDuration plan : plans) {
+            specs.add(PlanSpec.of(plan, category, routines, blockMaxMinutes, breakMinutesDefault, MAX_PLAN_MINUTES * dayCount));
+        }
 
-                String title = plan.title();
-                if (segmentCount > 1) {
-                    title = plan.title() + " (" + segmentIndex + "/" + segmentCount + ")";
+        // 1) 블록 → 날짜 분배 (정수 연산만)
+        int[] load = new int[dayCount];
+        List<List<int[]>> assigned = new ArrayList<>(dayCount);
+        for (int d = 0; d < dayCount; d++) assigned.add(new ArrayList<>());
+        List<int[]> overflow = new ArrayList<>();
+        for (int p = 0; p < specs.size(); p++) {
+            PlanSpec spec = specs.get(p);
+            int[] preferredFree = new int[dayCount];
+            for (int d = 0; d < dayCount; d++) {
+                preferredFree[d] = daySlots[d].preferredMinutes(spec.preferredRanges());
+            }
+            for (int segment = 0; segment < spec.segmentCount(); segment++) {
+                int chunk = spec.chunk(segment);
+                int best = -1;
+                for (int d = 0; d < dayCount; d++) {
+                    if (load[d] + chunk > dailyMaxMinutes || capacity[d] < chunk || daySlots[d].longest() < chunk) continue;
+                    if (best < 0 || load[d] < load[best]
+                            || (load[d] == load[best] && preferredFree[d] > preferredFree[best])) {
+                        best = d;
+                    }
+                }
+                if (best < 0) {
+                    overflow.add(new int[]{p, segment});
+                    continue;
                 }
+                assigned.get(best).add(new int[]{p, segment});
+                load[best] += chunk;
+                capacity[best] -= chunk + spec.breakMinutes();
+                preferredFree[best] = Math.max(0, preferredFree[best] - chunk);
+            }
+        }
 
-                result.add(new PlannerScheduleResponse.PlanItem(title, placed.getStart(), placed.getEnd(), plan.note()));
-                // 휴식 블록은 별도 일정 카드로 생성하지 않고, 다음 일정까지의 최소 휴식 시간만 슬롯에서 비워둔다.
-                consumeSlot(slots, placed, breakMin);
+        // 2) 날짜별 배치 (서로 독립이므로 병렬)
+        List<List<int[]>> placedByDay = IntStream.range(0, dayCount)
+                .parallel()
+                .mapToObj(d -> {
+                    List<int[]> placed = new ArrayList<>();
+                    for (int[] block : assigned.get(d)) {
+                        PlanSpec spec = specs.get(block[0]);
+                        int chunk = spec.chunk(block[1]);
+                        int start = daySlots[d].bestStart(chunk, spec.preferredRanges());
+                        if (start < 0) {
+                            placed.add(new int[]{block[0], block[1], d, -1});
+                            continue;
+                        }
+                        daySlots[d].consume(start, start + chunk, spec.breakMinutes());
+                        placed.add(new int[]{block[0], block[1], d, start});
+                    }
+                    return placed;
+                })
+                .toList();
+
+        // 3) 넘친 블록 재시도 (순차) → 남으면 unplaced
+        List<int[]> placed = new ArrayList<>();
+        for (int d = 0; d < dayCount; d++) {
+            for (int[] block : placedByDay.get(d)) {
+                if (block[3] >= 0) {
+                    placed.add(block);
+                } else {
+                    load[d] -= specs.get(block[0]).chunk(block[1]);
+                    overflow.add(block);
+                }
+            }
+        }
+        overflow.sort(Comparator.<int[]>comparingInt(b -> b[0]).thenComparingInt(b -> b[1]));
+        int[] unplacedMinutes = new int[specs.size()];
+        for (int[] block : overflow) {
+            PlanSpec spec = specs.get(block[0]);
+            int chunk = spec.chunk(block[1]);
+            int bestDay = -1;
+            int bestStart = -1;
+            for (int d = 0; d < dayCount; d++) {
+                if (load[d] + chunk > dailyMaxMinutes || (bestDay >= 0 && load[d] >= load[bestDay])) continue;
+                int start = daySlots[d].bestStart(chunk, spec.preferredRanges());
+                if (start >= 0) {
+                    bestDay = d;
+                    bestStart = start;
+                }
+            }
+            if (bestDay < 0) {
+                unplacedMinutes[block[0]] += chunk;
+                continue;
+            }
+            daySlots[bestDay].consume(bestStart, bestStart + chunk, spec.breakMinutes());
+            load[bestDay] += chunk;
+            placed.add(new int[]{block[0], block[1], bestDay, bestStart});
+        }
 
-                remaining -= chunk;
-                segmentIndex++;
+        // 응답: 날짜·시작 순, 나뉜 플랜 번호는 시간 순
+        placed.sort(Comparator.<int[]>comparingInt(b -> b[2]).thenComparingInt(b -> b[3]));
+        int[] segmentNumber = new int[specs.size()];
+        List<PlannerScheduleResponse.PlanItem> items = new ArrayList<>(placed.size());
+        for (int[] block : placed) {
+            PlanSpec spec = specs.get(block[0]);
+            int start = block[3];
+            items.add(new PlannerScheduleResponse.PlanItem(
+                    spec.segmentTitle(segmentNumber[block[0]]++),
+                    minutesToTime(start),
+                    minutesToTime(start + spec.chunk(block[1])),
+                    spec.note(),
+                    days.get(block[2]).date().toString()));
+        }
+        List<PlannerScheduleResponse.UnplacedPlan> unplaced = new ArrayList<>();
+        for (int p = 0; p < specs.size(); p++) {
+            if (unplacedMinutes[p] > 0) {
+                unplaced.add(new PlannerScheduleResponse.UnplacedPlan(specs.get(p).title(), unplacedMinutes[p]));
             }
         }
-        return result;
+        return new Placement(items, unplaced);
+    }
+
+    /** 응답 경계에서만 문자열로 변환. 하루 범위는 미리 만든 문자열 재사용 */
+    private static String minutesToTime(int total) {
+        if (total >= 0 && total < HH_MM.length) return HH_MM[total];
+        int h = total / 60;
+        int m = total % 60;
+        return String.format("%02d:%02d", h, m);
     }
 
     private static int timeToMinutes(String time) {
@@ -101,41 +383,8 @@ public class PlannerPlacementService {
         return h * 60 + m;
     }
 
-    private static String minutesToTime(int total) {
-        int h = total / 60;
-        int m = total % 60;
-        return String.format("%02d:%02d", h, m);
-    }
-
-    private static List<int[]> parsePreferredRanges(List<String> preferredSlots) {
-        List<int[]> out = new ArrayList<>();
-        for (String s : preferredSlots) {
-            String[] parts = s.split("-");
-            if (parts.length >= 2) {
-                int start = timeToMinutes(parts[0].trim());
-                int end = timeToMinutes(parts[1].trim());
-                if (end > start) out.add(new int[]{start, end});
-            }
-        }
-        return out;
-    }
-
-    private static class Slot {
-        int start;
-        int end;
-
-        Slot(int start, int end) {
-            this.start = start;
-            this.end = end;
-        }
-
-        int duration() {
-            return end - start;
-        }
-    }
-
-    private static List<Slot> toSlotList(List<PlannerScheduleRequest.TimeSlotDto> dtos, int currentTimeMinutes) {
-        List<Slot> list = new ArrayList<>();
+    private static SlotList toSlotList(List<PlannerScheduleRequest.TimeSlotDto> dtos, int currentTimeMinutes) {
+        SlotList list = new SlotList(dtos.size() + 4);
         for (var d : dtos) {
             if (d.getStart() == null || d.getEnd() == null) continue;
             if (d.getStart().isBlank() || d.getEnd().isBlank()) continue;
@@ -146,58 +395,64 @@ public class PlannerPlacementService {
                 s = currentTimeMinutes;
                 if (e <= s) continue;
             }
-            list.add(new Slot(s, e));
+            list.add(s, e);
         }
         return list;
     }
 
-    /** preferredRanges와의 겹침 정도를 점수로. 겹침이 클수록 높은 점수. */
-    private static double scoreSlot(Slot slot, List<int[]> preferredRanges) {
-        double score = 0;
-        for (int[] pr : preferredRanges) {
-            int overlapStart = Math.max(slot.start, pr[0]);
-            int overlapEnd = Math.min(slot.end, pr[1]);
-            if (overlapEnd > overlapStart) {
-                score += (overlapEnd - overlapStart);
+    /**
+     * 플랜 하나의 배치 조건: 루틴 선호 시간대, 블록 최대 길이, 블록 뒤 휴식.
+     */
+    private record PlanSpec(String title, String note, int totalMinutes, int maxBlock, int breakMinutes, int[] preferredRanges) {
+
+        static PlanSpec of(PlanWithDuration plan, String category, RoutineTemplates.RoutineSet routines,
+                           Integer blockMaxMinutes, Integer breakMinutesDefault, int maxTotal) {
+            String effectiveCategory = (plan.category() != null && !plan.category().isBlank()) ? plan.category() : category;
+            var routine = routines.get(effectiveCategory);
+            // 전체 계획 소요 시간(분) – 최소 10분, 상한은 과도하게 길어지지 않도록 방어적으로 제한.
+            int totalDuration = Math.min(Math.max(plan.durationMinutes(), 10), maxTotal);
+
+            // 한 블록 최대 길이(분): 요청 파라미터가 있으면 우선 사용, 없으면 루틴의 sessionMaxMinutes.
+            int maxBlock = routine.sessionMaxMinutes();
+            if (blockMaxMinutes != null && blockMaxMinutes > 0) {
+                maxBlock = Math.min(maxBlock, blockMaxMinutes);
             }
+            // 최소 블록 길이 보장
+            maxBlock = Math.max(maxBlock, 10);
+
+            Integer breakAfter = plan.breakMinutesAfter();
+            int defaultBreak = breakMinutesDefault != null && breakMinutesDefault >= 0
+                    ? breakMinutesDefault
+                    : routine.breakMinutesDefault();
+            int breakMin = Math.max(0, breakAfter == null ? defaultBreak : breakAfter);
+            return new PlanSpec(plan.title(), plan.note(), totalDuration, maxBlock, breakMin, routine.preferredRanges());
         }
-        if (score > 0) return score;
-        int minDist = Integer.MAX_VALUE;
-        for (int[] pr : preferredRanges) {
-            int d = Math.min(Math.abs(slot.start - pr[1]), Math.abs(slot.end - pr[0]));
-            minDist = Math.min(minDist, d);
+
+        int segmentCount() {
+            return (totalMinutes + maxBlock - 1) / maxBlock;
         }
-        return -minDist;
-    }
 
-    private static PlannerScheduleResponse.PlanItem placeOne(List<Slot> slots, List<int[]> preferredRanges, String title, int durationMinutes) {
-        var sorted = slots.stream()
-                .filter(s -> s.duration() >= durationMinutes)
-                .sorted(Comparator.comparingDouble((Slot s) -> -scoreSlot(s, preferredRanges)).thenComparingInt(s -> s.start))
-                .toList();
-        if (sorted.isEmpty()) return null;
-        Slot best = sorted.get(0);
-        return new PlannerScheduleResponse.PlanItem(title, minutesToTime(best.start), minutesToTime(best.start + durationMinutes), null);
+        /** index번째 블록 길이 (마지막 블록만 짧을 수 있음) */
+        int chunk(int index) {
+            return Math.min(maxBlock, totalMinutes - index * maxBlock);
+        }
+
+        String segmentTitle(int index) {
+            return segmentCount() > 1 ? title + " (" + (index + 1) + "/" + segmentCount() + ")" : title;
+        }
     }
 
-    /** 배치된 일정만큼 슬롯을 소비. reserveMinutesAfter: 일정 종료 후 최소 휴식 텀(다음 일정은 이 시간 이후부터만 배치 가능). */
-    private static void consumeSlot(List<Slot> slots, PlannerScheduleResponse.PlanItem placed, int reserveMinutesAfter) {
-        int start = timeToMinutes(placed.getStart());
-        int end = timeToMinutes(placed.getEnd());
-        int nextAvailable = end + Math.max(0, reserveMinutesAfter);
-        final int minSlotMinutes = 10;
-        for (int i = 0; i < slots.size(); i++) {
-            Slot s = slots.get(i);
-            if (s.start <= start && s.end >= end) {
-                slots.remove(i);
-                boolean addedBefore = start - s.start >= minSlotMinutes;
-                if (addedBefore) slots.add(i, new Slot(s.start, start));
-                if (s.end - nextAvailable >= minSlotMinutes) slots.add(addedBefore ? i + 1 : i, new Slot(nextAvailable, s.end));
-                return;
-            }
+    /** 배치 결과: 배치된 일정 + 배치하지 못한 플랜별 남은 분 (+ 최적화 모드의 탐색 통계) */
+    public record Placement(List<PlannerScheduleResponse.PlanItem> plans, List<PlannerScheduleResponse.UnplacedPlan> unplaced,
+                            PlannerScheduleResponse.SolverStats solverStats) {
+        public Placement(List<PlannerScheduleResponse.PlanItem> plans, List<PlannerScheduleResponse.UnplacedPlan> unplaced) {
+            this(plans, unplaced, null);
         }
     }
 
+    /** 여러 날 배치의 하루: 날짜, 가용 슬롯, 이 시각(분) 이전 제외 */
+    public record DaySlots(LocalDate date, List<PlannerScheduleRequest.TimeSlotDto> slots, int currentTimeMinutes) {}
+
     /** 고도화: 블록 뒤 휴식(분). null이면 템플릿 기본값 사용. category가 있으면 균형 모드에서 해당 카테고리 루틴 사용. */
     public record PlanWithDuration(String title, int durationMinutes, Integer breakMinutesAfter, String note, String category) {
         public PlanWithDuration(String title, int durationMinutes) {
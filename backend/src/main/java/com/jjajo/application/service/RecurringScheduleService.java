@@ -0,0 +1,225 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.RecurringScheduleEntity;
+import com.jjajo.domain.entity.ScheduleEntity;
+import com.jjajo.domain.repository.RecurringScheduleRepository;
+import com.jjajo.presentation.dto.ScheduleItemResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 주간 반복 일정 서비스.
+ * 규칙 1건만 저장하고, 조회 기간에 해당하는 회차(occurrence)만 펼쳐서 일반 일정과 같은 형태로 돌려준다.
+ * 회차 개별 수정/삭제는 예외 날짜 + 일반 일정(ScheduleEntity)으로 처리한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecurringScheduleService {
+
+    private static final String DEFAULT_STATUS = "pending";
+    private static final String DEFAULT_PRIORITY = "medium";
+    private static final String DEFAULT_CREATED_BY = "user";
+
+    /** 회차 정렬 순서 (ScheduleRepository 기간 조회와 동일: date, startTime(종일 먼저), id) */
+    static final Comparator<ScheduleItemResponse> ITEM_ORDER = Comparator
+            .comparing(ScheduleItemResponse::getDate)
+            .thenComparing(i -> i.getStartTime() != null ? i.getStartTime() : "")
+            .thenComparing(ScheduleItemResponse::getId);
+
+    private final RecurringScheduleRepository recurringScheduleRepository;
+
+    /**
+     * 요일별 주간 반복 규칙을 저장하고, [startDate, endDate] 기간의 회차 목록을 반환.
+     */
+    @Transactional
+    public List<ScheduleItemResponse> createWeekly(String userId, LocalDate startDate, LocalDate endDate, List<WeeklyRule> rules) {
+        List<RecurringScheduleEntity> entities = new ArrayList<>();
+        for (WeeklyRule rule : rules) {
+            entities.add(RecurringScheduleEntity.builder()
+                    .id(UUID.randomUUID().toString())
+                    .userId(userId)
+                    .title(rule.title())
+                    .description(rule.description())
+                    .dayOfWeek(rule.dayOfWeek())
+                    .startDate(startDate.toString())
+                    .endDate(endDate.toString())
+                    .startTime(rule.startTime())
+                    .endTime(rule.endTime())
+                    .status(DEFAULT_STATUS)
+                    .priority(DEFAULT_PRIORITY)
+                    .createdBy(DEFAULT_CREATED_BY)
+                    .build());
+        }
+        entities = recurringScheduleRepository.saveAll(entities);
+
+        List<ScheduleItemResponse> occurrences = new ArrayList<>();
+        for (RecurringScheduleEntity e : entities) {
+            expandInto(e, startDate, endDate, occurrences);
+        }
+        occurrences.sort(ITEM_ORDER);
+        return occurrences;
+    }
+
+    /** 모든 규칙을 각자의 반복 기간 전체로 펼침 (기간 미지정 전체 조회용) */
+    @Transactional(readOnly = true)
+    public List<ScheduleItemResponse> expandAll(String userId) {
+        List<ScheduleItemResponse> occurrences = new ArrayList<>();
+        for (RecurringScheduleEntity e : recurringScheduleRepository.findByUserId(userId)) {
+            expandInto(e, LocalDate.parse(e.getStartDate()), LocalDate.parse(e.getEndDate()), occurrences);
+        }
+        occurrences.sort(ITEM_ORDER);
+        return occurrences;
+    }
+
+    /** [from, to] 기간과 겹치는 규칙만 조회해 해당 기간의 회차만 펼침 */
+    @Transactional(readOnly = true)
+    public List<ScheduleItemResponse> expandWindow(String userId, LocalDate from, LocalDate to) {
+        List<ScheduleItemResponse> occurrences = new ArrayList<>();
+        for (RecurringScheduleEntity e : recurringScheduleRepository.findOverlapping(userId, from.toString(), to.toString())) {
+            expandInto(e, from, to, occurrences);
+        }
+        occurrences.sort(ITEM_ORDER);
+        return occurrences;
+    }
+
+    public static boolean isOccurrenceId(String id) {
+        return id != null && id.contains(RecurringScheduleEntity.OCCURRENCE_ID_SEPARATOR);
+    }
+
+    /**
+     * 회차 하나를 규칙에서 떼어내 개별 일정으로 만든다 (회차 수정용).
+     * 규칙에는 예외 날짜를 추가하고, 같은 내용의 저장 전 ScheduleEntity를 반환한다.
+     *
+     * @return 유효한 회차가 아니면 null
+     */
+    @Transactional
+    public ScheduleEntity detachOccurrence(String userId, String occurrenceId) {
+        RecurringScheduleEntity rule = findRuleForOccurrence(userId, occurrenceId);
+        if (rule == null) {
+            return null;
+        }
+        String date = occurrenceDate(occurrenceId);
+        addException(rule, date);
+        return ScheduleEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .title(rule.getTitle())
+                .description(rule.getDescription())
+                .date(date)
+                .startTime(rule.getStartTime())
+                .endTime(rule.getEndTime())
+                .status(rule.getStatus())
+                .priority(rule.getPriority())
+                .createdBy(rule.getCreatedBy())
+                .build();
+    }
+
+    /**
+     * 회차 하나만 삭제 (예외 날짜 추가).
+     *
+     * @return 유효한 회차가 아니면 false
+     */
+    @Transactional
+    public boolean skipOccurrence(String userId, String occurrenceId) {
+        RecurringScheduleEntity rule = findRuleForOccurrence(userId, occurrenceId);
+        if (rule == null) {
+            return false;
+        }
+        addException(rule, occurrenceDate(occurrenceId));
+        return true;
+    }
+
+    /** 해당 사용자의 모든 반복 규칙 삭제 */
+    @Transactional
+    public void deleteAllByUserId(String userId) {
+        recurringScheduleRepository.deleteByUserId(userId);
+    }
+
+    private RecurringScheduleEntity findRuleForOccurrence(String userId, String occurrenceId) {
+        if (!isOccurrenceId(occurrenceId)) {
+            return null;
+        }
+        int sep = occurrenceId.lastIndexOf(RecurringScheduleEntity.OCCURRENCE_ID_SEPARATOR);
+        String ruleId = occurrenceId.substring(0, sep);
+        LocalDate date;
+        try {
+            date = LocalDate.parse(occurrenceId.substring(sep + 1));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        RecurringScheduleEntity rule = recurringScheduleRepository.findByUserIdAndId(userId, ruleId).orElse(null);
+        if (rule == null
+                || date.getDayOfWeek() != rule.getDayOfWeek()
+                || date.isBefore(LocalDate.parse(rule.getStartDate()))
+                || date.isAfter(LocalDate.parse(rule.getEndDate()))
+                || parseExceptions(rule.getExceptionDates()).contains(date.toString())) {
+            return null;
+        }
+        return rule;
+    }
+
+    private static String occurrenceDate(String occurrenceId) {
+        return occurrenceId.substring(occurrenceId.lastIndexOf(RecurringScheduleEntity.OCCURRENCE_ID_SEPARATOR) + 1);
+    }
+
+    private static void addException(RecurringScheduleEntity rule, String date) {
+        Set<String> exceptions = parseExceptions(rule.getExceptionDates());
+        exceptions.add(date);
+        rule.setExceptionDates(String.join(",", exceptions));
+    }
+
+    private static Set<String> parseExceptions(String raw) {
+        Set<String> out = new LinkedHashSet<>();
+        if (raw == null || raw.isBlank()) return out;
+        for (String s : raw.split(",")) {
+            String d = s.trim();
+            if (!d.isEmpty()) out.add(d);
+        }
+        return out;
+    }
+
+    /** 규칙을 [from, to] ∩ 반복 기간 안에서 매주 펼쳐 out에 추가 (예외 날짜 제외) */
+    private static void expandInto(RecurringScheduleEntity rule, LocalDate from, LocalDate to, List<ScheduleItemResponse> out) {
+        LocalDate ruleStart = LocalDate.parse(rule.getStartDate());
+        LocalDate ruleEnd = LocalDate.parse(rule.getEndDate());
+        LocalDate start = from.isAfter(ruleStart) ? from : ruleStart;
+        LocalDate end = to.isBefore(ruleEnd) ? to : ruleEnd;
+        Set<String> exceptions = parseExceptions(rule.getExceptionDates());
+        String createdAt = rule.getCreatedAt() != null ? rule.getCreatedAt().toString() : null;
+        String updatedAt = rule.getUpdatedAt() != null ? rule.getUpdatedAt().toString() : null;
+
+        for (LocalDate d = start.with(TemporalAdjusters.nextOrSame(rule.getDayOfWeek())); !d.isAfter(end); d = d.plusWeeks(1)) {
+            String date = d.toString();
+            if (exceptions.contains(date)) continue;
+            out.add(ScheduleItemResponse.builder()
+                    .id(rule.getId() + RecurringScheduleEntity.OCCURRENCE_ID_SEPARATOR + date)
+                    .recurrenceId(rule.getId())
+                    .title(rule.getTitle())
+                    .description(rule.getDescription())
+                    .date(date)
+                    .startTime(rule.getStartTime())
+                    .endTime(rule.getEndTime())
+                    .status(rule.getStatus())
+                    .priority(rule.getPriority())
+                    .createdBy(rule.getCreatedBy())
+                    .createdAt(createdAt)
+                    .updatedAt(updatedAt)
+                    .build());
+        }
+    }
+
+    /** 요일 + 시간으로 정의되는 주간 반복 규칙 입력 */
+    public record WeeklyRule(String title, String description, DayOfWeek dayOfWeek, String startTime, String endTime) {}
+}
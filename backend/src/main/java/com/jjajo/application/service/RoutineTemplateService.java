@@ -0,0 +1,227 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.RoutineTemplateEntity;
+import com.jjajo.domain.model.RoutineTemplates;
+import com.jjajo.domain.repository.RoutineTemplateRepository;
+import com.jjajo.presentation.dto.RoutineTemplateDto;
+import com.jjajo.presentation.dto.RoutineTemplateUpdateRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 사용자별 루틴 템플릿 (선호 시간대·세션 최대 길이·기본 휴식).
+ *
+ * - 저장: 사용자가 바꾼 카테고리만 routine_templates에 한 행씩, 나머지는 RoutineTemplates 기본값
+ * - 배치용 조회(routinesFor): 분 배열로 컴파일한 RoutineSet을 사용자별 LRU 캐시에 보관.
+ *   수정·초기화하면 트랜잭션 커밋 후 해당 사용자 항목을 비워 다음 요청에서 다시 컴파일
+ * - 캐시는 인스턴스 로컬이므로 여러 인스턴스에서는 다른 인스턴스의 수정이 그쪽 캐시가 밀려날 때까지 늦게 반영될 수 있다
+ */
+@Slf4j
+@Service
+public class RoutineTemplateService {
+
+    private static final Pattern SLOT = Pattern.compile("([01]\\d|2[0-3]):([0-5]\\d)-([01]\\d|2[0-3]|24):([0-5]\\d)");
+
+    private final RoutineTemplateRepository routineTemplateRepository;
+    private final int maxEntries;
+    private final LinkedHashMap<String, RoutineTemplates.RoutineSet> cache;
+    /** 무효화 횟수. 조회 중에 무효화가 끼어들면 읽은 값(수정 전일 수 있음)을 캐시에 넣지 않는다 */
+    private long invalidations;
+
+    public RoutineTemplateService(
+            RoutineTemplateRepository routineTemplateRepository,
+            @Value("${app.planner.routine-cache.max-entries:1000}") int maxEntries) {
+        this.routineTemplateRepository = routineTemplateRepository;
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RoutineTemplates.RoutineSet> eldest) {
+                return size() > RoutineTemplateService.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 배치에 쓸 컴파일된 루틴. 로그인하지 않았으면 기본 루틴.
+     */
+    public RoutineTemplates.RoutineSet routinesFor(String userId) {
+        if (userId == null) {
+            return RoutineTemplates.DEFAULTS;
+        }
+        long seen;
+        synchronized (cache) {
+            RoutineTemplates.RoutineSet cached = cache.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            seen = invalidations;
+        }
+        RoutineTemplates.RoutineSet compiled = compile(routineTemplateRepository.findByUserId(userId));
+        synchronized (cache) {
+            if (seen == invalidations) {
+                cache.put(userId, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * 모든 카테고리의 현재 루틴 (사용자 설정 우선, 없으면 기본값)
+     */
+    @Transactional(readOnly = true)
+    public List<RoutineTemplateDto> list(String userId) {
+        Map<String, RoutineTemplateEntity> custom = new HashMap<>();
+        for (RoutineTemplateEntity e : routineTemplateRepository.findByUserId(userId)) {
+            custom.put(e.getCategory(), e);
+        }
+        List<RoutineTemplateDto> result = new ArrayList<>();
+        for (String category : RoutineTemplates.TEMPLATES.keySet().stream().sorted().toList()) {
+            RoutineTemplateEntity e = custom.get(category);
+            result.add(e != null ? toDto(e) : defaultDto(category));
+        }
+        return result;
+    }
+
+    /**
+     * 카테고리 루틴 저장(덮어쓰기). 형식이 틀리면 IllegalArgumentException
+     */
+    @Transactional
+    public RoutineTemplateDto save(String userId, String category, RoutineTemplateUpdateRequest request) {
+        String key = validCategory(category);
+        String slots = validSlots(request.getPreferredSlots());
+        RoutineTemplateEntity entity = routineTemplateRepository.findByUserIdAndCategory(userId, key)
+                .orElseGet(() -> RoutineTemplateEntity.builder()
+                        .id(UUID.randomUUID().toString())
+                        .userId(userId)
+                        .category(key)
+                        .build());
+        entity.setPreferredSlots(slots);
+        entity.setSessionMaxMinutes(request.getSessionMaxMinutes());
+        entity.setBreakMinutesDefault(request.getBreakMinutesDefault());
+        RoutineTemplateEntity saved = routineTemplateRepository.save(entity);
+        invalidateAfterCommit(userId);
+        log.info("루틴 템플릿 저장: userId={}, category={}", userId, key);
+        return toDto(saved);
+    }
+
+    /**
+     * 카테고리 루틴을 기본값으로 되돌림
+     */
+    @Transactional
+    public RoutineTemplateDto reset(String userId, String category) {
+        String key = validCategory(category);
+        routineTemplateRepository.findByUserIdAndCategory(userId, key).ifPresent(routineTemplateRepository::delete);
+        invalidateAfterCommit(userId);
+        return defaultDto(key);
+    }
+
+    private void invalidateAfterCommit(String userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(userId);
+                }
+            });
+        } else {
+            invalidate(userId);
+        }
+    }
+
+    private void invalidate(String userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+            invalidations++;
+        }
+    }
+
+    private static RoutineTemplates.RoutineSet compile(List<RoutineTemplateEntity> entities) {
+        if (entities.isEmpty()) {
+            return RoutineTemplates.DEFAULTS;
+        }
+        Map<String, RoutineTemplates.CompiledRoutine> overrides = new HashMap<>();
+        for (RoutineTemplateEntity e : entities) {
+            overrides.put(e.getCategory(), new RoutineTemplates.CompiledRoutine(
+                    RoutineTemplates.parseSlots(splitSlots(e.getPreferredSlots())),
+                    e.getSessionMaxMinutes(),
+                    e.getBreakMinutesDefault()));
+        }
+        return new RoutineTemplates.RoutineSet(Map.copyOf(overrides));
+    }
+
+    private static String validCategory(String category) {
+        String key = category == null ? "" : category.toLowerCase();
+        if (!RoutineTemplates.TEMPLATES.containsKey(key)) {
+            throw new IllegalArgumentException("category는 " + RoutineTemplates.TEMPLATES.keySet().stream().sorted().toList()
+                    + " 중 하나여야 합니다.");
+        }
+        return key;
+    }
+
+    /** "HH:mm-HH:mm", 시작 < 끝, 서로 겹치지 않음 → 시작 순으로 정렬해 쉼표로 이어 붙임 */
+    private static String validSlots(List<String> preferredSlots) {
+        if (preferredSlots == null || preferredSlots.isEmpty()) {
+            throw new IllegalArgumentException("preferredSlots를 하나 이상 입력해주세요.");
+        }
+        List<String> normalized = new ArrayList<>();
+        for (String slot : preferredSlots) {
+            String s = slot == null ? "" : slot.replace(" ", "");
+            if (!SLOT.matcher(s).matches()) {
+                throw new IllegalArgumentException("preferredSlots 항목은 HH:mm-HH:mm 형식이어야 합니다: " + slot);
+            }
+            normalized.add(s);
+        }
+        normalized.sort(null);
+        int[] ranges = RoutineTemplates.parseSlots(normalized);
+        if (ranges.length != normalized.size() * 2) {
+            throw new IllegalArgumentException("preferredSlots의 끝 시각은 시작 시각보다 뒤여야 합니다.");
+        }
+        for (int i = 2; i < ranges.length; i += 2) {
+            if (ranges[i] < ranges[i - 1]) {
+                throw new IllegalArgumentException("preferredSlots 시간대가 겹칩니다.");
+            }
+        }
+        if (ranges[ranges.length - 1] > 24 * 60) {
+            throw new IllegalArgumentException("preferredSlots는 24:00까지만 입력할 수 있습니다.");
+        }
+        return String.join(",", normalized);
+    }
+
+    private static List<String> splitSlots(String slots) {
+        return slots == null || slots.isBlank() ? List.of() : Arrays.asList(slots.split(","));
+    }
+
+    private static RoutineTemplateDto toDto(RoutineTemplateEntity e) {
+        return RoutineTemplateDto.builder()
+                .category(e.getCategory())
+                .preferredSlots(splitSlots(e.getPreferredSlots()))
+                .sessionMaxMinutes(e.getSessionMaxMinutes())
+                .breakMinutesDefault(e.getBreakMinutesDefault())
+                .custom(true)
+                .build();
+    }
+
+    private static RoutineTemplateDto defaultDto(String category) {
+        RoutineTemplates.RoutineTemplate t = RoutineTemplates.TEMPLATES.get(category);
+        return RoutineTemplateDto.builder()
+                .category(category)
+                .preferredSlots(t.preferredSlots())
+                .sessionMaxMinutes(t.sessionMaxMinutes())
+                .breakMinutesDefault(t.breakMinutesDefault())
+                .custom(false)
+                .build();
+    }
+}
@@ -2,14 +2,29 @@ package com.jjajo.application.service;
 
 import com.jjajo.domain.entity.ScheduleEntity;
 import com.jjajo.domain.repository.ScheduleRepository;
+import com.jjajo.presentation.dto.EditOperationDto;
+import com.jjajo.presentation.dto.ScheduleBatchResponse;
 import com.jjajo.presentation.dto.ScheduleCreateRequest;
 import com.jjajo.presentation.dto.ScheduleItemResponse;
+import com.jjajo.presentation.dto.SchedulePageResponse;
 import com.jjajo.presentation.dto.ScheduleUpdateRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -19,13 +34,108 @@ public class ScheduleService {
     private static final String DEFAULT_STATUS = "pending";
     private static final String DEFAULT_PRIORITY = "medium";
     private static final String DEFAULT_CREATED_BY = "user";
+    private static final int DEFAULT_PAGE_SIZE = 200;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = "|";
+    /** 일괄 변경은 대화형 수정(AI) 결과를 적용하는 경로 */
+    private static final String BATCH_CREATED_BY = "ai";
+    private static final int MAX_BATCH_OPERATIONS = 100;
 
     private final ScheduleRepository scheduleRepository;
+    private final RecurringScheduleService recurringScheduleService;
 
+    /** 일반 일정 + 반복 규칙의 모든 회차 */
     @Transactional(readOnly = true)
     public List<ScheduleItemResponse> listByUserId(String userId) {
         List<ScheduleEntity> entities = scheduleRepository.findByUserIdOrderByDateAscStartTimeAsc(userId);
-        return entities.stream().map(ScheduleService::toResponse).toList();
+        List<ScheduleItemResponse> occurrences = recurringScheduleService.expandAll(userId);
+        if (occurrences.isEmpty()) {
+            return entities.stream().map(ScheduleService::toResponse).toList();
+        }
+        List<ScheduleItemResponse> merged = new ArrayList<>(entities.size() + occurrences.size());
+        entities.forEach(e -> merged.add(toResponse(e)));
+        merged.addAll(occurrences);
+        merged.sort(RecurringScheduleService.ITEM_ORDER);
+        return merged;
+    }
+
+    /**
+     * 기간(from~to) 내 일정만 (date, startTime, id) 순으로 조회. cursor가 있으면 그 다음 행부터.
+     * 순서는 DB 정렬 규칙과 무관하게 RecurringScheduleService.ITEM_ORDER(Java 문자열 비교)를 따른다.
+     * 첫 페이지에는 from 이전에 시작해 기간 안으로 이어지는 여러 날 일정도 포함한다.
+     * 반복 규칙 회차는 기간 안의 것만 펼쳐서 같은 정렬 순서로 병합한다.
+     *
+     * @throws IllegalArgumentException 날짜/커서 형식이 잘못된 경우
+     */
+    @Transactional(readOnly = true)
+    public SchedulePageResponse listWindow(String userId, String from, String to, String cursor, Integer limit) {
+        if (from == null || from.isBlank() || to == null || to.isBlank()) {
+            throw new IllegalArgumentException("from과 to를 함께 지정해주세요.");
+        }
+        LocalDate fromDate;
+        LocalDate toDate;
+        try {
+            fromDate = LocalDate.parse(from.trim());
+            toDate = LocalDate.parse(to.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("from과 to는 YYYY-MM-DD 형식이어야 합니다.");
+        }
+        if (toDate.isBefore(fromDate)) {
+            throw new IllegalArgumentException("to는 from보다 빠를 수 없습니다.");
+        }
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // 한 건 더 읽어 다음 페이지 존재 여부를 판단
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        String fromKey = fromDate.toString();
+        String toKey = toDate.toString();
+
+        List<ScheduleItemResponse> items = new ArrayList<>();
+        // id 비교는 DB 정렬 규칙(collation)에 맡기지 않고 Java(ITEM_ORDER)에서만 한다.
+        // DB는 고정 형식인 (date, startTime)까지만 비교하고, 같은 키 묶음은 통째로 읽는다.
+        Map<String, ScheduleEntity> rows = new LinkedHashMap<>();
+        List<ScheduleEntity> window;
+        String[] key = null;
+        if (cursor == null || cursor.isBlank()) {
+            scheduleRepository.findSpanningInto(userId, fromKey).forEach(e -> items.add(toResponse(e)));
+            window = scheduleRepository.findWindow(userId, fromKey, toKey, page);
+        } else {
+            key = decodeCursor(cursor);
+            String afterId = key[2];
+            scheduleRepository.findAtKey(userId, key[0], key[1]).stream()
+                    .filter(e -> e.getId().compareTo(afterId) > 0)
+                    .forEach(e -> rows.put(e.getId(), e));
+            window = scheduleRepository.findWindowAfter(userId, fromKey, toKey, key[0], key[1], page);
+        }
+        window.forEach(e -> rows.put(e.getId(), e));
+        if (window.size() > pageSize) {
+            // 한도에서 잘린 마지막 키 묶음: DB의 id 순서와 Java 순서가 달라도 빠지는 행이 없도록 전부 읽는다
+            ScheduleEntity last = window.get(window.size() - 1);
+            scheduleRepository.findAtKey(userId, last.getDate(), last.getStartTime() != null ? last.getStartTime() : "")
+                    .forEach(e -> rows.put(e.getId(), e));
+        }
+
+        // DB 행과 기간 내 회차를 병합한 뒤 pageSize에서 자른다
+        List<ScheduleItemResponse> merged = new ArrayList<>();
+        rows.values().forEach(e -> merged.add(toResponse(e)));
+        for (ScheduleItemResponse occurrence : recurringScheduleService.expandWindow(userId, fromDate, toDate)) {
+            if (key == null || isAfterCursor(occurrence, key)) {
+                merged.add(occurrence);
+            }
+        }
+        merged.sort(RecurringScheduleService.ITEM_ORDER);
+
+        String nextCursor = null;
+        if (merged.size() > pageSize) {
+            nextCursor = encodeCursor(merged.get(pageSize - 1));
+            items.addAll(merged.subList(0, pageSize));
+        } else {
+            items.addAll(merged);
+        }
+
+        return SchedulePageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Transactional
@@ -53,13 +163,182 @@ public class ScheduleService {
         return toResponse(entity);
     }
 
+    /** 반복 회차 id면 해당 회차만 개별 일정으로 떼어내 수정한다 */
     @Transactional
     public ScheduleItemResponse update(String userId, String id, ScheduleUpdateRequest request) {
-        ScheduleEntity entity = scheduleRepository.findByUserIdAndId(userId, id)
-                .orElse(null);
+        ScheduleEntity entity = RecurringScheduleService.isOccurrenceId(id)
+                ? recurringScheduleService.detachOccurrence(userId, id)
+                : scheduleRepository.findByUserIdAndId(userId, id).orElse(null);
         if (entity == null) {
             return null;
         }
+        applyUpdate(entity, request);
+        entity = scheduleRepository.save(entity);
+        return toResponse(entity);
+    }
+
+    /** 반복 회차 id면 해당 회차만 삭제(예외 날짜 추가)한다 */
+    @Transactional
+    public boolean delete(String userId, String id) {
+        if (RecurringScheduleService.isOccurrenceId(id)) {
+            return recurringScheduleService.skipOccurrence(userId, id);
+        }
+        if (!scheduleRepository.findByUserIdAndId(userId, id).isPresent()) {
+            return false;
+        }
+        scheduleRepository.deleteByUserIdAndId(userId, id);
+        return true;
+    }
+
+    /** 해당 사용자의 모든 일정(반복 규칙 포함) 삭제 */
+    @Transactional
+    public void deleteAllByUserId(String userId) {
+        scheduleRepository.deleteByUserId(userId);
+        recurringScheduleService.deleteAllByUserId(userId);
+    }
+
+    /**
+     * 대화형 수정 연산(add/update/delete) 목록을 하나의 트랜잭션으로 적용.
+     * 대상 일정은 한 번에 조회하고, INSERT/UPDATE는 flush 시 JDBC 배치로 전송된다.
+     * 연산 하나라도 실패하면 전체가 롤백된다.
+     * 한 일정은 배치 안에서 한 번만 수정·삭제할 수 있다 (같은 id를 수정한 뒤 삭제하면 결과가 어긋나므로 거절).
+     *
+     * @throws BatchOperationException  연산 형식이 잘못됐거나 대상 일정이 없거나 같은 id가 반복된 경우 (거절된 연산 위치 포함)
+     * @throws IllegalArgumentException 연산 목록이 비었거나 한도를 넘은 경우
+     */
+    @Transactional
+    public ScheduleBatchResponse applyBatch(String userId, List<EditOperationDto> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("적용할 연산이 없습니다.");
+        }
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_OPERATIONS + "개의 연산만 적용할 수 있습니다.");
+        }
+
+        Set<String> targetIds = new HashSet<>();
+        Set<String> seenIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            EditOperationDto op = operations.get(i);
+            if (op == null || EditOperationDto.TYPE_ADD.equalsIgnoreCase(op.getType()) || op.getScheduleId() == null) {
+                continue;
+            }
+            if (!seenIds.add(op.getScheduleId())) {
+                throw new BatchOperationException(i, "같은 일정을 한 번에 여러 번 변경할 수 없습니다. ("
+                        + op.getScheduleId() + ")");
+            }
+            if (!RecurringScheduleService.isOccurrenceId(op.getScheduleId())) {
+                targetIds.add(op.getScheduleId());
+            }
+        }
+        Map<String, ScheduleEntity> existing = new HashMap<>();
+        if (!targetIds.isEmpty()) {
+            for (ScheduleEntity e : scheduleRepository.findByUserIdAndIdIn(userId, targetIds)) {
+                existing.put(e.getId(), e);
+            }
+        }
+
+        List<ScheduleEntity> inserts = new ArrayList<>();
+        List<ScheduleEntity> deletes = new ArrayList<>();
+        List<String> types = new ArrayList<>(operations.size());
+        List<ScheduleEntity> touched = new ArrayList<>(operations.size());
+
+        for (int i = 0; i < operations.size(); i++) {
+            EditOperationDto op = operations.get(i);
+            String type = op != null && op.getType() != null ? op.getType().trim().toLowerCase() : "";
+            switch (type) {
+                case EditOperationDto.TYPE_ADD -> {
+                    ScheduleUpdateRequest payload = op.getAddPayload();
+                    if (payload == null || payload.getTitle() == null || payload.getTitle().isBlank()
+                            || payload.getDate() == null || payload.getDate().isBlank()) {
+                        throw new BatchOperationException(i, "추가할 일정의 제목과 날짜가 필요합니다.");
+                    }
+                    ScheduleEntity entity = newEntityFromPayload(userId, payload);
+                    inserts.add(entity);
+                    touched.add(entity);
+                }
+                case EditOperationDto.TYPE_UPDATE -> {
+                    ScheduleEntity entity = existing.get(op.getScheduleId());
+                    if (entity == null && RecurringScheduleService.isOccurrenceId(op.getScheduleId())) {
+                        // 반복 회차 수정: 회차를 개별 일정으로 떼어내 INSERT 대상에 추가
+                        entity = recurringScheduleService.detachOccurrence(userId, op.getScheduleId());
+                        if (entity != null) {
+                            existing.put(op.getScheduleId(), entity);
+                            inserts.add(entity);
+                        }
+                    }
+                    if (entity == null) {
+                        throw new BatchOperationException(i, "일정을 찾을 수 없습니다. (" + op.getScheduleId() + ")");
+                    }
+                    if (op.getUpdatePayload() != null) {
+                        applyUpdate(entity, op.getUpdatePayload());
+                    }
+                    touched.add(entity);
+                }
+                case EditOperationDto.TYPE_DELETE -> {
+                    ScheduleEntity entity = existing.remove(op.getScheduleId());
+                    if (entity == null && RecurringScheduleService.isOccurrenceId(op.getScheduleId())) {
+                        if (!recurringScheduleService.skipOccurrence(userId, op.getScheduleId())) {
+                            throw new BatchOperationException(i, "일정을 찾을 수 없습니다. (" + op.getScheduleId() + ")");
+                        }
+                    } else if (entity == null) {
+                        throw new BatchOperationException(i, "일정을 찾을 수 없습니다. (" + op.getScheduleId() + ")");
+                    } else if (!inserts.remove(entity)) {
+                        deletes.add(entity);
+                    }
+                    touched.add(null);
+                }
+                default -> throw new BatchOperationException(i, "알 수 없는 연산입니다. (" + type + ")");
+            }
+            types.add(type);
+        }
+
+        scheduleRepository.saveAll(inserts);
+        if (!deletes.isEmpty()) {
+            scheduleRepository.deleteAllInBatch(deletes);
+        }
+        scheduleRepository.flush();
+
+        List<ScheduleBatchResponse.Result> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            ScheduleEntity entity = touched.get(i);
+            results.add(ScheduleBatchResponse.Result.builder()
+                    .type(types.get(i))
+                    .scheduleId(entity != null ? entity.getId() : operations.get(i).getScheduleId())
+                    .schedule(entity != null ? toResponse(entity) : null)
+                    .build());
+        }
+        return ScheduleBatchResponse.builder().results(results).build();
+    }
+
+    /** add 연산 payload → 신규 엔티티. endTime이 없으면 startTime + durationMinutes로 계산 */
+    private static ScheduleEntity newEntityFromPayload(String userId, ScheduleUpdateRequest payload) {
+        String endTime = payload.getEndTime();
+        if ((endTime == null || endTime.isBlank()) && payload.getStartTime() != null
+                && payload.getDurationMinutes() != null && payload.getDurationMinutes() > 0) {
+            try {
+                endTime = LocalTime.parse(payload.getStartTime().trim())
+                        .plusMinutes(payload.getDurationMinutes())
+                        .toString();
+            } catch (DateTimeParseException ignored) {
+                // 시간 형식이 잘못되면 종료 시간 없이 저장 (프론트에서 보완)
+            }
+        }
+        return ScheduleEntity.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(userId)
+                .title(payload.getTitle())
+                .description(payload.getDescription())
+                .date(payload.getDate())
+                .endDate(payload.getEndDate())
+                .startTime(payload.getStartTime())
+                .endTime(endTime)
+                .status(payload.getStatus() != null && !payload.getStatus().isBlank() ? payload.getStatus() : DEFAULT_STATUS)
+                .priority(payload.getPriority() != null && !payload.getPriority().isBlank() ? payload.getPriority() : DEFAULT_PRIORITY)
+                .createdBy(BATCH_CREATED_BY)
+                .build();
+    }
+
+    private static void applyUpdate(ScheduleEntity entity, ScheduleUpdateRequest request) {
         if (request.getTitle() != null) {
             entity.setTitle(request.getTitle());
         }
@@ -84,23 +363,35 @@ public class ScheduleService {
         if (request.getPriority() != null) {
             entity.setPriority(request.getPriority());
         }
-        entity = scheduleRepository.save(entity);
-        return toResponse(entity);
     }
 
-    @Transactional
-    public boolean delete(String userId, String id) {
-        if (!scheduleRepository.findByUserIdAndId(userId, id).isPresent()) {
-            return false;
-        }
-        scheduleRepository.deleteByUserIdAndId(userId, id);
-        return true;
+    private static boolean isAfterCursor(ScheduleItemResponse item, String[] key) {
+        int c = item.getDate().compareTo(key[0]);
+        if (c != 0) return c > 0;
+        c = (item.getStartTime() != null ? item.getStartTime() : "").compareTo(key[1]);
+        if (c != 0) return c > 0;
+        return item.getId().compareTo(key[2]) > 0;
     }
 
-    /** 해당 사용자의 모든 일정 삭제 */
-    @Transactional
-    public void deleteAllByUserId(String userId) {
-        scheduleRepository.deleteByUserId(userId);
+    private static String encodeCursor(ScheduleItemResponse last) {
+        String raw = last.getDate() + CURSOR_SEPARATOR
+                + (last.getStartTime() != null ? last.getStartTime() : "") + CURSOR_SEPARATOR
+                + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @return [date, startTime(종일이면 ""), id] */
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] key = raw.split("\\" + CURSOR_SEPARATOR, -1);
+            if (key.length != 3 || key[0].isEmpty() || key[2].isEmpty()) {
+                throw new IllegalArgumentException("잘못된 cursor입니다.");
+            }
+            return key;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 cursor입니다.");
+        }
     }
 
     private static ScheduleItemResponse toResponse(ScheduleEntity e) {
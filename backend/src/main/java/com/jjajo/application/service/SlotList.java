@@ -0,0 +1,152 @@
+package com.jjajo.application.service;
+
+import java.util.Arrays;
+
+/**
+ * 가용 슬롯 목록: 시작·끝(분)을 나란히 담은 원시 배열, 입력 순서 유지.
+ * 인접한 슬롯도 합치지 않는다 (한 블록은 슬롯 하나 안에만 배치되는 기존 규칙 유지).
+ */
+final class SlotList {
+    private static final int MIN_SLOT_MINUTES = 10;
+
+    private int[] starts;
+    private int[] ends;
+    private int size;
+
+    SlotList(int capacity) {
+        starts = new int[capacity];
+        ends = new int[capacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int startAt(int index) {
+        return starts[index];
+    }
+
+    int endAt(int index) {
+        return ends[index];
+    }
+
+    SlotList copy() {
+        SlotList copy = new SlotList(0);
+        copy.starts = Arrays.copyOf(starts, Math.max(size + 2, 4));
+        copy.ends = Arrays.copyOf(ends, Math.max(size + 2, 4));
+        copy.size = size;
+        return copy;
+    }
+
+    int totalMinutes() {
+        int total = 0;
+        for (int i = 0; i < size; i++) total += ends[i] - starts[i];
+        return total;
+    }
+
+    int longest() {
+        int longest = 0;
+        for (int i = 0; i < size; i++) longest = Math.max(longest, ends[i] - starts[i]);
+        return longest;
+    }
+
+    /** 선호 시간대와 겹치는 빈 시간(분) 합 */
+    int preferredMinutes(int[] preferredRanges) {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            for (int r = 0; r < preferredRanges.length; r += 2) {
+                int overlap = Math.min(ends[i], preferredRanges[r + 1]) - Math.max(starts[i], preferredRanges[r]);
+                if (overlap > 0) total += overlap;
+            }
+        }
+        return total;
+    }
+
+    void add(int start, int end) {
+        ensureCapacity(size + 1);
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    /**
+     * duration 이상 들어가는 슬롯 중 점수가 가장 높은 것(동점이면 시작이 빠른 것, 그다음 목록 순서)의 시작 분.
+     * 없으면 -1.
+     */
+    int bestStart(int duration, int[] preferredRanges) {
+        int bestIndex = -1;
+        int bestScore = 0;
+        for (int i = 0; i < size; i++) {
+            if (ends[i] - starts[i] < duration) continue;
+            int score = scoreSlot(starts[i], ends[i], preferredRanges);
+            if (bestIndex < 0 || score > bestScore || (score == bestScore && starts[i] < starts[bestIndex])) {
+                bestIndex = i;
+                bestScore = score;
+            }
+        }
+        return bestIndex < 0 ? -1 : starts[bestIndex];
+    }
+
+    /** 배치된 [start, end)를 담은 첫 슬롯을 앞 조각·(end + 휴식) 뒤 조각으로 나눔. 10분 미만 조각은 버림 */
+    void consume(int start, int end, int reserveMinutesAfter) {
+        int nextAvailable = end + Math.max(0, reserveMinutesAfter);
+        for (int i = 0; i < size; i++) {
+            int s = starts[i];
+            int e = ends[i];
+            if (s <= start && e >= end) {
+                boolean keepBefore = start - s >= MIN_SLOT_MINUTES;
+                boolean keepAfter = e - nextAvailable >= MIN_SLOT_MINUTES;
+                int pieces = (keepBefore ? 1 : 0) + (keepAfter ? 1 : 0);
+                ensureCapacity(size + 1);
+                if (pieces != 1) {
+                    int tail = size - i - 1;
+                    System.arraycopy(starts, i + 1, starts, i + pieces, tail);
+                    System.arraycopy(ends, i + 1, ends, i + pieces, tail);
+                    size += pieces - 1;
+                }
+                int at = i;
+                if (keepBefore) {
+                    starts[at] = s;
+                    ends[at] = start;
+                    at++;
+                }
+                if (keepAfter) {
+                    starts[at] = nextAvailable;
+                    ends[at] = e;
+                }
+                return;
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > starts.length) {
+            int n = Math.max(capacity, starts.length * 2);
+            starts = Arrays.copyOf(starts, n);
+            ends = Arrays.copyOf(ends, n);
+        }
+    }
+
+    /** preferredRanges와의 겹침(분) 합. 겹침이 없으면 가장 가까운 선호 구간까지 거리의 음수. */
+    static int scoreSlot(int slotStart, int slotEnd, int[] preferredRanges) {
+        int score = 0;
+        for (int i = 0; i < preferredRanges.length; i += 2) {
+            int overlapStart = Math.max(slotStart, preferredRanges[i]);
+            int overlapEnd = Math.min(slotEnd, preferredRanges[i + 1]);
+            if (overlapEnd > overlapStart) {
+                score += overlapEnd - overlapStart;
+            }
+        }
+        if (score > 0) return score;
+        int minDist = Integer.MAX_VALUE;
+        for (int i = 0; i < preferredRanges.length; i += 2) {
+            int d = Math.min(Math.abs(slotStart - preferredRanges[i + 1]), Math.abs(slotEnd - preferredRanges[i]));
+            minDist = Math.min(minDist, d);
+        }
+        return -minDist;
+    }
+}
@@ -55,32 +55,23 @@ public class SuggestionService {
         
         List<Suggestion> suggestions = new ArrayList<>();
         
-        for (int i = 0; i < schedules.size(); i++) {
-            ScheduleRequest schedule = schedules.get(i);
-            List<ScheduleRequest> others = new ArrayList<>(schedules);
-            others.remove(i);
-            
-            List<ScheduleConflict> conflicts = conflictDetectionService.detectConflicts(
-                schedule, others
-            );
+        // 충돌 쌍마다 한 번씩만 제안 생성
+        List<ScheduleConflict> conflicts = conflictDetectionService.detectAllConflicts(schedules);
+        
+        for (ScheduleConflict conflict : conflicts) {
+            Suggestion suggestion = Suggestion.builder()
+                    .id(UUID.randomUUID().toString())
+                    .userId(userId)
+                    .type(Suggestion.SuggestionType.CONFLICT_RESOLUTION)
+                    .priority(mapConflictSeverityToPriority(conflict.getSeverity()))
+                    .title("일정 충돌 감지")
+                    .description(conflict.getDescription())
+                    .actions(createConflictActions(conflict))
+                    .createdAt(LocalDateTime.now())
+                    .dismissed(false)
+                    .build();
             
-            if (!conflicts.isEmpty()) {
-                for (ScheduleConflict conflict : conflicts) {
-                    Suggestion suggestion = Suggestion.builder()
-                            .id(UUID.randomUUID().toString())
-                            .userId(userId)
-                            .type(Suggestion.SuggestionType.CONFLICT_RESOLUTION)
-                            .priority(mapConflictSeverityToPriority(conflict.getSeverity()))
-                            .title("일정 충돌 감지")
-                            .description(conflict.getDescription())
-                            .actions(createConflictActions(conflict))
-                            .createdAt(LocalDateTime.now())
-                            .dismissed(false)
-                            .build();
-                    
-                    suggestions.add(suggestion);
-                }
-            }
+            suggestions.add(suggestion);
         }
         
         return suggestions;
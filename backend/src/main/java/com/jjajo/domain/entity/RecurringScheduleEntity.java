@@ -0,0 +1,91 @@
+package com.jjajo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+/**
+ * 주간 반복 일정 규칙 엔티티 (JPA)
+ *
+ * 설계 근거:
+ * - 시간표 고정 일정처럼 매주 같은 요일·시간에 반복되는 일정을 규칙 1건으로 저장
+ * - 실제 일정(occurrence)은 조회 시 요청 기간에 대해서만 펼쳐서 만든다 (학기 전체를 행으로 저장하지 않음)
+ * - 특정 회차만 수정/삭제하면 해당 날짜를 exceptionDates에 넣고, 수정본은 일반 ScheduleEntity로 저장
+ */
+@Entity
+@Table(name = "recurring_schedules", indexes = {
+    @Index(name = "idx_recurring_user_range", columnList = "user_id,start_date,end_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecurringScheduleEntity implements Persistable<String> {
+
+    /** occurrence id = 규칙 id + 구분자 + 날짜(YYYY-MM-DD) */
+    public static final String OCCURRENCE_ID_SEPARATOR = "@";
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @Column(nullable = false, length = 500)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    /** 반복 시작일(포함) YYYY-MM-DD */
+    @Column(name = "start_date", nullable = false, length = 10)
+    private String startDate;
+
+    /** 반복 종료일(포함) YYYY-MM-DD */
+    @Column(name = "end_date", nullable = false, length = 10)
+    private String endDate;
+
+    @Column(name = "start_time", length = 5)
+    private String startTime;
+
+    @Column(name = "end_time", length = 5)
+    private String endTime;
+
+    /** 제외(삭제 또는 개별 수정)된 회차 날짜 목록, 쉼표 구분 YYYY-MM-DD */
+    @Column(name = "exception_dates", columnDefinition = "TEXT")
+    private String exceptionDates;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(nullable = false, length = 20)
+    private String priority;
+
+    @Column(name = "created_by", nullable = false, length = 10)
+    private String createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /** 아직 저장되지 않은 엔티티는 createdAt이 비어 있다 (@CreationTimestamp는 persist 시 채워짐) */
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jjajo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 루틴 템플릿 엔티티 (JPA)
+ *
+ * 설계 근거:
+ * - 사용자가 바꾼 카테고리만 행으로 저장하고, 없는 카테고리는 RoutineTemplates 기본값을 쓴다
+ * - (user_id, category) 유니크: 카테고리당 한 행을 덮어쓰기(upsert)
+ * - preferredSlots는 "HH:mm-HH:mm"을 쉼표로 이어 저장 (저장 전에 검증, 배치에는 컴파일된 분 배열만 사용)
+ */
+@Entity
+@Table(name = "routine_templates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_routine_user_category", columnNames = {"user_id", "category"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutineTemplateEntity implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    /** RoutineTemplates.TEMPLATES 키 (study, workout, work, rest, default) */
+    @Column(nullable = false, length = 20)
+    private String category;
+
+    /** 선호 시간대, 쉼표 구분 "HH:mm-HH:mm" */
+    @Column(name = "preferred_slots", nullable = false, length = 200)
+    private String preferredSlots;
+
+    @Column(name = "session_max_minutes", nullable = false)
+    private int sessionMaxMinutes;
+
+    @Column(name = "break_minutes_default", nullable = false)
+    private int breakMinutesDefault;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /** 아직 저장되지 않은 엔티티는 createdAt이 비어 있다 (@CreationTimestamp는 persist 시 채워짐) */
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
+}
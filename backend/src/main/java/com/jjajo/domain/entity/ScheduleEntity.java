@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 
@@ -11,18 +12,20 @@ import java.time.LocalDateTime;
  * 일정 엔티티 (JPA)
  *
  * 회원별 캘린더 일정(Todo) 저장. userId로 회원 구분.
+ * id를 직접(UUID) 할당하므로 Persistable로 신규 여부를 알려 save 시 merge용 SELECT 없이 바로 INSERT(배치 가능)되게 한다.
  */
 @Entity
 @Table(name = "schedules", indexes = {
     @Index(name = "idx_schedule_user_id", columnList = "user_id"),
-    @Index(name = "idx_schedule_user_date", columnList = "user_id,date")
+    @Index(name = "idx_schedule_user_date", columnList = "user_id,date"),
+    @Index(name = "idx_schedule_user_end_date", columnList = "user_id,end_date")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class ScheduleEntity {
+public class ScheduleEntity implements Persistable<String> {
 
     @Id
     @Column(length = 36)
@@ -66,4 +69,10 @@ public class ScheduleEntity {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
+
+    /** 아직 저장되지 않은 엔티티는 createdAt이 비어 있다 (@CreationTimestamp는 persist 시 채워짐) */
+    @Override
+    public boolean isNew() {
+        return createdAt == null;
+    }
 }
@@ -0,0 +1,138 @@
+package com.jjajo.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * 하루(1440분)의 분 단위 점유 상태를 비트셋(long[23])으로 표현.
+ * 비트 1 = 바쁨(일정 있음), 0 = 비어 있음. 구간은 모두 [start, end) 분 단위.
+ *
+ * 설계 근거:
+ * - 일정 수와 무관하게 하루당 184바이트로 고정, 점유/해제는 워드 단위 마스크 연산
+ * - 빈 구간 탐색은 Long.numberOfTrailingZeros로 64분씩 건너뛰며 찾음
+ */
+public final class DayOccupancy {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + 63) >>> 6;
+
+    private final long[] bits;
+
+    public DayOccupancy() {
+        this.bits = new long[WORDS];
+    }
+
+    private DayOccupancy(long[] bits) {
+        this.bits = bits;
+    }
+
+    public DayOccupancy copy() {
+        return new DayOccupancy(Arrays.copyOf(bits, WORDS));
+    }
+
+    /** 모든 분을 바쁨으로 채운 상태 (가용 구간만 markFree로 여는 용도) */
+    public static DayOccupancy allBusy() {
+        DayOccupancy day = new DayOccupancy();
+        day.markBusy(0, MINUTES_PER_DAY);
+        return day;
+    }
+
+    public void markBusy(int start, int end) {
+        apply(start, end, true);
+    }
+
+    public void markFree(int start, int end) {
+        apply(start, end, false);
+    }
+
+    /** [start, end) 전체가 비어 있는지 */
+    public boolean isFree(int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        return end > start && nextBusy(start) >= end;
+    }
+
+    /** from 이후(포함) 첫 빈 분. 없으면 MINUTES_PER_DAY */
+    public int nextFree(int from) {
+        if (from >= MINUTES_PER_DAY) return MINUTES_PER_DAY;
+        from = Math.max(from, 0);
+        int w = from >>> 6;
+        long word = ~bits[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0) {
+                return Math.min(MINUTES_PER_DAY, (w << 6) + Long.numberOfTrailingZeros(word));
+            }
+            if (++w == WORDS) return MINUTES_PER_DAY;
+            word = ~bits[w];
+        }
+    }
+
+    /** from 이후(포함) 첫 바쁜 분. 없으면 MINUTES_PER_DAY */
+    public int nextBusy(int from) {
+        if (from >= MINUTES_PER_DAY) return MINUTES_PER_DAY;
+        from = Math.max(from, 0);
+        int w = from >>> 6;
+        long word = bits[w] & (-1L << (from & 63));
+        while (true) {
+            if (word != 0) {
+                return Math.min(MINUTES_PER_DAY, (w << 6) + Long.numberOfTrailingZeros(word));
+            }
+            if (++w == WORDS) return MINUTES_PER_DAY;
+            word = bits[w];
+        }
+    }
+
+    /**
+     * [from, to) 안의 연속된 빈 구간 중 길이가 minLength 이상인 것.
+     *
+     * @return [start0, end0, start1, end1, ...] (분 단위, 시작 순)
+     */
+    public int[] freeRanges(int from, int to, int minLength) {
+        from = clamp(from);
+        to = clamp(to);
+        int[] out = new int[8];
+        int n = 0;
+        int pos = nextFree(from);
+        while (pos < to) {
+            int end = Math.min(nextBusy(pos), to);
+            if (end - pos >= minLength) {
+                if (n + 2 > out.length) out = Arrays.copyOf(out, out.length * 2);
+                out[n++] = pos;
+                out[n++] = end;
+            }
+            if (end >= to) break;
+            pos = nextFree(end);
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void apply(int start, int end, boolean busy) {
+        start = clamp(start);
+        end = clamp(end);
+        if (end <= start) return;
+        int sw = start >>> 6;
+        int ew = (end - 1) >>> 6;
+        long firstMask = -1L << (start & 63);
+        long lastMask = -1L >>> (63 - ((end - 1) & 63));
+        if (sw == ew) {
+            set(sw, firstMask & lastMask, busy);
+            return;
+        }
+        set(sw, firstMask, busy);
+        for (int w = sw + 1; w < ew; w++) {
+            bits[w] = busy ? -1L : 0L;
+        }
+        set(ew, lastMask, busy);
+    }
+
+    private void set(int word, long mask, boolean busy) {
+        if (busy) {
+            bits[word] |= mask;
+        } else {
+            bits[word] &= ~mask;
+        }
+    }
+
+    private static int clamp(int minute) {
+        return Math.max(0, Math.min(minute, MINUTES_PER_DAY));
+    }
+}
@@ -1,5 +1,9 @@
 package com.jjajo.domain.model;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -7,6 +11,8 @@ import java.util.Map;
  * 루틴 카테고리별 선호 시간대, 세션 최대 길이, 기본 휴식 분.
  * 짜조 플래너가 preferredSlots에 우선 배치하고, 고정 일정이 있으면 다음 가용 시간으로 배치.
  * 고도화: 블록 뒤 기본 휴식(breakMinutesDefault)으로 균형 잡힌 계획 생성.
+ * 사용자별 루틴(RoutineTemplateService)은 같은 카테고리의 기본값을 덮어쓰며, 배치에는 분 단위로 컴파일된
+ * CompiledRoutine만 쓴다 ("HH:mm-HH:mm" 파싱은 컴파일할 때 한 번).
  */
 public final class RoutineTemplates {
 
@@ -18,6 +24,24 @@ public final class RoutineTemplates {
             "default", new RoutineTemplate(List.of("09:00-18:00"), 60, 10)
     );
 
+    /**
+     * 제목 키워드 → 카테고리 (TEMPLATES 키와 같은 이름). 앞에 있는 카테고리가 우선.
+     * 짜조 플래너 로컬 입력 해석에서 Gemini 없이 카테고리를 추론할 때 사용.
+     */
+    public static final Map<String, List<String>> CATEGORY_KEYWORDS = orderedKeywords();
+
+    private static Map<String, List<String>> orderedKeywords() {
+        Map<String, List<String>> m = new LinkedHashMap<>();
+        m.put("study", List.of("공부", "스터디", "강의", "인강", "수업", "과제", "시험", "복습", "예습", "알고리즘",
+                "영어", "수학", "단어", "토익", "논문", "독해", "코테"));
+        m.put("workout", List.of("운동", "헬스", "러닝", "달리기", "조깅", "수영", "요가", "필라테스", "스트레칭",
+                "산책", "자전거", "등산", "홈트", "축구", "농구", "클라이밍"));
+        m.put("work", List.of("업무", "회의", "미팅", "코딩", "개발", "백엔드", "프론트", "코드 리뷰", "PR", "보고서",
+                "기획", "메일", "디버깅", "배포", "프로젝트", "작업"));
+        m.put("rest", List.of("휴식", "독서", "낮잠", "명상", "영화", "게임", "음악", "드라마", "쉬기"));
+        return Collections.unmodifiableMap(m);
+    }
+
     public record RoutineTemplate(List<String> preferredSlots, int sessionMaxMinutes, int breakMinutesDefault) {
         /** 하위 호환: breakMinutesDefault 0으로 생성 */
         public RoutineTemplate(List<String> preferredSlots, int sessionMaxMinutes) {
@@ -25,11 +49,96 @@ public final class RoutineTemplates {
         }
     }
 
+    /**
+     * 제목에 든 키워드로 카테고리 추론. 해당 없으면 "default"
+     */
+    public static String categoryOf(String title) {
+        if (title == null || title.isBlank()) return "default";
+        String lower = title.toLowerCase();
+        for (Map.Entry<String, List<String>> e : CATEGORY_KEYWORDS.entrySet()) {
+            for (String keyword : e.getValue()) {
+                if (lower.contains(keyword.toLowerCase())) return e.getKey();
+            }
+        }
+        return "default";
+    }
+
     public static RoutineTemplate get(String category) {
-        if (category == null) return TEMPLATES.get("default");
+        return TEMPLATES.get(key(category));
+    }
+
+    /**
+     * 카테고리 이름 → TEMPLATES 키. coding은 work, 모르는 이름은 default
+     */
+    public static String key(String category) {
+        if (category == null) return "default";
         String key = category.toLowerCase();
         if ("coding".equals(key)) key = "work";
-        RoutineTemplate t = TEMPLATES.get(key);
-        return t != null ? t : TEMPLATES.get("default");
+        return TEMPLATES.containsKey(key) ? key : "default";
+    }
+
+    /**
+     * 분 단위로 컴파일된 루틴. preferredRanges = [start0, end0, start1, end1, ...] (분)
+     */
+    public record CompiledRoutine(int[] preferredRanges, int sessionMaxMinutes, int breakMinutesDefault) {}
+
+    /** 기본 템플릿의 컴파일 결과 */
+    private static final Map<String, CompiledRoutine> COMPILED_DEFAULTS = compileDefaults();
+
+    /** 사용자 설정이 없을 때의 루틴 묶음 */
+    public static final RoutineSet DEFAULTS = new RoutineSet(Map.of());
+
+    private static Map<String, CompiledRoutine> compileDefaults() {
+        Map<String, CompiledRoutine> m = new HashMap<>();
+        TEMPLATES.forEach((key, template) -> m.put(key, compile(template)));
+        return Map.copyOf(m);
+    }
+
+    public static CompiledRoutine compile(RoutineTemplate template) {
+        return new CompiledRoutine(parseSlots(template.preferredSlots()),
+                template.sessionMaxMinutes(), template.breakMinutesDefault());
+    }
+
+    /**
+     * "HH:mm-HH:mm" 목록 → [start0, end0, ...] (분). 형식이 틀리거나 끝이 시작 이전인 항목은 건너뜀
+     */
+    public static int[] parseSlots(List<String> preferredSlots) {
+        int[] out = new int[preferredSlots.size() * 2];
+        int n = 0;
+        for (String s : preferredSlots) {
+            String[] parts = s.split("-");
+            if (parts.length >= 2) {
+                int start = toMinutes(parts[0].trim());
+                int end = toMinutes(parts[1].trim());
+                if (end > start) {
+                    out[n++] = start;
+                    out[n++] = end;
+                }
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    private static int toMinutes(String time) {
+        if (time == null || time.isBlank()) return 0;
+        String[] p = time.split(":");
+        try {
+            int h = p.length > 0 ? Integer.parseInt(p[0].trim()) : 0;
+            int m = p.length > 1 ? Integer.parseInt(p[1].trim()) : 0;
+            return h * 60 + m;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 한 사용자의 컴파일된 루틴: 사용자가 바꾼 카테고리(overrides)만 담고 나머지는 기본 템플릿.
+     */
+    public record RoutineSet(Map<String, CompiledRoutine> overrides) {
+        public CompiledRoutine get(String category) {
+            String key = key(category);
+            CompiledRoutine custom = overrides.get(key);
+            return custom != null ? custom : COMPILED_DEFAULTS.get(key);
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.jjajo.domain.repository;
+
+import com.jjajo.domain.entity.RecurringScheduleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecurringScheduleRepository extends JpaRepository<RecurringScheduleEntity, String> {
+
+    List<RecurringScheduleEntity> findByUserId(String userId);
+
+    /**
+     * 반복 기간이 [from, to]와 겹치는 규칙
+     * 인덱스 활용 (idx_recurring_user_range)
+     */
+    @Query("SELECT r FROM RecurringScheduleEntity r WHERE r.userId = :userId " +
+           "AND r.startDate <= :to AND r.endDate >= :from")
+    List<RecurringScheduleEntity> findOverlapping(
+        @Param("userId") String userId,
+        @Param("from") String from,
+        @Param("to") String to
+    );
+
+    Optional<RecurringScheduleEntity> findByUserIdAndId(String userId, String id);
+
+    /** 해당 사용자의 모든 반복 규칙 삭제 */
+    void deleteByUserId(String userId);
+}
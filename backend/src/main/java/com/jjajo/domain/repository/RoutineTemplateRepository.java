@@ -0,0 +1,16 @@
+package com.jjajo.domain.repository;
+
+import com.jjajo.domain.entity.RoutineTemplateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RoutineTemplateRepository extends JpaRepository<RoutineTemplateEntity, String> {
+
+    List<RoutineTemplateEntity> findByUserId(String userId);
+
+    Optional<RoutineTemplateEntity> findByUserIdAndCategory(String userId, String category);
+}
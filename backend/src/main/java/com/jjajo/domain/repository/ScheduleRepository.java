@@ -1,9 +1,13 @@
 package com.jjajo.domain.repository;
 
 import com.jjajo.domain.entity.ScheduleEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,8 +16,79 @@ public interface ScheduleRepository extends JpaRepository<ScheduleEntity, String
 
     List<ScheduleEntity> findByUserIdOrderByDateAscStartTimeAsc(String userId);
 
+    /**
+     * 기간(from~to, 시작일 기준) 내 일정 첫 페이지.
+     * 인덱스 활용 (idx_schedule_user_date). 정렬 키는 (date, start_time, id)이며 종일 일정(start_time null)이 먼저 온다.
+     */
+    @Query("SELECT s FROM ScheduleEntity s WHERE s.userId = :userId " +
+           "AND s.date >= :from AND s.date <= :to " +
+           "ORDER BY s.date ASC, COALESCE(s.startTime, '') ASC, s.id ASC")
+    List<ScheduleEntity> findWindow(
+        @Param("userId") String userId,
+        @Param("from") String from,
+        @Param("to") String to,
+        Pageable pageable
+    );
+
+    /**
+     * 기간 내 일정 다음 페이지 (keyset). (afterDate, afterStartTime) 보다 뒤인 행만 조회한다.
+     * id는 DB 정렬 규칙(collation)에 따라 Java 문자열 순서와 다를 수 있어 조건에 쓰지 않는다.
+     * 같은 (date, startTime) 행은 findAtKey로 통째로 읽어 Java에서 id를 비교한다.
+     */
+    @Query("SELECT s FROM ScheduleEntity s WHERE s.userId = :userId " +
+           "AND s.date >= :from AND s.date <= :to " +
+           "AND (s.date > :afterDate " +
+           "  OR (s.date = :afterDate AND COALESCE(s.startTime, '') > :afterStartTime)) " +
+           "ORDER BY s.date ASC, COALESCE(s.startTime, '') ASC, s.id ASC")
+    List<ScheduleEntity> findWindowAfter(
+        @Param("userId") String userId,
+        @Param("from") String from,
+        @Param("to") String to,
+        @Param("afterDate") String afterDate,
+        @Param("afterStartTime") String afterStartTime,
+        Pageable pageable
+    );
+
+    /**
+     * 같은 날짜·시작 시각(종일이면 '')의 일정 전부 (keyset 페이지 경계의 같은 키 묶음).
+     */
+    @Query("SELECT s FROM ScheduleEntity s WHERE s.userId = :userId " +
+           "AND s.date = :date AND COALESCE(s.startTime, '') = :startTime")
+    List<ScheduleEntity> findAtKey(
+        @Param("userId") String userId,
+        @Param("date") String date,
+        @Param("startTime") String startTime
+    );
+
+    /**
+     * from 이전에 시작해 from 이후까지 이어지는 여러 날 일정.
+     * 인덱스 활용 (idx_schedule_user_end_date) - 당일 일정은 end_date가 null이라 대상이 적다.
+     */
+    @Query("SELECT s FROM ScheduleEntity s WHERE s.userId = :userId " +
+           "AND s.endDate >= :from AND s.date < :from " +
+           "ORDER BY s.date ASC, COALESCE(s.startTime, '') ASC, s.id ASC")
+    List<ScheduleEntity> findSpanningInto(
+        @Param("userId") String userId,
+        @Param("from") String from
+    );
+
+    /**
+     * 제목에 keyword가 들어간 일정 (대화형 수정 컨텍스트용). 늦은 날짜부터.
+     */
+    @Query("SELECT s FROM ScheduleEntity s WHERE s.userId = :userId " +
+           "AND LOWER(s.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "ORDER BY s.date DESC, s.id ASC")
+    List<ScheduleEntity> findTitleMatches(
+        @Param("userId") String userId,
+        @Param("keyword") String keyword,
+        Pageable pageable
+    );
+
     Optional<ScheduleEntity> findByUserIdAndId(String userId, String id);
 
+    /** 일괄 변경 대상 일정을 한 번에 조회 (본인 소유만) */
+    List<ScheduleEntity> findByUserIdAndIdIn(String userId, Collection<String> ids);
+
     void deleteByUserIdAndId(String userId, String id);
 
     /** 해당 사용자의 모든 일정 삭제 */
@@ -2,8 +2,7 @@ package com.jjajo.infrastructure.gemini;
 
 import com.jjajo.application.port.out.GeminiPort;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -19,16 +18,14 @@ import java.util.Map;
 @Component
 public class GeminiAdapter implements GeminiPort {
     
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta";
     private static final Duration TIMEOUT = Duration.ofSeconds(10);
     
     private final WebClient webClient;
+    private final GeminiMetrics metrics;
     
-    public GeminiAdapter() {
-        this.webClient = WebClient.builder()
-                .baseUrl(GEMINI_API_URL)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+    public GeminiAdapter(@Qualifier("geminiWebClient") WebClient webClient, GeminiMetrics metrics) {
+        this.webClient = webClient;
+        this.metrics = metrics;
     }
     
     @Override
@@ -37,13 +34,13 @@ public class GeminiAdapter implements GeminiPort {
             log.debug("Gemini API 연결 테스트 시작");
 
             // Gemini API의 models.list 엔드포인트 호출하여 유효성 검증
-            Map<String, Object> response = webClient.get()
+            Map<String, Object> response = metrics.observe("validate-key", webClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/models")
                             .queryParam("key", apiKey)
                             .build())
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .bodyToMono(Map.class))
                     .block(TIMEOUT);
             
             if (response != null && response.containsKey("models")) {
@@ -1,11 +1,16 @@
 package com.jjajo.infrastructure.gemini;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jjajo.presentation.dto.EditOperationDto;
@@ -17,9 +22,9 @@ import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,503 +35,369 @@ import java.util.regex.Pattern;
 @Component
 public class GeminiChatAdapter {
     
-    private static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta";
     private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    /** 웹 검색 포함이므로 타임아웃 증가 */
+    private static final Duration WEB_SEARCH_TIMEOUT = Duration.ofSeconds(60);
+    private static final String GENERATE_CONTENT_PATH = "/models/gemini-2.0-flash:generateContent";
+    private static final String STREAM_GENERATE_CONTENT_PATH = "/models/gemini-2.0-flash:streamGenerateContent";
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE = new ParameterizedTypeReference<>() {};
     
-    private final WebClient webClient;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
-    public GeminiChatAdapter() {
-        this.webClient = WebClient.builder()
-                .baseUrl(GEMINI_API_URL)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+    private final WebClient webClient;
+    private final GeminiResponseCache responseCache;
+    private final GeminiResilience resilience;
+    private final GeminiRetryPolicy retryPolicy;
+    private final GeminiContextCache contextCache;
+    private final GeminiMetrics metrics;
+
+    public GeminiChatAdapter(@Qualifier("geminiWebClient") WebClient webClient, GeminiResponseCache responseCache,
+                             GeminiResilience resilience, GeminiRetryPolicy retryPolicy,
+                             GeminiContextCache contextCache, GeminiMetrics metrics) {
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.resilience = resilience;
+        this.retryPolicy = retryPolicy;
+        this.contextCache = contextCache;
+        this.metrics = metrics;
     }
     
     /**
      * Gemini API와 채팅
      */
-    public String chat(String userMessage, String apiKey) {
-        try {
-            log.debug("Gemini API 채팅 시작: {}", userMessage);
-            
-            // 시스템 프롬프트와 사용자 메시지 구성
-            String systemPrompt = """
-                당신은 일정 관리를 도와주는 친절한 AI 어시스턴트입니다.
-                사용자가 일정을 요청하면, 구체적인 정보를 파악하여 도움을 드립니다.
-                응답은 간결하고 친근하게 해주세요.
-                """;
-            
-            Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                    Map.of(
-                        "parts", List.of(
-                            Map.of("text", systemPrompt + "\n\n사용자: " + userMessage)
-                        )
-                    )
-                ),
-                "generationConfig", Map.of(
-                    "temperature", 0.7,
-                    "maxOutputTokens", 200
-                )
-            );
-            
-            Map response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/models/gemini-2.0-flash:generateContent")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block(TIMEOUT);
-            
-            if (response != null && response.containsKey("candidates")) {
-                List<Map> candidates = (List<Map>) response.get("candidates");
-                if (!candidates.isEmpty()) {
-                    Map firstCandidate = candidates.get(0);
-                    Map content = (Map) firstCandidate.get("content");
-                    List<Map> parts = (List<Map>) content.get("parts");
-                    if (!parts.isEmpty()) {
-                        String text = (String) parts.get(0).get("text");
-                        log.debug("Gemini API 응답 성공");
-                        return text;
-                    }
-                }
-            }
-            
-            log.warn("Gemini API 응답 형식 오류");
-            return "네, 일정을 생성하겠습니다!";
-            
-        } catch (Exception e) {
-            log.error("Gemini API 채팅 실패", e);
-            throw new RuntimeException("AI 채팅 처리 중 오류가 발생했습니다", e);
+    public Mono<String> chat(String userMessage, String apiKey) {
+        log.debug("Gemini API 채팅 시작: {}", userMessage);
+        
+        return generateContent("chat", GeminiRequests.chat(userMessage), apiKey, TIMEOUT)
+                .map(GeminiChatAdapter::toChatText)
+                .onErrorMap(e -> !(e instanceof GeminiRejectedException), e -> {
+                    log.error("Gemini API 채팅 실패", e);
+                    return new RuntimeException("AI 채팅 처리 중 오류가 발생했습니다", e);
+                });
+    }
+
+    private static String toChatText(GeminiResponse response) {
+        List<GeminiResponse.Part> parts = response.parts();
+        if (!parts.isEmpty()) {
+            log.debug("Gemini API 응답 성공");
+            return parts.get(0).text();
         }
+        
+        log.warn("Gemini API 응답 형식 오류");
+        return "네, 일정을 생성하겠습니다!";
     }
     
     /**
      * Gemini API와 채팅 (웹 검색 기능 포함)
      */
-    public String chatWithWebSearch(String userMessage, String apiKey) {
-        try {
-            log.debug("Gemini API 웹 검색 채팅 시작: {}", userMessage);
-            
-            // 웹 검색 도구를 포함한 요청 바디 구성
-            Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                    Map.of(
-                        "parts", List.of(
-                            Map.of("text", userMessage)
-                        )
-                    )
-                ),
-                "tools", List.of(
-                    Map.of("googleSearch", Map.of())
-                ),
-                "generationConfig", Map.of(
-                    "temperature", 0.7,
-                    "maxOutputTokens", 2000
-                )
-            );
-            
-            Map response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/models/gemini-2.0-flash:generateContent")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block(Duration.ofSeconds(60)); // 웹 검색 포함이므로 타임아웃 증가
-            
-            if (response != null && response.containsKey("candidates")) {
-                List<Map> candidates = (List<Map>) response.get("candidates");
-                if (!candidates.isEmpty()) {
-                    Map firstCandidate = candidates.get(0);
-                    Map content = (Map) firstCandidate.get("content");
-                    List<Map> parts = (List<Map>) content.get("parts");
-                    
-                    // 모든 텍스트 부분을 합침
-                    StringBuilder fullText = new StringBuilder();
-                    for (Map part : parts) {
-                        if (part.containsKey("text")) {
-                            fullText.append((String) part.get("text"));
-                        }
-                    }
-                    
-                    if (fullText.length() > 0) {
-                        log.debug("Gemini API 웹 검색 응답 성공 (길이: {})", fullText.length());
-                        return fullText.toString();
-                    }
-                }
-            }
-            
-            log.warn("Gemini API 웹 검색 응답 형식 오류");
-            throw new RuntimeException("AI 응답 형식 오류");
-            
-        } catch (Exception e) {
-            log.error("Gemini API 웹 검색 채팅 실패", e);
-            throw new RuntimeException("AI 웹 검색 채팅 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
+    public Mono<String> chatWithWebSearch(String userMessage, String apiKey) {
+        log.debug("Gemini API 웹 검색 채팅 시작: {}", userMessage);
+        
+        return generateContent("chat", GeminiRequests.webSearch(userMessage), apiKey, WEB_SEARCH_TIMEOUT)
+                .map(GeminiChatAdapter::toWebSearchText)
+                .onErrorMap(e -> !(e instanceof GeminiRejectedException), e -> {
+                    log.error("Gemini API 웹 검색 채팅 실패", e);
+                    return new RuntimeException("AI 웹 검색 채팅 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
+                });
+    }
+
+    /**
+     * Gemini API와 채팅 (웹 검색 기능 포함, 스트리밍).
+     * streamGenerateContent로 모델이 생성하는 대로 텍스트 조각을 내보낸다.
+     */
+    public Flux<String> streamChatWithWebSearch(String userMessage, String apiKey) {
+        log.debug("Gemini API 웹 검색 스트리밍 채팅 시작: {}", userMessage);
+
+        return streamGenerateContent("chat", GeminiRequests.webSearch(userMessage), apiKey, WEB_SEARCH_TIMEOUT)
+                .onErrorMap(e -> !(e instanceof GeminiRejectedException), e -> {
+                    log.error("Gemini API 웹 검색 스트리밍 채팅 실패", e);
+                    return new RuntimeException("AI 웹 검색 채팅 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
+                });
+    }
+
+    private static String toWebSearchText(GeminiResponse response) {
+        // 모든 텍스트 부분을 합침
+        String fullText = response.text();
+        if (!fullText.isEmpty()) {
+            log.debug("Gemini API 웹 검색 응답 성공 (길이: {})", fullText.length());
+            return fullText;
         }
+        
+        log.warn("Gemini API 웹 검색 응답 형식 오류");
+        throw new RuntimeException("AI 응답 형식 오류");
     }
 
     /**
      * 자연어 한 줄 명령을 Gemini Function Calling으로 파싱하여 일정 정보 추출
      * 예: "내일 오후 3시부터 2시간 동안 팀 프로젝트 회의 추가해줘" → title, date, startTime, endTime
      */
-    public com.jjajo.domain.model.ScheduleRequest parseScheduleWithFunctionCalling(String userCommand, String apiKey) {
-        try {
-            log.debug("매직 바 일정 파싱 시작: {}", userCommand);
-
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            String prompt = String.format("""
-                오늘 날짜는 %s 입니다. 사용자가 아래 한 줄로 일정 추가를 요청했습니다. add_schedule 함수를 호출하여 제목, 날짜(YYYY-MM-DD), 시작시간(HH:mm), 소요시간(분)을 추출하세요.
-                시간은 24시간 형식으로 넣으세요. (오후 3시 → 15:00)
-                사용자 입력: %s
-                """, today, userCommand);
-
-            Map<String, Object> addScheduleParams = new LinkedHashMap<>();
-            addScheduleParams.put("type", "object");
-            addScheduleParams.put("properties", Map.of(
-                "title", Map.of(
-                    "type", "string",
-                    "description", "일정 제목 (예: 팀 프로젝트 회의)"
-                ),
-                "date", Map.of(
-                    "type", "string",
-                    "description", "날짜 YYYY-MM-DD 형식. 오늘=" + today + ", 내일/모레 등은 이 날짜 기준으로 계산"
-                ),
-                "start_time", Map.of(
-                    "type", "string",
-                    "description", "시작 시간 HH:mm 24시간 형식 (예: 15:00)"
-                ),
-                "duration_minutes", Map.of(
-                    "type", "integer",
-                    "description", "소요 시간(분). 2시간이면 120, 30분이면 30"
-                )
-            ));
-            addScheduleParams.put("required", List.of("title", "date", "start_time", "duration_minutes"));
-
-            Map<String, Object> requestBody = new LinkedHashMap<>();
-            requestBody.put("contents", List.of(
-                Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))
-            ));
-            requestBody.put("tools", List.of(
-                Map.of("functionDeclarations", List.of(
-                    Map.of(
-                        "name", "add_schedule",
-                        "description", "캘린더에 일정을 추가합니다. 사용자의 자연어에서 제목, 날짜, 시작시간, 소요시간(분)을 추출합니다.",
-                        "parameters", addScheduleParams
-                    )
-                ))
-            ));
-            requestBody.put("generationConfig", Map.of(
-                "temperature", 0.1,
-                "maxOutputTokens", 256
-            ));
-            requestBody.put("toolConfig", Map.of(
-                "functionCallingConfig", Map.of(
-                    "mode", "ANY",
-                    "allowedFunctionNames", List.of("add_schedule")
-                )
-            ));
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/models/gemini-2.0-flash:generateContent")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block(TIMEOUT);
-
-            if (response == null || !response.containsKey("candidates")) {
-                log.warn("매직 바 파싱: 응답에 candidates 없음");
-                throw new IllegalArgumentException("일정을 파악하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 회의");
-            }
+    public Mono<com.jjajo.domain.model.ScheduleRequest> parseScheduleWithFunctionCalling(String rawCommand, String apiKey) {
+        log.debug("매직 바 일정 파싱 시작: {}", rawCommand);
+        // 공백만 다른 같은 명령은 같은 캐시 키가 되도록 정규화
+        String userCommand = normalizeInput(rawCommand);
+
+        String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        byte[] requestBody = GeminiRequests.parse(today, userCommand);
+
+        // 매직 바는 지연이 중요하므로 느린 호출은 헤징
+        Mono<GeminiResponse> call = retryPolicy.retrying(
+                retryPolicy.hedged("parse", generateContentOnce("parse", requestBody, apiKey, TIMEOUT)), TIMEOUT);
+        return responseCache.cached("parse", requestBody, call,
+                        GeminiChatAdapter::toScheduleRequest)
+                .onErrorMap(e -> !(e instanceof IllegalArgumentException || e instanceof GeminiRejectedException), e -> {
+                    log.error("매직 바 일정 파싱 실패", e);
+                    return new RuntimeException("일정을 이해하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 프로젝트 회의", e);
+                });
+    }
 
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates.isEmpty()) {
-                throw new IllegalArgumentException("일정을 파악하지 못했어요. 날짜·시간·제목을 포함해 다시 입력해주세요.");
-            }
+    private static com.jjajo.domain.model.ScheduleRequest toScheduleRequest(GeminiResponse response) {
+        if (response.candidates() == null) {
+            log.warn("매직 바 파싱: 응답에 candidates 없음");
+            throw new IllegalArgumentException("일정을 파악하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 회의");
+        }
+        if (!response.hasCandidates()) {
+            throw new IllegalArgumentException("일정을 파악하지 못했어요. 날짜·시간·제목을 포함해 다시 입력해주세요.");
+        }
+        if (response.parts().isEmpty()) {
+            throw new IllegalArgumentException("일정을 파악하지 못했어요.");
+        }
 
-            Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-            List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-            if (parts == null || parts.isEmpty()) {
-                throw new IllegalArgumentException("일정을 파악하지 못했어요.");
-            }
+        GeminiResponse.FunctionCall functionCall = response.functionCall();
+        if (functionCall == null || !"add_schedule".equals(functionCall.name())) {
+            throw new IllegalArgumentException("일정 추가 형식을 인식하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 회의");
+        }
 
-            Map<String, Object> functionCall = null;
-            for (Map<String, Object> part : parts) {
-                if (part.containsKey("functionCall")) {
-                    functionCall = (Map<String, Object>) part.get("functionCall");
-                    break;
-                }
+        return toScheduleRequest(functionCall.args());
+    }
+
+    /**
+     * 여러 줄 매직 바 명령을 한 번의 Function Calling 요청으로 파싱.
+     * 줄마다 add_schedule 호출 하나를 기대하고, 호출의 line(1부터)으로 줄과 맞춘다.
+     *
+     * @return 명령 순서대로 결과 1건씩. 모델이 건너뛰었거나 인자가 잘못된 줄은 error만 채워진다
+     */
+    public Mono<List<ParsedCommand>> parseSchedulesWithFunctionCalling(List<String> rawCommands, String apiKey) {
+        log.debug("매직 바 일괄 파싱 시작: {}줄", rawCommands.size());
+        StringBuilder commandList = new StringBuilder(rawCommands.size() * 48);
+        for (int i = 0; i < rawCommands.size(); i++) {
+            commandList.append("  [").append(i + 1).append("] ").append(normalizeInput(rawCommands.get(i))).append('\n');
+        }
+
+        String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        byte[] requestBody = GeminiRequests.parseBatch(today, commandList.toString());
+
+        // 한 줄 파싱과 달리 헤징하지 않음: 요청이 커서 중복 호출 비용이 크다
+        Mono<GeminiResponse> call = retryPolicy.retrying(generateContentOnce("parse-batch", requestBody, apiKey, TIMEOUT), TIMEOUT);
+        return responseCache.cached("parse-batch", requestBody, call,
+                        response -> toParsedCommands(response, rawCommands.size()))
+                .onErrorMap(e -> !(e instanceof GeminiRejectedException), e -> {
+                    log.error("매직 바 일괄 파싱 실패", e);
+                    return new RuntimeException("일정을 이해하지 못했어요. 잠시 후 다시 시도해주세요.", e);
+                });
+    }
+
+    /** 일괄 파싱 결과 한 줄: schedule 또는 error 중 하나 */
+    public record ParsedCommand(com.jjajo.domain.model.ScheduleRequest schedule, String error) {}
+
+    private static List<ParsedCommand> toParsedCommands(GeminiResponse response, int size) {
+        ParsedCommand[] results = new ParsedCommand[size];
+        for (GeminiResponse.FunctionCall call : response.functionCalls()) {
+            if (!"add_schedule".equals(call.name()) || call.args() == null) {
+                continue;
             }
-            if (functionCall == null || !"add_schedule".equals(functionCall.get("name"))) {
-                throw new IllegalArgumentException("일정 추가 형식을 인식하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 회의");
+            Integer line = toLine(call.args().get("line"));
+            // 범위 밖 번호나 같은 줄의 두 번째 호출은 버림 (한 줄에 일정 하나)
+            if (line == null || line < 1 || line > size || results[line - 1] != null) {
+                log.debug("매직 바 일괄 파싱: 줄 번호를 맞출 수 없는 호출 무시 (line={})", call.args().get("line"));
+                continue;
             }
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> args = (Map<String, Object>) functionCall.get("args");
-            if (args == null) {
-                throw new IllegalArgumentException("일정 정보를 추출하지 못했어요.");
+            try {
+                results[line - 1] = new ParsedCommand(toScheduleRequest(call.args()), null);
+            } catch (IllegalArgumentException e) {
+                results[line - 1] = new ParsedCommand(null, e.getMessage());
+            } catch (RuntimeException e) {
+                // 시간 형식·소요 시간 타입이 어긋난 호출은 그 줄만 실패 처리
+                log.debug("매직 바 일괄 파싱: {}번째 줄 인자 오류 {}", line, e.getMessage());
+                results[line - 1] = new ParsedCommand(null, "일정을 이해하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 회의");
             }
+        }
+        List<ParsedCommand> out = new ArrayList<>(size);
+        for (ParsedCommand result : results) {
+            out.add(result != null ? result
+                    : new ParsedCommand(null, "일정을 파악하지 못했어요. 날짜·시간·제목을 포함해 다시 입력해주세요."));
+        }
+        return out;
+    }
 
-            String title = args.get("title") != null ? args.get("title").toString().trim() : null;
-            String dateStr = args.get("date") != null ? args.get("date").toString().trim() : null;
-            String startTimeStr = args.get("start_time") != null ? args.get("start_time").toString().trim() : null;
-            Number durationNum = args.get("duration_minutes") != null ? (Number) args.get("duration_minutes") : 60;
+    private static Integer toLine(Object value) {
+        if (value instanceof Number n) {
+            return n.intValue();
+        }
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.toString().replaceAll("[^0-9]", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
-            if (title == null || title.isEmpty() || dateStr == null || dateStr.isEmpty() || startTimeStr == null || startTimeStr.isEmpty()) {
-                throw new IllegalArgumentException("제목, 날짜, 시작 시간을 모두 포함해 주세요.");
-            }
+    private static com.jjajo.domain.model.ScheduleRequest toScheduleRequest(Map<String, Object> args) {
+        if (args == null) {
+            throw new IllegalArgumentException("일정 정보를 추출하지 못했어요.");
+        }
 
-            int durationMinutes = durationNum != null ? durationNum.intValue() : 60;
-            if (durationMinutes <= 0) durationMinutes = 60;
-
-            String normalizedStart = startTimeStr.contains(":") ? startTimeStr : startTimeStr + ":00";
-            if (normalizedStart.length() == 4) normalizedStart = "0" + normalizedStart;
-            String startTimeParsed = normalizedStart.length() >= 5 ? normalizedStart.substring(0, 5) : (normalizedStart + ":00").substring(0, 5);
-            LocalTime startTime = LocalTime.parse(startTimeParsed, DateTimeFormatter.ISO_LOCAL_TIME);
-            String endTimeStr = startTime.plusMinutes(durationMinutes).format(DateTimeFormatter.ISO_LOCAL_TIME).substring(0, 5);
-            String startTimeOut = startTime.format(DateTimeFormatter.ISO_LOCAL_TIME).substring(0, 5);
-
-            log.debug("매직 바 파싱 결과: title={}, date={}, start={}, end={}", title, dateStr, startTimeOut, endTimeStr);
-
-            return com.jjajo.domain.model.ScheduleRequest.builder()
-                    .title(title)
-                    .description("한 줄 명령으로 추가한 일정")
-                    .date(dateStr)
-                    .startTime(startTimeOut)
-                    .endTime(endTimeStr)
-                    .priority("medium")
-                    .build();
-        } catch (IllegalArgumentException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("매직 바 일정 파싱 실패", e);
-            throw new RuntimeException("일정을 이해하지 못했어요. 예: 내일 오후 3시부터 2시간 동안 팀 프로젝트 회의", e);
+        String title = args.get("title") != null ? args.get("title").toString().trim() : null;
+        String dateStr = args.get("date") != null ? args.get("date").toString().trim() : null;
+        String startTimeStr = args.get("start_time") != null ? args.get("start_time").toString().trim() : null;
+        Number durationNum = args.get("duration_minutes") != null ? (Number) args.get("duration_minutes") : 60;
+
+        if (title == null || title.isEmpty() || dateStr == null || dateStr.isEmpty() || startTimeStr == null || startTimeStr.isEmpty()) {
+            throw new IllegalArgumentException("제목, 날짜, 시작 시간을 모두 포함해 주세요.");
         }
+
+        int durationMinutes = durationNum != null ? durationNum.intValue() : 60;
+        if (durationMinutes <= 0) durationMinutes = 60;
+
+        String normalizedStart = startTimeStr.contains(":") ? startTimeStr : startTimeStr + ":00";
+        if (normalizedStart.length() == 4) normalizedStart = "0" + normalizedStart;
+        String startTimeParsed = normalizedStart.length() >= 5 ? normalizedStart.substring(0, 5) : (normalizedStart + ":00").substring(0, 5);
+        LocalTime startTime = LocalTime.parse(startTimeParsed, DateTimeFormatter.ISO_LOCAL_TIME);
+        String endTimeStr = startTime.plusMinutes(durationMinutes).format(DateTimeFormatter.ISO_LOCAL_TIME).substring(0, 5);
+        String startTimeOut = startTime.format(DateTimeFormatter.ISO_LOCAL_TIME).substring(0, 5);
+
+        log.debug("매직 바 파싱 결과: title={}, date={}, start={}, end={}", title, dateStr, startTimeOut, endTimeStr);
+
+        return com.jjajo.domain.model.ScheduleRequest.builder()
+                .title(title)
+                .description("한 줄 명령으로 추가한 일정")
+                .date(dateStr)
+                .startTime(startTimeOut)
+                .endTime(endTimeStr)
+                .priority("medium")
+                .build();
     }
 
     /**
      * 자연어 명령으로 기존 일정 수정/삭제 연산 추출 (Gemini Function Calling)
      * 예: "공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘" → edits[]
      */
-    public List<EditOperationDto> editScheduleWithFunctionCalling(String userCommand, List<ScheduleItemForEdit> todos, String apiKey) {
-        try {
-            log.debug("대화형 일정 수정 파싱 시작: {}", userCommand);
-
-            String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
-            StringBuilder scheduleList = new StringBuilder();
-            for (ScheduleItemForEdit t : todos) {
-                scheduleList.append(String.format("  #%s id=%s title=%s date=%s startTime=%s endTime=%s%n",
-                        t.getOrder() != null ? t.getOrder() : "",
-                        t.getId(), t.getTitle() != null ? t.getTitle() : "",
-                        t.getDate() != null ? t.getDate() : "",
-                        t.getStartTime() != null ? t.getStartTime() : "",
-                        t.getEndTime() != null ? t.getEndTime() : ""));
-            }
+    public Mono<List<EditOperationDto>> editScheduleWithFunctionCalling(String userCommand, List<ScheduleItemForEdit> todos, String apiKey) {
+        log.debug("대화형 일정 수정 파싱 시작: {}", userCommand);
+
+        String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        StringBuilder scheduleList = new StringBuilder(todos.size() * 96);
+        for (ScheduleItemForEdit t : todos) {
+            scheduleList.append("  #").append(t.getOrder() != null ? t.getOrder() : "")
+                    .append(" id=").append(t.getId())
+                    .append(" title=").append(t.getTitle() != null ? t.getTitle() : "")
+                    .append(" date=").append(t.getDate() != null ? t.getDate() : "")
+                    .append(" startTime=").append(t.getStartTime() != null ? t.getStartTime() : "")
+                    .append(" endTime=").append(t.getEndTime() != null ? t.getEndTime() : "")
+                    .append('\n');
+        }
 
-            String prompt = String.format("""
-                오늘 날짜는 %s 입니다.
-                아래는 사용자의 현재 일정 목록입니다. 기존 일정 수정/삭제 시 반드시 이 목록에 있는 id만 사용하세요.
-                - 사용자가 "첫 번째/두 번째/세 번째"처럼 말하면, 아래 목록의 #번호(순서)를 기준으로 해당 id를 찾아 사용하세요.
-                일정 목록:
-                %s
-                사용자 명령: %s
-                위 명령에 따라 apply_schedule_edits 함수를 호출하여 edits 배열을 반환하세요.
-                - 새 일정을 만드는 요청(예: "5시간 공부, 10분 휴식 반복으로 짜줘", "오늘 9시부터 1시간 회의 추가")이면 operation을 "add"로 하고, title, date, start_time, end_time을 각 블록마다 넣으세요. schedule_id는 넣지 마세요. 여러 블록이면 edits에 add를 여러 개 반환하세요.
-                - 기존 일정을 바꾸려면 operation "update", 지우려면 "delete"를 쓰고, schedule_id는 위 목록의 id만 사용하세요.
-                - "N시간으로 줄여줘" / "N시간 늘려줘"처럼 소요시간을 바꾸는 경우: update 시 반드시 해당 일정의 기존 start_time을 그대로 넣고, end_time만 시작+소요시간으로 계산해 넣으세요. (예: 14:00~18:00 일정을 3시간으로 줄여줘 → start_time=14:00, end_time=17:00)
-                - 시간은 HH:mm 24시간 형식, 날짜는 YYYY-MM-DD입니다.
-                """, today, scheduleList, userCommand);
-
-            Map<String, Object> editItemSchema = new LinkedHashMap<>();
-            editItemSchema.put("type", "object");
-            editItemSchema.put("properties", Map.of(
-                "operation", Map.of(
-                    "type", "string",
-                    "description", "add(새 일정 추가) | update(기존 수정) | delete(기존 삭제)"
-                ),
-                "schedule_id", Map.of(
-                    "type", "string",
-                    "description", "기존 일정 id. update/delete일 때만 필수(위 목록의 id). add일 때는 비우거나 넣지 마세요."
-                ),
-                "start_time", Map.of(
-                    "type", "string",
-                    "description", "시작 시간 HH:mm. add일 때 필수, update일 때 선택"
-                ),
-                "end_time", Map.of(
-                    "type", "string",
-                    "description", "종료 시간 HH:mm. add일 때 필수, update일 때 선택"
-                ),
-                "duration_minutes", Map.of(
-                    "type", "integer",
-                    "description", "add에서만 사용 가능. end_time을 못 정하면 소요시간(분)으로 넣으세요. 예: 2시간=120"
-                ),
-                "title", Map.of(
-                    "type", "string",
-                    "description", "제목. add일 때 필수, update일 때 선택"
-                ),
-                "date", Map.of(
-                    "type", "string",
-                    "description", "날짜 YYYY-MM-DD. add일 때 필수, update일 때 선택"
-                )
-            ));
-            editItemSchema.put("required", List.of("operation"));
-
-            Map<String, Object> applyEditsParams = new LinkedHashMap<>();
-            applyEditsParams.put("type", "object");
-            applyEditsParams.put("properties", Map.of(
-                "edits", Map.of(
-                    "type", "array",
-                    "description", "추가/수정/삭제 연산 목록. 새 일정 여러 개면 add를 여러 개 넣으세요.",
-                    "items", editItemSchema
-                )
-            ));
-            applyEditsParams.put("required", List.of("edits"));
-
-            Map<String, Object> requestBody = new LinkedHashMap<>();
-            requestBody.put("contents", List.of(
-                Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))
-            ));
-            requestBody.put("tools", List.of(
-                Map.of("functionDeclarations", List.of(
-                    Map.of(
-                        "name", "apply_schedule_edits",
-                        "description", "캘린더에 새 일정을 추가하거나, 기존 일정을 수정/삭제합니다. 새로 만드는 블록은 add, 기존 id를 바꾸는 것은 update/delete로 반환하세요.",
-                        "parameters", applyEditsParams
-                    )
-                ))
-            ));
-            requestBody.put("generationConfig", Map.of(
-                "temperature", 0.1,
-                "maxOutputTokens", 2048
-            ));
-            requestBody.put("toolConfig", Map.of(
-                "functionCallingConfig", Map.of(
-                    "mode", "ANY",
-                    "allowedFunctionNames", List.of("apply_schedule_edits")
-                )
-            ));
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/models/gemini-2.0-flash:generateContent")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block(TIMEOUT);
-
-            if (response == null || !response.containsKey("candidates")) {
-                log.warn("대화형 수정 파싱: 응답에 candidates 없음");
-                throw new IllegalArgumentException("명령을 파악하지 못했어요. 예: 공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘");
-            }
+        String schedules = scheduleList.toString();
+        byte[] requestBody = GeminiRequests.edit(today, schedules, userCommand);
 
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates.isEmpty()) {
-                throw new IllegalArgumentException("명령을 파악하지 못했어요.");
-            }
+        return generateWithContext(GeminiContextCache.Prompt.EDIT, apiKey, requestBody,
+                        name -> GeminiRequests.editCached(name, today, schedules, userCommand), TIMEOUT)
+                .map(GeminiChatAdapter::toEditOperations)
+                .onErrorMap(e -> !(e instanceof IllegalArgumentException || e instanceof GeminiRejectedException), e -> {
+                    log.error("대화형 일정 수정 파싱 실패", e);
+                    return new RuntimeException("명령을 이해하지 못했어요. 예: 공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘", e);
+                });
+    }
 
-            Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-            List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-            if (parts == null || parts.isEmpty()) {
-                throw new IllegalArgumentException("명령을 파악하지 못했어요.");
-            }
+    private static List<EditOperationDto> toEditOperations(GeminiResponse response) {
+        if (response.candidates() == null) {
+            log.warn("대화형 수정 파싱: 응답에 candidates 없음");
+            throw new IllegalArgumentException("명령을 파악하지 못했어요. 예: 공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘");
+        }
+        if (!response.hasCandidates() || response.parts().isEmpty()) {
+            throw new IllegalArgumentException("명령을 파악하지 못했어요.");
+        }
 
-            Map<String, Object> functionCall = null;
-            for (Map<String, Object> part : parts) {
-                if (part.containsKey("functionCall")) {
-                    functionCall = (Map<String, Object>) part.get("functionCall");
-                    break;
-                }
-            }
-            if (functionCall == null || !"apply_schedule_edits".equals(functionCall.get("name"))) {
-                throw new IllegalArgumentException("수정 명령 형식을 인식하지 못했어요.");
-            }
+        GeminiResponse.FunctionCall functionCall = response.functionCall();
+        if (functionCall == null || !"apply_schedule_edits".equals(functionCall.name())) {
+            throw new IllegalArgumentException("수정 명령 형식을 인식하지 못했어요.");
+        }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> args = (Map<String, Object>) functionCall.get("args");
-            if (args == null) {
-                return List.of();
-            }
+        Map<String, Object> args = functionCall.args();
+        if (args == null) {
+            return List.of();
+        }
 
-            List<Map<String, Object>> editsRaw = (List<Map<String, Object>>) args.get("edits");
-            if (editsRaw == null || editsRaw.isEmpty()) {
-                return List.of();
-            }
+        List<Map<String, Object>> editsRaw = (List<Map<String, Object>>) args.get("edits");
+        if (editsRaw == null || editsRaw.isEmpty()) {
+            return List.of();
+        }
 
-            List<EditOperationDto> operations = new ArrayList<>();
-            for (Map<String, Object> edit : editsRaw) {
-                String opRaw = edit.get("op") != null ? edit.get("op").toString() : edit.get("operation") != null ? edit.get("operation").toString() : null;
-                String op = (opRaw != null && !opRaw.isEmpty()) ? opRaw.trim().toLowerCase() : "update";
-                String scheduleId = getString(edit, "schedule_id");
-
-                if (EditOperationDto.TYPE_ADD.equalsIgnoreCase(op)) {
-                    String title = getString(edit, "title");
-                    String date = getString(edit, "date");
-                    String startTime = getString(edit, "start_time");
-                    String endTime = getString(edit, "end_time");
-                    Integer durationMinutes = getInteger(edit, "duration_minutes");
-                    // endTime 없고 duration_minutes 있으면 startTime + duration으로 계산
-                    if ((endTime == null || endTime.isEmpty()) && startTime != null && !startTime.isEmpty() && durationMinutes != null && durationMinutes > 0) {
-                        try {
-                            String norm = startTime.contains(":") ? startTime : startTime + ":00";
-                            if (norm.length() == 4) norm = "0" + norm;
-                            String parsed = norm.length() >= 5 ? norm.substring(0, 5) : (norm + ":00").substring(0, 5);
-                            LocalTime start = LocalTime.parse(parsed, DateTimeFormatter.ISO_LOCAL_TIME);
-                            endTime = start.plusMinutes(durationMinutes).format(DateTimeFormatter.ISO_LOCAL_TIME).substring(0, 5);
-                        } catch (Exception e) {
-                            log.debug("duration_minutes로 endTime 계산 실패: start={}, dur={}", startTime, durationMinutes);
-                        }
+        List<EditOperationDto> operations = new ArrayList<>();
+        for (Map<String, Object> edit : editsRaw) {
+            String opRaw = edit.get("op") != null ? edit.get("op").toString() : edit.get("operation") != null ? edit.get("operation").toString() : null;
+            String op = (opRaw != null && !opRaw.isEmpty()) ? opRaw.trim().toLowerCase() : "update";
+            String scheduleId = getString(edit, "schedule_id");
+
+            if (EditOperationDto.TYPE_ADD.equalsIgnoreCase(op)) {
+                String title = getString(edit, "title");
+                String date = getString(edit, "date");
+                String startTime = getString(edit, "start_time");
+                String endTime = getString(edit, "end_time");
+                Integer durationMinutes = getInteger(edit, "duration_minutes");
+                // endTime 없고 duration_minutes 있으면 startTime + duration으로 계산
+                if ((endTime == null || endTime.isEmpty()) && startTime != null && !startTime.isEmpty() && durationMinutes != null && durationMinutes > 0) {
+                    try {
+                        String norm = startTime.contains(":") ? startTime : startTime + ":00";
+                        if (norm.length() == 4) norm = "0" + norm;
+                        String parsed = norm.length() >= 5 ? norm.substring(0, 5) : (norm + ":00").substring(0, 5);
+                        LocalTime start = LocalTime.parse(parsed, DateTimeFormatter.ISO_LOCAL_TIME);
+                        endTime = start.plusMinutes(durationMinutes).format(DateTimeFormatter.ISO_LOCAL_TIME).substring(0, 5);
+                    } catch (Exception e) {
+                        log.debug("duration_minutes로 endTime 계산 실패: start={}, dur={}", startTime, durationMinutes);
                     }
-                    // start/end는 누락될 수 있음(프론트에서 자동 보완). title/date는 최소 필요.
-                    if (title == null || date == null) continue;
-                    ScheduleUpdateRequest addPayload = ScheduleUpdateRequest.builder()
-                            .title(title)
-                            .date(date)
-                            .startTime(startTime)
-                            .endTime(endTime)
-                            .durationMinutes(durationMinutes)
+                }
+                // start/end는 누락될 수 있음(프론트에서 자동 보완). title/date는 최소 필요.
+                if (title == null || date == null) continue;
+                ScheduleUpdateRequest addPayload = ScheduleUpdateRequest.builder()
+                        .title(title)
+                        .date(date)
+                        .startTime(startTime)
+                        .endTime(endTime)
+                        .durationMinutes(durationMinutes)
+                        .build();
+                operations.add(EditOperationDto.builder()
+                        .type(EditOperationDto.TYPE_ADD)
+                        .scheduleId(null)
+                        .addPayload(addPayload)
+                        .build());
+            } else {
+                if (scheduleId == null || scheduleId.isEmpty()) continue;
+                ScheduleUpdateRequest updatePayload = null;
+                if (EditOperationDto.TYPE_UPDATE.equalsIgnoreCase(op)) {
+                    updatePayload = ScheduleUpdateRequest.builder()
+                            .title(getString(edit, "title"))
+                            .date(getString(edit, "date"))
+                            .startTime(getString(edit, "start_time"))
+                            .endTime(getString(edit, "end_time"))
                             .build();
-                    operations.add(EditOperationDto.builder()
-                            .type(EditOperationDto.TYPE_ADD)
-                            .scheduleId(null)
-                            .addPayload(addPayload)
-                            .build());
-                } else {
-                    if (scheduleId == null || scheduleId.isEmpty()) continue;
-                    ScheduleUpdateRequest updatePayload = null;
-                    if (EditOperationDto.TYPE_UPDATE.equalsIgnoreCase(op)) {
-                        updatePayload = ScheduleUpdateRequest.builder()
-                                .title(getString(edit, "title"))
-                                .date(getString(edit, "date"))
-                                .startTime(getString(edit, "start_time"))
-                                .endTime(getString(edit, "end_time"))
-                                .build();
-                    }
-                    operations.add(EditOperationDto.builder()
-                            .type(EditOperationDto.TYPE_UPDATE.equalsIgnoreCase(op) ? EditOperationDto.TYPE_UPDATE : EditOperationDto.TYPE_DELETE)
-                            .scheduleId(scheduleId)
-                            .updatePayload(updatePayload)
-                            .build());
                 }
+                operations.add(EditOperationDto.builder()
+                        .type(EditOperationDto.TYPE_UPDATE.equalsIgnoreCase(op) ? EditOperationDto.TYPE_UPDATE : EditOperationDto.TYPE_DELETE)
+                        .scheduleId(scheduleId)
+                        .updatePayload(updatePayload)
+                        .build());
             }
-
-            log.debug("대화형 수정 파싱 결과: {} 건", operations.size());
-            return operations;
-        } catch (IllegalArgumentException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("대화형 일정 수정 파싱 실패", e);
-            throw new RuntimeException("명령을 이해하지 못했어요. 예: 공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘", e);
         }
+
+        log.debug("대화형 수정 파싱 결과: {} 건", operations.size());
+        return operations;
+    }
+
+    /** 앞뒤 공백 제거, 연속 공백을 하나로 */
+    private static String normalizeInput(String text) {
+        return text != null ? WHITESPACE.matcher(text.strip()).replaceAll(" ") : "";
     }
 
     private static String getString(Map<String, Object> map, String key) {
@@ -552,161 +423,276 @@ public class GeminiChatAdapter {
     /**
      * 짜조 플래너: 사용자 입력에서 카테고리·일정·요약 추출.
      */
-    public CategoryAndPlans detectCategoryAndPlans(String userText, String apiKey) {
-        try {
-            log.debug("짜조 카테고리·일정 추출: userText={}", userText);
-
-            String systemPrompt = """
-                너는 플래너 비서 '짜조'야. 사용자 입력을 분석해서 아래 JSON만 출력해. 다른 설명 없이 JSON 객체 하나만 출력해.
-                {
-                  "category": "study|workout|work|rest|default",
-                  "summary": "오늘 반드시 할 핵심 2~3가지를 한 줄로 요약한 문장 (선택)",
-                  "plans": [
-                    { "title": "제목", "durationMinutes": 숫자, "breakMinutesAfter": 숫자(선택, 블록 뒤 휴식 분), "note": "세부 목표 한 줄(선택)" }
-                  ]
-                }
-                - category: study(공부/스터디), workout(운동/헬스), work(업무/코딩/회의), rest(휴식/독서), default(기타)
-                - plans: 해야 할 일정만. 쉬는시간·식사시간은 넣지 마. durationMinutes는 분 단위.
-                - breakMinutesAfter: 생략 시 0. 고집중 블록 뒤에는 10~15분 권장.
-                - note: 해당 블록의 구체적 목표(예: "알고리즘 3문제", "PR 1개")를 짧게.
-                - 사용자가 "공부 90, 장보기 20"처럼 "제목 숫자" 형태로 입력하면, 숫자를 그대로 durationMinutes(분)로 사용해.
-                  예: "공부 90, 장보기 20" → plans = [{ "title": "공부", "durationMinutes": 90 }, { "title": "장보기", "durationMinutes": 20 }]
-                - 사용자가 쉼표 없이 한 문장 안에 여러 일을 말할 수도 있어.
-                  예: "알고리즘 1시간 하고 그다음에 백엔드 1시간 할 거야"
-                  → 최소 2개의 plan을 만들어야 해:
-                    [
-                      { "title": "알고리즘", "durationMinutes": 60 },
-                      { "title": "백엔드", "durationMinutes": 60 }
-                    ]
-                  예: "알고리즘 문제 3시간 정도 하고 그다음에 백엔드 작업 3시간 할 거야"
-                  → [
-                      { "title": "알고리즘 문제", "durationMinutes": 180 },
-                      { "title": "백엔드 작업", "durationMinutes": 180 }
-                    ]
-                - 문장 안에서 각 일(공부/과제/알고리즘/백엔드 작업 등)에 붙은 "N시간", "N시간 정도", "N시간 반", "N분" 표현을 찾아서,
-                  해당 일의 durationMinutes를 분 단위 숫자로 계산해. 시간 표현이 여러 개면 그 개수만큼 plan을 만드는 것을 우선적으로 시도해.
-                - 숫자 뒤에 "분", "시간" 등이 붙으면 적절히 분 단위로 변환해.
-                """;
-
-            Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                    Map.of(
-                        "parts", List.of(
-                            Map.of("text", systemPrompt + "\n\n" + userText)
-                        )
-                    )
-                ),
-                "generationConfig", Map.of(
-                    "temperature", 0.2,
-                    "maxOutputTokens", 1024,
-                    "responseMimeType", "application/json"
-                )
-            );
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = webClient.post()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/models/gemini-2.0-flash:generateContent")
-                            .queryParam("key", apiKey)
-                            .build())
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block(TIMEOUT);
-
-            if (response == null || !response.containsKey("candidates")) {
-                log.warn("짜조 플래너: 응답에 candidates 없음");
-                return new CategoryAndPlans("default", List.of());
-            }
+    public Mono<CategoryAndPlans> detectCategoryAndPlans(String rawText, String apiKey) {
+        log.debug("짜조 카테고리·일정 추출: userText={}", rawText);
+        String userText = normalizeInput(rawText);
+
+        // 응답 캐시 키는 컨텍스트 캐시 이름과 무관하도록 인라인 바디로 계산
+        byte[] requestBody = GeminiRequests.planner(userText);
+        Mono<GeminiResponse> call = generateWithContext(GeminiContextCache.Prompt.PLANNER, apiKey, requestBody,
+                name -> GeminiRequests.plannerCached(name, userText), TIMEOUT);
+        return responseCache.cached("planner", requestBody, call,
+                        response -> toCategoryAndPlans(response, userText))
+                .onErrorMap(e -> !(e instanceof GeminiRejectedException), e -> {
+                    log.error("짜조 플래너 처리 실패", e);
+                    return new RuntimeException("일정을 생성하지 못했어요. 가용 시간과 목표를 확인해 주세요.", e);
+                });
+    }
 
-            List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-            if (candidates.isEmpty()) return new CategoryAndPlans("default", List.of());
+    /**
+     * 짜조 플래너 스트리밍: category·summary·plans 원소를 응답 JSON에서 해석되는 즉시 내보낸다.
+     * 응답이 끝나면 detectCategoryAndPlans와 같은 후처리(빈 plans 보완, 시간 표현 개수 맞춤)로 추가된 플랜을 이어서 내보낸다.
+     */
+    public Flux<PlannerStreamItem> streamCategoryAndPlans(String rawText, String apiKey) {
+        log.debug("짜조 카테고리·일정 스트리밍 추출: userText={}", rawText);
+        // detectCategoryAndPlans와 같은 프롬프트가 되도록 정규화
+        String userText = normalizeInput(rawText);
 
-            Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
-            List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
-            if (parts == null || parts.isEmpty()) return new CategoryAndPlans("default", List.of());
+        return Flux.defer(() -> {
+            PlannerJsonStreamParser parser = new PlannerJsonStreamParser();
+            List<CategoryAndPlans.PlanWithDuration> plans = new ArrayList<>();
+            String[] category = {"default"};
+
+            Flux<PlannerStreamItem> decoded = streamWithContext(GeminiContextCache.Prompt.PLANNER, apiKey,
+                            GeminiRequests.planner(userText), name -> GeminiRequests.plannerCached(name, userText), TIMEOUT)
+                    .concatMapIterable(chunk -> {
+                        List<PlannerStreamItem> items = new ArrayList<>();
+                        for (PlannerJsonStreamParser.Item item : parser.feed(chunk)) {
+                            if (item.plan() != null) {
+                                CategoryAndPlans.PlanWithDuration plan = toPlan(item.plan());
+                                if (plan != null) {
+                                    plans.add(plan);
+                                    items.add(PlannerStreamItem.ofPlan(plan));
+                                }
+                            } else if ("category".equals(item.key())) {
+                                category[0] = normalizeCategory(item.value());
+                                items.add(PlannerStreamItem.ofCategory(category[0]));
+                            } else if ("summary".equals(item.key()) && !item.value().isBlank()) {
+                                items.add(PlannerStreamItem.ofSummary(item.value().trim()));
+                            }
+                        }
+                        return items;
+                    });
+            Flux<PlannerStreamItem> completed = Flux.defer(() -> {
+                int before = plans.size();
+                completePlans(plans, category[0], userText);
+                log.debug("짜조 스트리밍 카테고리={}, plans={}건", category[0], plans.size());
+                return Flux.fromIterable(new ArrayList<>(plans.subList(before, plans.size())))
+                        .map(PlannerStreamItem::ofPlan);
+            });
+            return decoded.concatWith(completed);
+        }).onErrorMap(e -> !(e instanceof GeminiRejectedException), e -> {
+            log.error("짜조 플래너 스트리밍 처리 실패", e);
+            return new RuntimeException("일정을 생성하지 못했어요. 가용 시간과 목표를 확인해 주세요.", e);
+        });
+    }
 
-            String text = (String) parts.get(0).get("text");
-            if (text == null || text.isBlank()) return new CategoryAndPlans("default", List.of());
+    private static CategoryAndPlans toCategoryAndPlans(GeminiResponse response, String userText) {
+        if (response.candidates() == null) {
+            log.warn("짜조 플래너: 응답에 candidates 없음");
+            return new CategoryAndPlans("default", List.of());
+        }
 
-            String json = text.trim();
-            if (json.startsWith("```")) {
-                int start = json.indexOf('{');
-                int end = json.lastIndexOf('}') + 1;
-                if (start >= 0 && end > start) json = json.substring(start, end);
-            }
+        String json = response.jsonText();
+        if (json.isEmpty()) return new CategoryAndPlans("default", List.of());
 
-            JsonNode root = PLANNER_JSON.readTree(json);
-            String category = root.has("category") ? root.get("category").asText().trim().toLowerCase() : "default";
-            if (!PLANNER_CATEGORIES.contains(category)) {
-                category = "default";
-            }
+        JsonNode root;
+        try {
+            root = PLANNER_JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("플래너 응답 JSON 파싱 실패", e);
+        }
+        String category = normalizeCategory(root.has("category") ? root.get("category").asText() : null);
 
-            String summary = null;
-            if (root.has("summary") && !root.get("summary").isNull()) {
-                String s = root.get("summary").asText().trim();
-                if (!s.isEmpty()) summary = s;
-            }
+        String summary = null;
+        if (root.has("summary") && !root.get("summary").isNull()) {
+            String s = root.get("summary").asText().trim();
+            if (!s.isEmpty()) summary = s;
+        }
 
-            List<CategoryAndPlans.PlanWithDuration> plans = new ArrayList<>();
-            JsonNode plansNode = root.get("plans");
-            if (plansNode != null && plansNode.isArray()) {
-                for (JsonNode node : plansNode) {
-                    String title = node.has("title") ? node.get("title").asText().trim() : null;
-                    int dur = node.has("durationMinutes") ? node.get("durationMinutes").asInt(60) : 60;
-                    // 최소 10분, 최대 240분 범위로 보정
-                    dur = Math.max(10, Math.min(dur, 240));
-                    Integer breakAfter = node.has("breakMinutesAfter") ? Math.min(Math.max(node.get("breakMinutesAfter").asInt(0), 0), 30) : null;
-                    String note = null;
-                    if (node.has("note") && !node.get("note").isNull()) {
-                        String n = node.get("note").asText().trim();
-                        if (!n.isEmpty()) note = n;
-                    }
-                    String planCategory = null;
-                    if (node.has("category") && !node.get("category").isNull()) {
-                        String c = node.get("category").asText().trim().toLowerCase();
-                        if (PLANNER_CATEGORIES.contains(c) && !"mixed".equals(c)) planCategory = c;
-                        if ("coding".equals(c)) planCategory = "work";
-                    }
-                    if (title != null && !title.isEmpty()) {
-                        plans.add(new CategoryAndPlans.PlanWithDuration(title, dur, breakAfter, note, planCategory));
-                    }
+        List<CategoryAndPlans.PlanWithDuration> plans = new ArrayList<>();
+        JsonNode plansNode = root.get("plans");
+        if (plansNode != null && plansNode.isArray()) {
+            for (JsonNode node : plansNode) {
+                CategoryAndPlans.PlanWithDuration plan = toPlan(node);
+                if (plan != null) {
+                    plans.add(plan);
                 }
             }
-            // 후처리 1: plans가 비었을 경우 안전한 기본 플랜 생성 (60분짜리 집중 블록 하나)
-            if (plans.isEmpty()) {
-                String fallbackTitle = userText != null && !userText.isBlank()
-                        ? userText.strip().substring(0, Math.min(userText.strip().length(), 20))
-                        : "집중 작업";
-                plans.add(new CategoryAndPlans.PlanWithDuration(fallbackTitle, 60, null, null, category));
-            }
+        }
+        completePlans(plans, category, userText);
+        log.debug("짜조 카테고리={}, plans={}건, summary={}", category, plans.size(), summary != null);
+        return new CategoryAndPlans(category, plans, summary);
+    }
 
-            // 후처리 2: 자연어 안의 시간 표현 개수와 plans 개수 비교하여 부족하면 보완
-            int timeMentionCount = 0;
-            if (userText != null) {
-                Pattern p = Pattern.compile("\\d+\\s*(시간|분)");
-                Matcher m = p.matcher(userText);
-                while (m.find()) {
-                    timeMentionCount++;
-                }
+    private static String normalizeCategory(String raw) {
+        String category = raw != null ? raw.trim().toLowerCase() : "default";
+        return PLANNER_CATEGORIES.contains(category) ? category : "default";
+    }
+
+    /** plans 배열의 원소 하나 → 보정된 플랜. 제목이 없으면 null */
+    private static CategoryAndPlans.PlanWithDuration toPlan(JsonNode node) {
+        String title = node.has("title") ? node.get("title").asText().trim() : null;
+        int dur = node.has("durationMinutes") ? node.get("durationMinutes").asInt(60) : 60;
+        // 최소 10분, 최대 240분 범위로 보정
+        dur = Math.max(10, Math.min(dur, 240));
+        Integer breakAfter = node.has("breakMinutesAfter") ? Math.min(Math.max(node.get("breakMinutesAfter").asInt(0), 0), 30) : null;
+        String note = null;
+        if (node.has("note") && !node.get("note").isNull()) {
+            String n = node.get("note").asText().trim();
+            if (!n.isEmpty()) note = n;
+        }
+        String planCategory = null;
+        if (node.has("category") && !node.get("category").isNull()) {
+            String c = node.get("category").asText().trim().toLowerCase();
+            if (PLANNER_CATEGORIES.contains(c) && !"mixed".equals(c)) planCategory = c;
+            if ("coding".equals(c)) planCategory = "work";
+        }
+        if (title == null || title.isEmpty()) {
+            return null;
+        }
+        return new CategoryAndPlans.PlanWithDuration(title, dur, breakAfter, note, planCategory);
+    }
+
+    /** 모델 응답 후처리: 빈 plans 보완, 시간 표현 개수만큼 plans 채우기 (plans에 직접 추가) */
+    private static void completePlans(List<CategoryAndPlans.PlanWithDuration> plans, String category, String userText) {
+        // 후처리 1: plans가 비었을 경우 안전한 기본 플랜 생성 (60분짜리 집중 블록 하나)
+        if (plans.isEmpty()) {
+            String fallbackTitle = userText != null && !userText.isBlank()
+                    ? userText.strip().substring(0, Math.min(userText.strip().length(), 20))
+                    : "집중 작업";
+            plans.add(new CategoryAndPlans.PlanWithDuration(fallbackTitle, 60, null, null, category));
+        }
+
+        // 후처리 2: 자연어 안의 시간 표현 개수와 plans 개수 비교하여 부족하면 보완
+        int timeMentionCount = 0;
+        if (userText != null) {
+            Pattern p = Pattern.compile("\\d+\\s*(시간|분)");
+            Matcher m = p.matcher(userText);
+            while (m.find()) {
+                timeMentionCount++;
             }
-            if (timeMentionCount > plans.size() && !plans.isEmpty()) {
-                CategoryAndPlans.PlanWithDuration base = plans.get(plans.size() - 1);
-                while (plans.size() < timeMentionCount) {
-                    plans.add(new CategoryAndPlans.PlanWithDuration(
-                            base.title(),
-                            base.durationMinutes(),
-                            base.breakMinutesAfter(),
-                            base.note(),
-                            base.category()
-                    ));
-                }
+        }
+        if (timeMentionCount > plans.size() && !plans.isEmpty()) {
+            CategoryAndPlans.PlanWithDuration base = plans.get(plans.size() - 1);
+            while (plans.size() < timeMentionCount) {
+                plans.add(new CategoryAndPlans.PlanWithDuration(
+                        base.title(),
+                        base.durationMinutes(),
+                        base.breakMinutesAfter(),
+                        base.note(),
+                        base.category()
+                ));
             }
-            log.debug("짜조 카테고리={}, plans={}건, summary={}", category, plans.size(), summary != null);
-            return new CategoryAndPlans(category, plans, summary);
-        } catch (Exception e) {
-            log.error("짜조 플래너 처리 실패", e);
-            throw new RuntimeException("일정을 생성하지 못했어요. 가용 시간과 목표를 확인해 주세요.", e);
+        }
+    }
+
+    /**
+     * 고정 프롬프트가 컨텍스트 캐시에 있으면 캐시를 참조하는 바디로, 없으면 인라인 바디로 generateContent.
+     * 캐시 이름이 서버에서 사라졌으면 무효화하고 인라인으로 한 번 더 보낸다.
+     */
+    private Mono<GeminiResponse> generateWithContext(GeminiContextCache.Prompt prompt, String apiKey, byte[] inlineBody,
+                                                     Function<String, byte[]> cachedBody, Duration timeout) {
+        return contextCache.cachedContent(prompt, apiKey)
+                .flatMap(name -> generateContent(prompt.tag(), cachedBody.apply(name), apiKey, timeout)
+                        .onErrorResume(GeminiContextCache::isStaleReference, e -> {
+                            contextCache.invalidate(prompt, apiKey, name);
+                            return generateContent(prompt.tag(), inlineBody, apiKey, timeout);
+                        }))
+                .switchIfEmpty(Mono.defer(() -> generateContent(prompt.tag(), inlineBody, apiKey, timeout)));
+    }
+
+    /** generateWithContext의 스트리밍판. 캐시 이름 오류는 첫 조각 전에 나므로 인라인으로 다시 시작해도 중복이 없다 */
+    private Flux<String> streamWithContext(GeminiContextCache.Prompt prompt, String apiKey, byte[] inlineBody,
+                                           Function<String, byte[]> cachedBody, Duration timeout) {
+        return contextCache.cachedContent(prompt, apiKey)
+                .map(name -> streamGenerateContent(prompt.tag(), cachedBody.apply(name), apiKey, timeout)
+                        .onErrorResume(GeminiContextCache::isStaleReference, e -> {
+                            contextCache.invalidate(prompt, apiKey, name);
+                            return streamGenerateContent(prompt.tag(), inlineBody, apiKey, timeout);
+                        }))
+                .defaultIfEmpty(streamGenerateContent(prompt.tag(), inlineBody, apiKey, timeout))
+                .flatMapMany(stream -> stream);
+    }
+
+    /**
+     * generateContent 호출 (일시적 오류는 GeminiRetryPolicy로 재시도).
+     * 응답 본문이 없으면 GeminiResponse.EMPTY (후속 파싱에서 candidates 없음으로 걸러짐)
+     *
+     * @param operation 지표 태그 (GeminiMetrics)
+     */
+    private Mono<GeminiResponse> generateContent(String operation, byte[] requestBody, String apiKey, Duration timeout) {
+        return retryPolicy.retrying(generateContentOnce(operation, requestBody, apiKey, timeout), timeout);
+    }
+
+    /**
+     * generateContent 한 번 호출. 동시 호출 한도·서킷에 걸리면 호출 없이 GeminiRejectedException
+     */
+    private Mono<GeminiResponse> generateContentOnce(String operation, byte[] requestBody, String apiKey, Duration timeout) {
+        return metrics.observe(operation, resilience.guard(apiKey, webClient.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path(GENERATE_CONTENT_PATH)
+                        .queryParam("key", apiKey)
+                        .build())
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(GeminiResponse.class)
+                .defaultIfEmpty(GeminiResponse.EMPTY)
+                .timeout(timeout)));
+    }
+
+    /**
+     * streamGenerateContent(SSE) 호출. 각 이벤트의 후보 텍스트 조각만 순서대로 내보낸다.
+     * timeout은 다음 조각이 올 때까지의 최대 대기 시간.
+     */
+    private Flux<String> streamGenerateContent(String operation, byte[] requestBody, String apiKey, Duration timeout) {
+        Flux<GeminiResponse> chunks = resilience.guard(apiKey, webClient.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path(STREAM_GENERATE_CONTENT_PATH)
+                        .queryParam("alt", "sse")
+                        .queryParam("key", apiKey)
+                        .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .timeout(timeout))
+                .mapNotNull(event -> parseChunk(event.data()));
+        return metrics.observeStream(operation, chunks)
+                .map(GeminiResponse::text)
+                .filter(text -> !text.isEmpty());
+    }
+
+    /** 스트리밍 조각(GenerateContentResponse JSON) 하나. 비었거나 읽을 수 없으면 null */
+    private static GeminiResponse parseChunk(String data) {
+        if (data == null || data.isBlank()) return null;
+        try {
+            return GeminiResponse.parse(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Gemini 스트리밍 조각 파싱 실패: {}", data);
+            return null;
+        }
+    }
+
+    /**
+     * 짜조 플래너 스트리밍 항목. category, summary, plan 중 하나만 채워진다.
+     */
+    public record PlannerStreamItem(String category, String summary, CategoryAndPlans.PlanWithDuration plan) {
+        static PlannerStreamItem ofCategory(String category) {
+            return new PlannerStreamItem(category, null, null);
+        }
+        static PlannerStreamItem ofSummary(String summary) {
+            return new PlannerStreamItem(null, summary, null);
+        }
+        static PlannerStreamItem ofPlan(CategoryAndPlans.PlanWithDuration plan) {
+            return new PlannerStreamItem(null, null, plan);
+        }
+        /** 이미 완성된 결과(로컬 해석 등)를 스트림 항목 순서대로: 카테고리 → 요약 → 플랜 */
+        public static Flux<PlannerStreamItem> of(CategoryAndPlans result) {
+            Flux<PlannerStreamItem> head = result.summary() != null
+                    ? Flux.just(ofCategory(result.category()), ofSummary(result.summary()))
+                    : Flux.just(ofCategory(result.category()));
+            return head.concatWith(Flux.fromIterable(result.plans()).map(PlannerStreamItem::ofPlan));
         }
     }
 
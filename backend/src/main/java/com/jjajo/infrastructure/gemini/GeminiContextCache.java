@@ -0,0 +1,249 @@
+package com.jjajo.infrastructure.gemini;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 짜조 플래너·대화형 수정의 고정 프롬프트를 Gemini 컨텍스트 캐시(cachedContents)에 올려 두고 이름을 돌려준다.
+ *
+ * - API 키마다 프롬프트 종류별로 캐시 하나. 처음 쓸 때 만들고, 만료 refresh-before 전부터는 기존 이름을 쓰면서 TTL을 연장
+ * - 만들기에 실패하면(최소 토큰 수 미달·권한 없음 등) unavailable-retry-after 동안 다시 시도하지 않고 빈 Mono → 인라인 프롬프트
+ *   (한도 초과·서킷 열림은 일시적이므로 다음 요청에서 다시 시도)
+ * - 같은 키·종류로 동시에 들어온 요청은 만들기 호출 하나를 공유한다
+ * - 키는 SHA-256으로만 보관하고 max-keys개까지 LRU로 유지
+ * - 지표: gemini.context-cache.requests{prompt, result=hit|created|unavailable}, gemini.context-cache.refreshes{result}
+ *
+ * 기본값은 꺼짐(app.gemini.context-cache.enabled=false). 지금 고정 프롬프트(플래너 약 1.7천 자, 수정 약 2.5천 자)는
+ * 모델의 cachedContents 최소 입력 토큰 수에 한참 못 미쳐 만들기가 항상 400으로 실패하고, 켜 두면 키마다 첫 요청과
+ * unavailable-retry-after마다 실패할 만들기 호출을 기다리기만 한다. 프롬프트가 최소 토큰 수(countTokens로 확인)를 넘을 때 켠다.
+ */
+@Slf4j
+@Component
+public class GeminiContextCache {
+
+    /** GeminiChatAdapter의 generateContent 경로와 같은 모델이어야 캐시를 참조할 수 있다 */
+    static final String MODEL = "models/gemini-2.0-flash";
+    private static final String CACHED_CONTENTS_PATH = "/cachedContents";
+
+    public enum Prompt {
+        PLANNER(GeminiRequests::plannerCacheCreate),
+        EDIT(GeminiRequests::editCacheCreate);
+
+        private final CreateBody createBody;
+
+        Prompt(CreateBody createBody) {
+            this.createBody = createBody;
+        }
+
+        /** 지표 태그 (gemini.context-cache.*의 prompt, GeminiMetrics의 operation) */
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    @FunctionalInterface
+    private interface CreateBody {
+        byte[] render(String model, String ttl);
+    }
+
+    private final WebClient webClient;
+    private final GeminiResilience resilience;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long refreshBeforeMillis;
+    private final long unavailableRetryAfterMillis;
+    private final int maxKeys;
+    private final LinkedHashMap<String, Entry> entries;
+
+    public GeminiContextCache(
+            @Qualifier("geminiWebClient") WebClient webClient,
+            GeminiResilience resilience,
+            MeterRegistry meterRegistry,
+            @Value("${app.gemini.context-cache.enabled:false}") boolean enabled,
+            @Value("${app.gemini.context-cache.ttl:1h}") Duration ttl,
+            @Value("${app.gemini.context-cache.refresh-before:5m}") Duration refreshBefore,
+            @Value("${app.gemini.context-cache.unavailable-retry-after:30m}") Duration unavailableRetryAfter,
+            @Value("${app.gemini.context-cache.max-keys:10000}") int maxKeys) {
+        this.webClient = webClient;
+        this.resilience = resilience;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.refreshBeforeMillis = Math.min(refreshBefore.toMillis(), ttl.toMillis() / 2);
+        this.unavailableRetryAfterMillis = unavailableRetryAfter.toMillis();
+        this.maxKeys = Math.max(maxKeys, 1);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > GeminiContextCache.this.maxKeys;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 컨텍스트 이름 (cachedContents/...). 꺼져 있거나 쓸 수 없으면 빈 Mono
+     */
+    public Mono<String> cachedContent(Prompt prompt, String apiKey) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            String id = prompt.name() + ":" + GeminiResilience.keyId(apiKey);
+            long now = System.currentTimeMillis();
+            synchronized (entries) {
+                Entry entry = entries.get(id);
+                if (entry != null && entry.unavailableUntil > now) {
+                    count(prompt, "unavailable");
+                    return Mono.empty();
+                }
+                if (entry != null && entry.name != null && entry.expiresAt > now) {
+                    if (entry.expiresAt - now <= refreshBeforeMillis && !entry.refreshing) {
+                        entry.refreshing = true;
+                        refresh(entry, apiKey);
+                    }
+                    count(prompt, "hit");
+                    return Mono.just(entry.name);
+                }
+                if (entry != null && entry.pending != null) {
+                    return entry.pending;
+                }
+                Entry created = new Entry();
+                created.pending = create(prompt, apiKey, created).cache();
+                entries.put(id, created);
+                return created.pending;
+            }
+        });
+    }
+
+    /**
+     * generateContent가 캐시 이름을 찾지 못했을 때(서버에서 만료·삭제) 호출. 다음 요청에서 새로 만든다
+     */
+    public void invalidate(Prompt prompt, String apiKey, String name) {
+        String id = prompt.name() + ":" + GeminiResilience.keyId(apiKey);
+        synchronized (entries) {
+            Entry entry = entries.get(id);
+            if (entry != null && name.equals(entry.name)) {
+                entries.remove(id);
+            }
+        }
+        log.info("Gemini 컨텍스트 캐시 무효화: prompt={}, name={}", prompt.tag(), name);
+    }
+
+    /**
+     * 캐시를 참조한 요청이 캐시 이름 때문에 거절된 경우 (인라인으로 다시 보내면 되는 오류).
+     * 400·403·404 중 오류 본문이 cachedContent를 언급하는 것만. 취소·잘못된 키의 403은 캐시와 무관하므로 그대로 실패시킨다
+     */
+    public static boolean isStaleReference(Throwable e) {
+        if (!(e instanceof WebClientResponseException response)) {
+            return false;
+        }
+        HttpStatus status = HttpStatus.resolve(response.getStatusCode().value());
+        return (status == HttpStatus.BAD_REQUEST || status == HttpStatus.FORBIDDEN || status == HttpStatus.NOT_FOUND)
+                && response.getResponseBodyAsString().toLowerCase().contains("cachedcontent");
+    }
+
+    private Mono<String> create(Prompt prompt, String apiKey, Entry entry) {
+        long startedAt = System.currentTimeMillis();
+        Mono<CachedContent> call = webClient.post()
+                .uri(uriBuilder -> uriBuilder
+                        .path(CACHED_CONTENTS_PATH)
+                        .queryParam("key", apiKey)
+                        .build())
+                .bodyValue(prompt.createBody.render(MODEL, ttlValue()))
+                .retrieve()
+                .bodyToMono(CachedContent.class);
+        return resilience.guard(apiKey, call)
+                .flatMap(content -> content.name() == null || content.name().isBlank()
+                        ? Mono.<String>error(new IllegalStateException("cachedContents 응답에 name 없음"))
+                        : Mono.just(content.name()))
+                .doOnNext(name -> {
+                    synchronized (entries) {
+                        entry.name = name;
+                        entry.expiresAt = startedAt + ttl.toMillis();
+                        entry.pending = null;
+                    }
+                    count(prompt, "created");
+                    log.info("Gemini 컨텍스트 캐시 생성: prompt={}, name={}", prompt.tag(), name);
+                })
+                .onErrorResume(e -> {
+                    boolean temporary = e instanceof GeminiRejectedException || GeminiResilience.isFailure(e);
+                    synchronized (entries) {
+                        entry.pending = null;
+                        if (!temporary) {
+                            entry.unavailableUntil = System.currentTimeMillis() + unavailableRetryAfterMillis;
+                        }
+                    }
+                    count(prompt, "unavailable");
+                    log.warn("Gemini 컨텍스트 캐시 생성 실패, 인라인 프롬프트 사용: prompt={}, {}", prompt.tag(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /** TTL 연장 (cachedContents.patch). 실패하면 만료 후 새로 만든다 */
+    private void refresh(Entry entry, String apiKey) {
+        String name = entry.name;
+        long startedAt = System.currentTimeMillis();
+        Mono<Void> call = webClient.patch()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/" + name)
+                        .queryParam("updateMask", "ttl")
+                        .queryParam("key", apiKey)
+                        .build())
+                .bodyValue(GeminiRequests.contextTtl(ttlValue()))
+                .retrieve()
+                .bodyToMono(Void.class);
+        resilience.guard(apiKey, call)
+                .doOnSuccess(ignored -> {
+                    synchronized (entries) {
+                        if (name.equals(entry.name)) {
+                            entry.expiresAt = startedAt + ttl.toMillis();
+                        }
+                        entry.refreshing = false;
+                    }
+                    meterRegistry.counter("gemini.context-cache.refreshes", "result", "success").increment();
+                })
+                .doOnError(e -> {
+                    synchronized (entries) {
+                        entry.refreshing = false;
+                    }
+                    meterRegistry.counter("gemini.context-cache.refreshes", "result", "failure").increment();
+                    log.warn("Gemini 컨텍스트 캐시 TTL 연장 실패: name={}, {}", name, e.getMessage());
+                })
+                .onErrorResume(e -> Mono.empty())
+                .subscribe();
+    }
+
+    private String ttlValue() {
+        return ttl.toSeconds() + "s";
+    }
+
+    private void count(Prompt prompt, String result) {
+        meterRegistry.counter("gemini.context-cache.requests", "prompt", prompt.tag(), "result", result).increment();
+    }
+
+    /** API 키·프롬프트 종류 하나의 캐시 상태. entries를 잠그고 읽고 쓴다 */
+    private static final class Entry {
+        private String name;
+        private long expiresAt;
+        private long unavailableUntil;
+        private boolean refreshing;
+        /** 만들기 호출이 진행 중이면 그 결과 (동시 요청이 공유) */
+        private Mono<String> pending;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record CachedContent(String name, String expireTime) {}
+}
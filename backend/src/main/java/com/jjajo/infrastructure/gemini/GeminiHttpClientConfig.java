@@ -0,0 +1,75 @@
+package com.jjajo.infrastructure.gemini;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Gemini API 공용 HTTP 클라이언트 설정.
+ * 세 어댑터(GeminiAdapter, GeminiChatAdapter, GeminiTimetableAdapter)가 같은 커넥션 풀을 공유한다.
+ *
+ * 설계 근거:
+ * - 어댑터마다 기본 풀을 만들면 같은 호스트로 TLS 핸드셰이크를 중복으로 하고, 대기 요청 수에 상한이 없음
+ * - 풀 크기·대기열 상한·유휴 연결 정리·응답 크기 상한을 app.gemini.http.* 로 조정
+ * - 풀 지표(reactor.netty.connection.provider.*)는 Micrometer 전역 레지스트리로 노출
+ * - Spring Boot의 WebClient.Builder를 이어받아 http.client.requests 지표도 함께 기록
+ * - 기본 URL은 app.gemini.base-url로 바꿀 수 있다 (부하 테스트 시 내장 시뮬레이터 GeminiSimulatorController 등)
+ */
+@Configuration
+public class GeminiHttpClientConfig {
+
+    public static final String GEMINI_API_URL = "https://generativelanguage.googleapis.com/v1beta";
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider geminiConnectionProvider(
+            @Value("${app.gemini.http.max-connections:50}") int maxConnections,
+            @Value("${app.gemini.http.pending-acquire-max-count:200}") int pendingAcquireMaxCount,
+            @Value("${app.gemini.http.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${app.gemini.http.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${app.gemini.http.max-life-time:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder("gemini")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(maxIdleTime)
+                .lifo()
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient geminiWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider geminiConnectionProvider,
+            @Value("${app.gemini.http.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.gemini.http.response-timeout:60s}") Duration responseTimeout,
+            @Value("${app.gemini.http.max-in-memory-size:4MB}") DataSize maxInMemorySize,
+            @Value("${app.gemini.base-url:" + GEMINI_API_URL + "}") String baseUrl) {
+        HttpClient httpClient = HttpClient.create(geminiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(true)
+                // 호출별 타임아웃(각 어댑터의 .timeout(...))과 재시도 전체 기한(app.gemini.retry.total-timeout)보다 길게 두는 안전장치
+                .responseTimeout(responseTimeout);
+
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
+                .build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.jjajo.infrastructure.gemini;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gemini 호출 한 번의 지연·토큰 사용량·finishReason·오류 종류를 기록한다.
+ *
+ * operation 태그: parse, parse-batch, edit, planner, timetable, chat, validate-key.
+ * 재시도·헤지는 호출마다 따로 기록한다 (Gemini에 실제로 보낸 요청 단위). 응답 캐시 적중은 호출이 없으므로 기록하지 않는다.
+ *
+ * 지표 (actuator /actuator/prometheus):
+ * - gemini.requests{operation, outcome=success|error|rejected|cancelled, error}: 지연 타이머, 백분위 히스토그램 포함
+ * - gemini.stream.first-chunk{operation}: 스트리밍 첫 조각까지의 지연
+ * - gemini.tokens{operation, type=prompt|candidates|cached}: usageMetadata 토큰 수 분포 (합계가 곧 사용량)
+ * - gemini.finish-reasons{operation, reason}: STOP, MAX_TOKENS, SAFETY …
+ */
+@Component
+public class GeminiMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public GeminiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** 구독부터 완료까지 기록. 결과가 GeminiResponse면 usageMetadata·finishReason도 기록 */
+    public <T> Mono<T> observe(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            return call
+                    .doOnSuccess(result -> {
+                        record(operation, startedAt, "success", "none");
+                        if (result instanceof GeminiResponse response) {
+                            recordResponse(operation, response.usageMetadata(), response.finishReason());
+                        }
+                    })
+                    .doOnError(e -> record(operation, startedAt, outcome(e), errorTag(e)))
+                    .doOnCancel(() -> record(operation, startedAt, "cancelled", "none"));
+        });
+    }
+
+    /**
+     * 스트리밍 호출 기록. usageMetadata·finishReason은 마지막 조각에만 오므로 끝까지 본 뒤 기록한다
+     */
+    public Flux<GeminiResponse> observeStream(String operation, Flux<GeminiResponse> chunks) {
+        return Flux.defer(() -> {
+            long startedAt = System.nanoTime();
+            StreamState state = new StreamState();
+            return chunks
+                    .doOnNext(chunk -> {
+                        if (!state.firstChunkSeen) {
+                            state.firstChunkSeen = true;
+                            Timer.builder("gemini.stream.first-chunk")
+                                    .tag("operation", operation)
+                                    .publishPercentileHistogram()
+                                    .register(meterRegistry)
+                                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        }
+                        if (chunk.usageMetadata() != null) {
+                            state.usage = chunk.usageMetadata();
+                        }
+                        if (chunk.finishReason() != null) {
+                            state.finishReason = chunk.finishReason();
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        record(operation, startedAt, "success", "none");
+                        recordResponse(operation, state.usage, state.finishReason);
+                    })
+                    .doOnError(e -> record(operation, startedAt, outcome(e), errorTag(e)))
+                    .doOnCancel(() -> record(operation, startedAt, "cancelled", "none"));
+        });
+    }
+
+    private void record(String operation, long startedAt, String outcome, String error) {
+        Timer.builder("gemini.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("error", error)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void recordResponse(String operation, GeminiResponse.UsageMetadata usage, String finishReason) {
+        if (usage != null) {
+            recordTokens(operation, "prompt", usage.promptTokenCount());
+            recordTokens(operation, "candidates", usage.candidatesTokenCount());
+            recordTokens(operation, "cached", usage.cachedContentTokenCount());
+        }
+        meterRegistry.counter("gemini.finish-reasons",
+                "operation", operation, "reason", finishReason != null ? finishReason : "NONE").increment();
+    }
+
+    private void recordTokens(String operation, String type, Integer count) {
+        if (count == null) {
+            return;
+        }
+        DistributionSummary.builder("gemini.tokens")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(count);
+    }
+
+    private static String outcome(Throwable e) {
+        return e instanceof GeminiRejectedException ? "rejected" : "error";
+    }
+
+    /** 오류 태그: HTTP 오류는 상태 코드, 그 밖에는 예외 클래스 이름 (값 종류가 늘어나지 않도록) */
+    private static String errorTag(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return "http_" + response.getStatusCode().value();
+        }
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    /** 스트림 하나의 진행 상태 (한 구독 안에서만 쓰므로 잠금 없음) */
+    private static final class StreamState {
+        private boolean firstChunkSeen;
+        private GeminiResponse.UsageMetadata usage;
+        private String finishReason;
+    }
+}
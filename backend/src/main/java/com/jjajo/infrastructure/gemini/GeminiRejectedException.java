@@ -0,0 +1,29 @@
+package com.jjajo.infrastructure.gemini;
+
+import lombok.Getter;
+
+/**
+ * Gemini를 호출하지 않고 바로 거절한 경우 (GeminiResilience).
+ * 컨트롤러는 status(503 또는 429)와 Retry-After(초)로 그대로 응답한다.
+ */
+@Getter
+public class GeminiRejectedException extends RuntimeException {
+
+    /** 전체 동시 호출 한도 초과 → 503 */
+    public static final String REASON_BULKHEAD = "bulkhead";
+    /** API 키별 동시 호출 한도 초과 → 429 */
+    public static final String REASON_KEY_LIMIT = "key_limit";
+    /** 서킷 열림(연속 타임아웃·5xx) → 503 */
+    public static final String REASON_CIRCUIT_OPEN = "circuit_open";
+
+    private final String reason;
+    private final int status;
+    private final long retryAfterSeconds;
+
+    public GeminiRejectedException(String reason, int status, long retryAfterSeconds, String message) {
+        super(message);
+        this.reason = reason;
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
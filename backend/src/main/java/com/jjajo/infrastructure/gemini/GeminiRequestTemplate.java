@@ -0,0 +1,93 @@
+package com.jjajo.infrastructure.gemini;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 한 번만 직렬화해 두는 Gemini 요청 바디.
+ *
+ * 바디 Map의 문자열 값 안에 {{이름}} 자리를 두고 compile하면, 자리 사이의 JSON 조각을 UTF-8 바이트로 보관한다.
+ * render는 자리마다 값을 JSON 문자열 이스케이프만 해서 조각 사이에 끼워 넣는다
+ * (함수 선언·스키마·generationConfig·시스템 프롬프트를 요청마다 Map으로 만들고 Jackson으로 다시 쓰지 않음).
+ * Map 키는 정렬해서 쓰므로 같은 값이면 JVM을 다시 띄워도 같은 바이트 → 응답 캐시 키로 그대로 쓴다.
+ */
+public final class GeminiRequestTemplate {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private static final Pattern HOLE = Pattern.compile("\\{\\{([A-Za-z]+)}}");
+
+    /** 고정 조각 (자리 수 + 1개) */
+    private final byte[][] segments;
+    /** 자리 이름 (등장 순서, 같은 이름이 여러 번 나올 수 있음) */
+    private final String[] holes;
+    private final int fixedLength;
+
+    private GeminiRequestTemplate(byte[][] segments, String[] holes) {
+        this.segments = segments;
+        this.holes = holes;
+        int length = 0;
+        for (byte[] segment : segments) length += segment.length;
+        this.fixedLength = length;
+    }
+
+    /**
+     * @param body 요청 바디. 바뀌는 부분은 문자열 값 안의 {{이름}}
+     */
+    public static GeminiRequestTemplate compile(Map<String, Object> body) {
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Gemini 요청 템플릿 직렬화 실패", e);
+        }
+        List<byte[]> segments = new ArrayList<>();
+        List<String> holes = new ArrayList<>();
+        Matcher m = HOLE.matcher(json);
+        int last = 0;
+        while (m.find()) {
+            segments.add(json.substring(last, m.start()).getBytes(StandardCharsets.UTF_8));
+            holes.add(m.group(1));
+            last = m.end();
+        }
+        segments.add(json.substring(last).getBytes(StandardCharsets.UTF_8));
+        return new GeminiRequestTemplate(segments.toArray(new byte[0][]), holes.toArray(new String[0]));
+    }
+
+    /**
+     * 자리를 채운 JSON 바디 (UTF-8). 값이 없는 자리가 있으면 IllegalArgumentException
+     */
+    public byte[] render(Map<String, String> values) {
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        byte[][] escaped = new byte[holes.length][];
+        int length = fixedLength;
+        for (int i = 0; i < holes.length; i++) {
+            String value = values.get(holes[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Gemini 요청 템플릿 값 없음: " + holes[i]);
+            }
+            escaped[i] = encoder.quoteAsUTF8(value);
+            length += escaped[i].length;
+        }
+        byte[] out = new byte[length];
+        int at = 0;
+        for (int i = 0; i < holes.length; i++) {
+            System.arraycopy(segments[i], 0, out, at, segments[i].length);
+            at += segments[i].length;
+            System.arraycopy(escaped[i], 0, out, at, escaped[i].length);
+            at += escaped[i].length;
+        }
+        byte[] tail = segments[holes.length];
+        System.arraycopy(tail, 0, out, at, tail.length);
+        return out;
+    }
+}
@@ -0,0 +1,394 @@
+package com.jjajo.infrastructure.gemini;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GeminiChatAdapter가 보내는 요청 바디 템플릿 (클래스 로딩 시 한 번 직렬화).
+ * 요청마다 바뀌는 것은 오늘 날짜·사용자 입력·일정 목록뿐이다.
+ */
+public final class GeminiRequests {
+
+    private GeminiRequests() {}
+
+    private static final String CHAT_SYSTEM_PROMPT = """
+            당신은 일정 관리를 도와주는 친절한 AI 어시스턴트입니다.
+            사용자가 일정을 요청하면, 구체적인 정보를 파악하여 도움을 드립니다.
+            응답은 간결하고 친근하게 해주세요.
+            """;
+
+    private static final String PARSE_PROMPT = """
+            오늘 날짜는 {{today}} 입니다. 사용자가 아래 한 줄로 일정 추가를 요청했습니다. add_schedule 함수를 호출하여 제목, 날짜(YYYY-MM-DD), 시작시간(HH:mm), 소요시간(분)을 추출하세요.
+            시간은 24시간 형식으로 넣으세요. (오후 3시 → 15:00)
+            사용자 입력: {{command}}
+            """;
+
+    private static final String PARSE_BATCH_PROMPT = """
+            오늘 날짜는 {{today}} 입니다. 사용자가 아래 여러 줄로 일정 추가를 요청했습니다. 줄마다 add_schedule 함수를 한 번씩 호출하여 제목, 날짜(YYYY-MM-DD), 시작시간(HH:mm), 소요시간(분)을 추출하고, line에는 그 줄 앞의 [번호]를 넣으세요.
+            일정으로 이해할 수 없는 줄은 호출하지 말고 건너뛰세요.
+            시간은 24시간 형식으로 넣으세요. (오후 3시 → 15:00)
+            사용자 입력 (한 줄에 일정 하나):
+            {{commands}}
+            """;
+
+    /** 대화형 수정 규칙 (인라인 프롬프트와 캐시된 시스템 지시에 공통) */
+    private static final String EDIT_RULES = """
+            - 새 일정을 만드는 요청(예: "5시간 공부, 10분 휴식 반복으로 짜줘", "오늘 9시부터 1시간 회의 추가")이면 operation을 "add"로 하고, title, date, start_time, end_time을 각 블록마다 넣으세요. schedule_id는 넣지 마세요. 여러 블록이면 edits에 add를 여러 개 반환하세요.
+            - 기존 일정을 바꾸려면 operation "update", 지우려면 "delete"를 쓰고, schedule_id는 위 목록의 id만 사용하세요.
+            - "N시간으로 줄여줘" / "N시간 늘려줘"처럼 소요시간을 바꾸는 경우: update 시 반드시 해당 일정의 기존 start_time을 그대로 넣고, end_time만 시작+소요시간으로 계산해 넣으세요. (예: 14:00~18:00 일정을 3시간으로 줄여줘 → start_time=14:00, end_time=17:00)
+            - 시간은 HH:mm 24시간 형식, 날짜는 YYYY-MM-DD입니다.
+            """;
+
+    private static final String EDIT_PROMPT = """
+            오늘 날짜는 {{today}} 입니다.
+            아래는 사용자의 현재 일정 목록입니다. 기존 일정 수정/삭제 시 반드시 이 목록에 있는 id만 사용하세요.
+            - 사용자가 "첫 번째/두 번째/세 번째"처럼 말하면, 아래 목록의 #번호(순서)를 기준으로 해당 id를 찾아 사용하세요.
+            일정 목록:
+            {{schedules}}
+            사용자 명령: {{command}}
+            위 명령에 따라 apply_schedule_edits 함수를 호출하여 edits 배열을 반환하세요.
+            """ + EDIT_RULES;
+
+    /** 컨텍스트 캐시에 올리는 대화형 수정 시스템 지시 (요청에는 EDIT_CACHED_PROMPT만 보냄) */
+    private static final String EDIT_SYSTEM_INSTRUCTION = """
+            사용자 메시지로 오늘 날짜, 사용자의 현재 일정 목록, 사용자 명령이 주어집니다. 기존 일정 수정/삭제 시 반드시 이 목록에 있는 id만 사용하세요.
+            - 사용자가 "첫 번째/두 번째/세 번째"처럼 말하면, 일정 목록의 #번호(순서)를 기준으로 해당 id를 찾아 사용하세요.
+            명령에 따라 apply_schedule_edits 함수를 호출하여 edits 배열을 반환하세요.
+            """ + EDIT_RULES;
+
+    private static final String EDIT_CACHED_PROMPT = """
+            오늘 날짜는 {{today}} 입니다.
+            일정 목록:
+            {{schedules}}
+            사용자 명령: {{command}}
+            """;
+
+    private static final String PLANNER_SYSTEM_PROMPT = """
+            너는 플래너 비서 '짜조'야. 사용자 입력을 분석해서 아래 JSON만 출력해. 다른 설명 없이 JSON 객체 하나만 출력해.
+            {
+              "category": "study|workout|work|rest|default",
+              "summary": "오늘 반드시 할 핵심 2~3가지를 한 줄로 요약한 문장 (선택)",
+              "plans": [
+                { "title": "제목", "durationMinutes": 숫자, "breakMinutesAfter": 숫자(선택, 블록 뒤 휴식 분), "note": "세부 목표 한 줄(선택)" }
+              ]
+            }
+            - category: study(공부/스터디), workout(운동/헬스), work(업무/코딩/회의), rest(휴식/독서), default(기타)
+            - plans: 해야 할 일정만. 쉬는시간·식사시간은 넣지 마. durationMinutes는 분 단위.
+            - breakMinutesAfter: 생략 시 0. 고집중 블록 뒤에는 10~15분 권장.
+            - note: 해당 블록의 구체적 목표(예: "알고리즘 3문제", "PR 1개")를 짧게.
+            - 사용자가 "공부 90, 장보기 20"처럼 "제목 숫자" 형태로 입력하면, 숫자를 그대로 durationMinutes(분)로 사용해.
+              예: "공부 90, 장보기 20" → plans = [{ "title": "공부", "durationMinutes": 90 }, { "title": "장보기", "durationMinutes": 20 }]
+            - 사용자가 쉼표 없이 한 문장 안에 여러 일을 말할 수도 있어.
+              예: "알고리즘 1시간 하고 그다음에 백엔드 1시간 할 거야"
+              → 최소 2개의 plan을 만들어야 해:
+                [
+                  { "title": "알고리즘", "durationMinutes": 60 },
+                  { "title": "백엔드", "durationMinutes": 60 }
+                ]
+              예: "알고리즘 문제 3시간 정도 하고 그다음에 백엔드 작업 3시간 할 거야"
+              → [
+                  { "title": "알고리즘 문제", "durationMinutes": 180 },
+                  { "title": "백엔드 작업", "durationMinutes": 180 }
+                ]
+            - 문장 안에서 각 일(공부/과제/알고리즘/백엔드 작업 등)에 붙은 "N시간", "N시간 정도", "N시간 반", "N분" 표현을 찾아서,
+              해당 일의 durationMinutes를 분 단위 숫자로 계산해. 시간 표현이 여러 개면 그 개수만큼 plan을 만드는 것을 우선적으로 시도해.
+            - 숫자 뒤에 "분", "시간" 등이 붙으면 적절히 분 단위로 변환해.
+            """;
+
+    private static final Map<String, Object> EDIT_GENERATION_CONFIG = Map.of(
+        "temperature", 0.1,
+        "maxOutputTokens", 2048
+    );
+
+    private static final Map<String, Object> EDIT_TOOL_CONFIG = Map.of(
+        "functionCallingConfig", Map.of(
+            "mode", "ANY",
+            "allowedFunctionNames", List.of("apply_schedule_edits")
+        )
+    );
+
+    private static final GeminiRequestTemplate CHAT = GeminiRequestTemplate.compile(Map.of(
+        "contents", List.of(
+            Map.of(
+                "parts", List.of(
+                    Map.of("text", CHAT_SYSTEM_PROMPT + "\n\n사용자: {{message}}")
+                )
+            )
+        ),
+        "generationConfig", Map.of(
+            "temperature", 0.7,
+            "maxOutputTokens", 200
+        )
+    ));
+
+    private static final GeminiRequestTemplate WEB_SEARCH = GeminiRequestTemplate.compile(Map.of(
+        "contents", List.of(
+            Map.of(
+                "parts", List.of(
+                    Map.of("text", "{{message}}")
+                )
+            )
+        ),
+        "tools", List.of(
+            Map.of("googleSearch", Map.of())
+        ),
+        "generationConfig", Map.of(
+            "temperature", 0.7,
+            "maxOutputTokens", 2000
+        )
+    ));
+
+    private static final GeminiRequestTemplate PARSE = GeminiRequestTemplate.compile(parseBody());
+
+    private static final GeminiRequestTemplate PARSE_BATCH = GeminiRequestTemplate.compile(parseBatchBody());
+
+    private static final GeminiRequestTemplate EDIT = GeminiRequestTemplate.compile(editBody());
+
+    private static final Map<String, Object> PLANNER_GENERATION_CONFIG = Map.of(
+        "temperature", 0.2,
+        "maxOutputTokens", 1024,
+        "responseMimeType", "application/json"
+    );
+
+    private static final GeminiRequestTemplate PLANNER = GeminiRequestTemplate.compile(Map.of(
+        "contents", List.of(
+            Map.of(
+                "parts", List.of(
+                    Map.of("text", PLANNER_SYSTEM_PROMPT + "\n\n{{text}}")
+                )
+            )
+        ),
+        "generationConfig", PLANNER_GENERATION_CONFIG
+    ));
+
+    /** 컨텍스트 캐시를 참조하는 요청: 고정 프롬프트·도구 선언은 캐시에 있고 바뀌는 부분만 보낸다 */
+    private static final GeminiRequestTemplate PLANNER_CACHED = GeminiRequestTemplate.compile(Map.of(
+        "cachedContent", "{{cache}}",
+        "contents", List.of(
+            Map.of("role", "user", "parts", List.of(Map.of("text", "{{text}}")))
+        ),
+        "generationConfig", PLANNER_GENERATION_CONFIG
+    ));
+
+    private static final GeminiRequestTemplate EDIT_CACHED = GeminiRequestTemplate.compile(Map.of(
+        "cachedContent", "{{cache}}",
+        "contents", List.of(
+            Map.of("role", "user", "parts", List.of(Map.of("text", EDIT_CACHED_PROMPT)))
+        ),
+        "generationConfig", EDIT_GENERATION_CONFIG
+    ));
+
+    /** cachedContents.create 바디. 모델은 generateContent 경로의 모델과 같아야 한다 */
+    private static final GeminiRequestTemplate PLANNER_CACHE_CREATE = GeminiRequestTemplate.compile(Map.of(
+        "model", "{{model}}",
+        "displayName", "jjajo-planner",
+        "systemInstruction", Map.of("parts", List.of(Map.of("text", PLANNER_SYSTEM_PROMPT))),
+        "ttl", "{{ttl}}"
+    ));
+
+    private static final GeminiRequestTemplate EDIT_CACHE_CREATE = GeminiRequestTemplate.compile(Map.of(
+        "model", "{{model}}",
+        "displayName", "jjajo-edit",
+        "systemInstruction", Map.of("parts", List.of(Map.of("text", EDIT_SYSTEM_INSTRUCTION))),
+        "tools", editTools(),
+        "toolConfig", EDIT_TOOL_CONFIG,
+        "ttl", "{{ttl}}"
+    ));
+
+    private static final GeminiRequestTemplate CONTEXT_TTL = GeminiRequestTemplate.compile(Map.of(
+        "ttl", "{{ttl}}"
+    ));
+
+    public static byte[] chat(String userMessage) {
+        return CHAT.render(Map.of("message", userMessage));
+    }
+
+    public static byte[] webSearch(String userMessage) {
+        return WEB_SEARCH.render(Map.of("message", userMessage));
+    }
+
+    public static byte[] parse(String today, String userCommand) {
+        return PARSE.render(Map.of("today", today, "command", userCommand));
+    }
+
+    /** @param commandList "[번호] 명령" 한 줄씩 */
+    public static byte[] parseBatch(String today, String commandList) {
+        return PARSE_BATCH.render(Map.of("today", today, "commands", commandList));
+    }
+
+    public static byte[] edit(String today, String scheduleList, String userCommand) {
+        return EDIT.render(Map.of("today", today, "schedules", scheduleList, "command", userCommand));
+    }
+
+    public static byte[] planner(String userText) {
+        return PLANNER.render(Map.of("text", userText));
+    }
+
+    static byte[] plannerCached(String cacheName, String userText) {
+        return PLANNER_CACHED.render(Map.of("cache", cacheName, "text", userText));
+    }
+
+    static byte[] editCached(String cacheName, String today, String scheduleList, String userCommand) {
+        return EDIT_CACHED.render(Map.of("cache", cacheName, "today", today, "schedules", scheduleList, "command", userCommand));
+    }
+
+    /** 짜조 플래너 시스템 프롬프트 캐시 생성 바디 */
+    static byte[] plannerCacheCreate(String model, String ttl) {
+        return PLANNER_CACHE_CREATE.render(Map.of("model", model, "ttl", ttl));
+    }
+
+    /** 대화형 수정 시스템 지시·도구 선언 캐시 생성 바디 */
+    static byte[] editCacheCreate(String model, String ttl) {
+        return EDIT_CACHE_CREATE.render(Map.of("model", model, "ttl", ttl));
+    }
+
+    /** cachedContents.patch(updateMask=ttl) 바디 */
+    static byte[] contextTtl(String ttl) {
+        return CONTEXT_TTL.render(Map.of("ttl", ttl));
+    }
+
+    /** 매직 바 파싱 템플릿 원본 ({{today}}, {{command}} 자리 포함). 벤치마크에서 요청마다 만들던 방식과 비교용 */
+    public static Map<String, Object> parseBody() {
+        Map<String, Object> addScheduleParams = new LinkedHashMap<>();
+        addScheduleParams.put("type", "object");
+        addScheduleParams.put("properties", addScheduleProperties());
+        addScheduleParams.put("required", List.of("title", "date", "start_time", "duration_minutes"));
+        return addScheduleBody(PARSE_PROMPT, addScheduleParams, 256);
+    }
+
+    /**
+     * 여러 줄 매직 바 파싱 템플릿 원본 ({{today}}, {{commands}} 자리 포함).
+     * 줄마다 add_schedule을 한 번씩 호출하게 하고, 어느 줄의 결과인지 line(번호)으로 돌려받는다
+     */
+    static Map<String, Object> parseBatchBody() {
+        Map<String, Object> properties = addScheduleProperties();
+        properties.put("line", Map.of(
+            "type", "integer",
+            "description", "이 일정이 나온 사용자 입력 줄의 [번호]"
+        ));
+        Map<String, Object> addScheduleParams = new LinkedHashMap<>();
+        addScheduleParams.put("type", "object");
+        addScheduleParams.put("properties", properties);
+        addScheduleParams.put("required", List.of("line", "title", "date", "start_time", "duration_minutes"));
+        // 호출 하나에 대략 60토큰. 배치 최대 크기(app.magic-bar.batch.max-size 기본 20)를 넉넉히 덮는 값
+        return addScheduleBody(PARSE_BATCH_PROMPT, addScheduleParams, 2048);
+    }
+
+    private static Map<String, Object> addScheduleProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("title", Map.of(
+            "type", "string",
+            "description", "일정 제목 (예: 팀 프로젝트 회의)"
+        ));
+        properties.put("date", Map.of(
+            "type", "string",
+            "description", "날짜 YYYY-MM-DD 형식. 오늘={{today}}, 내일/모레 등은 이 날짜 기준으로 계산"
+        ));
+        properties.put("start_time", Map.of(
+            "type", "string",
+            "description", "시작 시간 HH:mm 24시간 형식 (예: 15:00)"
+        ));
+        properties.put("duration_minutes", Map.of(
+            "type", "integer",
+            "description", "소요 시간(분). 2시간이면 120, 30분이면 30"
+        ));
+        return properties;
+    }
+
+    private static Map<String, Object> addScheduleBody(String prompt, Map<String, Object> addScheduleParams, int maxOutputTokens) {
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("contents", List.of(
+            Map.of("role", "user", "parts", List.of(Map.of("text", prompt)))
+        ));
+        requestBody.put("tools", List.of(
+            Map.of("functionDeclarations", List.of(
+                Map.of(
+                    "name", "add_schedule",
+                    "description", "캘린더에 일정을 추가합니다. 사용자의 자연어에서 제목, 날짜, 시작시간, 소요시간(분)을 추출합니다.",
+                    "parameters", addScheduleParams
+                )
+            ))
+        ));
+        requestBody.put("generationConfig", Map.of(
+            "temperature", 0.1,
+            "maxOutputTokens", maxOutputTokens
+        ));
+        requestBody.put("toolConfig", Map.of(
+            "functionCallingConfig", Map.of(
+                "mode", "ANY",
+                "allowedFunctionNames", List.of("add_schedule")
+            )
+        ));
+        return requestBody;
+    }
+
+    /** 대화형 수정 템플릿 원본 ({{today}}, {{schedules}}, {{command}} 자리 포함) */
+    public static Map<String, Object> editBody() {
+        Map<String, Object> requestBody = new LinkedHashMap<>();
+        requestBody.put("contents", List.of(
+            Map.of("role", "user", "parts", List.of(Map.of("text", EDIT_PROMPT)))
+        ));
+        requestBody.put("tools", editTools());
+        requestBody.put("generationConfig", EDIT_GENERATION_CONFIG);
+        requestBody.put("toolConfig", EDIT_TOOL_CONFIG);
+        return requestBody;
+    }
+
+    private static List<Map<String, Object>> editTools() {
+        Map<String, Object> editItemSchema = new LinkedHashMap<>();
+        editItemSchema.put("type", "object");
+        editItemSchema.put("properties", Map.of(
+            "operation", Map.of(
+                "type", "string",
+                "description", "add(새 일정 추가) | update(기존 수정) | delete(기존 삭제)"
+            ),
+            "schedule_id", Map.of(
+                "type", "string",
+                "description", "기존 일정 id. update/delete일 때만 필수(위 목록의 id). add일 때는 비우거나 넣지 마세요."
+            ),
+            "start_time", Map.of(
+                "type", "string",
+                "description", "시작 시간 HH:mm. add일 때 필수, update일 때 선택"
+            ),
+            "end_time", Map.of(
+                "type", "string",
+                "description", "종료 시간 HH:mm. add일 때 필수, update일 때 선택"
+            ),
+            "duration_minutes", Map.of(
+                "type", "integer",
+                "description", "add에서만 사용 가능. end_time을 못 정하면 소요시간(분)으로 넣으세요. 예: 2시간=120"
+            ),
+            "title", Map.of(
+                "type", "string",
+                "description", "제목. add일 때 필수, update일 때 선택"
+            ),
+            "date", Map.of(
+                "type", "string",
+                "description", "날짜 YYYY-MM-DD. add일 때 필수, update일 때 선택"
+            )
+        ));
+        editItemSchema.put("required", List.of("operation"));
+
+        Map<String, Object> applyEditsParams = new LinkedHashMap<>();
+        applyEditsParams.put("type", "object");
+        applyEditsParams.put("properties", Map.of(
+            "edits", Map.of(
+                "type", "array",
+                "description", "추가/수정/삭제 연산 목록. 새 일정 여러 개면 add를 여러 개 넣으세요.",
+                "items", editItemSchema
+            )
+        ));
+        applyEditsParams.put("required", List.of("edits"));
+
+        return List.of(
+            Map.of("functionDeclarations", List.of(
+                Map.of(
+                    "name", "apply_schedule_edits",
+                    "description", "캘린더에 새 일정을 추가하거나, 기존 일정을 수정/삭제합니다. 새로 만드는 블록은 add, 기존 id를 바꾸는 것은 update/delete로 반환하세요.",
+                    "parameters", applyEditsParams
+                )
+            ))
+        );
+    }
+}
@@ -0,0 +1,270 @@
+package com.jjajo.infrastructure.gemini;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gemini 호출 보호: 전체 동시 호출 한도(bulkhead) + API 키별 동시 호출 한도 + API 키별 서킷 브레이커.
+ *
+ * - 한도를 넘으면 기다리지 않고 바로 GeminiRejectedException (전체 한도 503, 키별 한도 429)
+ * - 서킷: 연속 실패(타임아웃·5xx·연결 실패)가 failure-threshold회면 open-duration 동안 열림 → 바로 503.
+ *   시간이 지나면 시험 호출 1건만 보내고(half-open) 성공하면 닫고, 실패하면 다시 연다.
+ *   4xx는 Gemini가 정상 응답한 것이므로 실패로 세지 않는다
+ * - 키는 SHA-256으로만 보관하고, 키 상태는 max-keys개까지 LRU로 유지
+ * - 지표: gemini.bulkhead.in-flight, gemini.circuit.keys{state}, gemini.circuit.transitions{state}, gemini.rejections{reason}
+ */
+@Slf4j
+@Component
+public class GeminiResilience {
+
+    private static final long RETRY_AFTER_BUSY_SECONDS = 1;
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private enum Outcome { SUCCESS, FAILURE, CANCELLED }
+
+    private final boolean enabled;
+    private final int maxConcurrentCallsPerKey;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int maxKeys;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final MeterRegistry meterRegistry;
+    private final LinkedHashMap<String, KeyState> keys;
+
+    public GeminiResilience(
+            MeterRegistry meterRegistry,
+            @Value("${app.gemini.resilience.enabled:true}") boolean enabled,
+            @Value("${app.gemini.resilience.max-concurrent-calls:40}") int maxConcurrentCalls,
+            @Value("${app.gemini.resilience.max-concurrent-calls-per-key:4}") int maxConcurrentCallsPerKey,
+            @Value("${app.gemini.resilience.failure-threshold:5}") int failureThreshold,
+            @Value("${app.gemini.resilience.open-duration:30s}") Duration openDuration,
+            @Value("${app.gemini.resilience.max-keys:10000}") int maxKeys) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxConcurrentCalls = Math.max(maxConcurrentCalls, 1);
+        this.maxConcurrentCallsPerKey = Math.max(maxConcurrentCallsPerKey, 1);
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openNanos = openDuration.toNanos();
+        this.maxKeys = Math.max(maxKeys, 1);
+        this.bulkhead = new Semaphore(this.maxConcurrentCalls);
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, KeyState> eldest) {
+                return size() > GeminiResilience.this.maxKeys;
+            }
+        };
+        Gauge.builder("gemini.bulkhead.in-flight", bulkhead, s -> this.maxConcurrentCalls - s.availablePermits())
+                .register(meterRegistry);
+        for (State state : State.values()) {
+            Gauge.builder("gemini.circuit.keys", this, r -> r.countKeys(state))
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * call을 구독할 때 허가를 얻고, 끝나거나(성공·실패) 취소되면 돌려준다.
+     * 허가를 얻지 못하면 call을 구독하지 않고 GeminiRejectedException으로 끝난다.
+     */
+    public <T> Mono<T> guard(String apiKey, Mono<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Permit permit = acquire(apiKey);
+            return call
+                    .doOnSuccess(value -> permit.finish(Outcome.SUCCESS))
+                    .doOnError(e -> permit.finish(isFailure(e) ? Outcome.FAILURE : Outcome.SUCCESS))
+                    .doOnCancel(() -> permit.finish(Outcome.CANCELLED));
+        });
+    }
+
+    /** 스트리밍 호출용. 조각 사이 타임아웃도 실패로 센다 */
+    public <T> Flux<T> guard(String apiKey, Flux<T> call) {
+        if (!enabled) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            Permit permit = acquire(apiKey);
+            return call
+                    .doOnComplete(() -> permit.finish(Outcome.SUCCESS))
+                    .doOnError(e -> permit.finish(isFailure(e) ? Outcome.FAILURE : Outcome.SUCCESS))
+                    .doOnCancel(() -> permit.finish(Outcome.CANCELLED));
+        });
+    }
+
+    /** 서킷 상태 (지표·테스트용). 시간이 지난 OPEN은 HALF_OPEN으로 본다 */
+    State state(String apiKey) {
+        KeyState key;
+        synchronized (keys) {
+            key = keys.get(keyId(apiKey));
+        }
+        if (key == null) {
+            return State.CLOSED;
+        }
+        synchronized (key) {
+            return key.effectiveState(System.nanoTime());
+        }
+    }
+
+    private Permit acquire(String apiKey) {
+        KeyState key = keyState(apiKey);
+        long now = System.nanoTime();
+        synchronized (key) {
+            if (key.state == State.OPEN) {
+                long remaining = key.openUntil - now;
+                if (remaining > 0) {
+                    throw reject(GeminiRejectedException.REASON_CIRCUIT_OPEN, 503, ceilSeconds(remaining),
+                            "AI 서버 응답이 계속 실패해서 잠시 요청을 멈췄어요. 잠시 후 다시 시도해주세요.");
+                }
+                transition(key, State.HALF_OPEN);
+            }
+            if (key.state == State.HALF_OPEN && key.probing) {
+                throw reject(GeminiRejectedException.REASON_CIRCUIT_OPEN, 503, RETRY_AFTER_BUSY_SECONDS,
+                        "AI 서버 상태를 확인하는 중이에요. 잠시 후 다시 시도해주세요.");
+            }
+            if (key.inFlight >= maxConcurrentCallsPerKey) {
+                throw reject(GeminiRejectedException.REASON_KEY_LIMIT, 429, RETRY_AFTER_BUSY_SECONDS,
+                        "같은 API 키로 동시에 보낸 요청이 너무 많아요. 잠시 후 다시 시도해주세요.");
+            }
+            if (!bulkhead.tryAcquire()) {
+                throw reject(GeminiRejectedException.REASON_BULKHEAD, 503, RETRY_AFTER_BUSY_SECONDS,
+                        "AI 요청이 몰려 있어요. 잠시 후 다시 시도해주세요.");
+            }
+            key.inFlight++;
+            boolean probe = key.state == State.HALF_OPEN;
+            if (probe) {
+                key.probing = true;
+            }
+            return new Permit(key, probe);
+        }
+    }
+
+    private KeyState keyState(String apiKey) {
+        String id = keyId(apiKey);
+        synchronized (keys) {
+            return keys.computeIfAbsent(id, k -> new KeyState());
+        }
+    }
+
+    private void transition(KeyState key, State to) {
+        key.state = to;
+        meterRegistry.counter("gemini.circuit.transitions", "state", to.name().toLowerCase()).increment();
+    }
+
+    private GeminiRejectedException reject(String reason, int status, long retryAfterSeconds, String message) {
+        meterRegistry.counter("gemini.rejections", "reason", reason).increment();
+        return new GeminiRejectedException(reason, status, retryAfterSeconds, message);
+    }
+
+    private int countKeys(State state) {
+        long now = System.nanoTime();
+        KeyState[] snapshot;
+        synchronized (keys) {
+            snapshot = keys.values().toArray(new KeyState[0]);
+        }
+        int count = 0;
+        for (KeyState key : snapshot) {
+            synchronized (key) {
+                if (key.effectiveState(now) == state) count++;
+            }
+        }
+        return count;
+    }
+
+    /** 타임아웃, 5xx, 연결 실패만 서킷 실패로 센다 */
+    static boolean isFailure(Throwable e) {
+        if (e instanceof TimeoutException || e instanceof WebClientRequestException) {
+            return true;
+        }
+        return e instanceof WebClientResponseException response && response.getStatusCode().is5xxServerError();
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    static String keyId(String apiKey) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest((apiKey == null ? "" : apiKey).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** API 키 하나의 동시 호출 수와 서킷 상태. 이 객체를 잠그고 읽고 쓴다 */
+    private static final class KeyState {
+        private State state = State.CLOSED;
+        private int inFlight;
+        private int consecutiveFailures;
+        private long openUntil;
+        /** HALF_OPEN에서 시험 호출이 나가 있는지 */
+        private boolean probing;
+
+        private State effectiveState(long now) {
+            return state == State.OPEN && now >= openUntil ? State.HALF_OPEN : state;
+        }
+    }
+
+    /** 얻은 허가. 성공·실패·취소 중 처음 한 번만 반영 */
+    private final class Permit {
+        private final KeyState key;
+        private final boolean probe;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Permit(KeyState key, boolean probe) {
+            this.key = key;
+            this.probe = probe;
+        }
+
+        private void finish(Outcome outcome) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            bulkhead.release();
+            synchronized (key) {
+                key.inFlight--;
+                if (probe) {
+                    key.probing = false;
+                }
+                if (outcome == Outcome.SUCCESS) {
+                    key.consecutiveFailures = 0;
+                    if (probe) {
+                        transition(key, State.CLOSED);
+                    }
+                } else if (outcome == Outcome.FAILURE) {
+                    key.consecutiveFailures++;
+                    // 서킷이 이미 열린 뒤 끝난 호출은 열림 시간을 늘리지 않는다
+                    if (probe || (key.state == State.CLOSED && key.consecutiveFailures >= failureThreshold)) {
+                        key.openUntil = System.nanoTime() + openNanos;
+                        transition(key, State.OPEN);
+                        log.warn("Gemini 서킷 열림: 연속 실패 {}회, {}초 동안 바로 거절",
+                                key.consecutiveFailures, openNanos / 1_000_000_000L);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.jjajo.infrastructure.gemini;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gemini generateContent 응답 (GenerateContentResponse) 중 어댑터가 읽는 부분만.
+ * 모르는 필드(safetyRatings, citationMetadata, groundingMetadata 등)는 트리를 만들지 않고 건너뛴다.
+ * functionCall.args만 스키마가 함수마다 달라 Map으로 받는다.
+ *
+ * WebClient 응답(bodyToMono), 스트리밍 조각(parse), 응답 캐시가 모두 이 타입을 쓴다.
+ * 모델이 텍스트로 돌려준 JSON(플래너, 시간표)은 jsonText()로 코드 블록을 벗겨 읽는다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GeminiResponse(List<Candidate> candidates, UsageMetadata usageMetadata, String modelVersion) {
+
+    /** 응답 본문이 없을 때 (후속 파싱에서 candidates 없음으로 걸러짐) */
+    public static final GeminiResponse EMPTY = new GeminiResponse(null, null, null);
+
+    private static final ObjectReader READER = new ObjectMapper().readerFor(GeminiResponse.class);
+
+    /** 응답 JSON 한 건(스트리밍 조각 포함)을 읽는다 */
+    public static GeminiResponse parse(String json) throws JsonProcessingException {
+        return READER.readValue(json);
+    }
+
+    public boolean hasCandidates() {
+        return candidates != null && !candidates.isEmpty();
+    }
+
+    /** 첫 후보의 parts. 없으면 빈 목록 */
+    public List<Part> parts() {
+        if (!hasCandidates()) return List.of();
+        Candidate first = candidates.get(0);
+        if (first == null || first.content() == null || first.content().parts() == null) return List.of();
+        return first.content().parts();
+    }
+
+    /** 첫 후보의 텍스트 조각을 이어 붙인 것. 텍스트가 없으면 빈 문자열 */
+    public String text() {
+        StringBuilder text = new StringBuilder();
+        for (Part part : parts()) {
+            if (part != null && part.text() != null) {
+                text.append(part.text());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * text()에서 모델이 감싼 코드 블록(```json … ```)을 벗긴 JSON 문자열. 텍스트가 없으면 빈 문자열
+     */
+    public String jsonText() {
+        String text = text().trim();
+        if (!text.startsWith("```")) {
+            return text;
+        }
+        int end = text.lastIndexOf("```");
+        String body = end > 3 ? text.substring(3, end) : text.substring(3);
+        // 언어 표시(json 등) 제거: JSON은 글자로 시작하지 않는다
+        int start = 0;
+        while (start < body.length() && Character.isLetter(body.charAt(start))) start++;
+        return body.substring(start).trim();
+    }
+
+    /** 첫 후보에서 처음 나오는 functionCall. 없으면 null */
+    public FunctionCall functionCall() {
+        for (Part part : parts()) {
+            if (part != null && part.functionCall() != null) {
+                return part.functionCall();
+            }
+        }
+        return null;
+    }
+
+    /** 첫 후보의 functionCall 전부 (한 응답에 여러 번 호출한 경우). 없으면 빈 목록 */
+    public List<FunctionCall> functionCalls() {
+        List<FunctionCall> calls = new ArrayList<>();
+        for (Part part : parts()) {
+            if (part != null && part.functionCall() != null) {
+                calls.add(part.functionCall());
+            }
+        }
+        return calls;
+    }
+
+    /** 첫 후보의 finishReason (STOP, MAX_TOKENS, SAFETY …). 없으면 null */
+    public String finishReason() {
+        return hasCandidates() && candidates.get(0) != null ? candidates.get(0).finishReason() : null;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Candidate(Content content, String finishReason) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Content(List<Part> parts, String role) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Part(String text, FunctionCall functionCall) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record FunctionCall(String name, Map<String, Object> args) {}
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record UsageMetadata(Integer promptTokenCount, Integer candidatesTokenCount, Integer totalTokenCount,
+                                Integer cachedContentTokenCount) {}
+}
@@ -0,0 +1,271 @@
+package com.jjajo.infrastructure.gemini;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 결정적에 가까운 Gemini 호출(매직 바 파싱, 짜조 플래너)의 응답 캐시.
+ *
+ * 설계 근거:
+ * - 키 = 호출 종류 + 요청 바디 JSON 바이트(프롬프트·오늘 날짜·정규화된 사용자 입력 포함)의 SHA-256.
+ *   프롬프트가 바뀌면 키도 바뀌므로 배포 후 오래된 응답이 재사용되지 않음
+ * - 메모리: 접근 순서 LinkedHashMap으로 LRU, 최대 개수 초과 시 가장 오래 안 쓴 항목 제거 + TTL 만료
+ * - 디스크(선택): app.gemini.cache.disk-dir 지정 시 응답을 JSON 파일로 남겨 재시작 후에도 재사용.
+ *   메모리 LRU가 항목을 밀어내거나 만료시키면 파일도 지우고, 읽을 때 만료된 파일은 지운다.
+ *   재시작 전 파일처럼 메모리에 없는 파일은 시작 시와 저장 max-entries/10건마다 정리(만료·최대 개수 초과분 삭제)
+ * - 해석에 성공한 응답만 저장 (실패 응답은 다음 요청에서 다시 호출)
+ * - 지표: gemini.cache.requests{kind, result=hit|disk_hit|miss}, gemini.cache.evictions, gemini.cache.size
+ */
+@Slf4j
+@Component
+public class GeminiResponseCache {
+
+    private static final String DISK_SUFFIX = ".json";
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Path diskDir;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Counter evictions;
+    private final int pruneEveryWrites;
+    private final AtomicInteger writesSincePrune = new AtomicInteger();
+    /** 디스크 정리 직렬화용 (메모리 캐시 잠금과 분리해 파일 IO가 조회를 막지 않게) */
+    private final Object pruneLock = new Object();
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    public GeminiResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.gemini.cache.enabled:true}") boolean enabled,
+            @Value("${app.gemini.cache.max-entries:1000}") int maxEntries,
+            @Value("${app.gemini.cache.ttl:12h}") Duration ttl,
+            @Value("${app.gemini.cache.disk-dir:}") String diskDir) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = Math.max(maxEntries, 1);
+        this.ttl = ttl;
+        this.diskDir = diskDir == null || diskDir.isBlank() ? null : Path.of(diskDir);
+        this.evictions = meterRegistry.counter("gemini.cache.evictions");
+        this.pruneEveryWrites = Math.max(this.maxEntries / 10, 1);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > GeminiResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    deleteFromDisk(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        meterRegistry.gaugeMapSize("gemini.cache.size", List.of(), entries);
+        if (this.diskDir != null) {
+            pruneDisk();
+        }
+    }
+
+    /**
+     * 캐시된 응답이 있으면 parser로 해석해 반환하고, 없으면 call을 실행해 해석에 성공한 응답만 저장.
+     *
+     * @param kind        호출 종류 (키 접두어·지표 태그)
+     * @param requestBody Gemini 요청 바디 JSON (키 계산용, GeminiRequestTemplate이 키 정렬해 만든 바이트)
+     * @param call        실제 Gemini 호출 (캐시 미스 시에만 구독)
+     * @param parser      응답 해석 (예외를 던지면 저장하지 않음)
+     */
+    public <T> Mono<T> cached(String kind, byte[] requestBody,
+                              Mono<GeminiResponse> call, Function<GeminiResponse, T> parser) {
+        if (!enabled) {
+            return call.map(parser);
+        }
+        String key = kind + ":" + sha256(requestBody);
+        GeminiResponse memory = getFromMemory(key);
+        if (memory != null) {
+            count(kind, "hit");
+            return Mono.fromCallable(() -> parser.apply(memory));
+        }
+        return loadFromDisk(key)
+                .map(response -> {
+                    count(kind, "disk_hit");
+                    putInMemory(key, response);
+                    return parser.apply(response);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    count(kind, "miss");
+                    return call.map(response -> {
+                        T parsed = parser.apply(response);
+                        putInMemory(key, response);
+                        saveToDisk(key, response);
+                        return parsed;
+                    });
+                }));
+    }
+
+    private synchronized GeminiResponse getFromMemory(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry.storedAt())) {
+            entries.remove(key);
+            deleteFromDisk(key);
+            return null;
+        }
+        return entry.response();
+    }
+
+    private synchronized void putInMemory(String key, GeminiResponse response) {
+        entries.put(key, new Entry(response, System.currentTimeMillis()));
+    }
+
+    private boolean isExpired(long storedAt) {
+        return System.currentTimeMillis() - storedAt > ttl.toMillis();
+    }
+
+    private void count(String kind, String result) {
+        meterRegistry.counter("gemini.cache.requests", "kind", kind, "result", result).increment();
+    }
+
+    private Mono<GeminiResponse> loadFromDisk(String key) {
+        if (diskDir == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> {
+                    Path file = diskFile(key);
+                    if (!Files.exists(file)) {
+                        return null;
+                    }
+                    DiskEntry entry = objectMapper.readValue(file.toFile(), DiskEntry.class);
+                    if (!key.equals(entry.key()) || isExpired(entry.storedAt())) {
+                        Files.deleteIfExists(file);
+                        return null;
+                    }
+                    return entry.response();
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorResume(e -> {
+                    log.warn("Gemini 응답 캐시 파일 읽기 실패: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void saveToDisk(String key, GeminiResponse response) {
+        if (diskDir == null) {
+            return;
+        }
+        Mono.fromRunnable(() -> {
+                    try {
+                        Files.createDirectories(diskDir);
+                        Path file = diskFile(key);
+                        Path tmp = Files.createTempFile(diskDir, "gemini", ".tmp");
+                        objectMapper.writeValue(tmp.toFile(), new DiskEntry(key, System.currentTimeMillis(), response));
+                        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException e) {
+                        log.warn("Gemini 응답 캐시 파일 저장 실패: {}", e.getMessage());
+                    }
+                    if (writesSincePrune.incrementAndGet() >= pruneEveryWrites) {
+                        writesSincePrune.set(0);
+                        pruneDisk();
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+    }
+
+    /** 메모리에서 밀려나거나 만료된 항목의 파일 삭제 (비동기) */
+    private void deleteFromDisk(String key) {
+        if (diskDir == null) {
+            return;
+        }
+        Mono.fromRunnable(() -> {
+                    try {
+                        Files.deleteIfExists(diskFile(key));
+                    } catch (IOException e) {
+                        log.warn("Gemini 응답 캐시 파일 삭제 실패: {}", e.getMessage());
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe();
+    }
+
+    /** 만료 파일 삭제, 최대 개수를 넘으면 오래된 파일부터 삭제 (시작 시·저장 pruneEveryWrites건마다) */
+    private void pruneDisk() {
+        synchronized (pruneLock) {
+            pruneDiskFiles();
+        }
+    }
+
+    private void pruneDiskFiles() {
+        if (!Files.isDirectory(diskDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(diskDir)) {
+            List<Path> live = files
+                    .filter(p -> p.getFileName().toString().endsWith(DISK_SUFFIX))
+                    .sorted((a, b) -> Long.compare(lastModified(b), lastModified(a)))
+                    .toList();
+            for (int i = 0; i < live.size(); i++) {
+                Path p = live.get(i);
+                if (i >= maxEntries || isExpired(lastModified(p))) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Gemini 응답 캐시 디렉터리 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path p) {
+        try {
+            return Files.getLastModifiedTime(p).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private Path diskFile(String key) {
+        return diskDir.resolve(sha256(key) + DISK_SUFFIX);
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(GeminiResponse response, long storedAt) {}
+
+    private record DiskEntry(String key, long storedAt, GeminiResponse response) {}
+}
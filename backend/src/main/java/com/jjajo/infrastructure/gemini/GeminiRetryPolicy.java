@@ -0,0 +1,245 @@
+package com.jjajo.infrastructure.gemini;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gemini generateContent 재시도·헤징.
+ *
+ * 재시도 (retrying):
+ * - 대상: 429, 500/502/503/504, 타임아웃, 연결 실패. 그 밖의 4xx와 GeminiRejectedException(바로 거절)은 재시도하지 않는다
+ * - 대기: 지수 백오프(initial-backoff × 2^n, max-backoff 상한)의 절반 + 무작위 절반 (equal jitter).
+ *   Retry-After 헤더나 오류 본문의 retryDelay가 더 길면 그 시간을 기다린다
+ * - 전체 기한: max(total-timeout, 한 번의 타임아웃). 재시도를 포함한 전체 Mono에 timeout을 걸어, 기한이 되면
+ *   진행 중인 시도를 취소하고 TimeoutException으로 끝낸다. 기다린 뒤 기한을 넘길 재시도는 보내지 않고 마지막 오류를 그대로 전달
+ *
+ * 헤징 (hedged): 첫 호출이 최근 지연 p95를 넘기도록 끝나지 않으면 같은 요청을 한 번 더 보내 먼저 성공한 응답을 쓴다.
+ * 첫 호출이 그 전에 실패하면 헤지 없이 오류를 돌려준다. 표본이 모이기 전에는 default-delay를 쓴다. 지연이 중요한 매직 바 파싱에만 쓴다 (Gemini 호출량이 꼬리 구간만큼 늘어남).
+ *
+ * 지표: gemini.retries{reason}, gemini.hedges{kind, result=sent|won}
+ */
+@Slf4j
+@Component
+public class GeminiRetryPolicy {
+
+    /** Gemini 429 본문의 RetryInfo: "retryDelay": "17s" */
+    private static final Pattern RETRY_DELAY = Pattern.compile("\"retryDelay\"\\s*:\\s*\"(\\d+(?:\\.\\d+)?)s\"");
+    private static final int HEDGE_WINDOW = 256;
+    private static final int HEDGE_MIN_SAMPLES = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean retryEnabled;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration totalTimeout;
+    private final boolean hedgeEnabled;
+    private final Duration hedgeDefaultDelay;
+    private final Duration hedgeMinDelay;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    public GeminiRetryPolicy(
+            MeterRegistry meterRegistry,
+            @Value("${app.gemini.retry.enabled:true}") boolean retryEnabled,
+            @Value("${app.gemini.retry.max-attempts:3}") int maxAttempts,
+            @Value("${app.gemini.retry.initial-backoff:200ms}") Duration initialBackoff,
+            @Value("${app.gemini.retry.max-backoff:2s}") Duration maxBackoff,
+            @Value("${app.gemini.retry.total-timeout:45s}") Duration totalTimeout,
+            @Value("${app.gemini.hedge.enabled:true}") boolean hedgeEnabled,
+            @Value("${app.gemini.hedge.default-delay:1500ms}") Duration hedgeDefaultDelay,
+            @Value("${app.gemini.hedge.min-delay:300ms}") Duration hedgeMinDelay) {
+        this.meterRegistry = meterRegistry;
+        this.retryEnabled = retryEnabled;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.totalTimeout = totalTimeout;
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgeDefaultDelay = hedgeDefaultDelay;
+        this.hedgeMinDelay = hedgeMinDelay;
+    }
+
+    /**
+     * call을 재시도 정책으로 감싼다. call은 구독할 때마다 새 요청을 보내야 한다 (WebClient Mono는 그렇다).
+     *
+     * @param attemptTimeout 한 번의 호출 타임아웃 (전체 기한 계산용)
+     */
+    public <T> Mono<T> retrying(Mono<T> call, Duration attemptTimeout) {
+        if (!retryEnabled || maxAttempts == 1) {
+            return call;
+        }
+        Duration deadline = attemptTimeout.compareTo(totalTimeout) > 0 ? attemptTimeout : totalTimeout;
+        return Mono.defer(() -> {
+            long deadlineAt = System.nanoTime() + deadline.toNanos();
+            return call.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                String reason = retryReason(failure);
+                if (reason == null || signal.totalRetries() + 1 >= maxAttempts) {
+                    return Mono.error(failure);
+                }
+                Duration delay = backoff(signal.totalRetries(), failure);
+                if (System.nanoTime() + delay.toNanos() >= deadlineAt) {
+                    log.debug("Gemini 재시도 생략: 기한 초과 (reason={}, delay={}ms)", reason, delay.toMillis());
+                    return Mono.error(failure);
+                }
+                meterRegistry.counter("gemini.retries", "reason", reason).increment();
+                log.debug("Gemini 재시도 {}회차: reason={}, delay={}ms", signal.totalRetries() + 1, reason, delay.toMillis());
+                return Mono.delay(delay);
+            })))
+                    // 기한 검사는 다음 시도의 시작만 막으므로, 시작된 시도가 기한을 넘겨 달리지 않도록 전체에 건다
+                    .timeout(deadline);
+        });
+    }
+
+    /**
+     * call을 헤징으로 감싼다. 먼저 성공한 응답을 쓰고 나머지는 취소한다. 둘 다 실패하면 첫 호출의 오류.
+     *
+     * @param kind 지연 표본·지표 구분 (예: "parse")
+     */
+    public <T> Mono<T> hedged(String kind, Mono<T> call) {
+        if (!hedgeEnabled) {
+            return call;
+        }
+        LatencyWindow window = latencies.computeIfAbsent(kind, k -> new LatencyWindow(HEDGE_WINDOW));
+        return Mono.defer(() -> {
+            Duration delay = window.p95(HEDGE_MIN_SAMPLES)
+                    .map(p95 -> p95.compareTo(hedgeMinDelay) < 0 ? hedgeMinDelay : p95)
+                    .orElse(hedgeDefaultDelay);
+            // 첫 호출이 대기 중에 실패하면 헤지를 보내지 않는다 (그 뒤는 재시도 정책이 맡음)
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+            Mono<Attempt<T>> primary = timed(call, window, false)
+                    .doOnError(e -> primaryFailed.tryEmitValue(true));
+            Mono<Attempt<T>> hedge = Mono.delay(delay)
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        meterRegistry.counter("gemini.hedges", "kind", kind, "result", "sent").increment();
+                        return timed(call, window, true);
+                    });
+            return Mono.firstWithValue(primary, hedge)
+                    .map(attempt -> {
+                        if (attempt.hedge()) {
+                            meterRegistry.counter("gemini.hedges", "kind", kind, "result", "won").increment();
+                        }
+                        return attempt.value();
+                    })
+                    // 모두 실패하면 Reactor는 NoSuchElementException(cause: 소스 순서대로 모은 오류) → 첫 호출 오류로 되돌림
+                    .onErrorMap(e -> e instanceof NoSuchElementException && e.getCause() != null,
+                            e -> Exceptions.unwrapMultiple(e.getCause()).get(0));
+        });
+    }
+
+    private static <T> Mono<Attempt<T>> timed(Mono<T> call, LatencyWindow window, boolean hedge) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return call.map(value -> {
+                window.record(System.nanoTime() - started);
+                return new Attempt<>(value, hedge);
+            });
+        });
+    }
+
+    /** 재시도할 오류면 지표 태그, 아니면 null */
+    static String retryReason(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof WebClientRequestException) {
+            return "connect";
+        }
+        if (e instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            if (status == 429 || status == 500 || status == 502 || status == 503 || status == 504) {
+                return String.valueOf(status);
+            }
+        }
+        return null;
+    }
+
+    private Duration backoff(long retry, Throwable failure) {
+        long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(retry, 20));
+        long jittered = cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+        Duration delay = Duration.ofMillis(jittered);
+        Duration requested = retryAfter(failure);
+        return requested != null && requested.compareTo(delay) > 0 ? requested : delay;
+    }
+
+    /** Retry-After(초 또는 HTTP 날짜) 헤더, 없으면 본문 retryDelay. 둘 다 없으면 null */
+    static Duration retryAfter(Throwable failure) {
+        if (!(failure instanceof WebClientResponseException response)) {
+            return null;
+        }
+        String header = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (header != null && !header.isBlank()) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    Duration until = Duration.between(ZonedDateTime.now(),
+                            ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                    return until.isNegative() ? Duration.ZERO : until;
+                } catch (DateTimeParseException ignored) {
+                    // 형식을 모르면 본문·백오프로
+                }
+            }
+        }
+        Matcher m = RETRY_DELAY.matcher(response.getResponseBodyAsString());
+        if (m.find()) {
+            return Duration.ofMillis((long) (Double.parseDouble(m.group(1)) * 1000));
+        }
+        return null;
+    }
+
+    private record Attempt<T>(T value, boolean hedge) {}
+
+    /** 최근 성공 호출 지연(ns) 링 버퍼 */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        private LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        private synchronized void record(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        private Optional<Duration> p95(int minSamples) {
+            long[] copy;
+            synchronized (this) {
+                if (count < minSamples) {
+                    return Optional.empty();
+                }
+                copy = Arrays.copyOf(samples, count);
+            }
+            Arrays.sort(copy);
+            return Optional.of(Duration.ofNanos(copy[(int) Math.ceil(copy.length * 0.95) - 1]));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.jjajo.infrastructure.gemini;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍으로 조각조각 들어오는 짜조 플래너 JSON을 증분 해석.
+ * { "category": ..., "summary": ..., "plans": [ {...}, {...} ] } 에서
+ * 최상위 문자열 값(category, summary)과 plans 배열 원소를 닫히는 즉시 꺼낸다.
+ *
+ * 이미 읽은 위치부터만 이어서 훑으므로 전체 처리량은 응답 길이에 비례한다.
+ * ```json 코드 펜스 등 최상위 객체 바깥 문자는 무시한다.
+ */
+final class PlannerJsonStreamParser {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final StringBuilder buffer = new StringBuilder();
+    private int pos;
+    /** 현재 중첩 깊이 (최상위 객체 안 = 1, plans 배열 안 = 2, 플랜 객체 안 = 3) */
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private int stringStart;
+    private boolean stringIsRootKey;
+    private boolean stringIsRootValue;
+    /** 문자열 밖에서 마지막으로 본 공백 아닌 문자 */
+    private char lastSignificant;
+    /** 최상위 객체에서 지금 값을 읽고 있는 키 */
+    private String rootKey;
+    private boolean inPlans;
+    private int planStart = -1;
+
+    /**
+     * 응답 조각을 이어 붙이고, 새로 완성된 항목을 반환.
+     */
+    List<Item> feed(String chunk) {
+        buffer.append(chunk);
+        List<Item> out = new ArrayList<>();
+        for (; pos < buffer.length(); pos++) {
+            char c = buffer.charAt(pos);
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    inString = false;
+                    onStringEnd(out);
+                    lastSignificant = c;
+                }
+                continue;
+            }
+            if (depth == 0 && c != '{') {
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringStart = pos;
+                    stringIsRootKey = depth == 1 && (lastSignificant == '{' || lastSignificant == ',');
+                    stringIsRootValue = depth == 1 && lastSignificant == ':';
+                }
+                case '{', '[' -> {
+                    depth++;
+                    if (c == '[' && depth == 2 && "plans".equals(rootKey)) {
+                        inPlans = true;
+                    } else if (c == '{' && depth == 3 && inPlans) {
+                        planStart = pos;
+                    }
+                }
+                case '}', ']' -> {
+                    if (c == '}' && depth == 3 && planStart >= 0) {
+                        JsonNode plan = readTree(buffer.substring(planStart, pos + 1));
+                        if (plan != null) {
+                            out.add(new Item(null, null, plan));
+                        }
+                        planStart = -1;
+                    } else if (depth == 2) {
+                        inPlans = false;
+                    }
+                    depth = Math.max(depth - 1, 0);
+                }
+                default -> { }
+            }
+            if (!Character.isWhitespace(c)) {
+                lastSignificant = c;
+            }
+        }
+        return out;
+    }
+
+    private void onStringEnd(List<Item> out) {
+        if (!stringIsRootKey && !stringIsRootValue) {
+            return;
+        }
+        JsonNode node = readTree(buffer.substring(stringStart, pos + 1));
+        String value = node != null ? node.asText() : null;
+        if (stringIsRootKey) {
+            rootKey = value;
+        } else if (value != null) {
+            out.add(new Item(rootKey, value, null));
+        }
+    }
+
+    private static JsonNode readTree(String json) {
+        try {
+            return JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 완성된 항목 하나. 최상위 문자열 값이면 key/value, plans 원소면 plan만 채워진다.
+     */
+    record Item(String key, String value, JsonNode plan) {}
+}
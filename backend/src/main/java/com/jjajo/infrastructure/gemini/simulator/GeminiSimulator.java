@@ -0,0 +1,439 @@
+package com.jjajo.infrastructure.gemini.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 오프라인 Gemini 대역: 요청 바디를 보고 실제 API와 같은 모양의 generateContent 응답을 만든다.
+ *
+ * - add_schedule / apply_schedule_edits 함수 선언이 있으면 functionCall 응답 (여러 줄 파싱이면 "[번호]" 줄마다 add_schedule 하나)
+ * - responseMimeType=application/json(짜조 플래너)이면 category·summary·plans JSON 텍스트
+ * - inlineData(시간표 이미지)가 있으면 수업 블록 JSON 배열 텍스트
+ * - 그 외(웹 검색 대화)는 평문 답변
+ * 지연은 로그정규분포(중앙값·p99 지정), 오류는 429/503 비율로 흉내 낸다. seed를 주면 같은 순서로 재현된다.
+ * cachedContents(컨텍스트 캐시)는 메모리에 보관하고, generateContent의 cachedContent가 가리키는 내용을 요청에 합쳐 처리한다.
+ * context-cache-min-tokens를 주면 실제 API처럼 그보다 짧은 캐시 만들기를 400으로 거절한다.
+ */
+@Component
+@ConditionalOnProperty(name = "app.gemini.simulator.enabled", havingValue = "true")
+public class GeminiSimulator {
+
+    static final String MODEL_VERSION = "gemini-2.0-flash-sim";
+
+    /** 표준정규분포 99퍼센타일 */
+    private static final double Z_99 = 2.326;
+
+    private static final Pattern TODAY = Pattern.compile("오늘 날짜는 (\\d{4}-\\d{2}-\\d{2})");
+    private static final Pattern USER_INPUT = Pattern.compile("사용자 입력: (.+)");
+    private static final Pattern BATCH_LINE = Pattern.compile("(?m)^\\s*\\[(\\d+)] (.+)$");
+    private static final Pattern USER_COMMAND = Pattern.compile("사용자 명령: (.+)");
+    private static final Pattern SCHEDULE_LINE = Pattern.compile(
+            "id=(\\S+) title=(.*?) date=(\\S*) startTime=(\\S*) endTime=(\\S*)");
+    private static final Pattern PLAN_ITEM = Pattern.compile("([^,\\d]+?)\\s*(\\d{1,3})\\s*(시간|분)?");
+    private static final String[] TIMETABLE_TITLES = {"자료구조", "운영체제", "선형대수", "영어회화", "캡스톤디자인"};
+    private static final String[] DAYS = {"MON", "TUE", "WED", "THU", "FRI"};
+
+    private final ObjectMapper objectMapper;
+    private final double mu;
+    private final double sigma;
+    private final double rate429;
+    private final double rate503;
+    private final int streamChunkChars;
+    private final Duration streamChunkInterval;
+    private final SplittableRandom random;
+    private final int contextCacheMinTokens;
+    private final Map<String, CachedContent> cachedContents = new ConcurrentHashMap<>();
+    private final AtomicLong cachedContentIds = new AtomicLong();
+
+    public GeminiSimulator(
+            ObjectMapper objectMapper,
+            @Value("${app.gemini.simulator.latency-median:800ms}") Duration latencyMedian,
+            @Value("${app.gemini.simulator.latency-p99:3s}") Duration latencyP99,
+            @Value("${app.gemini.simulator.error-rate-429:0}") double rate429,
+            @Value("${app.gemini.simulator.error-rate-503:0}") double rate503,
+            @Value("${app.gemini.simulator.stream-chunk-chars:24}") int streamChunkChars,
+            @Value("${app.gemini.simulator.stream-chunk-interval:40ms}") Duration streamChunkInterval,
+            @Value("${app.gemini.simulator.seed:0}") long seed,
+            @Value("${app.gemini.simulator.context-cache-min-tokens:0}") int contextCacheMinTokens) {
+        this.objectMapper = objectMapper;
+        long median = Math.max(1, latencyMedian.toMillis());
+        long p99 = Math.max(median, latencyP99.toMillis());
+        this.mu = Math.log(median);
+        this.sigma = Math.log((double) p99 / median) / Z_99;
+        this.rate429 = rate429;
+        this.rate503 = rate503;
+        this.streamChunkChars = Math.max(1, streamChunkChars);
+        this.streamChunkInterval = streamChunkInterval;
+        this.random = seed != 0 ? new SplittableRandom(seed) : new SplittableRandom();
+        this.contextCacheMinTokens = contextCacheMinTokens;
+    }
+
+    /** 응답 지연 (로그정규분포) */
+    public synchronized Duration sampleLatency() {
+        double gaussian = gaussian();
+        return Duration.ofMillis(Math.round(Math.exp(mu + sigma * gaussian)));
+    }
+
+    /** 이번 호출을 실패시킬 상태 코드 (429, 503) 또는 0 */
+    public synchronized int sampleError() {
+        double r = random.nextDouble();
+        if (r < rate429) return 429;
+        if (r < rate429 + rate503) return 503;
+        return 0;
+    }
+
+    public Duration streamChunkInterval() {
+        return streamChunkInterval;
+    }
+
+    /** Gemini 오류 응답 바디 */
+    public Map<String, Object> errorBody(int status) {
+        boolean exhausted = status == 429;
+        return errorBody(status,
+                exhausted ? "RESOURCE_EXHAUSTED" : "UNAVAILABLE",
+                exhausted ? "Resource has been exhausted (e.g. check quota)." : "The model is overloaded. Please try again later.");
+    }
+
+    public Map<String, Object> errorBody(int status, String statusName, String message) {
+        return Map.of("error", Map.of("code", status, "message", message, "status", statusName));
+    }
+
+    /**
+     * cachedContents.create. 최소 토큰 수 미달이면 null (400)
+     */
+    public Map<String, Object> createCachedContent(Map<String, Object> request) {
+        Map<String, Object> content = new LinkedHashMap<>(request);
+        content.remove("ttl");
+        int tokens = Math.max(1, cachedText(content).length() / 3);
+        if (tokens < contextCacheMinTokens) {
+            return null;
+        }
+        String name = "cachedContents/sim-" + cachedContentIds.incrementAndGet();
+        CachedContent cached = new CachedContent(content, tokens, Instant.now().plus(parseTtl(request.get("ttl"))));
+        cachedContents.put(name, cached);
+        return cachedContentResponse(name, cached);
+    }
+
+    /**
+     * cachedContents.patch (ttl만). 없거나 만료됐으면 null (404)
+     */
+    public Map<String, Object> updateCachedContent(String name, Map<String, Object> request) {
+        CachedContent cached = cachedContents.computeIfPresent(name, (k, c) -> c.expired()
+                ? null
+                : new CachedContent(c.content(), c.tokens(), Instant.now().plus(parseTtl(request.get("ttl")))));
+        return cached == null ? null : cachedContentResponse(name, cached);
+    }
+
+    /**
+     * cachedContent를 참조하는 요청이면 캐시된 systemInstruction·tools·toolConfig를 합친 요청, 아니면 그대로.
+     * 가리키는 캐시가 없거나 만료됐으면 null (404)
+     */
+    public Map<String, Object> resolveCachedContent(Map<String, Object> request) {
+        if (!(request.get("cachedContent") instanceof String name)) {
+            return request;
+        }
+        CachedContent cached = cachedContents.get(name);
+        if (cached == null || cached.expired()) {
+            cachedContents.remove(name);
+            return null;
+        }
+        Map<String, Object> merged = new LinkedHashMap<>(cached.content());
+        merged.putAll(request);
+        merged.put("cachedContentTokenCount", cached.tokens());
+        return merged;
+    }
+
+    /** models.list 응답 (API 키 검증용) */
+    public Map<String, Object> models() {
+        return Map.of("models", List.of(Map.of(
+                "name", "models/gemini-2.0-flash",
+                "displayName", "Gemini 2.0 Flash (simulator)",
+                "supportedGenerationMethods", List.of("generateContent", "streamGenerateContent"))));
+    }
+
+    /**
+     * generateContent 응답 전체
+     */
+    public Map<String, Object> generateContent(Map<String, Object> request) {
+        String prompt = promptText(request);
+        List<Map<String, Object>> parts = responseParts(request, prompt);
+        Map<String, Object> part = parts.get(0);
+        String output = part.containsKey("text") ? (String) part.get("text") : String.valueOf(parts);
+        return withCachedTokens(response(parts, prompt.length(), output.length()), request);
+    }
+
+    /**
+     * streamGenerateContent 응답 조각들. 텍스트 응답은 streamChunkChars 글자씩, 함수 호출은 한 조각.
+     * 마지막 조각에만 finishReason·usageMetadata를 넣는다 (실제 API와 같음).
+     */
+    public List<Map<String, Object>> streamGenerateContent(Map<String, Object> request) {
+        String prompt = promptText(request);
+        List<Map<String, Object>> parts = responseParts(request, prompt);
+        Map<String, Object> part = parts.get(0);
+        if (!part.containsKey("text")) {
+            return List.of(withCachedTokens(
+                    response(parts, prompt.length(), String.valueOf(parts).length()), request));
+        }
+        String text = (String) part.get("text");
+        List<Map<String, Object>> chunks = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += streamChunkChars) {
+            String piece = text.substring(i, Math.min(text.length(), i + streamChunkChars));
+            if (i + streamChunkChars >= text.length()) {
+                chunks.add(withCachedTokens(response(List.of(Map.of("text", piece)), prompt.length(), text.length()), request));
+            } else {
+                chunks.add(Map.of(
+                        "candidates", List.of(Map.of("content", Map.of("role", "model", "parts", List.of(Map.of("text", piece))))),
+                        "modelVersion", MODEL_VERSION));
+            }
+        }
+        return chunks;
+    }
+
+    private List<Map<String, Object>> responseParts(Map<String, Object> request, String prompt) {
+        if ("add_schedule".equals(declaredFunction(request))) {
+            List<Map<String, Object>> calls = new ArrayList<>();
+            Matcher m = BATCH_LINE.matcher(prompt);
+            while (m.find()) {
+                Map<String, Object> args = addScheduleArgs(m.group(2).strip(), prompt);
+                args.put("line", Integer.parseInt(m.group(1)));
+                calls.add(Map.of("functionCall", Map.of("name", "add_schedule", "args", args)));
+            }
+            if (!calls.isEmpty()) {
+                return calls;
+            }
+        }
+        return List.of(responsePart(request, prompt));
+    }
+
+    private Map<String, Object> responsePart(Map<String, Object> request, String prompt) {
+        String function = declaredFunction(request);
+        if ("add_schedule".equals(function)) {
+            return Map.of("functionCall", Map.of("name", function, "args", addScheduleArgs(group(USER_INPUT, prompt, "일정"), prompt)));
+        }
+        if ("apply_schedule_edits".equals(function)) {
+            return Map.of("functionCall", Map.of("name", function, "args", Map.of("edits", scheduleEdits(prompt))));
+        }
+        if (hasInlineData(request)) {
+            return Map.of("text", toJson(timetable(prompt.length())));
+        }
+        if (isJsonResponse(request)) {
+            return Map.of("text", toJson(plannerJson(prompt)));
+        }
+        return Map.of("text", "요청하신 내용을 정리했어요. (시뮬레이터 응답) " + lastLine(prompt));
+    }
+
+    private Map<String, Object> addScheduleArgs(String input, String prompt) {
+        Map<String, Object> args = new LinkedHashMap<>();
+        args.put("title", input.length() > 20 ? input.substring(0, 20).trim() : input);
+        args.put("date", group(TODAY, prompt, LocalDate.now().toString()));
+        args.put("start_time", String.format("%02d:00", 9 + Math.floorMod(input.hashCode(), 10)));
+        args.put("duration_minutes", 60);
+        return args;
+    }
+
+    private List<Map<String, Object>> scheduleEdits(String prompt) {
+        List<Map<String, Object>> edits = new ArrayList<>();
+        Matcher m = SCHEDULE_LINE.matcher(prompt);
+        if (m.find()) {
+            Map<String, Object> update = new LinkedHashMap<>();
+            update.put("operation", "update");
+            update.put("schedule_id", m.group(1));
+            if (!m.group(4).isEmpty()) update.put("start_time", m.group(4));
+            if (!m.group(5).isEmpty()) update.put("end_time", m.group(5));
+            edits.add(update);
+        }
+        Map<String, Object> add = new LinkedHashMap<>();
+        add.put("operation", "add");
+        add.put("title", group(USER_COMMAND, prompt, "새 일정"));
+        add.put("date", group(TODAY, prompt, LocalDate.now().toString()));
+        add.put("start_time", "18:00");
+        add.put("end_time", "19:00");
+        edits.add(add);
+        return edits;
+    }
+
+    /** 플래너 JSON: 사용자 입력(프롬프트 마지막 문단)의 "제목 숫자(시간|분)"마다 plan 하나, 없으면 60분 plan 하나 */
+    private Map<String, Object> plannerJson(String prompt) {
+        String userText = prompt.substring(prompt.lastIndexOf("\n\n") + 1).strip();
+        List<Map<String, Object>> plans = new ArrayList<>();
+        Matcher m = PLAN_ITEM.matcher(userText);
+        while (m.find()) {
+            int n = Integer.parseInt(m.group(2));
+            int minutes = "시간".equals(m.group(3)) ? n * 60 : n;
+            plans.add(Map.of("title", m.group(1).strip(), "durationMinutes", minutes, "breakMinutesAfter", 10,
+                    "note", m.group(1).strip() + " 집중"));
+        }
+        if (plans.isEmpty()) {
+            plans.add(Map.of("title", userText.isEmpty() ? "할 일" : userText, "durationMinutes", 60));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("category", "study");
+        json.put("summary", "핵심 " + plans.size() + "가지를 순서대로 끝내기");
+        json.put("plans", plans);
+        return json;
+    }
+
+    private List<Map<String, Object>> timetable(int seed) {
+        List<Map<String, Object>> blocks = new ArrayList<>();
+        for (int i = 0; i < TIMETABLE_TITLES.length; i++) {
+            int start = 9 + (i + seed) % 6;
+            Map<String, Object> block = new LinkedHashMap<>();
+            block.put("title", TIMETABLE_TITLES[i]);
+            block.put("dayOfWeek", DAYS[i]);
+            block.put("startTime", String.format("%02d:00", start));
+            block.put("endTime", String.format("%02d:15", start + 1));
+            block.put("location", "공학관 " + (101 + i) + "호");
+            block.put("notes", "");
+            block.put("source", "ETC");
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    private static Map<String, Object> response(List<Map<String, Object>> parts, int promptChars, int outputChars) {
+        // 토큰 수는 한글 기준 대략 2~3자/토큰으로 근사
+        int promptTokens = Math.max(1, promptChars / 3);
+        int outputTokens = Math.max(1, outputChars / 3);
+        Map<String, Object> candidate = new LinkedHashMap<>();
+        candidate.put("content", Map.of("role", "model", "parts", parts));
+        candidate.put("finishReason", "STOP");
+        candidate.put("index", 0);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("candidates", List.of(candidate));
+        body.put("usageMetadata", Map.of(
+                "promptTokenCount", promptTokens,
+                "candidatesTokenCount", outputTokens,
+                "totalTokenCount", promptTokens + outputTokens));
+        body.put("modelVersion", MODEL_VERSION);
+        return body;
+    }
+
+    /** 캐시를 참조한 요청이면 usageMetadata에 cachedContentTokenCount를 더한다 (promptTokenCount에도 포함, 실제 API와 같음) */
+    private static Map<String, Object> withCachedTokens(Map<String, Object> body, Map<String, Object> request) {
+        if (!(request.get("cachedContentTokenCount") instanceof Integer cachedTokens)
+                || !(body.get("usageMetadata") instanceof Map<?, ?> usage)) {
+            return body;
+        }
+        int prompt = (Integer) usage.get("promptTokenCount") + cachedTokens;
+        int candidates = (Integer) usage.get("candidatesTokenCount");
+        body.put("usageMetadata", Map.of(
+                "promptTokenCount", prompt,
+                "cachedContentTokenCount", cachedTokens,
+                "candidatesTokenCount", candidates,
+                "totalTokenCount", prompt + candidates));
+        return body;
+    }
+
+    private static Map<String, Object> cachedContentResponse(String name, CachedContent cached) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", name);
+        body.put("model", cached.content().getOrDefault("model", "models/gemini-2.0-flash"));
+        body.put("displayName", cached.content().getOrDefault("displayName", ""));
+        body.put("usageMetadata", Map.of("totalTokenCount", cached.tokens()));
+        body.put("expireTime", cached.expireTime().toString());
+        return body;
+    }
+
+    /** systemInstruction·tools를 포함한 캐시 내용 전체 (토큰 수 근사용) */
+    private static String cachedText(Map<String, Object> content) {
+        return String.valueOf(content.get("systemInstruction")) + content.getOrDefault("tools", "");
+    }
+
+    /** "3600s" 형식. 없거나 잘못되면 1시간 */
+    private static Duration parseTtl(Object ttl) {
+        if (ttl instanceof String s && s.endsWith("s")) {
+            try {
+                return Duration.ofMillis(Math.round(Double.parseDouble(s.substring(0, s.length() - 1)) * 1000));
+            } catch (NumberFormatException ignored) {
+                // 기본값 사용
+            }
+        }
+        return Duration.ofHours(1);
+    }
+
+    private static String promptText(Map<String, Object> request) {
+        StringBuilder sb = new StringBuilder();
+        Object contents = request.get("contents");
+        if (contents instanceof List<?> list) {
+            for (Object content : list) {
+                if (!(content instanceof Map<?, ?> c) || !(c.get("parts") instanceof List<?> parts)) continue;
+                for (Object p : parts) {
+                    if (p instanceof Map<?, ?> part && part.get("text") instanceof String text) {
+                        sb.append(text).append('\n');
+                    }
+                }
+            }
+        }
+        return sb.toString().strip();
+    }
+
+    private static String declaredFunction(Map<String, Object> request) {
+        if (!(request.get("tools") instanceof List<?> tools)) return null;
+        for (Object tool : tools) {
+            if (tool instanceof Map<?, ?> t && t.get("functionDeclarations") instanceof List<?> declarations) {
+                for (Object d : declarations) {
+                    if (d instanceof Map<?, ?> declaration && declaration.get("name") instanceof String name) {
+                        return name;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasInlineData(Map<String, Object> request) {
+        return String.valueOf(request.get("contents")).contains("inlineData");
+    }
+
+    private static boolean isJsonResponse(Map<String, Object> request) {
+        return request.get("generationConfig") instanceof Map<?, ?> config
+                && "application/json".equals(config.get("responseMimeType"));
+    }
+
+    private static String group(Pattern pattern, String text, String fallback) {
+        Matcher m = pattern.matcher(text);
+        return m.find() ? m.group(1).strip() : fallback;
+    }
+
+    private static String lastLine(String text) {
+        int i = text.lastIndexOf('\n');
+        return i >= 0 ? text.substring(i + 1) : text;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Box-Muller */
+    private double gaussian() {
+        double u1 = random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(Math.max(u1, Double.MIN_VALUE))) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private record CachedContent(Map<String, Object> content, int tokens, Instant expireTime) {
+        boolean expired() {
+            return Instant.now().isAfter(expireTime);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.jjajo.infrastructure.gemini.simulator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 내장 Gemini 시뮬레이터 엔드포인트 (app.gemini.simulator.enabled=true일 때만 등록).
+ * app.gemini.base-url을 http://localhost:8080/gemini-sim/v1beta로 두면 모든 AI 경로가 외부 네트워크·API 키 없이 동작한다.
+ *
+ * - GET  /models                                  → models.list
+ * - POST /models/{model}:generateContent          → 지연 후 JSON 응답
+ * - POST /models/{model}:streamGenerateContent    → 첫 조각까지 지연, 이후 조각 간격마다 SSE
+ * - POST /cachedContents, PATCH /cachedContents/{id} → 컨텍스트 캐시 만들기·TTL 연장 (지연·오류 없이 바로 응답)
+ *   없는 캐시를 참조한 generateContent는 404
+ * 오류(429/503)는 실제 API처럼 상태 코드 + error 바디, 429에는 Retry-After를 붙인다.
+ * 지연은 Mono.delay로 처리해 요청 스레드를 점유하지 않는다 (시뮬레이터 자체가 병목이 되지 않도록).
+ */
+@RestController
+@RequestMapping("/gemini-sim/v1beta")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.gemini.simulator.enabled", havingValue = "true")
+public class GeminiSimulatorController {
+
+    private final GeminiSimulator simulator;
+
+    @GetMapping("/models")
+    public Map<String, Object> models() {
+        return simulator.models();
+    }
+
+    @PostMapping("/models/{model:[^:]+}:generateContent")
+    public Mono<ResponseEntity<Map<String, Object>>> generateContent(
+            @PathVariable String model,
+            @RequestBody Map<String, Object> request) {
+        Map<String, Object> resolved = simulator.resolveCachedContent(request);
+        if (resolved == null) {
+            return Mono.just(cachedContentNotFound());
+        }
+        int error = simulator.sampleError();
+        Duration latency = simulator.sampleLatency();
+        return Mono.delay(latency)
+                .map(tick -> error != 0
+                        ? errorResponse(error, simulator.errorBody(error))
+                        : ResponseEntity.ok(simulator.generateContent(resolved)));
+    }
+
+    @PostMapping(value = "/models/{model:[^:]+}:streamGenerateContent", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<Map<String, Object>>>> streamGenerateContent(
+            @PathVariable String model,
+            @RequestBody Map<String, Object> request) {
+        Map<String, Object> resolved = simulator.resolveCachedContent(request);
+        if (resolved == null) {
+            return errorResponse(404, Flux.just(ServerSentEvent.builder(cachedContentNotFound().getBody()).build()));
+        }
+        int error = simulator.sampleError();
+        if (error != 0) {
+            return errorResponse(error, Flux.just(ServerSentEvent.builder(simulator.errorBody(error)).build()));
+        }
+        Duration firstChunk = simulator.sampleLatency();
+        var chunks = simulator.streamGenerateContent(resolved);
+        Flux<ServerSentEvent<Map<String, Object>>> events = Flux.fromIterable(chunks)
+                .index()
+                .concatMap(indexed -> Mono.just(ServerSentEvent.builder(indexed.getT2()).build())
+                        .delayElement(indexed.getT1() == 0 ? firstChunk : simulator.streamChunkInterval()));
+        return ResponseEntity.ok(events);
+    }
+
+    @PostMapping("/cachedContents")
+    public ResponseEntity<Map<String, Object>> createCachedContent(@RequestBody Map<String, Object> request) {
+        Map<String, Object> created = simulator.createCachedContent(request);
+        if (created == null) {
+            return ResponseEntity.badRequest().body(simulator.errorBody(400, "INVALID_ARGUMENT",
+                    "Cached content is too small. total_token_count is below min_total_token_count."));
+        }
+        return ResponseEntity.ok(created);
+    }
+
+    @PatchMapping("/cachedContents/{id}")
+    public ResponseEntity<Map<String, Object>> updateCachedContent(
+            @PathVariable String id,
+            @RequestBody Map<String, Object> request) {
+        Map<String, Object> updated = simulator.updateCachedContent("cachedContents/" + id, request);
+        return updated != null ? ResponseEntity.ok(updated) : cachedContentNotFound();
+    }
+
+    private ResponseEntity<Map<String, Object>> cachedContentNotFound() {
+        return ResponseEntity.status(404).body(simulator.errorBody(404, "NOT_FOUND", "CachedContent not found (or permission denied)."));
+    }
+
+    private static <T> ResponseEntity<T> errorResponse(int status, T body) {
+        var builder = ResponseEntity.status(status);
+        if (status == 429) {
+            builder.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return builder.body(body);
+    }
+}
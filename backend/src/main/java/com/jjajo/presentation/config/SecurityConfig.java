@@ -2,6 +2,7 @@ package com.jjajo.presentation.config;
 
 import com.jjajo.domain.entity.UserEntity;
 import com.jjajo.domain.repository.UserRepository;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -76,6 +77,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(authorize -> authorize
+                // 비동기(Mono) 응답 재디스패치는 최초 요청에서 이미 인가됨 (JWT 필터는 ASYNC 디스패치에서 다시 돌지 않음)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/",
                     "/error",
@@ -3,22 +3,35 @@ package com.jjajo.presentation.controller;
 import com.jjajo.application.port.in.EditScheduleUseCase;
 import com.jjajo.application.port.in.ParseScheduleUseCase;
 import com.jjajo.application.port.in.PlannerScheduleUseCase;
-import com.jjajo.presentation.dto.AiChatResponse;
+import com.jjajo.application.port.in.WebSearchChatUseCase;
+import com.jjajo.infrastructure.gemini.GeminiRejectedException;
+import com.jjajo.presentation.config.SecurityConfig;
+import com.jjajo.presentation.dto.ConversationChatRequest;
 import com.jjajo.presentation.dto.EditScheduleRequest;
-import com.jjajo.presentation.dto.EditScheduleResponse;
+import com.jjajo.presentation.dto.ParseScheduleBatchRequest;
 import com.jjajo.presentation.dto.ParseScheduleRequest;
 import com.jjajo.presentation.dto.PlannerScheduleRequest;
-import com.jjajo.presentation.dto.PlannerScheduleResponse;
+import com.jjajo.presentation.dto.PlannerStreamEvent;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
 /**
  * AI 일정 관련 API 컨트롤러 (매직 바, 짜조 플래너)
+ *
+ * Gemini 호출은 Mono로 반환해 비동기 처리한다. 응답을 기다리는 동안 Tomcat 워커 스레드를 점유하지 않아
+ * 느린 LLM 응답이 일반 CRUD API의 스레드를 고갈시키지 않는다.
+ * 동시 호출 한도·서킷에 걸린 요청(GeminiRejectedException)은 Gemini를 기다리지 않고 503/429 + Retry-After로 응답한다.
  */
 @Slf4j
 @RestController
@@ -29,24 +42,40 @@ public class AiChatController {
     private final ParseScheduleUseCase parseScheduleUseCase;
     private final EditScheduleUseCase editScheduleUseCase;
     private final PlannerScheduleUseCase plannerScheduleUseCase;
+    private final WebSearchChatUseCase webSearchChatUseCase;
 
     /**
      * 매직 바: 한 줄 자연어로 일정 파싱 (Gemini Function Calling)
      * 예: "내일 오후 3시부터 2시간 동안 팀 프로젝트 회의 추가해줘"
      */
     @PostMapping("/parse-schedule")
-    public ResponseEntity<?> parseSchedule(
+    public Mono<ResponseEntity<?>> parseSchedule(
             @Valid @RequestBody ParseScheduleRequest request,
             @RequestHeader("X-Gemini-API-Key") String apiKey) {
 
         log.info("매직 바 파싱 요청: {}", request.getCommand());
 
-        try {
-            AiChatResponse.ScheduleData schedule = parseScheduleUseCase.parseSchedule(request.getCommand(), apiKey);
-            return ResponseEntity.ok(schedule);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
-        }
+        return parseScheduleUseCase.parseSchedule(request.getCommand(), apiKey)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(GeminiRejectedException.class, e -> Mono.just(rejected(e)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("message", e.getMessage()))));
+    }
+
+    /**
+     * 매직 바: 여러 줄 붙여넣기를 한 번에 파싱 (Gemini Function Calling 한 번)
+     * 줄마다 성공한 일정 또는 실패 사유를 돌려주므로 일부 줄이 실패해도 200
+     */
+    @PostMapping("/parse-schedule/batch")
+    public Mono<ResponseEntity<?>> parseSchedules(
+            @Valid @RequestBody ParseScheduleBatchRequest request,
+            @RequestHeader("X-Gemini-API-Key") String apiKey) {
+
+        return parseScheduleUseCase.parseSchedules(request.getCommands(), apiKey)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(GeminiRejectedException.class, e -> Mono.just(rejected(e)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("message", e.getMessage()))));
     }
 
     /**
@@ -54,37 +83,96 @@ public class AiChatController {
      * 예: "공부 시간 1시간 늘리고 뒤에 있는 일정 다 취소해줘"
      */
     @PostMapping("/edit-schedule")
-    public ResponseEntity<?> editSchedule(
+    public Mono<ResponseEntity<?>> editSchedule(
             @Valid @RequestBody EditScheduleRequest request,
-            @RequestHeader("X-Gemini-API-Key") String apiKey) {
+            @RequestHeader("X-Gemini-API-Key") String apiKey,
+            Authentication authentication) {
 
         log.info("대화형 일정 수정 요청: {}", request.getCommand());
+        String userId = SecurityConfig.extractUserId(authentication);
 
-        try {
-            EditScheduleResponse response = editScheduleUseCase.editSchedule(
-                    request.getCommand(),
-                    request.getTodos(),
-                    apiKey);
-            return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
-        } catch (Exception e) {
-            log.warn("대화형 일정 수정 실패", e);
-            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage() != null ? e.getMessage() : "일정 수정을 처리하지 못했어요."));
-        }
+        return editScheduleUseCase.editSchedule(
+                        request.getCommand(),
+                        request.getDate(),
+                        request.getTodos(),
+                        userId,
+                        apiKey)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(GeminiRejectedException.class, e -> Mono.just(rejected(e)))
+                .onErrorResume(e -> {
+                    if (!(e instanceof IllegalArgumentException)) {
+                        log.warn("대화형 일정 수정 실패", e);
+                    }
+                    return Mono.just(ResponseEntity.badRequest().body(Map.of("message", e.getMessage() != null ? e.getMessage() : "일정 수정을 처리하지 못했어요.")));
+                });
     }
 
     /**
      * 짜조 플래너: 가용 시간대 내에서 사용자 목표를 일정으로 쪼개서 고스트 일정 제안
-     * Input: userText, currentTime, date, availableSlots
+     * Input: userText, currentTime, date, availableSlots(생략 시 저장된 일정으로 서버가 계산)
      * Output: plans [{ title, start, end }]
      */
     @PostMapping("/planner-schedule")
-    public ResponseEntity<PlannerScheduleResponse> plannerSchedule(
+    public Mono<ResponseEntity<?>> plannerSchedule(
             @Valid @RequestBody PlannerScheduleRequest request,
-            @RequestHeader("X-Gemini-API-Key") String apiKey) {
+            @RequestHeader("X-Gemini-API-Key") String apiKey,
+            Authentication authentication) {
         log.info("짜조 플래너 요청: {}", request.getUserText());
-        PlannerScheduleResponse response = plannerScheduleUseCase.planSchedule(request, apiKey);
-        return ResponseEntity.ok(response);
+        String userId = SecurityConfig.extractUserId(authentication);
+        return plannerScheduleUseCase.planSchedule(request, userId, apiKey)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(GeminiRejectedException.class, e -> Mono.just(rejected(e)))
+                .onErrorResume(IllegalArgumentException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("message", e.getMessage()))));
+    }
+
+    /**
+     * 짜조 플래너 스트리밍 (text/event-stream).
+     * 이벤트: category, summary, plan(배치 전, 해석되는 즉시) → result(최종 배치 결과, /planner-schedule 응답과 동일) 또는 error
+     */
+    @PostMapping(value = "/planner-schedule/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<PlannerStreamEvent>> plannerScheduleStream(
+            @Valid @RequestBody PlannerScheduleRequest request,
+            @RequestHeader("X-Gemini-API-Key") String apiKey,
+            Authentication authentication) {
+        log.info("짜조 플래너 스트리밍 요청: {}", request.getUserText());
+        String userId = SecurityConfig.extractUserId(authentication);
+        return plannerScheduleUseCase.streamPlanSchedule(request, userId, apiKey)
+                .onErrorResume(e -> {
+                    log.warn("짜조 플래너 스트리밍 실패", e);
+                    return Mono.just(PlannerStreamEvent.builder()
+                            .type(PlannerStreamEvent.TYPE_ERROR)
+                            .message(e.getMessage() != null ? e.getMessage() : "일정을 생성하지 못했어요.")
+                            .build());
+                })
+                .map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
+    }
+
+    /**
+     * 웹 검색 포함 AI 채팅 스트리밍 (text/event-stream).
+     * 이벤트: delta(텍스트 조각) 반복 → done, 실패 시 error
+     */
+    @PostMapping(value = "/web-search-chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> webSearchChatStream(
+            @Valid @RequestBody ConversationChatRequest request,
+            @RequestHeader("X-Gemini-API-Key") String apiKey) {
+        log.info("웹 검색 채팅 스트리밍 요청: {}", request.getMessage());
+        return webSearchChatUseCase.streamWebSearchChat(request.getMessage(), apiKey)
+                .map(text -> ServerSentEvent.builder(text).event("delta").build())
+                .concatWith(Mono.just(ServerSentEvent.builder("").event("done").build()))
+                .onErrorResume(e -> {
+                    log.warn("웹 검색 채팅 스트리밍 실패", e);
+                    return Mono.just(ServerSentEvent.builder(e.getMessage() != null ? e.getMessage() : "AI 채팅 처리 중 오류가 발생했습니다")
+                            .event("error")
+                            .build());
+                });
+    }
+
+    /** 바로 거절된 Gemini 호출 → 503(전체 한도·서킷) 또는 429(API 키별 한도) + Retry-After */
+    static ResponseEntity<?> rejected(GeminiRejectedException e) {
+        log.warn("Gemini 호출 거절: reason={}, retryAfter={}s", e.getReason(), e.getRetryAfterSeconds());
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
     }
 }
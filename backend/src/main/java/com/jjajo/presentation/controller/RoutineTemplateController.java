@@ -0,0 +1,69 @@
+package com.jjajo.presentation.controller;
+
+import com.jjajo.application.service.RoutineTemplateService;
+import com.jjajo.presentation.config.SecurityConfig;
+import com.jjajo.presentation.dto.RoutineTemplateDto;
+import com.jjajo.presentation.dto.RoutineTemplateUpdateRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 루틴 템플릿 API: 짜조 플래너가 카테고리별로 우선 배치할 시간대·세션 길이·휴식.
+ */
+@Tag(name = "Routine", description = "사용자별 루틴 템플릿 API")
+@RestController
+@RequestMapping("/api/v1/routines")
+@RequiredArgsConstructor
+public class RoutineTemplateController {
+
+    private final RoutineTemplateService routineTemplateService;
+
+    @Operation(summary = "카테고리별 루틴 조회 (설정하지 않은 카테고리는 기본값)")
+    @GetMapping
+    public ResponseEntity<List<RoutineTemplateDto>> list(Authentication authentication) {
+        String userId = SecurityConfig.extractUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+        return ResponseEntity.ok(routineTemplateService.list(userId));
+    }
+
+    @Operation(summary = "카테고리 루틴 저장")
+    @PutMapping("/{category}")
+    public ResponseEntity<?> save(
+            @PathVariable String category,
+            @Valid @RequestBody RoutineTemplateUpdateRequest request,
+            Authentication authentication) {
+        String userId = SecurityConfig.extractUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            return ResponseEntity.ok(routineTemplateService.save(userId, category, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "카테고리 루틴을 기본값으로 되돌림")
+    @DeleteMapping("/{category}")
+    public ResponseEntity<?> reset(@PathVariable String category, Authentication authentication) {
+        String userId = SecurityConfig.extractUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            return ResponseEntity.ok(routineTemplateService.reset(userId, category));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
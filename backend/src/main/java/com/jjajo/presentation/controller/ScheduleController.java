@@ -1,9 +1,15 @@
 package com.jjajo.presentation.controller;
 
+import com.jjajo.application.service.BatchOperationException;
+import com.jjajo.application.service.FreeBusyService;
 import com.jjajo.application.service.ScheduleService;
 import com.jjajo.presentation.config.SecurityConfig;
+import com.jjajo.presentation.dto.PlannerScheduleRequest;
+import com.jjajo.presentation.dto.ScheduleBatchRequest;
+import com.jjajo.presentation.dto.ScheduleBatchResponse;
 import com.jjajo.presentation.dto.ScheduleCreateRequest;
 import com.jjajo.presentation.dto.ScheduleItemResponse;
+import com.jjajo.presentation.dto.SchedulePageResponse;
 import com.jjajo.presentation.dto.ScheduleUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,6 +21,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,16 +35,58 @@ public class ScheduleController {
 
     private static final Logger DEBUG_LOG = LoggerFactory.getLogger("com.jjajo.debug");
     private final ScheduleService scheduleService;
+    private final FreeBusyService freeBusyService;
 
-    @Operation(summary = "현재 사용자 일정 목록 조회")
+    /**
+     * from/to/cursor/limit가 모두 없으면 기존처럼 전체 목록(배열)을 반환하고,
+     * 하나라도 있으면 기간 내 일정만 keyset 페이지(SchedulePageResponse)로 반환한다.
+     */
+    @Operation(summary = "현재 사용자 일정 목록 조회 (from/to 지정 시 기간 조회 + cursor 페이지)")
     @GetMapping
-    public ResponseEntity<List<ScheduleItemResponse>> list(Authentication authentication) {
+    public ResponseEntity<?> list(
+            @RequestParam(name = "from", required = false) String from,
+            @RequestParam(name = "to", required = false) String to,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            Authentication authentication) {
+        String userId = SecurityConfig.extractUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+        if (from == null && to == null && cursor == null && limit == null) {
+            List<ScheduleItemResponse> list = scheduleService.listByUserId(userId);
+            return ResponseEntity.ok(list);
+        }
+        try {
+            SchedulePageResponse page = scheduleService.listWindow(userId, from, to, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    /**
+     * 저장된 일정(반복 회차 포함) 기준으로 해당 날짜의 빈 시간대를 계산.
+     */
+    @Operation(summary = "해당 날짜의 빈 시간대 조회")
+    @GetMapping("/free-slots")
+    public ResponseEntity<?> freeSlots(
+            @RequestParam(name = "date") String date,
+            @RequestParam(name = "minMinutes", defaultValue = "10") int minMinutes,
+            @RequestParam(name = "excludeMeals", defaultValue = "false") boolean excludeMeals,
+            Authentication authentication) {
         String userId = SecurityConfig.extractUserId(authentication);
         if (userId == null) {
             return ResponseEntity.status(401).build();
         }
-        List<ScheduleItemResponse> list = scheduleService.listByUserId(userId);
-        return ResponseEntity.ok(list);
+        LocalDate targetDate;
+        try {
+            targetDate = LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "date는 YYYY-MM-DD 형식이어야 합니다."));
+        }
+        List<PlannerScheduleRequest.TimeSlotDto> slots = freeBusyService.freeSlots(userId, targetDate, minMinutes, 0, excludeMeals);
+        return ResponseEntity.ok(slots);
     }
 
     @Operation(summary = "일정 생성")
@@ -67,6 +117,32 @@ public class ScheduleController {
         return ResponseEntity.ok(created);
     }
 
+    /**
+     * 대화형 수정 결과(add/update/delete 연산 목록)를 한 번의 요청·트랜잭션으로 적용.
+     * 하나라도 실패하면 전체가 롤백되고 400을 반환한다. 특정 연산이 거절된 경우 본문에 failedIndex(0부터)와 reason을 담는다.
+     */
+    @Operation(summary = "일정 일괄 추가/수정/삭제 (단일 트랜잭션)")
+    @PostMapping("/batch")
+    public ResponseEntity<?> batch(
+            @Valid @RequestBody ScheduleBatchRequest request,
+            Authentication authentication) {
+        String userId = SecurityConfig.extractUserId(authentication);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+        try {
+            ScheduleBatchResponse response = scheduleService.applyBatch(userId, request.getOperations());
+            return ResponseEntity.ok(response);
+        } catch (BatchOperationException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "message", e.getMessage(),
+                    "failedIndex", e.getIndex(),
+                    "reason", e.getReason()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     @Operation(summary = "일정 수정 (본인 소유만)")
     @PutMapping("/{id}")
     public ResponseEntity<ScheduleItemResponse> update(
@@ -1,11 +1,11 @@
 package com.jjajo.presentation.controller;
 
-import com.jjajo.application.service.ScheduleService;
+import com.jjajo.application.service.RecurringScheduleService;
+import com.jjajo.infrastructure.gemini.GeminiRejectedException;
 import com.jjajo.infrastructure.gemini.GeminiTimetableAdapter;
 import com.jjajo.presentation.config.SecurityConfig;
 import com.jjajo.presentation.dto.FixedScheduleCandidate;
 import com.jjajo.presentation.dto.FixedScheduleSaveRequest;
-import com.jjajo.presentation.dto.ScheduleCreateRequest;
 import com.jjajo.presentation.dto.ScheduleItemResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +20,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -38,40 +40,51 @@ import java.util.Map;
 public class TimetableController {
 
     private final GeminiTimetableAdapter geminiTimetableAdapter;
-    private final ScheduleService scheduleService;
+    private final RecurringScheduleService recurringScheduleService;
 
     /**
      * 시간표 이미지 업로드 + Gemini Vision 파싱.
      *
      * 인증은 필요 없고, Gemini API 키를 헤더로 받는다.
+     * 이미지 바이트만 요청 스레드에서 읽고, Gemini 응답은 비동기(Mono)로 기다린다.
      */
     @PostMapping("/parse")
-    public ResponseEntity<?> parseTimetableImage(
+    public Mono<ResponseEntity<?>> parseTimetableImage(
             @RequestPart("image") MultipartFile image,
             @RequestParam(name = "language", required = false) String language,
             @RequestParam(name = "weekStartDay", required = false) String weekStartDay,
             @RequestHeader("X-Gemini-API-Key") String apiKey
     ) {
-        try {
-            if (image == null || image.isEmpty()) {
-                return ResponseEntity.badRequest().body(Map.of("message", "시간표 이미지 파일을 업로드해주세요."));
-            }
+        if (image == null || image.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body(Map.of("message", "시간표 이미지 파일을 업로드해주세요.")));
+        }
 
-            byte[] bytes = image.getBytes();
-            String mimeType = image.getContentType();
-            List<FixedScheduleCandidate> candidates = geminiTimetableAdapter.parseTimetable(bytes, mimeType, apiKey, language, weekStartDay);
-            return ResponseEntity.ok(candidates);
-        } catch (Exception e) {
-            log.error("시간표 이미지 파싱 실패", e);
-            return ResponseEntity.badRequest().body(Map.of("message", "시간표 이미지를 해석하는 중 오류가 발생했습니다. 다른 이미지로 다시 시도해주세요."));
+        byte[] bytes;
+        try {
+            bytes = image.getBytes();
+        } catch (IOException e) {
+            log.error("시간표 이미지 읽기 실패", e);
+            return Mono.just(parseFailure());
         }
+        String mimeType = image.getContentType();
+        return geminiTimetableAdapter.parseTimetable(bytes, mimeType, apiKey, language, weekStartDay)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(GeminiRejectedException.class, e -> Mono.just(AiChatController.rejected(e)))
+                .onErrorResume(e -> {
+                    log.error("시간표 이미지 파싱 실패", e);
+                    return Mono.just(parseFailure());
+                });
+    }
+
+    private static ResponseEntity<?> parseFailure() {
+        return ResponseEntity.badRequest().body(Map.of("message", "시간표 이미지를 해석하는 중 오류가 발생했습니다. 다른 이미지로 다시 시도해주세요."));
     }
 
     /**
      * 파싱된 고정 일정 후보를 실제 주간 반복 일정으로 저장.
      *
-     * - 학기 시작/종강일 범위 안에서 dayOfWeek에 맞는 날짜에 일정들을 생성한다.
-     * - 각 생성 건은 일반 Schedule로 저장되어 기존 캘린더에서 그대로 보인다.
+     * - 후보 1건당 주간 반복 규칙 1건만 저장한다 (학기 전체 회차를 행으로 만들지 않음).
+     * - 응답은 학기 시작/종강일 범위 안의 회차 목록이며, 일정 조회 시에도 같은 회차가 펼쳐져 기존 캘린더에서 그대로 보인다.
      */
     @PostMapping("/fixed-schedules")
     public ResponseEntity<?> saveFixedSchedules(
@@ -101,7 +114,7 @@ public class TimetableController {
             return ResponseEntity.badRequest().body(Map.of("message", "저장할 일정이 없습니다."));
         }
 
-        List<ScheduleItemResponse> created = new ArrayList<>();
+        List<RecurringScheduleService.WeeklyRule> rules = new ArrayList<>();
 
         for (FixedScheduleCandidate candidate : items) {
             if (candidate == null) continue;
@@ -114,29 +127,17 @@ public class TimetableController {
                 continue;
             }
 
-            LocalDate cursor = startDate;
-            while (!cursor.isAfter(endDate)) {
-                if (cursor.getDayOfWeek() == dayOfWeek) {
-                    ScheduleCreateRequest createRequest = ScheduleCreateRequest.builder()
-                            .title(candidate.getTitle())
-                            .description(candidate.getLocation() != null && !candidate.getLocation().isBlank()
-                                    ? candidate.getLocation()
-                                    : candidate.getNotes())
-                            .date(cursor.toString())
-                            .startTime(candidate.getStartTime())
-                            .endTime(candidate.getEndTime())
-                            .status("pending")
-                            .priority("medium")
-                            .createdBy("user")
-                            .build();
-
-                    ScheduleItemResponse saved = scheduleService.create(userId, createRequest);
-                    created.add(saved);
-                }
-                cursor = cursor.plusDays(1);
-            }
+            rules.add(new RecurringScheduleService.WeeklyRule(
+                    candidate.getTitle(),
+                    candidate.getLocation() != null && !candidate.getLocation().isBlank()
+                            ? candidate.getLocation()
+                            : candidate.getNotes(),
+                    dayOfWeek,
+                    candidate.getStartTime(),
+                    candidate.getEndTime()));
         }
 
+        List<ScheduleItemResponse> created = recurringScheduleService.createWeekly(userId, startDate, endDate, rules);
         return ResponseEntity.ok(created);
     }
 
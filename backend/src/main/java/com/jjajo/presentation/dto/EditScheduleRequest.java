@@ -2,7 +2,7 @@ package com.jjajo.presentation.dto;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,7 +10,7 @@ import lombok.NoArgsConstructor;
 import java.util.List;
 
 /**
- * 대화형 일정 수정 요청 (자연어 명령 + 컨텍스트 일정 목록)
+ * 대화형 일정 수정 요청 (자연어 명령 + 선택적 기준일·컨텍스트 일정 목록)
  */
 @Data
 @NoArgsConstructor
@@ -20,7 +20,14 @@ public class EditScheduleRequest {
     @NotBlank(message = "수정 명령을 입력해주세요")
     private String command;
 
-    @NotNull
+    /** 기준일 (화면에서 보고 있는 날짜, YYYY-MM-DD). 생략 시 오늘 */
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "날짜는 YYYY-MM-DD 형식이어야 합니다")
+    private String date;
+
+    /**
+     * 컨텍스트 일정 목록. 로그인한 요청은 무시하고 서버가 저장된 일정에서 고른다 (생략 권장).
+     * 로그인하지 않은 요청만 이 목록에서 고른다.
+     */
     @Valid
     private List<ScheduleItemForEdit> todos;
 }
@@ -0,0 +1,20 @@
+package com.jjajo.presentation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 매직 바 여러 줄 일정 파싱 요청 DTO (한 줄에 명령 하나). 최대 줄 수는 app.magic-bar.batch.max-size
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ParseScheduleBatchRequest {
+    @NotEmpty(message = "한 줄 이상 입력해주세요")
+    private List<@NotBlank(message = "빈 줄은 보낼 수 없습니다") String> commands;
+}
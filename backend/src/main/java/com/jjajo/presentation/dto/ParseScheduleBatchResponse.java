@@ -0,0 +1,34 @@
+package com.jjajo.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 매직 바 여러 줄 일정 파싱 응답 (요청 줄 순서대로 결과 1건씩)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParseScheduleBatchResponse {
+
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        /** 요청 commands의 위치 (0부터) */
+        private int index;
+        private String command;
+        /** 파싱 성공 시 일정. 실패면 null */
+        private AiChatResponse.ScheduleData schedule;
+        /** 파싱 실패 사유. 성공이면 null */
+        private String message;
+    }
+}
@@ -3,6 +3,7 @@ package com.jjajo.presentation.dto;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -26,7 +27,10 @@ public class PlannerScheduleRequest {
     /** 기준 날짜 yyyy-MM-dd */
     private String date;
 
-    /** 가용 시간대 목록. 각 항목은 start(HH:mm), end(HH:mm) */
+    /**
+     * 가용 시간대 목록. 각 항목은 start(HH:mm), end(HH:mm).
+     * 비어 있으면 서버가 저장된 일정으로 빈 시간대를 계산하고, 있으면 저장된 일정과 겹치는 부분을 잘라낸다.
+     */
     @NotNull
     @Valid
     private List<TimeSlotDto> availableSlots = List.of();
@@ -43,9 +47,47 @@ public class PlannerScheduleRequest {
      */
     private Integer breakMinutesDefault;
 
+    /**
+     * 여러 날 모드 종료일 yyyy-MM-dd (포함). date보다 뒤면 date~endDate에 나눠 배치 (최대 14일, 넘으면 잘라서 응답 clampedEndDate로 알림).
+     */
+    private String endDate;
+
+    /**
+     * 여러 날 모드의 날짜별 가용 시간대. 목록에 없는 날은 availableSlots(비어 있으면 서버 계산)를 사용.
+     */
+    @Valid
+    private List<DaySlotsDto> days;
+
+    /**
+     * 여러 날 모드에서 하루에 배치할 최대 분. null이면 480.
+     */
+    private Integer dailyMaxMinutes;
+
+    /**
+     * true면 하루 배치를 시간 예산 안에서 최적화(선호 시간대 겹침·배치 분 최대화)하고 solverStats를 함께 반환.
+     * 여러 날 모드에서는 무시.
+     */
+    private Boolean optimize;
+
+    /**
+     * 최적화 시간 예산(ms). null이면 20, 최대 200.
+     */
+    private Integer optimizeBudgetMs;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DaySlotsDto {
+        private String date; // yyyy-MM-dd
+        @Valid
+        private List<TimeSlotDto> availableSlots;
+    }
+
     @Getter
     @Setter
     @NoArgsConstructor
+    @AllArgsConstructor
     public static class TimeSlotDto {
         private String start; // HH:mm
         private String end;   // HH:mm
@@ -1,5 +1,6 @@
 package com.jjajo.presentation.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -24,6 +25,18 @@ public class PlannerScheduleResponse {
     /** 오늘의 핵심 3가지 등 요약 문구 (선택) */
     private String summary;
 
+    /** 가용 시간이 모자라 배치하지 못한 플랜별 남은 분 (없으면 생략) */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<UnplacedPlan> unplaced;
+
+    /** 최적화 모드(optimize=true)의 탐색 통계 (그 외에는 생략) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SolverStats solverStats;
+
+    /** 요청한 endDate가 최대 기간(14일)을 넘어 잘렸을 때 실제로 배치한 마지막 날 yyyy-MM-dd (그 외에는 생략) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String clampedEndDate;
+
     @Getter
     @Setter
     @NoArgsConstructor
@@ -34,5 +47,46 @@ public class PlannerScheduleResponse {
         private String end;   // HH:mm
         /** 세부 목표·메모 (선택, UI에서 툴팁/서브텍스트로 표시) */
         private String note;
+        /** 여러 날 배치에서의 날짜 yyyy-MM-dd (하루 배치에서는 생략) */
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String date;
+
+        public PlanItem(String title, String start, String end, String note) {
+            this(title, start, end, note, null);
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class UnplacedPlan {
+        private String title;
+        /** 배치하지 못한 분 */
+        private int remainingMinutes;
+    }
+
+    /**
+     * 배치 최적화 탐색 통계. 목적값 = 배치 분 × 2000 + 선호 시간대 겹침 분.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SolverStats {
+        /** 평가한 배치 후보 수 */
+        private int iterations;
+        /** 최고 해가 갱신된 횟수 */
+        private int improvements;
+        private long elapsedMicros;
+        /** 시간 예산을 다 써서 멈췄는지 (false면 상한 도달로 조기 종료) */
+        private boolean deadlineHit;
+        private long greedyObjective;
+        private long bestObjective;
+        private int placedMinutes;
+        /** 배치된 분 중 루틴 선호 시간대와 겹치는 분 */
+        private int preferredMinutes;
+        /** 요청된 총 분 */
+        private int totalMinutes;
     }
 }
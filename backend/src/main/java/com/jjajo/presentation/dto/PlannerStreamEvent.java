@@ -0,0 +1,45 @@
+package com.jjajo.presentation.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 짜조 플래너 스트리밍(SSE) 이벤트.
+ * SSE 이벤트 이름은 type과 같고, type에 맞는 필드 하나만 채워진다.
+ * - category / summary / plan: 모델 응답에서 해석되는 즉시 (plan은 아직 시간 배치 전)
+ * - result: 마지막 이벤트, /planner-schedule 응답과 같은 배치 결과
+ * - error: 처리 실패 메시지
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlannerStreamEvent {
+
+    public static final String TYPE_CATEGORY = "category";
+    public static final String TYPE_SUMMARY = "summary";
+    public static final String TYPE_PLAN = "plan";
+    public static final String TYPE_RESULT = "result";
+    public static final String TYPE_ERROR = "error";
+
+    private String type;
+    private String category;
+    private String summary;
+    private PlanDraft plan;
+    private PlannerScheduleResponse result;
+    private String message;
+
+    /** 배치 전 플랜 (제목 + 소요 시간) */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlanDraft {
+        private String title;
+        private int durationMinutes;
+        private String note;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jjajo.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 루틴 템플릿 조회 응답: 카테고리별 선호 시간대·세션 최대 길이·기본 휴식.
+ * custom이 false면 기본 템플릿 값.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutineTemplateDto {
+    private String category;
+    private List<String> preferredSlots;
+    private int sessionMaxMinutes;
+    private int breakMinutesDefault;
+    private boolean custom;
+}
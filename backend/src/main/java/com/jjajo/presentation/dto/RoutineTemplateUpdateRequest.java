@@ -0,0 +1,37 @@
+package com.jjajo.presentation.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 루틴 템플릿 수정 요청. preferredSlots 항목은 "HH:mm-HH:mm" (겹치지 않게, 24:00까지)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutineTemplateUpdateRequest {
+
+    @NotEmpty
+    @Size(max = 6)
+    private List<String> preferredSlots;
+
+    @NotNull
+    @Min(10)
+    @Max(240)
+    private Integer sessionMaxMinutes;
+
+    @NotNull
+    @Min(0)
+    @Max(60)
+    private Integer breakMinutesDefault;
+}
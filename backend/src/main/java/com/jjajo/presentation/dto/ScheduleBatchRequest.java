@@ -0,0 +1,20 @@
+package com.jjajo.presentation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일정 일괄 변경 요청. 대화형 수정 응답(EditScheduleResponse)의 operations를 그대로 보낼 수 있다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleBatchRequest {
+
+    @NotEmpty(message = "적용할 연산이 없습니다")
+    private List<EditOperationDto> operations;
+}
@@ -0,0 +1,31 @@
+package com.jjajo.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 일정 일괄 변경 응답 (요청 연산 순서대로 결과 1건씩)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleBatchResponse {
+
+    private List<Result> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private String type; // "add" | "update" | "delete"
+        private String scheduleId;
+        /** add/update 후의 일정. delete면 null */
+        private ScheduleItemResponse schedule;
+    }
+}
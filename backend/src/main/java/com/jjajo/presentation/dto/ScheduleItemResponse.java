@@ -27,4 +27,6 @@ public class ScheduleItemResponse {
     private String createdBy;
     private String createdAt;
     private String updatedAt;
+    /** 주간 반복 규칙에서 펼쳐진 회차면 규칙 id, 일반 일정이면 null */
+    private String recurrenceId;
 }
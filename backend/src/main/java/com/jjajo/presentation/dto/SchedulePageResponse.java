@@ -0,0 +1,23 @@
+package com.jjajo.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 기간 지정 일정 조회 응답 (keyset 페이지)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulePageResponse {
+
+    private List<ScheduleItemResponse> items;
+
+    /** 다음 페이지 조회용 불투명 커서. 마지막 페이지면 null */
+    private String nextCursor;
+}
@@ -0,0 +1,112 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.model.ScheduleConflict;
+import com.jjajo.domain.model.ScheduleRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * sweep-line 전체 충돌 감지(detectAllConflicts)가 기존 O(n²) 방식(일정마다 나머지와 detectConflicts)과
+ * 같은 충돌 쌍·심각도를 내고, 각 쌍은 한 번만 내는지 검증
+ */
+class ConflictDetectionServiceTest {
+
+    private final ConflictDetectionService service = new ConflictDetectionService();
+
+    @Test
+    @DisplayName("무작위 일정 목록에서 sweep-line 결과가 쌍별 비교 결과와 동일")
+    void detectAllConflicts_matchesPairwiseScan_onRandomInputs() {
+        Random random = new Random(20240301L);
+        for (int round = 0; round < 300; round++) {
+            List<ScheduleRequest> schedules = randomSchedules(random, 1 + random.nextInt(60));
+
+            Set<String> expected = pairwise(schedules);
+            List<ScheduleConflict> actual = service.detectAllConflicts(schedules);
+            Set<String> actualKeys = new HashSet<>();
+            for (ScheduleConflict c : actual) {
+                actualKeys.add(key(schedules, c));
+            }
+
+            assertThat(actualKeys).isEqualTo(expected);
+            assertThat(actual).hasSize(actualKeys.size());
+        }
+    }
+
+    @Test
+    @DisplayName("겹침·30분 미만 간격·딱 붙은 일정의 심각도")
+    void detectAllConflicts_severities() {
+        List<ScheduleRequest> schedules = List.of(
+            schedule("A", "2025-03-10", "09:00", "10:00"),
+            schedule("B", "2025-03-10", "09:30", "11:00"),
+            schedule("C", "2025-03-10", "11:20", "12:00"),
+            schedule("D", "2025-03-10", "12:00", "13:00")
+        );
+
+        List<ScheduleConflict> conflicts = service.detectAllConflicts(schedules);
+
+        assertThat(conflicts).extracting(c -> key(schedules, c))
+            .containsExactly("0-1-CRITICAL", "1-2-HIGH");
+    }
+
+    private Set<String> pairwise(List<ScheduleRequest> schedules) {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < schedules.size(); i++) {
+            List<ScheduleRequest> others = new ArrayList<>(schedules);
+            others.remove(i);
+            for (ScheduleConflict c : service.detectConflicts(schedules.get(i), others)) {
+                keys.add(key(schedules, c));
+            }
+        }
+        return keys;
+    }
+
+    private static String key(List<ScheduleRequest> schedules, ScheduleConflict conflict) {
+        int a = indexOf(schedules, conflict.getConflictingSchedules().get(0));
+        int b = indexOf(schedules, conflict.getConflictingSchedules().get(1));
+        return Math.min(a, b) + "-" + Math.max(a, b) + "-" + conflict.getSeverity();
+    }
+
+    private static int indexOf(List<ScheduleRequest> schedules, ScheduleRequest target) {
+        for (int i = 0; i < schedules.size(); i++) {
+            if (schedules.get(i) == target) return i;
+        }
+        throw new AssertionError("unknown schedule");
+    }
+
+    private static List<ScheduleRequest> randomSchedules(Random random, int count) {
+        LocalDate base = LocalDate.of(2025, 3, 10);
+        List<ScheduleRequest> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String date = base.plusDays(random.nextInt(3)).toString();
+            // 5분 단위 시작, 간혹 종료 시각 없음/시작보다 이른 종료도 섞음
+            int start = random.nextInt(24 * 12) * 5;
+            int length = random.nextInt(10) == 0 ? -random.nextInt(120) : random.nextInt(180);
+            int end = Math.max(0, Math.min(start + length, 23 * 60 + 59));
+            String endTime = random.nextInt(20) == 0 ? null : time(end);
+            list.add(schedule("S" + i, date, time(start), endTime));
+        }
+        return list;
+    }
+
+    private static ScheduleRequest schedule(String title, String date, String start, String end) {
+        return ScheduleRequest.builder()
+            .title(title)
+            .date(date)
+            .startTime(start)
+            .endTime(end)
+            .build();
+    }
+
+    private static String time(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
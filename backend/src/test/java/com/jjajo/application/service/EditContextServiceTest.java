@@ -0,0 +1,100 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.RecurringScheduleEntity;
+import com.jjajo.domain.entity.ScheduleEntity;
+import com.jjajo.domain.repository.RecurringScheduleRepository;
+import com.jjajo.domain.repository.ScheduleRepository;
+import com.jjajo.presentation.dto.ScheduleItemForEdit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 대화형 수정 컨텍스트 선택: 토큰 예산 안에서 언급된 날짜·제목 키워드·가까운 날짜 순으로 고르는지.
+ * 클라이언트 목록 경로와, 로그인 사용자의 저장소 경로(일반 일정 + 주간 반복 회차)를 함께 검증
+ */
+class EditContextServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 12); // 수요일
+    private static final String USER = "user-1";
+
+    @Test
+    @DisplayName("키워드: 조사·불용어·숫자 조각을 빼고 제목 검색어만 남김")
+    void keywords_stripParticlesAndStopwords() {
+        assertThat(EditContextService.keywords("내일 알고리즘 스터디를 3시간으로 늘려줘"))
+                .containsExactly("알고리즘", "스터디");
+        assertThat(EditContextService.keywords("오늘 일정 다 취소해줘")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("예산을 넘으면 언급된 날짜·키워드 일치 일정을 먼저 남기고, 클라이언트 #번호는 유지")
+    void select_keepsRelevantWithinBudget() {
+        List<ScheduleItemForEdit> todos = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            todos.add(item(i + 1, "id-" + i, "일정 " + i, TODAY.minusDays(100).plusDays(i).toString()));
+        }
+        todos.add(item(201, "far-meeting", "팀 회의", TODAY.plusDays(40).toString()));
+        todos.add(item(202, "mentioned", "치과", "2025-05-01"));
+
+        EditContextService service = new EditContextService(null, null, new MagicBarRuleParser(0.8), 7, 300, 20);
+        List<ScheduleItemForEdit> selected = service.select(todos, "5월 1일 일정이랑 팀 회의 취소해줘", TODAY, TODAY);
+
+        assertThat(selected).extracting(ScheduleItemForEdit::getId).contains("mentioned", "far-meeting", "id-100");
+        assertThat(selected.size()).isLessThan(todos.size());
+        assertThat(selected.stream().mapToInt(EditContextService::estimateTokens).sum()).isLessThanOrEqualTo(300);
+        assertThat(selected).extracting(ScheduleItemForEdit::getOrder).isSorted();
+        assertThat(selected).filteredOn(t -> "mentioned".equals(t.getId()))
+                .extracting(ScheduleItemForEdit::getOrder).containsExactly(202);
+    }
+
+    @Test
+    @DisplayName("저장소 경로: 기준일 주변 일정과 시간표 회차(ruleId@date)를 함께 고르고 날짜순으로 #번호")
+    void select_fromRepository_includesRecurringOccurrences() {
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        RecurringScheduleRepository recurringScheduleRepository = mock(RecurringScheduleRepository.class);
+        ScheduleEntity dentist = ScheduleEntity.builder()
+                .id("db-1").userId(USER).title("치과").date("2025-03-13").startTime("10:00").endTime("11:00").build();
+        RecurringScheduleEntity lecture = RecurringScheduleEntity.builder()
+                .id("rule-1").userId(USER).title("알고리즘 수업").dayOfWeek(DayOfWeek.WEDNESDAY)
+                .startDate("2025-03-01").endDate("2025-06-30").startTime("09:00").endTime("10:30")
+                .exceptionDates("2025-03-19").build();
+        when(scheduleRepository.findSpanningInto(eq(USER), anyString())).thenReturn(List.of());
+        when(scheduleRepository.findWindow(eq(USER), anyString(), anyString(), any())).thenAnswer(inv ->
+                "2025-03-05".equals(inv.getArgument(1)) ? List.of(dentist) : List.of());
+        when(scheduleRepository.findTitleMatches(eq(USER), anyString(), any())).thenReturn(List.of());
+        when(recurringScheduleRepository.findOverlapping(eq(USER), anyString(), anyString())).thenReturn(List.of(lecture));
+
+        EditContextService service = new EditContextService(scheduleRepository,
+                new RecurringScheduleService(recurringScheduleRepository), new MagicBarRuleParser(0.8), 7, 2000, 20);
+        List<ScheduleItemForEdit> selected = service.select(USER, "4월 16일 알고리즘 수업 취소해줘", TODAY, TODAY);
+
+        // 기준일 ± 7일의 회차(예외 날짜 3/19 제외) + 언급된 날짜 4/16의 회차 + 저장된 일정
+        assertThat(selected).extracting(ScheduleItemForEdit::getId)
+                .containsExactly("rule-1@2025-03-05", "rule-1@2025-03-12", "db-1", "rule-1@2025-04-16");
+        assertThat(selected).extracting(ScheduleItemForEdit::getOrder).containsExactly(1, 2, 3, 4);
+        assertThat(selected.get(3).getTitle()).isEqualTo("알고리즘 수업");
+        assertThat(selected.get(3).getStartTime()).isEqualTo("09:00");
+    }
+
+    private static ScheduleItemForEdit item(int order, String id, String title, String date) {
+        return ScheduleItemForEdit.builder()
+                .order(order)
+                .id(id)
+                .title(title)
+                .date(date)
+                .startTime("09:00")
+                .endTime("10:00")
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.RecurringScheduleEntity;
+import com.jjajo.domain.entity.ScheduleEntity;
+import com.jjajo.domain.model.DayOccupancy;
+import com.jjajo.domain.repository.RecurringScheduleRepository;
+import com.jjajo.domain.repository.ScheduleRepository;
+import com.jjajo.presentation.dto.PlannerScheduleRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 저장된 일정 기준 빈 시간 계산: 클라이언트 슬롯 교집합, 식사 시간 제외,
+ * 기간 조회(occupancy(from, to))가 날짜별 조회와 같은 결과인지 (여러 날 일정·반복 회차·자정 넘김·종일 일정 포함).
+ * 저장소는 쿼리 조건대로 거르는 메모리 목록으로 대신한다.
+ */
+class FreeBusyServiceTest {
+
+    private static final String USER = "user-1";
+    private static final LocalDate BASE = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @DisplayName("클라이언트 슬롯을 저장된 점유 상태로 자르고 minMinutes 미만은 버림")
+    void intersectWithFree_cutsBusyTimeAndShortPieces() {
+        DayOccupancy day = new DayOccupancy();
+        day.markBusy(10 * 60, 11 * 60);
+        day.markBusy(11 * 60 + 55, 13 * 60);
+
+        List<PlannerScheduleRequest.TimeSlotDto> slots = FreeBusyService.intersectWithFree(day, List.of(
+                slot("09:00", "12:00"),
+                slot("14:00", "14:05"),
+                slot("23:00", "24:00")), 10);
+
+        assertThat(slots).extracting(s -> s.getStart() + "-" + s.getEnd())
+                .containsExactly("09:00-10:00", "11:00-11:55", "23:00-24:00");
+    }
+
+    @Test
+    @DisplayName("식사 시간 제외·fromMinute 이후만")
+    void freeSlots_excludesMealsAndPastMinutes() {
+        FreeBusyService service = service(List.of(
+                entity("e1", BASE.toString(), null, "14:00", "15:30")), List.of());
+
+        assertThat(service.freeSlots(USER, BASE, 10, 7 * 60 + 30, true))
+                .extracting(s -> s.getStart() + "-" + s.getEnd())
+                .containsExactly("07:30-08:00", "09:00-12:00", "13:00-14:00", "15:30-18:00", "19:00-24:00");
+        assertThat(service.freeSlots(USER, BASE, 10, 0, false))
+                .extracting(s -> s.getStart() + "-" + s.getEnd())
+                .containsExactly("00:00-14:00", "15:30-24:00");
+    }
+
+    @Test
+    @DisplayName("기간 조회가 날짜마다 occupancy(userId, date)를 부른 것과 같음")
+    void rangeOccupancy_matchesPerDayOccupancy() {
+        Random random = new Random(20250310L);
+        for (int round = 0; round < 50; round++) {
+            List<ScheduleEntity> stored = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                LocalDate date = BASE.plusDays(random.nextInt(20) - 5);
+                String endDate = random.nextInt(4) == 0 ? date.plusDays(1 + random.nextInt(6)).toString() : null;
+                int start = random.nextInt(24 * 12) * 5;
+                int end = random.nextInt(8) == 0 ? start - random.nextInt(120) : start + random.nextInt(240);
+                boolean allDay = random.nextInt(10) == 0;
+                stored.add(entity("e" + i, date.toString(), endDate,
+                        allDay ? null : time(start), allDay ? null : time(Math.max(0, Math.min(end, 24 * 60)))));
+            }
+            List<RecurringScheduleEntity> rules = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                int start = (6 + random.nextInt(14)) * 60;
+                rules.add(RecurringScheduleEntity.builder()
+                        .id("rule-" + i).userId(USER).title("수업 " + i)
+                        .dayOfWeek(DayOfWeek.of(1 + random.nextInt(7)))
+                        .startDate(BASE.minusDays(random.nextInt(10)).toString())
+                        .endDate(BASE.plusDays(random.nextInt(20)).toString())
+                        .startTime(time(start)).endTime(time(start + 90))
+                        .exceptionDates(BASE.plusDays(random.nextInt(14)).toString())
+                        .build());
+            }
+            FreeBusyService service = service(stored, rules);
+            LocalDate from = BASE.plusDays(random.nextInt(5));
+            LocalDate to = from.plusDays(random.nextInt(14));
+
+            Map<LocalDate, DayOccupancy> range = service.occupancy(USER, from, to);
+
+            assertThat(range.keySet()).first().isEqualTo(from);
+            assertThat(range).hasSize((int) (to.toEpochDay() - from.toEpochDay()) + 1);
+            range.forEach((date, day) -> assertThat(day.freeRanges(0, DayOccupancy.MINUTES_PER_DAY, 1))
+                    .as("%s", date)
+                    .containsExactly(service.occupancy(USER, date).freeRanges(0, DayOccupancy.MINUTES_PER_DAY, 1)));
+        }
+    }
+
+    /** ScheduleRepository·RecurringScheduleRepository 쿼리 조건을 메모리 목록에 그대로 적용 */
+    private static FreeBusyService service(List<ScheduleEntity> stored, List<RecurringScheduleEntity> rules) {
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findSpanningInto(eq(USER), anyString())).thenAnswer(inv -> {
+            String from = inv.getArgument(1);
+            return stored.stream()
+                    .filter(e -> e.getEndDate() != null && e.getEndDate().compareTo(from) >= 0 && e.getDate().compareTo(from) < 0)
+                    .toList();
+        });
+        when(scheduleRepository.findWindow(eq(USER), anyString(), anyString(), any())).thenAnswer(inv -> {
+            String from = inv.getArgument(1);
+            String to = inv.getArgument(2);
+            return stored.stream()
+                    .filter(e -> e.getDate().compareTo(from) >= 0 && e.getDate().compareTo(to) <= 0)
+                    .toList();
+        });
+        RecurringScheduleRepository recurringScheduleRepository = mock(RecurringScheduleRepository.class);
+        when(recurringScheduleRepository.findOverlapping(eq(USER), anyString(), anyString())).thenAnswer(inv -> {
+            String from = inv.getArgument(1);
+            String to = inv.getArgument(2);
+            return rules.stream()
+                    .filter(r -> r.getStartDate().compareTo(to) <= 0 && r.getEndDate().compareTo(from) >= 0)
+                    .toList();
+        });
+        return new FreeBusyService(scheduleRepository, new RecurringScheduleService(recurringScheduleRepository));
+    }
+
+    private static ScheduleEntity entity(String id, String date, String endDate, String startTime, String endTime) {
+        return ScheduleEntity.builder()
+                .id(id).userId(USER).title(id)
+                .date(date).endDate(endDate)
+                .startTime(startTime).endTime(endTime)
+                .build();
+    }
+
+    private static PlannerScheduleRequest.TimeSlotDto slot(String start, String end) {
+        return new PlannerScheduleRequest.TimeSlotDto(start, end);
+    }
+
+    private static String time(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
+    }
+}
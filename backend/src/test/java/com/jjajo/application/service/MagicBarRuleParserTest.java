@@ -0,0 +1,107 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.model.ScheduleRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 라벨 코퍼스(magic-bar-corpus.tsv)로 규칙 파서의 커버리지·정확도 측정.
+ * - 정확도: 로컬에서 답한 입력은 모두 라벨과 같아야 함 (틀린 일정보다 Gemini 호출이 낫다)
+ * - 커버리지: 로컬 처리 라벨이 붙은 입력 중 로컬에서 답한 비율
+ * - 애매한 입력(라벨 "-")은 반드시 Gemini로 넘김
+ */
+class MagicBarRuleParserTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 12);
+    private static final double MIN_COVERAGE = 0.9;
+
+    private final MagicBarRuleParser parser = new MagicBarRuleParser(0.8);
+
+    @Test
+    @DisplayName("코퍼스: 로컬 답변은 모두 정확하고, 커버리지 기준 이상이며, 애매한 입력은 넘김")
+    void corpus_accuracyAndCoverage() throws IOException {
+        List<String[]> corpus = loadCorpus();
+        int labeled = 0;
+        int answered = 0;
+        int correct = 0;
+        List<String> wrong = new ArrayList<>();
+        List<String> leaked = new ArrayList<>();
+
+        for (String[] row : corpus) {
+            String input = row[0];
+            String expected = row[1];
+            Optional<ScheduleRequest> result = parser.tryParse(input, TODAY);
+            if ("-".equals(expected)) {
+                result.ifPresent(r -> leaked.add(input + " → " + describe(r)));
+                continue;
+            }
+            labeled++;
+            if (result.isPresent()) {
+                answered++;
+                if (describe(result.get()).equals(expected)) {
+                    correct++;
+                } else {
+                    wrong.add(input + " → " + describe(result.get()) + " (기대: " + expected + ")");
+                }
+            }
+        }
+
+        double coverage = (double) answered / labeled;
+        double accuracy = answered == 0 ? 1.0 : (double) correct / answered;
+
+        assertThat(wrong).as("정확도 %.1f%% (%d/%d)", accuracy * 100, correct, answered).isEmpty();
+        assertThat(leaked).isEmpty();
+        assertThat(coverage).as("커버리지 %.1f%% (%d/%d)", coverage * 100, answered, labeled)
+                .isGreaterThanOrEqualTo(MIN_COVERAGE);
+    }
+
+    @Test
+    @DisplayName("주 단위 요일: 접두어 없으면 오늘 포함 가장 가까운 요일, 다음주는 월요일 시작 주 기준")
+    void weekday_resolution() {
+        assertThat(MagicBarRuleParser.weekday(TODAY, null, DayOfWeek.WEDNESDAY)).isEqualTo(TODAY);
+        assertThat(MagicBarRuleParser.weekday(TODAY, null, DayOfWeek.MONDAY)).isEqualTo("2025-03-17");
+        assertThat(MagicBarRuleParser.weekday(TODAY, "이번주", DayOfWeek.MONDAY)).isEqualTo("2025-03-10");
+        assertThat(MagicBarRuleParser.weekday(TODAY, "다음 주", DayOfWeek.SUNDAY)).isEqualTo("2025-03-23");
+    }
+
+    @Test
+    @DisplayName("신뢰도: 날짜·오전/오후·소요 시간이 모두 빠지면 기준 미만")
+    void confidence_dropsWithMissingFields() {
+        assertThat(parser.parse("내일 오후 3시부터 2시간 회의", TODAY).confidence()).isEqualTo(1.0);
+        assertThat(parser.parse("3시 회의", TODAY).confidence()).isLessThan(0.8);
+        assertThat(parser.parse("회의", TODAY).request()).isNull();
+    }
+
+    private static String describe(ScheduleRequest r) {
+        return r.getDate() + " " + r.getStartTime() + " " + r.getEndTime() + " " + r.getTitle();
+    }
+
+    private static List<String[]> loadCorpus() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (InputStream in = MagicBarRuleParserTest.class.getResourceAsStream("/magic-bar-corpus.tsv")) {
+            assertThat(in).isNotNull();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                rows.add(line.split("\t", 2));
+            }
+        }
+        return rows;
+    }
+}
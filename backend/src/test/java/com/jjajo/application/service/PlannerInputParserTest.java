@@ -0,0 +1,78 @@
+package com.jjajo.application.service;
+
+import com.jjajo.infrastructure.gemini.GeminiChatAdapter.CategoryAndPlans;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 짜조 플래너 로컬 해석: 이 파서가 답하면 Gemini를 부르지 않으므로, 애매한 입력은 반드시 empty로 넘겨야 한다.
+ */
+class PlannerInputParserTest {
+
+    private final PlannerInputParser parser = new PlannerInputParser();
+
+    @ParameterizedTest(name = "{0} → {1} {2}분")
+    @DisplayName("제목 + 시간 형식은 로컬에서 해석")
+    @CsvSource(delimiter = '|', value = {
+            "공부 90            | 공부     | 90",
+            "헬스 45분          | 헬스     | 45",
+            "알고리즘 1시간 반  | 알고리즘 | 90",
+            "독서 1.5시간       | 독서     | 90",
+            "백엔드 2시간 10분  | 백엔드   | 130",
+    })
+    void accepted(String input, String title, int minutes) {
+        Optional<CategoryAndPlans> result = parser.parse(input);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().plans()).singleElement().satisfies(p -> {
+            assertThat(p.title()).isEqualTo(title);
+            assertThat(p.durationMinutes()).isEqualTo(minutes);
+        });
+    }
+
+    @ParameterizedTest
+    @DisplayName("단위 없는 10 미만·시간 표현이 겹친 제목·자유 문장·시각은 Gemini로 넘김")
+    @ValueSource(strings = {
+            "공부 5",
+            "공부 2시간 하고 운동 1시간",
+            "알고리즘 문제 3시간 하고 그다음에 백엔드 작업 3시간 할 거야",
+            "오늘 열심히 공부할 거야",
+            "회의 15:30",
+            "15:30 회의 60",
+            "공부 90, 회의 9:00",
+    })
+    void rejected(String input) {
+        assertThat(parser.parse(input)).isEmpty();
+    }
+
+    @ParameterizedTest(name = "{0} → {1}분")
+    @DisplayName("소요 시간은 10~240분으로 보정")
+    @CsvSource(delimiter = '|', value = {
+            "낮잠 5분    | 10",
+            "공부 300    | 240",
+            "공부 5시간  | 240",
+    })
+    void clamped(String input, int minutes) {
+        assertThat(parser.parse(input)).get()
+                .satisfies(r -> assertThat(r.plans().get(0).durationMinutes()).isEqualTo(minutes));
+    }
+
+    @ParameterizedTest(name = "{0} → {1}")
+    @DisplayName("전체 카테고리는 총 시간이 가장 긴 카테고리, 분류된 플랜이 없으면 default")
+    @CsvSource(delimiter = '|', value = {
+            "회의 30, 공부 90, 헬스 45   | study",
+            "회의 120 / 공부 90          | work",
+            "헬스 30; 요가 40; 독서 60   | workout",
+            "장보기 20, 빨래 30          | default",
+    })
+    void overallCategory(String input, String category) {
+        assertThat(parser.parse(input)).get()
+                .satisfies(r -> assertThat(r.category()).isEqualTo(category));
+    }
+}
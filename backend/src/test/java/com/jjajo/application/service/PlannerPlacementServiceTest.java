@@ -1,15 +1,25 @@
 package com.jjajo.application.service;
 
+import com.jjajo.domain.model.RoutineTemplates;
 import com.jjajo.presentation.dto.PlannerScheduleRequest;
+import com.jjajo.presentation.dto.PlannerScheduleResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
 /**
- * 500 원인 재현: planner-schedule과 동일한 형태로 placePlans 호출
+ * 500 원인 재현: planner-schedule과 동일한 형태로 placePlans 호출.
+ * 정수 배열 기반 배치가 기존 리스트·문자열 기반 알고리즘(LegacyPlacement)과 같은 결과를 내는지 차분 검증.
  */
 class PlannerPlacementServiceTest {
 
@@ -39,6 +49,210 @@ class PlannerPlacementServiceTest {
             var result = service.placePlans("study", plans, slots, currentTimeMinutes, true, blockMaxMinutes, breakMinutesDefault);
             assert result != null;
         }).doesNotThrowAnyException();
+        assertThat(describe(service.placePlans("study", plans, slots, currentTimeMinutes, true, blockMaxMinutes, breakMinutesDefault)))
+                .isEqualTo(describe(LegacyPlacement.placePlans("study", plans, slots, currentTimeMinutes, blockMaxMinutes, breakMinutesDefault)));
+    }
+
+    @Test
+    @DisplayName("무작위 슬롯(인접·겹침·역순 포함)·플랜에서 기존 알고리즘과 결과 동일")
+    void placePlans_matchesLegacyAlgorithm_onRandomInputs() {
+        Random random = new Random(20250312L);
+        String[] categories = {"study", "workout", "work", "rest", "default", "coding", null};
+        for (int round = 0; round < 2000; round++) {
+            List<PlannerScheduleRequest.TimeSlotDto> slots = new ArrayList<>();
+            int slotCount = 1 + random.nextInt(6);
+            for (int i = 0; i < slotCount; i++) {
+                int start = random.nextInt(24 * 60 - 10);
+                int end = start + 1 + random.nextInt(Math.min(300, 24 * 60 - start));
+                slots.add(timeSlot(hhmm(start), hhmm(end)));
+            }
+            List<PlannerPlacementService.PlanWithDuration> plans = new ArrayList<>();
+            int planCount = 1 + random.nextInt(7);
+            for (int i = 0; i < planCount; i++) {
+                Integer breakAfter = random.nextBoolean() ? null : random.nextInt(31);
+                plans.add(new PlannerPlacementService.PlanWithDuration(
+                        "plan" + i, 5 + random.nextInt(300), breakAfter, random.nextBoolean() ? "note" + i : null,
+                        categories[random.nextInt(categories.length)]));
+            }
+            String category = categories[random.nextInt(categories.length)];
+            int currentTime = random.nextInt(4) == 0 ? random.nextInt(24 * 60) : 0;
+            Integer blockMax = random.nextBoolean() ? null : random.nextInt(150);
+            Integer breakDefault = random.nextBoolean() ? null : random.nextInt(20);
+
+            assertThat(describe(service.placePlans(category, plans, slots, currentTime, true, blockMax, breakDefault)))
+                    .as("round %d", round)
+                    .isEqualTo(describe(LegacyPlacement.placePlans(category, plans, slots, currentTime, blockMax, breakDefault)));
+        }
+    }
+
+    @Test
+    @DisplayName("여러 날 배치: 하루 상한 안에서 날짜별로 나눠 배치하고, 남는 분을 보고")
+    void placeAcrossDays_spreadsPlansAndReportsRemainder() {
+        LocalDate monday = LocalDate.of(2025, 3, 10);
+        List<PlannerPlacementService.DaySlots> days = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            days.add(new PlannerPlacementService.DaySlots(monday.plusDays(i), List.of(timeSlot("09:00", "12:00"), timeSlot("14:00", "18:00")), 0));
+        }
+        List<PlannerPlacementService.PlanWithDuration> plans = List.of(
+                new PlannerPlacementService.PlanWithDuration("알고리즘", 240, 10, null, "study"),
+                new PlannerPlacementService.PlanWithDuration("헬스", 60, 0, null, "workout"),
+                new PlannerPlacementService.PlanWithDuration("논문 읽기", 2000, 10, null, "study"));
+
+        var placement = service.placeAcrossDays("study", plans, days, 90, null, 240);
+
+        Map<String, Integer> minutesByDay = new HashMap<>();
+        for (var item : placement.plans()) {
+            minutesByDay.merge(item.getDate(), minutes(item.getEnd()) - minutes(item.getStart()), Integer::sum);
+        }
+        assertThat(minutesByDay.keySet()).hasSize(5);
+        assertThat(minutesByDay.values()).allMatch(m -> m <= 240);
+        assertThat(placement.plans()).filteredOn(p -> p.getTitle().startsWith("알고리즘")).hasSize(3);
+        assertThat(placement.plans()).filteredOn(p -> p.getTitle().startsWith("헬스")).hasSize(1);
+        int paperMinutes = placement.plans().stream()
+                .filter(p -> p.getTitle().startsWith("논문 읽기"))
+                .mapToInt(p -> minutes(p.getEnd()) - minutes(p.getStart()))
+                .sum();
+        assertThat(placement.unplaced()).hasSize(1);
+        assertThat(placement.unplaced().get(0).getTitle()).isEqualTo("논문 읽기");
+        assertThat(placement.unplaced().get(0).getRemainingMinutes()).isEqualTo(2000 - paperMinutes);
+    }
+
+    @Test
+    @DisplayName("여러 날 배치 무작위: 슬롯 안·겹침 없음·하루 상한·배치+미배치 = 전체 분")
+    void placeAcrossDays_invariants_onRandomInputs() {
+        Random random = new Random(20250310L);
+        LocalDate from = LocalDate.of(2025, 3, 10);
+        for (int round = 0; round < 500; round++) {
+            int dayCount = 1 + random.nextInt(7);
+            List<PlannerPlacementService.DaySlots> days = new ArrayList<>();
+            for (int d = 0; d < dayCount; d++) {
+                List<PlannerScheduleRequest.TimeSlotDto> slots = new ArrayList<>();
+                int t = random.nextInt(600);
+                while (t < 24 * 60 - 20 && slots.size() < 4) {
+                    int end = Math.min(24 * 60, t + 20 + random.nextInt(240));
+                    slots.add(timeSlot(hhmm(t), hhmm(end)));
+                    t = end + random.nextInt(120);
+                }
+                days.add(new PlannerPlacementService.DaySlots(from.plusDays(d), slots, d == 0 ? random.nextInt(600) : 0));
+            }
+            List<PlannerPlacementService.PlanWithDuration> plans = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(6); i++) {
+                plans.add(new PlannerPlacementService.PlanWithDuration(
+                        "plan" + i, 10 + random.nextInt(470), random.nextInt(20), null, random.nextBoolean() ? "study" : "workout"));
+            }
+            int dailyMax = 60 + random.nextInt(480);
+
+            var placement = service.placeAcrossDays("default", plans, days, random.nextBoolean() ? null : 30 + random.nextInt(120), null, dailyMax);
+
+            Map<String, List<int[]>> byDay = new HashMap<>();
+            Map<String, Integer> minutesByPlan = new HashMap<>();
+            for (var item : placement.plans()) {
+                int s = minutes(item.getStart());
+                int e = minutes(item.getEnd());
+                byDay.computeIfAbsent(item.getDate(), k -> new ArrayList<>()).add(new int[]{s, e});
+                minutesByPlan.merge(item.getTitle().replaceAll(" \\(\\d+/\\d+\\)$", ""), e - s, Integer::sum);
+                var day = days.stream().filter(d -> d.date().toString().equals(item.getDate())).findFirst().orElseThrow();
+                assertThat(day.slots().stream().anyMatch(slot ->
+                        minutes(slot.getStart()) <= s && e <= minutes(slot.getEnd()) && s >= day.currentTimeMinutes()))
+                        .as("round %d: %s 슬롯 안", round, item.getTitle()).isTrue();
+            }
+            for (List<int[]> items : byDay.values()) {
+                items.sort(Comparator.comparingInt(x -> x[0]));
+                int total = 0;
+                for (int i = 0; i < items.size(); i++) {
+                    total += items.get(i)[1] - items.get(i)[0];
+                    if (i > 0) assertThat(items.get(i)[0] >= items.get(i - 1)[1]).as("round %d: 겹침", round).isTrue();
+                }
+                assertThat(total <= dailyMax).as("round %d: 하루 상한", round).isTrue();
+            }
+            for (var unplaced : placement.unplaced()) {
+                minutesByPlan.merge(unplaced.getTitle(), unplaced.getRemainingMinutes(), Integer::sum);
+            }
+            for (var plan : plans) {
+                assertThat(minutesByPlan.getOrDefault(plan.title(), 0)).as("round %d: %s 분 합계", round, plan.title())
+                        .isEqualTo(plan.durationMinutes());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("최적화 모드 무작위: 그리디보다 나쁘지 않고, 슬롯 안·겹침 없음·배치+미배치 = 전체 분")
+    void optimize_neverWorseThanGreedy_onRandomInputs() {
+        Random random = new Random(20250314L);
+        for (int round = 0; round < 300; round++) {
+            List<PlannerScheduleRequest.TimeSlotDto> slots = new ArrayList<>();
+            int t = random.nextInt(600);
+            while (t < 24 * 60 - 20 && slots.size() < 5) {
+                int end = Math.min(24 * 60, t + 20 + random.nextInt(200));
+                slots.add(timeSlot(hhmm(t), hhmm(end)));
+                t = end + random.nextInt(120);
+            }
+            List<PlannerPlacementService.PlanWithDuration> plans = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(6); i++) {
+                plans.add(new PlannerPlacementService.PlanWithDuration(
+                        "plan" + i, 10 + random.nextInt(200), random.nextInt(20), null, random.nextBoolean() ? "study" : "workout"));
+            }
+            Integer blockMax = random.nextBoolean() ? null : 30 + random.nextInt(90);
+
+            var greedy = service.place("default", plans, slots, 0, blockMax, null);
+            var optimized = service.optimize("default", plans, slots, 0, blockMax, null, RoutineTemplates.DEFAULTS, 5_000_000L);
+            var stats = optimized.solverStats();
+
+            int greedyMinutes = greedy.plans().stream().mapToInt(p -> minutes(p.getEnd()) - minutes(p.getStart())).sum();
+            assertThat(stats.getGreedyObjective() / 2000).as("round %d: 그리디 기준", round).isEqualTo(greedyMinutes);
+            assertThat(stats.getBestObjective() >= stats.getGreedyObjective()).as("round %d: 그리디 이상", round).isTrue();
+
+            List<int[]> items = new ArrayList<>();
+            Map<String, Integer> minutesByPlan = new HashMap<>();
+            for (var item : optimized.plans()) {
+                int s = minutes(item.getStart());
+                int e = minutes(item.getEnd());
+                items.add(new int[]{s, e});
+                minutesByPlan.merge(item.getTitle().replaceAll(" \\(\\d+/\\d+\\)$", ""), e - s, Integer::sum);
+                assertThat(slots.stream().anyMatch(slot -> minutes(slot.getStart()) <= s && e <= minutes(slot.getEnd())))
+                        .as("round %d: %s 슬롯 안", round, item.getTitle()).isTrue();
+            }
+            for (int i = 1; i < items.size(); i++) {
+                assertThat(items.get(i)[0] >= items.get(i - 1)[1]).as("round %d: 시작 순·겹침 없음", round).isTrue();
+            }
+            assertThat(items.stream().mapToInt(x -> x[1] - x[0]).sum()).isEqualTo(stats.getPlacedMinutes());
+            for (var unplaced : optimized.unplaced()) {
+                minutesByPlan.merge(unplaced.getTitle(), unplaced.getRemainingMinutes(), Integer::sum);
+            }
+            for (var plan : plans) {
+                assertThat(minutesByPlan.getOrDefault(plan.title(), 0)).as("round %d: %s 분 합계", round, plan.title())
+                        .isEqualTo(Math.min(plan.durationMinutes(), 480));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("사용자 루틴: 저녁 선호 시간대로 바꾸면 같은 입력이 저녁 슬롯에 배치")
+    void place_usesUserRoutineOverrides() {
+        List<PlannerScheduleRequest.TimeSlotDto> slots = List.of(timeSlot("09:00", "12:00"), timeSlot("20:00", "24:00"));
+        List<PlannerPlacementService.PlanWithDuration> plans = List.of(new PlannerPlacementService.PlanWithDuration("알고리즘", 90));
+        var nightOwl = new RoutineTemplates.RoutineSet(Map.of("study", RoutineTemplates.compile(
+                new RoutineTemplates.RoutineTemplate(List.of("21:00-24:00"), 120, 10))));
+
+        var byDefault = service.place("study", plans, slots, 0, null, null, RoutineTemplates.DEFAULTS);
+        var custom = service.place("study", plans, slots, 0, null, null, nightOwl);
+
+        assertThat(byDefault.plans().get(0).getStart()).isEqualTo("09:00");
+        assertThat(custom.plans().get(0).getStart()).isEqualTo("20:00");
+        assertThat(nightOwl.get("workout").preferredRanges()).isEqualTo(RoutineTemplates.DEFAULTS.get("workout").preferredRanges());
+    }
+
+    private static int minutes(String hhmm) {
+        String[] p = hhmm.split(":");
+        return Integer.parseInt(p[0]) * 60 + Integer.parseInt(p[1]);
+    }
+
+    private static List<String> describe(List<PlannerScheduleResponse.PlanItem> items) {
+        return items.stream().map(p -> p.getTitle() + "|" + p.getStart() + "|" + p.getEnd() + "|" + p.getNote()).toList();
+    }
+
+    private static String hhmm(int minutes) {
+        return String.format("%02d:%02d", minutes / 60, minutes % 60);
     }
 
     private static PlannerScheduleRequest.TimeSlotDto timeSlot(String start, String end) {
@@ -47,4 +261,128 @@ class PlannerPlacementServiceTest {
         dto.setEnd(end);
         return dto;
     }
+
+    /** 정수 배열 기반으로 바꾸기 전의 배치 알고리즘 (차분 검증 기준) */
+    private static final class LegacyPlacement {
+
+        static List<PlannerScheduleResponse.PlanItem> placePlans(
+                String category,
+                List<PlannerPlacementService.PlanWithDuration> plans,
+                List<PlannerScheduleRequest.TimeSlotDto> availableSlots,
+                int currentTimeMinutes,
+                Integer blockMaxMinutes,
+                Integer breakMinutesDefault) {
+            var slots = toSlotList(availableSlots, currentTimeMinutes);
+            if (slots.isEmpty()) return List.of();
+
+            List<PlannerScheduleResponse.PlanItem> result = new ArrayList<>();
+            for (var plan : plans) {
+                String effectiveCategory = (plan.category() != null && !plan.category().isBlank()) ? plan.category() : category;
+                var routine = RoutineTemplates.get(effectiveCategory);
+                var preferredRanges = parsePreferredRanges(routine.preferredSlots());
+                int totalDuration = Math.min(Math.max(plan.durationMinutes(), 10), 480);
+                int maxBlock = routine.sessionMaxMinutes();
+                if (blockMaxMinutes != null && blockMaxMinutes > 0) {
+                    maxBlock = Math.min(maxBlock, blockMaxMinutes);
+                }
+                maxBlock = Math.max(maxBlock, 10);
+                Integer breakAfter = plan.breakMinutesAfter();
+                int defaultBreak = breakMinutesDefault != null && breakMinutesDefault >= 0
+                        ? breakMinutesDefault
+                        : routine.breakMinutesDefault();
+                int breakMin = Math.max(0, breakAfter == null ? defaultBreak : breakAfter);
+
+                int remaining = totalDuration;
+                int segmentIndex = 1;
+                int segmentCount = (int) Math.ceil((double) totalDuration / maxBlock);
+                while (remaining > 0 && !slots.isEmpty()) {
+                    int chunk = Math.min(remaining, maxBlock);
+                    var placed = placeOne(slots, preferredRanges, plan.title(), chunk);
+                    if (placed == null) break;
+                    String title = segmentCount > 1 ? plan.title() + " (" + segmentIndex + "/" + segmentCount + ")" : plan.title();
+                    result.add(new PlannerScheduleResponse.PlanItem(title, placed.getStart(), placed.getEnd(), plan.note()));
+                    consumeSlot(slots, placed, breakMin);
+                    remaining -= chunk;
+                    segmentIndex++;
+                }
+            }
+            return result;
+        }
+
+        private static int timeToMinutes(String time) {
+            String[] p = time.split(":");
+            return Integer.parseInt(p[0].trim()) * 60 + (p.length > 1 ? Integer.parseInt(p[1].trim()) : 0);
+        }
+
+        private static String minutesToTime(int total) {
+            return String.format("%02d:%02d", total / 60, total % 60);
+        }
+
+        private static List<int[]> parsePreferredRanges(List<String> preferredSlots) {
+            List<int[]> out = new ArrayList<>();
+            for (String s : preferredSlots) {
+                String[] parts = s.split("-");
+                int start = timeToMinutes(parts[0].trim());
+                int end = timeToMinutes(parts[1].trim());
+                if (end > start) out.add(new int[]{start, end});
+            }
+            return out;
+        }
+
+        private static List<int[]> toSlotList(List<PlannerScheduleRequest.TimeSlotDto> dtos, int currentTimeMinutes) {
+            List<int[]> list = new ArrayList<>();
+            for (var d : dtos) {
+                int s = timeToMinutes(d.getStart());
+                int e = timeToMinutes(d.getEnd());
+                if (e <= s) continue;
+                if (s < currentTimeMinutes) {
+                    s = currentTimeMinutes;
+                    if (e <= s) continue;
+                }
+                list.add(new int[]{s, e});
+            }
+            return list;
+        }
+
+        private static double scoreSlot(int[] slot, List<int[]> preferredRanges) {
+            double score = 0;
+            for (int[] pr : preferredRanges) {
+                int overlapStart = Math.max(slot[0], pr[0]);
+                int overlapEnd = Math.min(slot[1], pr[1]);
+                if (overlapEnd > overlapStart) score += (overlapEnd - overlapStart);
+            }
+            if (score > 0) return score;
+            int minDist = Integer.MAX_VALUE;
+            for (int[] pr : preferredRanges) {
+                minDist = Math.min(minDist, Math.min(Math.abs(slot[0] - pr[1]), Math.abs(slot[1] - pr[0])));
+            }
+            return -minDist;
+        }
+
+        private static PlannerScheduleResponse.PlanItem placeOne(List<int[]> slots, List<int[]> preferredRanges, String title, int durationMinutes) {
+            var sorted = slots.stream()
+                    .filter(s -> s[1] - s[0] >= durationMinutes)
+                    .sorted(Comparator.comparingDouble((int[] s) -> -scoreSlot(s, preferredRanges)).thenComparingInt(s -> s[0]))
+                    .toList();
+            if (sorted.isEmpty()) return null;
+            int[] best = sorted.get(0);
+            return new PlannerScheduleResponse.PlanItem(title, minutesToTime(best[0]), minutesToTime(best[0] + durationMinutes), null);
+        }
+
+        private static void consumeSlot(List<int[]> slots, PlannerScheduleResponse.PlanItem placed, int reserveMinutesAfter) {
+            int start = timeToMinutes(placed.getStart());
+            int end = timeToMinutes(placed.getEnd());
+            int nextAvailable = end + Math.max(0, reserveMinutesAfter);
+            for (int i = 0; i < slots.size(); i++) {
+                int[] s = slots.get(i);
+                if (s[0] <= start && s[1] >= end) {
+                    slots.remove(i);
+                    boolean addedBefore = start - s[0] >= 10;
+                    if (addedBefore) slots.add(i, new int[]{s[0], start});
+                    if (s[1] - nextAvailable >= 10) slots.add(addedBefore ? i + 1 : i, new int[]{nextAvailable, s[1]});
+                    return;
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,144 @@
+package com.jjajo.application.service;
+
+import com.jjajo.domain.entity.RecurringScheduleEntity;
+import com.jjajo.domain.entity.ScheduleEntity;
+import com.jjajo.domain.repository.RecurringScheduleRepository;
+import com.jjajo.domain.repository.ScheduleRepository;
+import com.jjajo.presentation.dto.ScheduleItemResponse;
+import com.jjajo.presentation.dto.SchedulePageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 기간 조회 keyset 페이지: 일반 일정과 반복 회차(ruleId@date)가 같은 날짜·시작 시각에 섞여 있어도
+ * 페이지를 이어 붙인 결과가 전체 목록(ITEM_ORDER)과 같은지. 저장소는 id를 Java와 다른 순서로 정렬하는
+ * DB 정렬 규칙(collation)을 흉내 낸다.
+ */
+class ScheduleServiceTest {
+
+    private static final String USER = "user-1";
+    private static final String FROM = "2025-03-10";
+    private static final String TO = "2025-03-16";
+
+    /** Java 문자열 순서와 다른 DB의 id 정렬 (역순) */
+    private static final Comparator<ScheduleEntity> DB_ORDER = Comparator
+            .comparing(ScheduleEntity::getDate)
+            .thenComparing(ScheduleServiceTest::startKey)
+            .thenComparing(ScheduleEntity::getId, Comparator.reverseOrder());
+
+    @Test
+    @DisplayName("어떤 페이지 크기로 넘겨도 일반 일정·반복 회차가 빠지거나 겹치지 않음")
+    void listWindow_pagesThroughRowsAndOccurrences_withoutGapsOrRepeats() {
+        List<ScheduleEntity> stored = List.of(
+                entity("A1", "2025-03-10", "09:00"),
+                entity("b2", "2025-03-10", "09:00"),
+                entity("B3", "2025-03-10", "09:00"),
+                entity("a-4", "2025-03-10", "09:00"),
+                entity("z5", "2025-03-10", null),
+                entity("Z6", "2025-03-12", "14:00"),
+                entity("c7", "2025-03-12", "14:00"),
+                entity("out", "2025-03-20", "09:00"));
+        List<RecurringScheduleEntity> rules = List.of(
+                rule("rule-1", DayOfWeek.MONDAY, "09:00"),
+                rule("Rule-2", DayOfWeek.WEDNESDAY, "14:00"),
+                rule("rule-3", DayOfWeek.MONDAY, null));
+        ScheduleService service = service(stored, rules);
+
+        List<String> expected = Stream.concat(
+                        stored.stream().filter(e -> e.getDate().compareTo(TO) <= 0).map(e -> item(e.getId(), e.getDate(), e.getStartTime())),
+                        new RecurringScheduleService(recurringRepository(rules))
+                                .expandWindow(USER, LocalDate.parse(FROM), LocalDate.parse(TO)).stream())
+                .sorted(RecurringScheduleService.ITEM_ORDER)
+                .map(ScheduleItemResponse::getId)
+                .toList();
+        assertThat(expected).contains("rule-1@2025-03-10", "Rule-2@2025-03-12", "rule-3@2025-03-10");
+
+        for (int pageSize = 1; pageSize <= expected.size() + 1; pageSize++) {
+            List<String> paged = new ArrayList<>();
+            String cursor = null;
+            for (int guard = 0; guard <= expected.size(); guard++) {
+                SchedulePageResponse page = service.listWindow(USER, FROM, TO, cursor, pageSize);
+                assertThat(page.getItems().size()).as("pageSize %d", pageSize).isLessThanOrEqualTo(pageSize);
+                page.getItems().forEach(i -> paged.add(i.getId()));
+                cursor = page.getNextCursor();
+                if (cursor == null) break;
+            }
+            assertThat(paged).as("pageSize %d", pageSize).containsExactlyElementsOf(expected);
+        }
+    }
+
+    /** ScheduleRepository 쿼리 조건·정렬·한도를 메모리 목록에 그대로 적용 */
+    private static ScheduleService service(List<ScheduleEntity> stored, List<RecurringScheduleEntity> rules) {
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findSpanningInto(eq(USER), anyString())).thenReturn(List.of());
+        when(scheduleRepository.findWindow(eq(USER), anyString(), anyString(), any())).thenAnswer(inv ->
+                limit(stored.stream()
+                        .filter(e -> inWindow(e, inv.getArgument(1), inv.getArgument(2))), inv.getArgument(3)));
+        when(scheduleRepository.findWindowAfter(eq(USER), anyString(), anyString(), anyString(), anyString(), any())).thenAnswer(inv -> {
+            String afterDate = inv.getArgument(3);
+            String afterStartTime = inv.getArgument(4);
+            return limit(stored.stream()
+                    .filter(e -> inWindow(e, inv.getArgument(1), inv.getArgument(2)))
+                    .filter(e -> e.getDate().compareTo(afterDate) > 0
+                            || (e.getDate().equals(afterDate) && startKey(e).compareTo(afterStartTime) > 0)),
+                    inv.getArgument(5));
+        });
+        when(scheduleRepository.findAtKey(eq(USER), anyString(), anyString())).thenAnswer(inv -> stored.stream()
+                .filter(e -> e.getDate().equals(inv.getArgument(1)) && startKey(e).equals(inv.getArgument(2)))
+                .sorted(DB_ORDER)
+                .toList());
+        return new ScheduleService(scheduleRepository, new RecurringScheduleService(recurringRepository(rules)));
+    }
+
+    private static RecurringScheduleRepository recurringRepository(List<RecurringScheduleEntity> rules) {
+        RecurringScheduleRepository recurringScheduleRepository = mock(RecurringScheduleRepository.class);
+        when(recurringScheduleRepository.findOverlapping(eq(USER), anyString(), anyString())).thenReturn(rules);
+        return recurringScheduleRepository;
+    }
+
+    private static List<ScheduleEntity> limit(Stream<ScheduleEntity> rows, Pageable page) {
+        return rows.sorted(DB_ORDER).limit(page.getPageSize()).toList();
+    }
+
+    private static boolean inWindow(ScheduleEntity e, String from, String to) {
+        return e.getDate().compareTo(from) >= 0 && e.getDate().compareTo(to) <= 0;
+    }
+
+    private static String startKey(ScheduleEntity e) {
+        return e.getStartTime() != null ? e.getStartTime() : "";
+    }
+
+    private static ScheduleEntity entity(String id, String date, String startTime) {
+        return ScheduleEntity.builder()
+                .id(id).userId(USER).title(id)
+                .date(date).startTime(startTime).endTime(startTime != null ? "10:00" : null)
+                .build();
+    }
+
+    private static RecurringScheduleEntity rule(String id, DayOfWeek dayOfWeek, String startTime) {
+        return RecurringScheduleEntity.builder()
+                .id(id).userId(USER).title(id).dayOfWeek(dayOfWeek)
+                .startDate("2025-03-01").endDate("2025-03-31")
+                .startTime(startTime).endTime(startTime != null ? "15:00" : null)
+                .build();
+    }
+
+    private static ScheduleItemResponse item(String id, String date, String startTime) {
+        return ScheduleItemResponse.builder().id(id).date(date).startTime(startTime).build();
+    }
+}
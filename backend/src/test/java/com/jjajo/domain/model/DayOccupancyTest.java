@@ -0,0 +1,142 @@
+package com.jjajo.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비트셋 점유 상태가 분 단위 boolean[1440] 모델과 같은지 차분 검증.
+ * 64분 워드 경계(63/64/65, 127/128 …)와 하루 끝(1440), 범위 밖 값을 일부러 많이 섞는다.
+ */
+class DayOccupancyTest {
+
+    private static final int DAY = DayOccupancy.MINUTES_PER_DAY;
+
+    @Test
+    @DisplayName("무작위 markBusy/markFree 뒤 nextFree·nextBusy·isFree·freeRanges가 boolean 모델과 동일")
+    void matchesBooleanModel_onRandomIntervals() {
+        Random random = new Random(20250312L);
+        for (int round = 0; round < 200; round++) {
+            boolean allBusy = random.nextInt(4) == 0;
+            DayOccupancy day = allBusy ? DayOccupancy.allBusy() : new DayOccupancy();
+            boolean[] model = new boolean[DAY];
+            Arrays.fill(model, allBusy);
+            for (int op = 0; op < 12; op++) {
+                int start = minute(random);
+                int end = random.nextInt(5) == 0 ? minute(random) : start + random.nextInt(200);
+                boolean busy = random.nextInt(3) != 0;
+                if (busy) {
+                    day.markBusy(start, end);
+                } else {
+                    day.markFree(start, end);
+                }
+                for (int m = Math.max(start, 0); m < Math.min(end, DAY); m++) {
+                    model[m] = busy;
+                }
+                assertMatches(day, model, random, "round " + round + " op " + op);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("워드 경계·하루 끝 구간")
+    void wordBoundaries_andEndOfDay() {
+        DayOccupancy day = new DayOccupancy();
+        day.markBusy(63, 65);
+        day.markBusy(128, 192);
+        day.markBusy(1430, 1440);
+
+        assertThat(day.nextBusy(0)).isEqualTo(63);
+        assertThat(day.nextFree(63)).isEqualTo(65);
+        assertThat(day.nextBusy(65)).isEqualTo(128);
+        assertThat(day.nextFree(128)).isEqualTo(192);
+        assertThat(day.nextFree(1430)).isEqualTo(DAY);
+        assertThat(day.nextBusy(DAY)).isEqualTo(DAY);
+        assertThat(day.isFree(65, 128)).isTrue();
+        assertThat(day.isFree(64, 128)).isFalse();
+        assertThat(day.freeRanges(0, DAY, 1)).containsExactly(0, 63, 65, 128, 192, 1430);
+        assertThat(day.freeRanges(0, DAY, 64)).containsExactly(192, 1430);
+
+        DayOccupancy copy = day.copy();
+        copy.markFree(0, DAY);
+        assertThat(day.nextBusy(0)).isEqualTo(63);
+        assertThat(DayOccupancy.allBusy().freeRanges(0, DAY, 1)).isEmpty();
+    }
+
+    private static void assertMatches(DayOccupancy day, boolean[] model, Random random, String context) {
+        for (int from = -2; from <= DAY + 2; from++) {
+            assertThat(day.nextFree(from)).as("%s nextFree(%d)", context, from).isEqualTo(next(model, from, false));
+            assertThat(day.nextBusy(from)).as("%s nextBusy(%d)", context, from).isEqualTo(next(model, from, true));
+        }
+        for (int i = 0; i < 50; i++) {
+            int from = minute(random);
+            int to = random.nextInt(4) == 0 ? DAY : minute(random);
+            int minLength = 1 + random.nextInt(90);
+            assertThat(day.freeRanges(from, to, minLength))
+                    .as("%s freeRanges(%d, %d, %d)", context, from, to, minLength)
+                    .containsExactly(freeRanges(model, from, to, minLength));
+            int start = minute(random);
+            int end = start + random.nextInt(130);
+            assertThat(day.isFree(start, end))
+                    .as("%s isFree(%d, %d)", context, start, end)
+                    .isEqualTo(isFree(model, start, end));
+        }
+    }
+
+    /** 워드 경계·하루 끝 근처에 몰린 분 (범위 밖 포함) */
+    private static int minute(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 64 * random.nextInt(24) + random.nextInt(3) - 1;
+            case 1 -> DAY - random.nextInt(70) + random.nextInt(5);
+            case 2 -> random.nextInt(5) - 2;
+            default -> random.nextInt(DAY);
+        };
+    }
+
+    private static int next(boolean[] model, int from, boolean busy) {
+        for (int m = Math.max(from, 0); m < DAY; m++) {
+            if (model[m] == busy) return m;
+        }
+        return DAY;
+    }
+
+    private static boolean isFree(boolean[] model, int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        if (end <= start) return false;
+        for (int m = start; m < end; m++) {
+            if (model[m]) return false;
+        }
+        return true;
+    }
+
+    private static int[] freeRanges(boolean[] model, int from, int to, int minLength) {
+        from = clamp(from);
+        to = clamp(to);
+        List<Integer> out = new ArrayList<>();
+        int m = from;
+        while (m < to) {
+            if (model[m]) {
+                m++;
+                continue;
+            }
+            int start = m;
+            while (m < to && !model[m]) m++;
+            if (m - start >= minLength) {
+                out.add(start);
+                out.add(m);
+            }
+        }
+        return out.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int clamp(int minute) {
+        return Math.max(0, Math.min(minute, DAY));
+    }
+}
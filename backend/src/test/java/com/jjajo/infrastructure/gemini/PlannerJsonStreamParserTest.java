@@ -0,0 +1,113 @@
+package com.jjajo.infrastructure.gemini;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 증분 플래너 JSON 해석: 응답을 어느 위치에서 자르든 전체 문서를 Jackson으로 읽은 결과와 같은 항목을 내보내는지.
+ * 문자열 안의 이스케이프·따옴표·괄호, 코드 펜스, 중간에 끊긴 스트림을 포함.
+ */
+class PlannerJsonStreamParserTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String DOCUMENT = """
+            ```json
+            {
+              "category": "study",
+              "summary": "오늘은 \\"알고리즘\\" 위주로 {집중} [2블록]\\n\\\\ 끝 \\u0041",
+              "plans": [
+                {"title": "알고리즘 \\"DP\\" 문제", "durationMinutes": 90, "breakMinutesAfter": 10,
+                 "note": "괄호 } ] { [ 와 콜론: 쉼표, 포함", "category": "study"},
+                {"title": "백엔드 작업 🚀", "durationMinutes": 120, "tags": {"nested": ["a", "b\\"}"]}},
+                {"title": "", "durationMinutes": 30}
+              ]
+            }
+            ```""";
+
+    @Test
+    @DisplayName("두 조각으로 나눈 모든 경계에서 전체 해석과 같은 category·summary·plans")
+    void everySplitPoint_matchesWholeDocumentParse() throws Exception {
+        Expected expected = expected(DOCUMENT);
+        for (int i = 0; i <= DOCUMENT.length(); i++) {
+            Collected got = collect(List.of(DOCUMENT.substring(0, i), DOCUMENT.substring(i)));
+            assertThat(got.category).as("split at %d", i).containsExactly(expected.category);
+            assertThat(got.summary).as("split at %d", i).containsExactly(expected.summary);
+            assertThat(got.plans).as("split at %d", i).containsExactlyElementsOf(expected.plans);
+        }
+    }
+
+    @Test
+    @DisplayName("고정 크기 조각(1~16자)으로 흘려보내도 전체 해석과 같음")
+    void fixedChunkSizes_matchWholeDocumentParse() throws Exception {
+        Expected expected = expected(DOCUMENT);
+        for (int size = 1; size <= 16; size++) {
+            List<String> chunks = new ArrayList<>();
+            for (int i = 0; i < DOCUMENT.length(); i += size) {
+                chunks.add(DOCUMENT.substring(i, Math.min(DOCUMENT.length(), i + size)));
+            }
+            Collected got = collect(chunks);
+            assertThat(got.category).as("chunk size %d", size).containsExactly(expected.category);
+            assertThat(got.summary).as("chunk size %d", size).containsExactly(expected.summary);
+            assertThat(got.plans).as("chunk size %d", size).containsExactlyElementsOf(expected.plans);
+        }
+    }
+
+    @Test
+    @DisplayName("끊긴 스트림: 닫힌 항목만 순서대로 내보내고 덜 온 항목은 내보내지 않음")
+    void truncatedStream_emitsOnlyCompletedItems() throws Exception {
+        Expected expected = expected(DOCUMENT);
+        for (int cut = 0; cut < DOCUMENT.length(); cut++) {
+            String prefix = DOCUMENT.substring(0, cut);
+            Collected got = collect(List.of(prefix));
+            assertThat(got.plans.size()).as("cut at %d", cut).isLessThanOrEqualTo(expected.plans.size());
+            assertThat(got.plans).as("cut at %d", cut)
+                    .containsExactlyElementsOf(expected.plans.subList(0, got.plans.size()));
+            assertThat(got.category).as("cut at %d", cut).isSubsetOf(List.of(expected.category));
+            assertThat(got.summary).as("cut at %d", cut).isSubsetOf(List.of(expected.summary));
+        }
+        // 두 번째 플랜 중간에서 끊기면 첫 플랜만
+        int secondPlan = DOCUMENT.indexOf("백엔드");
+        assertThat(collect(List.of(DOCUMENT.substring(0, secondPlan))).plans)
+                .containsExactly(expected.plans.get(0));
+    }
+
+    private static Collected collect(List<String> chunks) {
+        PlannerJsonStreamParser parser = new PlannerJsonStreamParser();
+        Collected collected = new Collected();
+        for (String chunk : chunks) {
+            for (PlannerJsonStreamParser.Item item : parser.feed(chunk)) {
+                if (item.plan() != null) {
+                    collected.plans.add(item.plan());
+                } else if ("category".equals(item.key())) {
+                    collected.category.add(item.value());
+                } else if ("summary".equals(item.key())) {
+                    collected.summary.add(item.value());
+                }
+            }
+        }
+        return collected;
+    }
+
+    private static Expected expected(String document) throws Exception {
+        JsonNode root = JSON.readTree(document.substring(document.indexOf('{'), document.lastIndexOf('}') + 1));
+        List<JsonNode> plans = new ArrayList<>();
+        root.get("plans").forEach(plans::add);
+        return new Expected(root.get("category").asText(), root.get("summary").asText(), plans);
+    }
+
+    private record Expected(String category, String summary, List<JsonNode> plans) {}
+
+    private static final class Collected {
+        private final List<String> category = new ArrayList<>();
+        private final List<String> summary = new ArrayList<>();
+        private final List<JsonNode> plans = new ArrayList<>();
+    }
+}
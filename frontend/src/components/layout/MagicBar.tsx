@@ -1,6 +1,12 @@
 import { useState, useCallback, useRef, useEffect, useImperativeHandle, forwardRef } from 'react'
 import { Wand2, Loader2, Check, Sparkles, CheckCircle2, RefreshCw, X } from 'lucide-react'
-import { submitMagicBarCommand, requestJjajoPlanner, type SubmitMagicBarOptions } from '@/services/magicBarService'
+import {
+  submitMagicBarCommand,
+  requestJjajoPlanner,
+  splitCommandLines,
+  MAGIC_BAR_LINE_SEPARATOR,
+  type SubmitMagicBarOptions,
+} from '@/services/magicBarService'
 import { useCalendarStore } from '@/stores/calendarStore'
 import { createSchedule, deleteSchedule } from '@/services/scheduleService'
 import { hapticLight, hapticSuccess, hapticWarn } from '@/utils/haptic'
@@ -101,7 +107,12 @@ const MagicBar = forwardRef<MagicBarHandle, MagicBarProps>(function MagicBar({ a
         )
         setMessage({ type: 'success', text: `짜조가 ${result.plansCount}개 일정을 제안했어요. 확정하거나 수정해 보세요.` })
       } else if ('appliedCount' in result) {
-        setMessage({ type: 'success', text: `${result.appliedCount}개 일정 적용됨` })
+        setMessage({
+          type: 'success',
+          text: 'failedCount' in result && result.failedCount
+            ? `${result.appliedCount}개 일정 적용됨 (${result.failedCount}줄은 이해하지 못했어요)`
+            : `${result.appliedCount}개 일정 적용됨`,
+        })
       }
       setTimeout(() => setMessage(null), 3000)
     } else {
@@ -116,6 +127,16 @@ const MagicBar = forwardRef<MagicBarHandle, MagicBarProps>(function MagicBar({ a
     }
   }
 
+  /** 여러 줄 붙여넣기: 한 줄 입력창이 줄바꿈을 지우므로 구분자로 이어 두고 제출 시 줄별 일괄 파싱 */
+  const handlePaste = (e: React.ClipboardEvent<HTMLInputElement>) => {
+    if (editMode) return
+    const lines = splitCommandLines(e.clipboardData.getData('text'))
+    if (lines.length < 2) return
+    e.preventDefault()
+    const joined = lines.join(MAGIC_BAR_LINE_SEPARATOR)
+    setInput((prev) => (prev.trim() ? `${prev.trim()}${MAGIC_BAR_LINE_SEPARATOR}${joined}` : joined))
+  }
+
   const hasValue = input.trim().length > 0
 
   const handleWandClick = useCallback(() => {
@@ -238,6 +259,7 @@ const MagicBar = forwardRef<MagicBarHandle, MagicBarProps>(function MagicBar({ a
           value={input}
           onChange={(e) => setInput(e.target.value)}
           onKeyDown={handleKeyDown}
+          onPaste={handlePaste}
           placeholder={editMode ? JJAJO_PLACEHOLDER : PLACEHOLDER}
           disabled={loading}
           className="flex-1 min-w-0 py-3 pr-2 bg-transparent text-theme placeholder:text-theme-muted text-sm outline-none disabled:opacity-60 theme-transition"
@@ -17,8 +17,9 @@ function normalizeTimeStr(s: string | undefined): string {
   return s.length === 4 ? `0${s}` : s
 }
 import { useCalendarStore } from '@/stores/calendarStore'
-import { createSchedule, updateSchedule, deleteSchedule } from '@/services/scheduleService'
+import { createSchedule, updateSchedule, deleteSchedule, applyScheduleBatch, batchFailure } from '@/services/scheduleService'
 import { getApiBase, getAuthHeaders } from '@/utils/api'
+import { getToken } from '@/utils/tokenStorage'
 import type { Todo } from '@/types/calendar'
 
 function getParseScheduleUrl(): string {
@@ -26,6 +27,11 @@ function getParseScheduleUrl(): string {
   return base ? `${base}/api/v1/ai/parse-schedule` : '/api/v1/ai/parse-schedule'
 }
 
+function getParseScheduleBatchUrl(): string {
+  const base = getApiBase()
+  return base ? `${base}/api/v1/ai/parse-schedule/batch` : '/api/v1/ai/parse-schedule/batch'
+}
+
 function getEditScheduleUrl(): string {
   const base = getApiBase()
   return base ? `${base}/api/v1/ai/edit-schedule` : '/api/v1/ai/edit-schedule'
@@ -157,6 +163,127 @@ export async function parseAndAddSchedule(command: string): Promise<{ success: t
   }
 }
 
+/** 한 줄 입력창에 여러 줄을 붙여넣을 때 줄 사이에 넣는 구분자 (MagicBar onPaste) */
+export const MAGIC_BAR_LINE_SEPARATOR = ' ⏎ '
+
+/** 여러 줄 입력을 명령 목록으로. 한 줄이면 길이 1 */
+export function splitCommandLines(command: string): string[] {
+  return command
+    .split(/\r?\n|⏎/)
+    .map((line) => line.trim())
+    .filter(Boolean)
+}
+
+/** 백엔드 app.magic-bar.batch.max-size 기본값과 동일 */
+const MAX_BATCH_LINES = 20
+
+interface ParseScheduleBatchResult {
+  index: number
+  command: string
+  schedule?: ParsedSchedule | null
+  message?: string | null
+}
+
+/**
+ * 매직 바 여러 줄: 한 번의 일괄 파싱 요청 후 성공한 줄만 한 번의 일괄 저장(/schedules/batch)으로 DB 저장 및 Zustand 반영
+ * 실패한 줄은 사유와 함께 돌려준다 (일부만 성공해도 success)
+ */
+export async function parseAndAddSchedules(
+  commands: string[]
+): Promise<{ success: true; appliedCount: number; failed: Array<{ command: string; message: string }> } | { success: false; message: string }> {
+  const { apiKey } = useApiKeyStore.getState()
+
+  if (!apiKey?.trim()) {
+    return { success: false, message: '설정에서 Gemini API 키를 먼저 입력해주세요.' }
+  }
+  if (commands.length > MAX_BATCH_LINES) {
+    return { success: false, message: `한 번에 최대 ${MAX_BATCH_LINES}줄까지 추가할 수 있어요.` }
+  }
+
+  try {
+    const response = await fetch(getParseScheduleBatchUrl(), {
+      method: 'POST',
+      headers: {
+        ...getAuthHeaders(),
+        'Content-Type': 'application/json',
+        'X-Gemini-API-Key': apiKey,
+      },
+      body: JSON.stringify({ commands }),
+      credentials: 'include',
+    })
+
+    if (!response.ok) {
+      const errText = await response.text()
+      let message = '일정을 이해하지 못했어요.'
+      try {
+        const errJson = JSON.parse(errText)
+        if (errJson.message) message = errJson.message
+      } catch {
+        if (response.status === 401) message = '로그인이 필요해요.'
+      }
+      return { success: false, message }
+    }
+
+    let results: ParseScheduleBatchResult[]
+    try {
+      results = (await response.json()).results ?? []
+    } catch {
+      return { success: false, message: '서버 응답을 읽지 못했어요. 로그인 후 다시 시도해주세요.' }
+    }
+
+    const failed: Array<{ command: string; message: string }> = []
+    const pending: Array<{ command: string; schedule: ParsedSchedule }> = []
+    for (const result of results) {
+      if (result.schedule) {
+        pending.push({ command: result.command, schedule: result.schedule })
+      } else {
+        failed.push({ command: result.command, message: result.message ?? '일정을 이해하지 못했어요.' })
+      }
+    }
+
+    // 일괄 저장은 한 트랜잭션이라 한 줄이 거절되면 전체가 롤백된다 → 그 줄만 빼고 다시 보낸다 (줄 수만큼이 상한)
+    let appliedCount = 0
+    while (pending.length > 0) {
+      try {
+        const saved = await applyScheduleBatch(
+          pending.map(({ schedule }) => ({
+            type: 'add' as const,
+            addPayload: {
+              title: schedule.title,
+              description: schedule.description ?? '',
+              date: schedule.date,
+              startTime: schedule.startTime ?? undefined,
+              endTime: schedule.endTime ?? undefined,
+              status: 'pending' as const,
+              priority: (schedule.priority as 'low' | 'medium' | 'high') || 'medium',
+            },
+          }))
+        )
+        const todos = saved.flatMap((result) => (result.schedule ? [result.schedule] : []))
+        useCalendarStore.getState().addTodos(todos)
+        appliedCount = todos.length
+        break
+      } catch (e) {
+        const failure = batchFailure(e)
+        if (!failure || failure.index < 0 || failure.index >= pending.length) {
+          failed.push(...pending.map(({ command }) => ({ command, message: '일정을 저장하지 못했어요.' })))
+          break
+        }
+        const [rejected] = pending.splice(failure.index, 1)
+        failed.push({ command: rejected.command, message: failure.message })
+      }
+    }
+
+    if (appliedCount === 0) {
+      return { success: false, message: failed[0]?.message ?? '일정을 이해하지 못했어요.' }
+    }
+    return { success: true, appliedCount, failed }
+  } catch (e) {
+    const message = e instanceof Error ? e.message : '네트워크 오류가 났어요.'
+    return { success: false, message }
+  }
+}
+
 const CONTEXT_DAYS = 7
 const MAX_TODOS_CONTEXT = 50
 
@@ -199,7 +326,7 @@ export interface JjajoPlannerResult {
   summary?: string
 }
 export type SubmitMagicBarResult =
-  | { success: true; appliedCount: number }
+  | { success: true; appliedCount: number; failedCount?: number }
   | { success: true; plansCount: number; isGhost: true; summary?: string }
   | { success: false; message: string }
 
@@ -394,6 +521,17 @@ export async function submitMagicBarCommand(
     return { success: false, message: result.message }
   }
 
+  const lines = splitCommandLines(trimmed)
+  if (lines.length > 1) {
+    const batchResult = await parseAndAddSchedules(lines)
+    if (!batchResult.success) return batchResult
+    return {
+      success: true,
+      appliedCount: batchResult.appliedCount,
+      ...(batchResult.failed.length > 0 && { failedCount: batchResult.failed.length }),
+    }
+  }
+
   if (isPureAddIntent(trimmed)) {
     const parseResult = await parseAndAddSchedule(trimmed)
     if (parseResult.success) {
@@ -403,23 +541,17 @@ export async function submitMagicBarCommand(
   return editScheduleByNaturalLanguage(trimmed)
 }
 
-/**
- * 대화형 일정 수정: 자연어 명령을 보내 연산 목록을 받아 스토어와 API에 반영
- */
-export async function editScheduleByNaturalLanguage(
-  command: string
-): Promise<{ success: true; appliedCount: number } | { success: false; message: string }> {
-  const { apiKey } = useApiKeyStore.getState()
-  if (!apiKey?.trim()) {
-    return { success: false, message: '설정에서 Gemini API 키를 먼저 입력해주세요.' }
-  }
-
-  const trimmed = command.trim()
-  if (!trimmed) {
-    return { success: false, message: '수정 명령을 입력해주세요.' }
-  }
+type EditContextTodo = {
+  order: number
+  id: string
+  title: string
+  date: string
+  startTime?: string
+  endTime?: string
+}
 
-  const { todos, selectedDate, deleteTodo, updateTodo } = useCalendarStore.getState()
+/** 로그인하지 않은 요청용: 선택한 날짜 ± CONTEXT_DAYS 일정을 시간순으로 최대 MAX_TODOS_CONTEXT개 */
+function buildEditContextTodos(todos: Todo[], selectedDate: Date): EditContextTodo[] {
   const fromDate = subDays(selectedDate, CONTEXT_DAYS)
   const toDate = addDays(selectedDate, CONTEXT_DAYS)
 
@@ -434,7 +566,7 @@ export async function editScheduleByNaturalLanguage(
     return (a.startTime || '').localeCompare(b.startTime || '')
   })
 
-  const contextTodos = sorted.slice(0, MAX_TODOS_CONTEXT).map((t, idx) => ({
+  return sorted.slice(0, MAX_TODOS_CONTEXT).map((t, idx) => ({
     order: idx + 1,
     id: t.id,
     title: t.title,
@@ -442,6 +574,33 @@ export async function editScheduleByNaturalLanguage(
     startTime: t.startTime ?? undefined,
     endTime: t.endTime ?? undefined,
   }))
+}
+
+/**
+ * 대화형 일정 수정: 자연어 명령을 보내 연산 목록을 받아 스토어와 API에 반영
+ */
+export async function editScheduleByNaturalLanguage(
+  command: string
+): Promise<{ success: true; appliedCount: number } | { success: false; message: string }> {
+  const { apiKey } = useApiKeyStore.getState()
+  if (!apiKey?.trim()) {
+    return { success: false, message: '설정에서 Gemini API 키를 먼저 입력해주세요.' }
+  }
+
+  const trimmed = command.trim()
+  if (!trimmed) {
+    return { success: false, message: '수정 명령을 입력해주세요.' }
+  }
+
+  const { todos, selectedDate, deleteTodo, updateTodo } = useCalendarStore.getState()
+  const body: { command: string; date: string; todos?: EditContextTodo[] } = {
+    command: trimmed,
+    date: format(selectedDate, 'yyyy-MM-dd'),
+  }
+  // 로그인 상태면 서버가 저장된 일정에서 명령과 관련 있는 것만 골라 쓰므로 목록을 보내지 않음
+  if (!getToken()) {
+    body.todos = buildEditContextTodos(todos, selectedDate)
+  }
 
   try {
     const response = await fetch(getEditScheduleUrl(), {
@@ -451,7 +610,7 @@ export async function editScheduleByNaturalLanguage(
         'Content-Type': 'application/json',
         'X-Gemini-API-Key': apiKey,
       },
-      body: JSON.stringify({ command: trimmed, todos: contextTodos }),
+      body: JSON.stringify(body),
       credentials: 'include',
     })
 
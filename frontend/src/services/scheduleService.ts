@@ -1,4 +1,4 @@
-import { getApiBase, apiRequest } from '@/utils/api'
+import { getApiBase, apiRequest, ApiError } from '@/utils/api'
 import { sendDebugIngest } from '@/utils/debugIngest'
 import type { Todo } from '@/types/calendar'
 
@@ -85,6 +85,48 @@ export async function updateSchedule(id: string, updates: Partial<Pick<Todo, 'ti
   return scheduleFromApi(item)
 }
 
+type ScheduleBatchPayload = Partial<Pick<Todo, 'title' | 'description' | 'date' | 'endDate' | 'startTime' | 'endTime' | 'status' | 'priority'>>
+
+/** 일괄 변경 연산 1건 (백엔드 EditOperationDto) */
+export interface ScheduleBatchOperation {
+  type: 'add' | 'update' | 'delete'
+  scheduleId?: string
+  updatePayload?: ScheduleBatchPayload
+  addPayload?: ScheduleBatchPayload
+}
+
+/**
+ * 일정 일괄 추가/수정/삭제 (단일 트랜잭션, 추가된 일정은 createdBy 'ai').
+ * 결과는 요청 순서대로 1건씩이며 delete는 schedule이 없다. 하나라도 실패하면 전체 롤백되고 ApiError(400)
+ */
+export async function applyScheduleBatch(
+  operations: ScheduleBatchOperation[]
+): Promise<Array<{ type: string; scheduleId: string; schedule?: Todo }>> {
+  const data = await apiRequest<{ results?: Array<Record<string, unknown>> }>(`${getSchedulesApiBase()}/batch`, {
+    method: 'POST',
+    body: { operations },
+  })
+  return (data.results ?? []).map((result) => ({
+    type: String(result.type ?? ''),
+    scheduleId: String(result.scheduleId ?? ''),
+    schedule: result.schedule != null ? scheduleFromApi(result.schedule as Record<string, unknown>) : undefined,
+  }))
+}
+
+/** 일괄 변경 400 응답의 failedIndex(0부터)와 reason. 특정 연산 오류가 아니면 null */
+export function batchFailure(error: unknown): { index: number; message: string } | null {
+  if (!(error instanceof ApiError) || error.statusCode !== 400 || !error.responseText) return null
+  let body: { failedIndex?: unknown; reason?: unknown; message?: unknown }
+  try {
+    body = JSON.parse(error.responseText)
+  } catch {
+    return null
+  }
+  if (typeof body.failedIndex !== 'number') return null
+  const message = typeof body.reason === 'string' ? body.reason : String(body.message ?? '')
+  return { index: body.failedIndex, message }
+}
+
 /** 일정 삭제 */
 export async function deleteSchedule(id: string): Promise<void> {
   await apiRequest<void>(`${getSchedulesApiBase()}/${id}`, {